@@ -1,8 +1,13 @@
 package org.sunbird.cassandra.connector.util;
 
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.HostDistance;
+import com.datastax.driver.core.PoolingOptions;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.QueryOptions;
 import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.ConnectionRegistry;
 import org.sunbird.common.Platform;
 import org.sunbird.common.exception.ServerException;
 import org.sunbird.telemetry.logger.TelemetryManager;
@@ -12,14 +17,26 @@ import com.datastax.driver.core.Session;
 
 import java.net.InetSocketAddress;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CassandraConnector {
 
-	/** Cassandra Session Map. */
-	private static Map<String,Session> sessionMap=new HashMap<>();
+	/** Cassandra Sessions, one per session key. */
+	private static ConnectionRegistry<Session> sessions = new ConnectionRegistry<>("cassandra",
+			session -> !session.isClosed(), CassandraConnector::closeSession, CassandraConnector::getPoolStats);
+
+	/** Prepared statements of each session, keyed by the query. */
+	private static Map<String, Map<String, PreparedStatement>> preparedStatements = new ConcurrentHashMap<>();
+
+	private static final int PREPARED_STATEMENT_CACHE_SIZE = Platform.config.hasPath("cassandra.prepared_statement.cache.max_size")
+			? Platform.config.getInt("cassandra.prepared_statement.cache.max_size") : 1000;
 
 	static {
-		prepareSession("lp", getConsistencyLevel("lp"));
+		try {
+			getSession("lp");
+		} catch (Exception e) {
+			TelemetryManager.error("Error! While Loading Cassandra Properties." + e.getMessage(), e);
+		}
 	}
 
 	/**
@@ -36,12 +53,12 @@ public class CassandraConnector {
 	 * @return
 	 */
 	public static Session getSession(String sessionKey) {
-		Session session = sessionMap.containsKey(sessionKey) ? sessionMap.get(sessionKey) : null;
-
-		if (null == session || session.isClosed()) {
-			ConsistencyLevel level = getConsistencyLevel(sessionKey);
-			prepareSession(sessionKey, level);
-			session = sessionMap.get(sessionKey);
+		String key = sessionKey.toLowerCase();
+		Session session = null;
+		try {
+			session = sessions.get(key, () -> createSession(key, getConsistencyLevel(key)));
+		} catch (Exception e) {
+			TelemetryManager.error("Error! While Loading Cassandra Properties." + e.getMessage(), e);
 		}
 		if (null == session)
 			throw new ServerException("ERR_INITIALISE_CASSANDRA_SESSION", "Error while initialising cassandra");
@@ -49,25 +66,92 @@ public class CassandraConnector {
 	}
 
 	/**
+	 * Provide the prepared statement of the query on lp session, preparing it
+	 * on first use only.
+	 *
+	 * @param query
+	 * @return prepared statement.
+	 */
+	public static PreparedStatement prepare(String query) {
+		return prepare("lp", query);
+	}
+
+	/**
+	 * Provide the prepared statement of the query on the session, preparing it
+	 * on first use only. Once the cache of the session is full, queries not yet
+	 * cached are prepared on every call.
+	 *
+	 * @param sessionKey
+	 * @param query
+	 * @return prepared statement.
+	 */
+	public static PreparedStatement prepare(String sessionKey, String query) {
+		Session session = getSession(sessionKey);
+		Map<String, PreparedStatement> statements = preparedStatements.computeIfAbsent(sessionKey.toLowerCase(),
+				key -> new ConcurrentHashMap<>());
+		PreparedStatement statement = statements.get(query);
+		if (null == statement) {
+			statement = session.prepare(query);
+			if (statements.size() < PREPARED_STATEMENT_CACHE_SIZE)
+				statements.putIfAbsent(query, statement);
+			else
+				TelemetryManager.warn("Prepared statement cache is full for cassandra session: " + sessionKey);
+		}
+		return statement;
+	}
+
+	/**
+	 * Connects a new cluster for the session key, with the pooling options
+	 * configured for it.
 	 *
 	 * @param sessionKey
 	 * @param level
+	 * @return session.
 	 */
-	private static void prepareSession(String sessionKey, ConsistencyLevel level) {
-		List<String> connectionInfo = getConnectionInfo(sessionKey.toLowerCase());
+	private static Session createSession(String sessionKey, ConsistencyLevel level) {
+		// statements prepared on the previous session are not valid on the new one.
+		preparedStatements.remove(sessionKey);
+		List<String> connectionInfo = getConnectionInfo(sessionKey);
 		List<InetSocketAddress> addressList = getSocketAddress(connectionInfo);
+		Cluster.Builder builder = Cluster.builder().addContactPointsWithPorts(addressList)
+				.withPoolingOptions(getPoolingOptions(sessionKey));
+		if (null != level)
+			builder.withQueryOptions(new QueryOptions().setConsistencyLevel(level));
+		Cluster cluster = builder.build();
 		try {
-			if (null != level) {
-				sessionMap.put(sessionKey.toLowerCase(), Cluster.builder().addContactPointsWithPorts(addressList).withQueryOptions(new QueryOptions().setConsistencyLevel(level)).build().connect());
-			} else {
-				sessionMap.put(sessionKey.toLowerCase(), Cluster.builder().addContactPointsWithPorts(addressList).build().connect());
-			}
-
-			registerShutdownHook();
+			return cluster.connect();
 		} catch (Exception e) {
-			e.printStackTrace();
-			TelemetryManager.error("Error! While Loading Cassandra Properties." + e.getMessage(), e);
+			cluster.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Pooling options of the session key, from cassandra.{key}.pool.* when
+	 * configured and the driver defaults otherwise. The connection and request
+	 * limits apply to the hosts of the local datacenter.
+	 *
+	 * @param sessionKey
+	 * @return pooling options.
+	 */
+	private static PoolingOptions getPoolingOptions(String sessionKey) {
+		String prefix = "cassandra." + sessionKey + ".pool.";
+		PoolingOptions options = new PoolingOptions();
+		boolean hasCore = Platform.config.hasPath(prefix + "core_connections");
+		boolean hasMax = Platform.config.hasPath(prefix + "max_connections");
+		if (hasCore || hasMax) {
+			int core = hasCore ? Platform.config.getInt(prefix + "core_connections") : 1;
+			int max = hasMax ? Platform.config.getInt(prefix + "max_connections") : Math.max(core, 1);
+			options.setConnectionsPerHost(HostDistance.LOCAL, core, max);
 		}
+		if (Platform.config.hasPath(prefix + "max_requests_per_connection"))
+			options.setMaxRequestsPerConnection(HostDistance.LOCAL,
+					Platform.config.getInt(prefix + "max_requests_per_connection"));
+		if (Platform.config.hasPath(prefix + "timeout"))
+			options.setPoolTimeoutMillis(Platform.config.getInt(prefix + "timeout"));
+		if (Platform.config.hasPath(prefix + "max_queue_size"))
+			options.setMaxQueueSize(Platform.config.getInt(prefix + "max_queue_size"));
+		return options;
 	}
 
 	/**
@@ -110,22 +194,53 @@ public class CassandraConnector {
 	 * Close connection with the cluster.
 	 *
 	 */
-    public static void close() {
-        sessionMap.entrySet().stream().forEach(stream -> stream.getValue().close());
-    }
+	public static void close() {
+		sessions.closeAll();
+	}
 
 	/**
-	 * Register JVM shutdown hook to close cassandra open session.
+	 * Pool utilization of every open session: the open connections and the
+	 * in flight queries of its connected hosts, against the requests those
+	 * connections can carry.
+	 *
+	 * @return pool stats.
 	 */
-    private static void registerShutdownHook() {
-        Runtime.getRuntime().addShutdownHook(new Thread() {
-            @Override
-            public void run() {
-                TelemetryManager.log("Shutting down Cassandra connector session");
-                CassandraConnector.close();
-            }
-        });
-    }
+	public static Map<String, Object> getPoolStats() {
+		return sessions.getStats();
+	}
+
+	/**
+	 * Gets the pool totals of the connected hosts of the session, without the
+	 * host addresses.
+	 */
+	private static Map<String, Object> getPoolStats(Session session) {
+		Map<String, Object> stats = new HashMap<>();
+		if (session.isClosed())
+			return stats;
+		PoolingOptions options = session.getCluster().getConfiguration().getPoolingOptions();
+		int maxRequests = options.getMaxRequestsPerConnection(HostDistance.LOCAL);
+		Session.State state = session.getState();
+		int hosts = 0, openConnections = 0, trashedConnections = 0, inFlight = 0;
+		for (Host host : state.getConnectedHosts()) {
+			hosts++;
+			openConnections += state.getOpenConnections(host);
+			trashedConnections += state.getTrashedConnections(host);
+			inFlight += state.getInFlightQueries(host);
+		}
+		stats.put("connectedHosts", hosts);
+		stats.put("openConnections", openConnections);
+		stats.put("trashedConnections", trashedConnections);
+		stats.put("inFlightQueries", inFlight);
+		stats.put("maxRequestsPerConnection", maxRequests);
+		if (openConnections > 0 && maxRequests > 0)
+			stats.put("utilization", (double) inFlight / (openConnections * maxRequests));
+		return stats;
+	}
+
+	private static void closeSession(Session session) {
+		TelemetryManager.log("Shutting down Cassandra connector session");
+		session.getCluster().close();
+	}
 
 	/**
 	 * This Method Returns the value of Consistency Level for Multi Node/DC Cassandra Cluster.
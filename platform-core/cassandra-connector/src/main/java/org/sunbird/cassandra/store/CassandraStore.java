@@ -10,6 +10,8 @@ import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 import com.datastax.driver.core.querybuilder.Select.Where;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.cassandra.connector.util.CassandraConnector;
 import org.sunbird.cassandra.connector.util.CassandraConnectorStoreParam;
@@ -24,6 +26,8 @@ import org.sunbird.telemetry.util.LogAsyncGraphEvent;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
 
@@ -131,6 +135,17 @@ public abstract class CassandraStore {
 
 	}
 
+	protected CompletableFuture<List<Row>> readAsync(String key, Object value) {
+		if (StringUtils.isBlank(key)) {
+			throw new ServerException(CassandraConnectorStoreParam.ERR_SERVER_ERROR.name(),
+					"Invalid Identifier to read");
+		}
+		Select selectQuery = QueryBuilder.select().all().from(keyspace, table);
+		selectQuery.where().and(QueryBuilder.eq(key, value));
+		return withServerError(executeAsync(selectQuery).thenApplyAsync(ResultSet::all),
+				"Error while fetching record for ID : " + value);
+	}
+
 	protected List<Row> getRecordsByProperty(String propertyName, List<Object> propertyValueList) {
 		try {
 			if (StringUtils.isBlank(propertyName) || propertyValueList.isEmpty()) {
@@ -182,9 +197,7 @@ public abstract class CassandraStore {
 						"Invalid Identifier to read");
 			}
 			String selectQuery = getSelectStatement(identifier, properties);
-			PreparedStatement statement = CassandraConnector.getSession().prepare(selectQuery);
-			BoundStatement boundStatement = new BoundStatement(statement);
-			ResultSet results = CassandraConnector.getSession().execute(boundStatement.bind(identifier));
+			ResultSet results = executeQuery(selectQuery, idValue);
 			return results.all();
 		} catch (Exception e) {
 			throw new ServerException(CassandraConnectorStoreParam.ERR_SERVER_ERROR.name(),
@@ -192,6 +205,17 @@ public abstract class CassandraStore {
 		}
 	}
 
+	protected CompletableFuture<List<Row>> getPropertiesValueByIdAsync(String identifier, String idValue,
+			String... properties) {
+		if (StringUtils.isBlank(identifier)) {
+			throw new ServerException(CassandraConnectorStoreParam.ERR_SERVER_ERROR.name(),
+					"Invalid Identifier to read");
+		}
+		String selectQuery = getSelectStatement(identifier, properties);
+		return withServerError(executeQueryAsync(selectQuery, idValue).thenApplyAsync(ResultSet::all),
+				"Error while fetching properties for ID : " + idValue);
+	}
+
 	protected List<Row> getAllRecords() {
 		try {
 			Select selectQuery = QueryBuilder.select().all().from(keyspace, table);
@@ -209,12 +233,9 @@ public abstract class CassandraStore {
 				throw new ServerException(CassandraConnectorStoreParam.ERR_SERVER_ERROR.name(),
 						"Invalid Identifier to read");
 			}
-			Session session = CassandraConnector.getSession();
 			String query = getPreparedStatementFrUpsert(request);
-			PreparedStatement statement = session.prepare(query);
-			BoundStatement boundStatement = new BoundStatement(statement);
 			Object[] objects = getBindObjects(request);
-			session.execute(boundStatement.bind(objects));
+			executeQuery(query, objects);
 
 		} catch (Exception e) {
 			throw new ServerException(CassandraConnectorStoreParam.ERR_SERVER_ERROR.name(), "Error while upsert record",
@@ -222,6 +243,17 @@ public abstract class CassandraStore {
 		}
 	}
 
+	protected CompletableFuture<Void> upsertRecordAsync(Map<String, Object> request) {
+		if (null == request || request.isEmpty()) {
+			throw new ServerException(CassandraConnectorStoreParam.ERR_SERVER_ERROR.name(),
+					"Invalid Identifier to read");
+		}
+		String query = getPreparedStatementFrUpsert(request);
+		Object[] objects = getBindObjects(request);
+		return withServerError(executeQueryAsync(query, objects).thenApply(rs -> (Void) null),
+				"Error while upsert record");
+	}
+
 	/**
 	 * @return the objectType
 	 */
@@ -332,11 +364,67 @@ public abstract class CassandraStore {
 	 */
 	private ResultSet executeQuery(String query, Object... objects) {
 		Session session = CassandraConnector.getSession();
-		PreparedStatement statement = session.prepare(query);
+		PreparedStatement statement = CassandraConnector.prepare(query);
 		BoundStatement boundStatement = new BoundStatement(statement);
 		return session.execute(boundStatement.bind(objects));
 	}
 
+	/**
+	 * Executes the query without blocking, the returned future completes on
+	 * the driver's I/O thread.
+	 * 
+	 * @param query
+	 * @param objects
+	 * @return
+	 */
+	protected CompletableFuture<ResultSet> executeQueryAsync(String query, Object... objects) {
+		PreparedStatement statement = CassandraConnector.prepare(query);
+		return executeAsync(new BoundStatement(statement).bind(objects));
+	}
+
+	/**
+	 * Executes the statement without blocking, the returned future completes
+	 * on the driver's I/O thread, so callers should not block on it or page
+	 * through results in a direct stage.
+	 * 
+	 * @param statement
+	 * @return
+	 */
+	protected static CompletableFuture<ResultSet> executeAsync(Statement statement) {
+		CompletableFuture<ResultSet> future = new CompletableFuture<ResultSet>();
+		Futures.addCallback(CassandraConnector.getSession().executeAsync(statement), new FutureCallback<ResultSet>() {
+			@Override
+			public void onSuccess(ResultSet result) {
+				future.complete(result);
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				future.completeExceptionally(t);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Completes the returned future with a ServerException when the given one
+	 * fails.
+	 */
+	protected static <T> CompletableFuture<T> withServerError(CompletableFuture<T> future, String message) {
+		CompletableFuture<T> result = new CompletableFuture<T>();
+		future.whenComplete((value, error) -> {
+			if (null == error) {
+				result.complete(value);
+			} else {
+				Throwable cause = (error instanceof CompletionException && null != error.getCause()) ? error.getCause()
+						: error;
+				result.completeExceptionally((cause instanceof ServerException) ? cause
+						: new ServerException(CassandraConnectorStoreParam.ERR_SERVER_ERROR.name(), message, cause));
+			}
+		});
+		return result;
+	}
+
 	private Object[] getBindObjects(Map<String, Object> request) {
 		Set<String> keySet = request.keySet();
 		Iterator<String> iterator = keySet.iterator();
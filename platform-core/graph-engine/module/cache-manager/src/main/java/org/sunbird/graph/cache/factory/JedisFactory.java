@@ -39,6 +39,27 @@ public class JedisFactory {
 		}
 	}
 
+	/**
+	 * Creates a connection outside of the pool, for long lived usages like
+	 * pub/sub subscriptions which would otherwise hold a pooled connection.
+	 * 
+	 * @return the jedis
+	 */
+	public static Jedis getDedicatedConnection() {
+		try {
+			Jedis jedis = new Jedis(host, port);
+			if (index > 0)
+				jedis.select(index);
+			return jedis;
+		} catch (Exception e) {
+			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_CONNECTION_ERROR.name(), e.getMessage());
+		}
+	}
+
+	public static int getDbIndex() {
+		return index;
+	}
+
 	public static void returnConnection(Jedis jedis) {
 		try {
 			if (null != jedis)
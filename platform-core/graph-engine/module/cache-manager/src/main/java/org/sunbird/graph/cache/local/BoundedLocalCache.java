@@ -0,0 +1,424 @@
+package org.sunbird.graph.cache.local;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.sunbird.telemetry.logger.TelemetryManager;
+
+/**
+ * The Class BoundedLocalCache, is an in-process, size bounded and thread-safe
+ * cache. Entries are spread over lock striped segments, each segment keeps its
+ * entries in access order and evicts the least recently used entries once it
+ * crosses its share of the maximum size. The size is the number of entries, or
+ * the sum of their weights when a weigher is given, in which case an entry
+ * heavier than a segment's share is not cached. Every entry carries its own
+ * time to live and, when a loader is supplied on read, is reloaded once it is older
+ * than the refresh-after-write interval.
+ *
+ * @param <K>
+ *            the key type
+ * @param <V>
+ *            the value type
+ */
+public class BoundedLocalCache<K, V> {
+
+	/** The maximum number of segments (lock stripes). */
+	private static final int MAX_SEGMENTS = 16;
+
+	/** The name of the cache, used in stats. */
+	private final String name;
+
+	/** The default ttl of an entry in milliseconds, non-positive is no expiry. */
+	private final long ttl;
+
+	/** The refresh after write interval in milliseconds, non-positive is disabled. */
+	private final long refreshAfterWrite;
+
+	/** The weigher, null when every entry weighs one. */
+	private final ToLongFunction<? super V> weigher;
+
+	private final Segment[] segments;
+	private final int segmentMask;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder loadCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder expiredCount = new LongAdder();
+
+	/**
+	 * Instantiates a new bounded local cache without refresh after write.
+	 *
+	 * @param name
+	 *            the name
+	 * @param maxSize
+	 *            the maximum number of entries
+	 * @param ttl
+	 *            the default ttl in milliseconds
+	 */
+	public BoundedLocalCache(String name, long maxSize, long ttl) {
+		this(name, maxSize, ttl, 0);
+	}
+
+	/**
+	 * Instantiates a new bounded local cache.
+	 *
+	 * @param name
+	 *            the name
+	 * @param maxSize
+	 *            the maximum number of entries
+	 * @param ttl
+	 *            the default ttl in milliseconds
+	 * @param refreshAfterWrite
+	 *            the refresh after write interval in milliseconds
+	 */
+	public BoundedLocalCache(String name, long maxSize, long ttl, long refreshAfterWrite) {
+		this(name, maxSize, ttl, refreshAfterWrite, null);
+	}
+
+	/**
+	 * Instantiates a new bounded local cache bounded by the total weight of its
+	 * entries.
+	 *
+	 * @param name
+	 *            the name
+	 * @param maxWeight
+	 *            the maximum total weight, the maximum number of entries when
+	 *            the weigher is null
+	 * @param ttl
+	 *            the default ttl in milliseconds
+	 * @param refreshAfterWrite
+	 *            the refresh after write interval in milliseconds
+	 * @param weigher
+	 *            the weigher, entries weigh at least one
+	 */
+	@SuppressWarnings("unchecked")
+	public BoundedLocalCache(String name, long maxWeight, long ttl, long refreshAfterWrite,
+			ToLongFunction<? super V> weigher) {
+		if (maxWeight <= 0)
+			throw new IllegalArgumentException("maxWeight should be greater than zero for cache: " + name);
+		this.name = name;
+		this.ttl = ttl;
+		this.refreshAfterWrite = refreshAfterWrite;
+		this.weigher = weigher;
+		int segmentCount = 1;
+		while (segmentCount < MAX_SEGMENTS && (segmentCount << 1) <= maxWeight)
+			segmentCount <<= 1;
+		long segmentCapacity = (maxWeight + segmentCount - 1) / segmentCount;
+		this.segments = new BoundedLocalCache.Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++)
+			this.segments[i] = new Segment(segmentCapacity);
+		this.segmentMask = segmentCount - 1;
+	}
+
+	/**
+	 * Gets the value of the key, null if it is not cached or expired.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the value
+	 */
+	public V get(K key) {
+		CacheEntry<V> entry = getEntry(key, System.currentTimeMillis());
+		return (null == entry) ? null : entry.value;
+	}
+
+	/**
+	 * Gets the value of the key, computing it from the loader when it is not
+	 * cached. A cached value older than the refresh after write interval is
+	 * reloaded by one caller while the others keep reading the old value.
+	 *
+	 * @param key
+	 *            the key
+	 * @param loader
+	 *            the loader
+	 * @return the value
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		long now = System.currentTimeMillis();
+		CacheEntry<V> entry = getEntry(key, now);
+		if (null != entry) {
+			if (refreshAfterWrite > 0 && now - entry.writeTime > refreshAfterWrite
+					&& entry.refreshing.compareAndSet(false, true)) {
+				try {
+					V value = load(key, loader);
+					if (null != value)
+						return value;
+				} catch (Exception e) {
+					TelemetryManager.warn("Refresh failed for key: " + key + " in local cache: " + name
+							+ ", serving the old value. " + e.getMessage());
+				} finally {
+					// a loader returning null or failing leaves the old entry in place
+					entry.refreshing.set(false);
+				}
+			}
+			return entry.value;
+		}
+		return load(key, loader);
+	}
+
+	/**
+	 * Puts the value with the default ttl.
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value
+	 */
+	public void put(K key, V value) {
+		put(key, value, ttl);
+	}
+
+	/**
+	 * Puts the value with the given ttl.
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value
+	 * @param ttl
+	 *            the ttl in milliseconds, non-positive is no expiry
+	 */
+	public void put(K key, V value, long ttl) {
+		if (null == key || null == value)
+			return;
+		long weight = (null == weigher) ? 1 : Math.max(1, weigher.applyAsLong(value));
+		CacheEntry<V> entry = new CacheEntry<V>(value, System.currentTimeMillis(), ttl, weight);
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			segment.putEntry(key, entry);
+		}
+	}
+
+	/**
+	 * Removes the key.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the removed value
+	 */
+	public V remove(K key) {
+		if (null == key)
+			return null;
+		Segment segment = segmentFor(key);
+		CacheEntry<V> entry;
+		synchronized (segment) {
+			entry = segment.removeEntry(key);
+		}
+		return (null == entry) ? null : entry.value;
+	}
+
+	/**
+	 * Removes all the entries matching the predicate.
+	 *
+	 * @param predicate
+	 *            the predicate
+	 * @return the number of removed entries
+	 */
+	public int removeIf(BiPredicate<? super K, ? super V> predicate) {
+		int count = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				Iterator<Map.Entry<K, CacheEntry<V>>> itr = segment.entrySet().iterator();
+				while (itr.hasNext()) {
+					Map.Entry<K, CacheEntry<V>> entry = itr.next();
+					if (predicate.test(entry.getKey(), entry.getValue().value)) {
+						itr.remove();
+						segment.weight -= entry.getValue().weight;
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Removes all the entries.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+				segment.weight = 0;
+			}
+		}
+	}
+
+	/**
+	 * Gets the keys currently cached, including expired entries not yet
+	 * removed.
+	 *
+	 * @return the keys
+	 */
+	public List<K> keys() {
+		List<K> keys = new ArrayList<>();
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				keys.addAll(segment.keySet());
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Gets the number of cached entries.
+	 *
+	 * @return the size
+	 */
+	public long size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Gets the total weight of the cached entries, same as the size when there
+	 * is no weigher.
+	 *
+	 * @return the weight
+	 */
+	public long weight() {
+		long weight = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				weight += segment.weight;
+			}
+		}
+		return weight;
+	}
+
+	/**
+	 * Gets the snapshot of the cache counters.
+	 *
+	 * @return the cache stats
+	 */
+	public CacheStats stats() {
+		return new CacheStats(name, size(), hitCount.sum(), missCount.sum(), loadCount.sum(), evictionCount.sum(),
+				expiredCount.sum());
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	private CacheEntry<V> getEntry(K key, long now) {
+		if (null == key) {
+			missCount.increment();
+			return null;
+		}
+		Segment segment = segmentFor(key);
+		CacheEntry<V> entry;
+		synchronized (segment) {
+			entry = segment.get(key);
+			if (null != entry && entry.isExpired(now)) {
+				segment.removeEntry(key);
+				expiredCount.increment();
+				entry = null;
+			}
+		}
+		if (null == entry)
+			missCount.increment();
+		else
+			hitCount.increment();
+		return entry;
+	}
+
+	private V load(K key, Function<? super K, ? extends V> loader) {
+		if (null == loader || null == key)
+			return null;
+		V value = loader.apply(key);
+		loadCount.increment();
+		if (null != value)
+			put(key, value);
+		return value;
+	}
+
+	private Segment segmentFor(Object key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return segments[h & segmentMask];
+	}
+
+	/**
+	 * The Class CacheEntry.
+	 */
+	private static class CacheEntry<V> {
+		private final V value;
+		private final long writeTime;
+		private final long expireAt;
+		private final long weight;
+		private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+		private CacheEntry(V value, long writeTime, long ttl, long weight) {
+			this.value = value;
+			this.writeTime = writeTime;
+			this.weight = weight;
+			this.expireAt = (ttl > 0) ? writeTime + ttl : Long.MAX_VALUE;
+		}
+
+		private boolean isExpired(long now) {
+			return now > expireAt;
+		}
+	}
+
+	/**
+	 * The Class Segment, an access ordered map evicting its eldest entries once
+	 * its weight crosses its capacity. Callers synchronize on the segment.
+	 */
+	private class Segment extends LinkedHashMap<K, CacheEntry<V>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long capacity;
+		private long weight = 0;
+
+		private Segment(long capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		private void putEntry(K key, CacheEntry<V> entry) {
+			removeEntry(key);
+			// an entry heavier than the whole segment is never cached.
+			if (entry.weight > capacity) {
+				evictionCount.increment();
+				return;
+			}
+			put(key, entry);
+			weight += entry.weight;
+			if (weight <= capacity)
+				return;
+			long now = System.currentTimeMillis();
+			Iterator<Map.Entry<K, CacheEntry<V>>> itr = entrySet().iterator();
+			while (weight > capacity && itr.hasNext()) {
+				Map.Entry<K, CacheEntry<V>> eldest = itr.next();
+				itr.remove();
+				weight -= eldest.getValue().weight;
+				if (eldest.getValue().isExpired(now))
+					expiredCount.increment();
+				else
+					evictionCount.increment();
+			}
+		}
+
+		private CacheEntry<V> removeEntry(Object key) {
+			CacheEntry<V> entry = remove(key);
+			if (null != entry)
+				weight -= entry.weight;
+			return entry;
+		}
+	}
+}
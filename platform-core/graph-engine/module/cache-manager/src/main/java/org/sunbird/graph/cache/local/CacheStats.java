@@ -0,0 +1,85 @@
+package org.sunbird.graph.cache.local;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the counters maintained by a {@link BoundedLocalCache}.
+ *
+ */
+public class CacheStats {
+
+	private final String name;
+	private final long size;
+	private final long hitCount;
+	private final long missCount;
+	private final long loadCount;
+	private final long evictionCount;
+	private final long expiredCount;
+
+	public CacheStats(String name, long size, long hitCount, long missCount, long loadCount, long evictionCount,
+			long expiredCount) {
+		this.name = name;
+		this.size = size;
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.loadCount = loadCount;
+		this.evictionCount = evictionCount;
+		this.expiredCount = expiredCount;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public long getLoadCount() {
+		return loadCount;
+	}
+
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public long getExpiredCount() {
+		return expiredCount;
+	}
+
+	public long getRequestCount() {
+		return hitCount + missCount;
+	}
+
+	public double getHitRate() {
+		long requests = getRequestCount();
+		return (requests == 0) ? 1.0 : (double) hitCount / requests;
+	}
+
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("name", name);
+		map.put("size", size);
+		map.put("hitCount", hitCount);
+		map.put("missCount", missCount);
+		map.put("loadCount", loadCount);
+		map.put("evictionCount", evictionCount);
+		map.put("expiredCount", expiredCount);
+		map.put("hitRate", getHitRate());
+		return map;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats" + toMap();
+	}
+}
@@ -0,0 +1,285 @@
+package org.sunbird.graph.cache.local;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.Platform;
+import org.sunbird.graph.cache.factory.JedisFactory;
+import org.sunbird.telemetry.logger.TelemetryManager;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+
+/**
+ * The Class RedisNearCache, is an optional in-process cache in front of the
+ * Redis reads done through RedisStoreUtil. Entries live for a short ttl and are
+ * invalidated across instances either by an invalidation channel, published to
+ * by RedisStoreUtil on every write, or by Redis keyspace notifications when the
+ * server is configured with notify-keyspace-events.
+ *
+ * Configuration:
+ * <ul>
+ * <li>redis.nearcache.enabled - enables the near cache, default false</li>
+ * <li>redis.nearcache.max_size - max entries, default 10000</li>
+ * <li>redis.nearcache.ttl - ttl of an entry in milliseconds, default 30000</li>
+ * <li>redis.nearcache.invalidation - pubsub or keyspace, default pubsub</li>
+ * <li>redis.nearcache.channel - invalidation channel, default
+ * lp.nearcache.invalidate</li>
+ * </ul>
+ *
+ * A value read from Redis is only cached if no invalidation of its key (or of
+ * all the keys) happened since the read started, see {@link #stamp(String)}.
+ *
+ */
+public class RedisNearCache {
+
+	private static final String INVALIDATION_PUBSUB = "pubsub";
+	private static final String INVALIDATION_KEYSPACE = "keyspace";
+	private static final long RECONNECT_INTERVAL = 5000;
+	private static final int STAMP_STRIPES = 1024;
+
+	private static volatile boolean enabled = false;
+	private static long maxSize = 10000;
+	private static long ttl = 30000;
+	private static String invalidation = INVALIDATION_PUBSUB;
+	private static String channel = "lp.nearcache.invalidate";
+
+	private static BoundedLocalCache<String, Object> cache = null;
+	private static final LongAdder invalidationCount = new LongAdder();
+	/** Invalidations per stripe of keys, and of all the keys (patterns, clear). */
+	private static final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+	private static final AtomicLong epoch = new AtomicLong();
+	private static Thread subscriber = null;
+
+	static {
+		init();
+	}
+
+	/**
+	 * Configures the near cache from the platform config, emptying it. The
+	 * subscriber is started once, on the first init that enables the cache.
+	 */
+	static synchronized void init() {
+		enabled = false;
+		if (!Platform.config.hasPath("redis.nearcache.enabled")
+				|| !Platform.config.getBoolean("redis.nearcache.enabled"))
+			return;
+		if (Platform.config.hasPath("redis.nearcache.max_size"))
+			maxSize = Platform.config.getLong("redis.nearcache.max_size");
+		if (Platform.config.hasPath("redis.nearcache.ttl"))
+			ttl = Platform.config.getLong("redis.nearcache.ttl");
+		if (Platform.config.hasPath("redis.nearcache.invalidation"))
+			invalidation = Platform.config.getString("redis.nearcache.invalidation");
+		if (Platform.config.hasPath("redis.nearcache.channel"))
+			channel = Platform.config.getString("redis.nearcache.channel");
+		cache = new BoundedLocalCache<String, Object>("redis-near-cache", maxSize, ttl);
+		epoch.incrementAndGet();
+		enabled = true;
+		if (null == subscriber)
+			startSubscriber();
+		TelemetryManager.info("Redis near cache enabled with maxSize: " + maxSize + ", ttl: " + ttl
+				+ " and invalidation: " + invalidation);
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Gets the locally cached value of the redis key.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the value, null when not cached or when the near cache is
+	 *         disabled
+	 */
+	public static Object get(String key) {
+		if (!enabled)
+			return null;
+		return cache.get(key);
+	}
+
+	/**
+	 * Gets the invalidation stamp of the key, to take before reading the value
+	 * from Redis and to pass to {@link #put(String, Object, long)}.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the stamp
+	 */
+	public static long stamp(String key) {
+		if (!enabled)
+			return 0;
+		return stamps.get(stripe(key)) + epoch.get();
+	}
+
+	/**
+	 * Caches the value of the redis key locally, unless the key was
+	 * invalidated since the stamp was taken, i.e. the value may be stale.
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value
+	 * @param stamp
+	 *            the stamp taken before reading the value
+	 */
+	public static void put(String key, Object value, long stamp) {
+		if (!enabled || stamp != stamp(key))
+			return;
+		cache.put(key, value);
+		// an invalidation between the check and the put
+		if (stamp != stamp(key))
+			cache.remove(key);
+	}
+
+	/**
+	 * Invalidates the keys in this instance only. A key containing '*' is
+	 * treated as a glob pattern.
+	 *
+	 * @param keys
+	 *            the keys
+	 */
+	public static void invalidate(String... keys) {
+		if (!enabled || null == keys)
+			return;
+		for (String key : keys) {
+			if (StringUtils.contains(key, "*")) {
+				epoch.incrementAndGet();
+				Pattern pattern = toPattern(key);
+				invalidationCount.add(cache.removeIf((k, v) -> pattern.matcher(k).matches()));
+			} else {
+				stamps.incrementAndGet(stripe(key));
+				if (null != cache.remove(key))
+					invalidationCount.increment();
+			}
+		}
+	}
+
+	/**
+	 * Invalidates the keys in this instance and, in pubsub mode, publishes them
+	 * on the invalidation channel for the other instances. In keyspace mode the
+	 * write itself notifies the other instances.
+	 *
+	 * @param jedis
+	 *            the connection used for the write
+	 * @param keys
+	 *            the keys
+	 */
+	public static void invalidate(Jedis jedis, String... keys) {
+		if (!enabled || null == keys)
+			return;
+		invalidate(keys);
+		if (StringUtils.equalsIgnoreCase(INVALIDATION_PUBSUB, invalidation)) {
+			try {
+				if (keys.length == 1) {
+					jedis.publish(channel, keys[0]);
+				} else {
+					Pipeline pipeline = jedis.pipelined();
+					for (String key : keys)
+						pipeline.publish(channel, key);
+					pipeline.sync();
+				}
+			} catch (Exception e) {
+				TelemetryManager.error("Error while publishing near cache invalidation for keys. ", e);
+			}
+		}
+	}
+
+	/**
+	 * Invalidates every key cached in this instance.
+	 */
+	public static void clear() {
+		if (enabled) {
+			epoch.incrementAndGet();
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Gets the near cache stats.
+	 *
+	 * @return the stats
+	 */
+	public static Map<String, Object> getStats() {
+		if (!enabled)
+			return null;
+		Map<String, Object> stats = cache.stats().toMap();
+		stats.put("invalidationCount", invalidationCount.sum());
+		return stats;
+	}
+
+	private static void startSubscriber() {
+		subscriber = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (true) {
+					Jedis jedis = null;
+					try {
+						jedis = JedisFactory.getDedicatedConnection();
+						// invalidations published while disconnected are lost.
+						clear();
+						if (StringUtils.equalsIgnoreCase(INVALIDATION_KEYSPACE, invalidation))
+							jedis.psubscribe(new InvalidationListener(), getKeyspacePattern());
+						else
+							jedis.subscribe(new InvalidationListener(), channel);
+					} catch (Exception e) {
+						TelemetryManager.error("Redis near cache subscriber disconnected, reconnecting. ", e);
+					} finally {
+						if (null != jedis)
+							try {
+								jedis.close();
+							} catch (Exception e) {
+							}
+					}
+					try {
+						Thread.sleep(RECONNECT_INTERVAL);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}
+		}, "redis-near-cache-subscriber");
+		subscriber.setDaemon(true);
+		subscriber.start();
+	}
+
+	private static int stripe(String key) {
+		int h = key.hashCode();
+		return (h ^ (h >>> 16)) & (STAMP_STRIPES - 1);
+	}
+
+	private static Pattern toPattern(String glob) {
+		StringBuilder regex = new StringBuilder();
+		for (String part : StringUtils.splitPreserveAllTokens(glob, '*'))
+			regex.append(Pattern.quote(part)).append(".*");
+		return Pattern.compile(regex.substring(0, regex.length() - 2));
+	}
+
+	private static String getKeyspacePattern() {
+		return "__keyspace@" + JedisFactory.getDbIndex() + "__:*";
+	}
+
+	/**
+	 * The Class InvalidationListener.
+	 */
+	private static class InvalidationListener extends JedisPubSub {
+
+		@Override
+		public void onMessage(String channel, String key) {
+			invalidate(key);
+		}
+
+		@Override
+		public void onPMessage(String pattern, String channel, String event) {
+			int index = channel.indexOf("__:");
+			if (index > 0)
+				invalidate(channel.substring(index + 3));
+		}
+	}
+}
@@ -4,13 +4,17 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.Platform;
 import org.sunbird.common.exception.ClientException;
 import org.sunbird.graph.cache.exception.GraphCacheErrorCodes;
+import org.sunbird.graph.cache.local.BoundedLocalCache;
 import org.sunbird.graph.cache.util.CacheKeyGenerator;
 import org.sunbird.graph.cache.util.RedisKeysEnum;
 import org.sunbird.telemetry.logger.TelemetryManager;
 
 /**
+ * In-memory cache of graph nodes. Definition nodes and data nodes are kept in
+ * separate bounded caches with LRU eviction.
  * 
  * @author Mahesh Kumar Gangula
  *
@@ -18,8 +22,15 @@ import org.sunbird.telemetry.logger.TelemetryManager;
 
 public class NodeCacheManager {
 
-	private static Map<String, Object> definitionNodeCache = new HashMap<>();
-	private static Map<String, Object> dataNodeCache = new HashMap<>();
+	private static final String DEF_NODE_MAX_SIZE = "graph.cache.definition_node.max_size";
+	private static final String DEF_NODE_TTL = "graph.cache.definition_node.ttl";
+	private static final String DATA_NODE_MAX_SIZE = "graph.cache.data_node.max_size";
+	private static final String DATA_NODE_TTL = "graph.cache.data_node.ttl";
+
+	private static BoundedLocalCache<String, Object> definitionNodeCache = new BoundedLocalCache<>(
+			"definition-node", getConfig(DEF_NODE_MAX_SIZE, 1000), getConfig(DEF_NODE_TTL, 0));
+	private static BoundedLocalCache<String, Object> dataNodeCache = new BoundedLocalCache<>("data-node",
+			getConfig(DATA_NODE_MAX_SIZE, 10000), getConfig(DATA_NODE_TTL, 3600000));
 
 	public static void saveDefinitionNode(String graphId, String objectType, Object node) {
 		validateRequired(graphId, objectType, node, GraphCacheErrorCodes.ERR_CACHE_SAVE_DEF_NODE_ERROR.name());
@@ -63,6 +74,22 @@ public class NodeCacheManager {
 		return dataNodeCache.remove(key);
 	}
 
+	/**
+	 * Gets the stats of the definition node and data node caches.
+	 * 
+	 * @return the stats
+	 */
+	public static Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("definitionNode", definitionNodeCache.stats().toMap());
+		stats.put("dataNode", dataNodeCache.stats().toMap());
+		return stats;
+	}
+
+	private static long getConfig(String key, long defaultValue) {
+		return Platform.config.hasPath(key) ? Platform.config.getLong(key) : defaultValue;
+	}
+
 	private static void validateRequired(String graphId, String id, Object members, String errCode) {
 		validateRequired(graphId, id, errCode);
 		if (null == members)
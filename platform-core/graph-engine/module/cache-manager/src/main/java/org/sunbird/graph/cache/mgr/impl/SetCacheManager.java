@@ -12,8 +12,10 @@ import org.sunbird.common.exception.ClientException;
 import org.sunbird.common.exception.ServerException;
 import org.sunbird.graph.cache.exception.GraphCacheErrorCodes;
 import org.sunbird.graph.cache.util.CacheKeyGenerator;
+import org.sunbird.graph.cache.util.RedisStoreUtil;
 
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
 
 public class SetCacheManager {
 
@@ -22,9 +24,7 @@ public class SetCacheManager {
 		String key = CacheKeyGenerator.getSetMembersKey(graphId, setId);
 			Jedis jedis = getRedisConncetion();
 			try {
-				String[] tempMembers = new String[members.size()];
-				members.toArray(tempMembers);
-				jedis.sadd(key, tempMembers);
+				saddInBatches(jedis, key, members);
 			} finally {
 				returnConnection(jedis);
 			}
@@ -46,11 +46,7 @@ public class SetCacheManager {
 		Jedis jedis = getRedisConncetion();
 		String key = CacheKeyGenerator.getSetMembersKey(graphId, setId);
 			try {
-				String[] members = new String[memberIds.size()];
-				for (int i = 0; i < memberIds.size(); i++) {
-					members[i] = memberIds.get(i);
-				}
-				jedis.sadd(key, members);
+				saddInBatches(jedis, key, memberIds);
 			} catch (Exception e) {
 				throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_ADD_SET_MEMBER.name(), e.getMessage());
 			} finally {
@@ -129,6 +125,17 @@ public class SetCacheManager {
 			}
 	}
 	
+	private static void saddInBatches(Jedis jedis, String key, List<String> members) {
+		if (members.size() <= RedisStoreUtil.SADD_BATCH_SIZE) {
+			if (!members.isEmpty())
+				jedis.sadd(key, members.toArray(new String[members.size()]));
+		} else {
+			Pipeline pipeline = jedis.pipelined();
+			RedisStoreUtil.sadd(pipeline, key, members);
+			pipeline.sync();
+		}
+	}
+
 	private static void validateRequired(String graphId, String id, Object members, String errCode) {
 		validateRequired(graphId, id, errCode);
 		if (null == members)
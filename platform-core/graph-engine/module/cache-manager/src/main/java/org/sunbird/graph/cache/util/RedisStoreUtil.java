@@ -2,18 +2,27 @@ package org.sunbird.graph.cache.util;
 
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.map.ObjectMapper;
+import org.sunbird.common.Platform;
 import org.sunbird.common.exception.ServerException;
 import org.sunbird.graph.cache.exception.GraphCacheErrorCodes;
+import org.sunbird.graph.cache.local.RedisNearCache;
 import org.sunbird.graph.dac.enums.GraphDACParams;
 import org.sunbird.telemetry.logger.TelemetryManager;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.exceptions.JedisDataException;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 import static org.sunbird.graph.cache.factory.JedisFactory.getRedisConncetion;
@@ -23,12 +32,28 @@ public class RedisStoreUtil {
 
 	private static ObjectMapper mapper = new ObjectMapper();
 
+	/** The max number of members sent in one SADD command. */
+	public static final int SADD_BATCH_SIZE = 1000;
+
+	private static final String UNLINK_SCRIPT = "return redis.call('UNLINK', unpack(KEYS))";
+	private static int scanBatchSize = 1000;
+	private static boolean unlinkEnabled = true;
+	private static volatile boolean unlinkSupported = true;
+
+	static {
+		if (Platform.config.hasPath("redis.scan.batch_size"))
+			scanBatchSize = Platform.config.getInt("redis.scan.batch_size");
+		if (Platform.config.hasPath("redis.delete.unlink"))
+			unlinkEnabled = Platform.config.getBoolean("redis.delete.unlink");
+	}
+
 	public static void saveNodeProperty(String graphId, String objectId, String nodeProperty, String propValue) {
 
 		Jedis jedis = getRedisConncetion();
 		try {
 			String redisKey = CacheKeyGenerator.getNodePropertyKey(graphId, objectId, nodeProperty);
 			jedis.set(redisKey, propValue);
+			RedisNearCache.invalidate(jedis, redisKey);
 		} catch (Exception e) {
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_SAVE_PROPERTY_ERROR.name(), e.getMessage());
 		} finally {
@@ -44,6 +69,7 @@ public class RedisStoreUtil {
 			jedis.set(key, value);
 			if(ttl > 0)
 				jedis.expire(key, ttl);
+			RedisNearCache.invalidate(jedis, key);
 		} catch (Exception e) {
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_SAVE_PROPERTY_ERROR.name(), e.getMessage());
 		} finally {
@@ -52,9 +78,15 @@ public class RedisStoreUtil {
 	}
 
 	public static String get(String key) {
+		Object cached = RedisNearCache.get(key);
+		if (null != cached)
+			return (String) cached;
+		long stamp = RedisNearCache.stamp(key);
 		Jedis jedis = getRedisConncetion();
 		try {
-			return jedis.get(key);
+			String value = jedis.get(key);
+			RedisNearCache.put(key, value, stamp);
+			return value;
 		} catch (Exception e) {
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_GET_PROPERTY_ERROR.name(), e.getMessage());
 		} finally {
@@ -63,11 +95,15 @@ public class RedisStoreUtil {
 	}
 
 	public static String getNodeProperty(String graphId, String objectId, String nodeProperty) {
-
+		String redisKey = CacheKeyGenerator.getNodePropertyKey(graphId, objectId, nodeProperty);
+		Object cached = RedisNearCache.get(redisKey);
+		if (null != cached)
+			return (String) cached;
+		long stamp = RedisNearCache.stamp(redisKey);
 		Jedis jedis = getRedisConncetion();
 		try {
-			String redisKey = CacheKeyGenerator.getNodePropertyKey(graphId, objectId, nodeProperty);
 			String value = jedis.get(redisKey);
+			RedisNearCache.put(redisKey, value, stamp);
 			return value;
 		} catch (Exception e) {
 			System.out.println(e.getMessage());
@@ -79,16 +115,60 @@ public class RedisStoreUtil {
 	}
 
 	public static void saveNodeProperties(String graphId, String objectId, Map<String, Object> metadata) {
+		if (null == metadata || metadata.isEmpty())
+			return;
 		Jedis jedis = getRedisConncetion();
 		try {
+			String[] keys = new String[metadata.size()];
+			String[] keysValues = new String[metadata.size() * 2];
+			int i = 0;
 			for (Entry<String, Object> entry : metadata.entrySet()) {
-				String propertyName = entry.getKey();
-				String propertyValue = entry.getValue().toString();
-
-				String redisKey = CacheKeyGenerator.getNodePropertyKey(graphId, objectId, propertyName);
-				jedis.set(redisKey, propertyValue);
+				String redisKey = CacheKeyGenerator.getNodePropertyKey(graphId, objectId, entry.getKey());
+				keys[i] = redisKey;
+				keysValues[2 * i] = redisKey;
+				keysValues[2 * i + 1] = entry.getValue().toString();
+				i++;
 			}
+			jedis.mset(keysValues);
+			RedisNearCache.invalidate(jedis, keys);
+		} catch (Exception e) {
+			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_SAVE_PROPERTY_ERROR.name(), e.getMessage());
+		} finally {
+			returnConnection(jedis);
+		}
+	}
 
+	/**
+	 * This method saves the properties of many nodes in one pipeline, one MSET
+	 * per node.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param properties
+	 *            the properties by node id
+	 */
+	public static void saveNodeProperties(String graphId, Map<String, Map<String, Object>> properties) {
+		if (null == properties || properties.isEmpty())
+			return;
+		Jedis jedis = getRedisConncetion();
+		try {
+			List<String> keys = new ArrayList<String>();
+			Pipeline pipeline = jedis.pipelined();
+			for (Entry<String, Map<String, Object>> node : properties.entrySet()) {
+				if (null == node.getValue() || node.getValue().isEmpty())
+					continue;
+				String[] keysValues = new String[node.getValue().size() * 2];
+				int i = 0;
+				for (Entry<String, Object> entry : node.getValue().entrySet()) {
+					String redisKey = CacheKeyGenerator.getNodePropertyKey(graphId, node.getKey(), entry.getKey());
+					keys.add(redisKey);
+					keysValues[i++] = redisKey;
+					keysValues[i++] = entry.getValue().toString();
+				}
+				pipeline.mset(keysValues);
+			}
+			pipeline.sync();
+			RedisNearCache.invalidate(jedis, keys.toArray(new String[keys.size()]));
 		} catch (Exception e) {
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_SAVE_PROPERTY_ERROR.name(), e.getMessage());
 		} finally {
@@ -105,6 +185,7 @@ public class RedisStoreUtil {
 			String consumerId = CacheKeyGenerator.getNodePropertyKey(graphId, objectId,
 					GraphDACParams.consumerId.name());
 			jedis.del(versionKey, consumerId);
+			RedisNearCache.invalidate(jedis, versionKey, consumerId);
 
 		} catch (Exception e) {
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_SAVE_PROPERTY_ERROR.name(), e.getMessage());
@@ -126,6 +207,7 @@ public class RedisStoreUtil {
 			String redisKey = CacheKeyGenerator.getNodePropertyKey(graphId, objectId, nodeProperty);
 			double inc = 1.0;
 			double value = jedis.incrByFloat(redisKey, inc);
+			RedisNearCache.invalidate(jedis, redisKey);
 			return value;
 		} catch (Exception e) {
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_GET_PROPERTY_ERROR.name(), e.getMessage());
@@ -137,27 +219,46 @@ public class RedisStoreUtil {
 	
 	// TODO: always considering object as string. need to change this.
 	public static void saveList(String key, List<Object> values) {
-		Jedis jedis = getRedisConncetion();
-		try {
-			jedis.del(key);
-			for (Object val : values) {
-				jedis.sadd(key, (String) val);
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
-		} finally {
-			returnConnection(jedis);
+		List<String> members = new ArrayList<String>();
+		for (Object val : values) {
+			members.add((String) val);
 		}
+		saveStringList(key, members, 0);
 	}
 
 	public static void saveStringList(String key, List<String> values, Integer ttl) {
+		Map<String, List<String>> lists = new HashMap<String, List<String>>();
+		lists.put(key, values);
+		saveStringLists(lists, ttl);
+	}
+
+	/**
+	 * This method replaces the members of all the given sets in one pipeline.
+	 * Each set is replaced inside MULTI/EXEC so that readers never see it
+	 * empty or partially written.
+	 *
+	 * @param lists
+	 *            the set members by key
+	 * @param ttl
+	 *            the ttl in seconds, non-positive is no expiry
+	 */
+	public static void saveStringLists(Map<String, List<String>> lists, Integer ttl) {
+		if (null == lists || lists.isEmpty())
+			return;
 		Jedis jedis = getRedisConncetion();
 		try {
-			jedis.del(key);
-			for (String val : values) {
-				jedis.sadd(key, val);
+			Pipeline pipeline = jedis.pipelined();
+			for (Entry<String, List<String>> entry : lists.entrySet()) {
+				String key = entry.getKey();
+				pipeline.multi();
+				pipeline.del(key);
+				sadd(pipeline, key, entry.getValue());
+				if (null != ttl && ttl > 0)
+					pipeline.expire(key, ttl);
+				pipeline.exec();
 			}
-			if (ttl > 0) jedis.expire(key, ttl);
+			pipeline.sync();
+			RedisNearCache.invalidate(jedis, lists.keySet().toArray(new String[lists.size()]));
 		} catch (Exception e) {
 			e.printStackTrace();
 		} finally {
@@ -165,11 +266,37 @@ public class RedisStoreUtil {
 		}
 	}
 
+	/**
+	 * This method queues variadic SADD commands on the pipeline, at most
+	 * SADD_BATCH_SIZE members per command.
+	 *
+	 * @param pipeline
+	 *            the pipeline
+	 * @param key
+	 *            the set key
+	 * @param members
+	 *            the members
+	 */
+	public static void sadd(Pipeline pipeline, String key, List<String> members) {
+		if (null == members || members.isEmpty())
+			return;
+		for (int from = 0; from < members.size(); from += SADD_BATCH_SIZE) {
+			List<String> batch = members.subList(from, Math.min(from + SADD_BATCH_SIZE, members.size()));
+			pipeline.sadd(key, batch.toArray(new String[batch.size()]));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
 	public static List<String> getStringList(String key) {
+		Object cached = RedisNearCache.get(key);
+		if (null != cached)
+			return new ArrayList<String>((List<String>) cached);
+		long stamp = RedisNearCache.stamp(key);
 		Jedis jedis = getRedisConncetion();
 		try {
 			Set<String> set = jedis.smembers(key);
 			List<String> list = new ArrayList<String>(set);
+			RedisNearCache.put(key, Collections.unmodifiableList(new ArrayList<String>(list)), stamp);
 			return list;
 		} catch (Exception e) {
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_GET_PROPERTY_ERROR.name(), e.getMessage());
@@ -178,11 +305,17 @@ public class RedisStoreUtil {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	public static List<Object> getList(String key) {
+		Object cached = RedisNearCache.get(key);
+		if (null != cached)
+			return new ArrayList<Object>((List<String>) cached);
+		long stamp = RedisNearCache.stamp(key);
 		Jedis jedis = getRedisConncetion();
 		try {
 			 Set<String> set = jedis.smembers(key);
 			 List<Object> list = new ArrayList<Object>(set);
+			RedisNearCache.put(key, Collections.unmodifiableList(new ArrayList<String>(set)), stamp);
 			return list;
 		} catch (Exception e) {
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_GET_PROPERTY_ERROR.name(), e.getMessage());
@@ -215,6 +348,7 @@ public class RedisStoreUtil {
 		Jedis jedis = getRedisConncetion();
 		try {
 			jedis.del(keys);
+			RedisNearCache.invalidate(jedis, keys);
 		} catch (Exception e) {
 			TelemetryManager.error("Error while deleting data from Redis for Identifiers : " + Arrays.asList(keys) + " | Error is : ", e);
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_DELETE_PROPERTY_ERROR.name(), e.getMessage());
@@ -224,20 +358,68 @@ public class RedisStoreUtil {
 	}
 
 	public static void deleteByPattern(String pattern) {
-		if(StringUtils.isNotBlank(pattern) && !StringUtils.equalsIgnoreCase(pattern, "*")){
-			Jedis jedis = getRedisConncetion();
-			try {
-				Set<String> keys = jedis.keys(pattern);
-				if (keys != null && keys.size() > 0) {
-					List<String> keyList = new ArrayList<>(keys);
-					jedis.del(keyList.toArray(new String[keyList.size()]));
+		deleteByPattern(pattern, scanBatchSize, unlinkEnabled, null);
+	}
+
+	/**
+	 * This method deletes the keys matching the pattern by walking the keyspace
+	 * incrementally with SCAN, so that Redis is never blocked the way KEYS
+	 * blocks it. Matched keys are removed batch by batch with UNLINK (freed
+	 * asynchronously by Redis 4+) or DEL.
+	 *
+	 * @param pattern
+	 *            the glob pattern, blank and "*" are ignored
+	 * @param batchSize
+	 *            the SCAN COUNT hint and the max keys removed per command
+	 * @param unlink
+	 *            use UNLINK instead of DEL when the server supports it
+	 * @param progress
+	 *            optional callback receiving the number of keys deleted so far
+	 *            after every batch
+	 * @return the number of keys deleted
+	 */
+	public static long deleteByPattern(String pattern, int batchSize, boolean unlink, LongConsumer progress) {
+		if (StringUtils.isBlank(pattern) || StringUtils.equalsIgnoreCase(pattern, "*"))
+			return 0;
+		long startTime = System.currentTimeMillis();
+		long deleted = 0;
+		Jedis jedis = getRedisConncetion();
+		try {
+			ScanParams params = new ScanParams().match(pattern).count(batchSize);
+			String cursor = ScanParams.SCAN_POINTER_START;
+			do {
+				ScanResult<String> result = jedis.scan(cursor, params);
+				cursor = result.getStringCursor();
+				List<String> keys = result.getResult();
+				if (null != keys && !keys.isEmpty()) {
+					deleted += delete(jedis, keys.toArray(new String[keys.size()]), unlink);
+					if (null != progress)
+						progress.accept(deleted);
 				}
-			} catch (Exception e) {
-				throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_SAVE_PROPERTY_ERROR.name(), e.getMessage());
-			} finally {
-				returnConnection(jedis);
+			} while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+			RedisNearCache.invalidate(jedis, pattern);
+		} catch (Exception e) {
+			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_DELETE_PROPERTY_ERROR.name(), e.getMessage());
+		} finally {
+			returnConnection(jedis);
+		}
+		TelemetryManager.info("Deleted " + deleted + " keys from Redis matching pattern: " + pattern + " in "
+				+ (System.currentTimeMillis() - startTime) + " ms.");
+		return deleted;
+	}
+
+	private static long delete(Jedis jedis, String[] keys, boolean unlink) {
+		if (unlink && unlinkSupported) {
+			try {
+				Object count = jedis.eval(UNLINK_SCRIPT, Arrays.asList(keys), Collections.<String>emptyList());
+				return (null == count) ? 0 : (Long) count;
+			} catch (JedisDataException e) {
+				unlinkSupported = false;
+				TelemetryManager.warn("UNLINK is not supported by Redis, falling back to DEL. " + e.getMessage());
 			}
 		}
+		Long count = jedis.del(keys);
+		return (null == count) ? 0 : count;
 	}
 
 }
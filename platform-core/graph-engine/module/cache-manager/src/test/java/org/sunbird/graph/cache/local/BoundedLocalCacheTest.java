@@ -0,0 +1,93 @@
+package org.sunbird.graph.cache.local;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundedLocalCacheTest {
+
+	@Test
+	public void testPutAndGet() {
+		BoundedLocalCache<String, Object> cache = new BoundedLocalCache<>("test", 100, 0);
+		cache.put("key_1", "value_1");
+		Assert.assertEquals("value_1", cache.get("key_1"));
+		Assert.assertNull(cache.get("key_2"));
+		CacheStats stats = cache.stats();
+		Assert.assertEquals(1, stats.getHitCount());
+		Assert.assertEquals(1, stats.getMissCount());
+	}
+
+	@Test
+	public void testEvictionOnMaxSize() {
+		BoundedLocalCache<String, Object> cache = new BoundedLocalCache<>("test", 32, 0);
+		for (int i = 0; i < 1000; i++)
+			cache.put("key_" + i, i);
+		Assert.assertTrue(cache.size() <= 32);
+		Assert.assertTrue(cache.stats().getEvictionCount() >= 1000 - 32);
+	}
+
+	@Test
+	public void testPerEntryTTL() throws Exception {
+		BoundedLocalCache<String, Object> cache = new BoundedLocalCache<>("test", 100, 0);
+		cache.put("short", "value", 10);
+		cache.put("forever", "value");
+		Thread.sleep(50);
+		Assert.assertNull(cache.get("short"));
+		Assert.assertEquals("value", cache.get("forever"));
+		Assert.assertEquals(1, cache.stats().getExpiredCount());
+	}
+
+	@Test
+	public void testLoadOnMiss() {
+		BoundedLocalCache<String, Object> cache = new BoundedLocalCache<>("test", 100, 0);
+		AtomicInteger loads = new AtomicInteger();
+		Object value = cache.get("key", k -> k + "_" + loads.incrementAndGet());
+		Assert.assertEquals("key_1", value);
+		Assert.assertEquals("key_1", cache.get("key", k -> k + "_" + loads.incrementAndGet()));
+		Assert.assertEquals(1, cache.stats().getLoadCount());
+	}
+
+	@Test
+	public void testRefreshAfterWrite() throws Exception {
+		BoundedLocalCache<String, Object> cache = new BoundedLocalCache<>("test", 100, 0, 10);
+		AtomicInteger loads = new AtomicInteger();
+		Assert.assertEquals(1, cache.get("key", k -> loads.incrementAndGet()));
+		Thread.sleep(50);
+		Assert.assertEquals(2, cache.get("key", k -> loads.incrementAndGet()));
+		Assert.assertEquals(2, cache.get("key"));
+	}
+
+	@Test
+	public void testRefreshRetriedAfterNullLoad() throws Exception {
+		BoundedLocalCache<String, Object> cache = new BoundedLocalCache<>("test", 100, 0, 10);
+		cache.put("key", "old");
+		Thread.sleep(50);
+		Assert.assertEquals("old", cache.get("key", k -> null));
+		Assert.assertEquals("new", cache.get("key", k -> "new"));
+	}
+
+	@Test
+	public void testRemoveIf() {
+		BoundedLocalCache<String, Object> cache = new BoundedLocalCache<>("test", 100, 0);
+		cache.put("domain:Content", "c");
+		cache.put("domain:Concept", "d");
+		cache.put("other:Content", "e");
+		Assert.assertEquals(2, cache.removeIf((k, v) -> k.startsWith("domain:")));
+		Assert.assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testWeightedEviction() {
+		BoundedLocalCache<String, String> cache = new BoundedLocalCache<>("test", 1000, 0, 0, String::length);
+		for (int i = 0; i < 1000; i++)
+			cache.put("key_" + i, "0123456789");
+		Assert.assertTrue(cache.weight() <= 1000);
+		Assert.assertTrue(cache.size() <= 100);
+		Assert.assertEquals(cache.size() * 10, cache.weight());
+		cache.put("huge", StringUtils.repeat("0", 100));
+		Assert.assertNull(cache.get("huge"));
+		Assert.assertTrue(cache.weight() <= 1000);
+	}
+}
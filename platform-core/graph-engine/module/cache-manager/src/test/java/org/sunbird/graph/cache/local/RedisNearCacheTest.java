@@ -0,0 +1,124 @@
+package org.sunbird.graph.cache.local;
+
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.common.Platform;
+import org.sunbird.graph.cache.factory.JedisFactory;
+import org.sunbird.graph.cache.util.BaseRedisTest;
+import org.sunbird.graph.cache.util.CacheKeyGenerator;
+import org.sunbird.graph.cache.util.RedisStoreUtil;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * Checks the near cache in pubsub mode on an embedded Redis: a read
+ * overlapping an invalidation of its key is not cached, and an invalidation
+ * published by another instance evicts the entry.
+ *
+ */
+public class RedisNearCacheTest extends BaseRedisTest {
+
+	private static final String CHANNEL = "lp.nearcache.invalidate";
+	private static Config config;
+
+	@BeforeClass
+	public static void enable() throws Exception {
+		config = Platform.config;
+		Platform.config = ConfigFactory.parseString("redis.nearcache.enabled=true").withFallback(config);
+		RedisNearCache.init();
+		awaitSubscriber();
+	}
+
+	@AfterClass
+	public static void disable() {
+		Platform.config = config;
+		RedisNearCache.init();
+	}
+
+	@Test
+	public void testReadOverlappingInvalidationNotCached() {
+		String key = CacheKeyGenerator.getNodePropertyKey("domain", "do_near_cache_stamp", "versionKey");
+		set(key, "1");
+
+		// a reader takes the stamp and reads the old value, a writer updates
+		// the key before the reader caches it
+		long stamp = RedisNearCache.stamp(key);
+		String stale = get(key);
+		RedisStoreUtil.saveNodeProperty("domain", "do_near_cache_stamp", "versionKey", "2");
+		RedisNearCache.put(key, stale, stamp);
+		Assert.assertNull(RedisNearCache.get(key));
+		Assert.assertEquals("2", RedisStoreUtil.getNodeProperty("domain", "do_near_cache_stamp", "versionKey"));
+
+		// a read without an invalidation in between is cached
+		Assert.assertEquals("2", RedisNearCache.get(key));
+		RedisStoreUtil.deleteNodeProperties("domain", "do_near_cache_stamp");
+	}
+
+	@Test
+	public void testPublishedInvalidationEvictsEntry() throws Exception {
+		String key = CacheKeyGenerator.getNodePropertyKey("domain", "do_near_cache_pubsub", "versionKey");
+		set(key, "1");
+		Assert.assertEquals("1", RedisStoreUtil.getNodeProperty("domain", "do_near_cache_pubsub", "versionKey"));
+		Assert.assertEquals("1", RedisNearCache.get(key));
+
+		// another instance writes the key and publishes its invalidation
+		set(key, "2");
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			jedis.publish(CHANNEL, key);
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+		long deadline = System.currentTimeMillis() + 5000;
+		while (null != RedisNearCache.get(key) && System.currentTimeMillis() < deadline)
+			Thread.sleep(10);
+		Assert.assertNull(RedisNearCache.get(key));
+		Assert.assertEquals("2", RedisStoreUtil.getNodeProperty("domain", "do_near_cache_pubsub", "versionKey"));
+		RedisStoreUtil.deleteNodeProperties("domain", "do_near_cache_pubsub");
+	}
+
+	/**
+	 * Waits for the subscriber to listen on the invalidation channel, as an
+	 * invalidation published before is lost.
+	 */
+	private static void awaitSubscriber() throws Exception {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (System.currentTimeMillis() < deadline) {
+			Jedis jedis = JedisFactory.getRedisConncetion();
+			try {
+				Map<String, String> subscribers = jedis.pubsubNumSub(CHANNEL);
+				if (Long.parseLong(subscribers.get(CHANNEL)) > 0)
+					return;
+			} finally {
+				JedisFactory.returnConnection(jedis);
+			}
+			Thread.sleep(50);
+		}
+		Assert.fail("The near cache subscriber did not subscribe to " + CHANNEL);
+	}
+
+	private static void set(String key, String value) {
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			jedis.set(key, value);
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+	}
+
+	private static String get(String key) {
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			return jedis.get(key);
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+	}
+}
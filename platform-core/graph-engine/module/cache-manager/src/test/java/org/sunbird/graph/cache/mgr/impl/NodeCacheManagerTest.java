@@ -1,5 +1,7 @@
 package org.sunbird.graph.cache.mgr.impl;
 
+import java.util.Map;
+
 import org.sunbird.common.exception.ClientException;
 import org.junit.Assert;
 import org.junit.Test;
@@ -181,4 +183,13 @@ public class NodeCacheManagerTest {
 		NodeCacheManager.saveDefinitionNode(null, null, null);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testGetStats() {
+		NodeCacheManager.getDataNode("domain", "stats_node_1");
+		Map<String, Object> stats = NodeCacheManager.getStats();
+		Assert.assertNotNull(stats.get("definitionNode"));
+		Assert.assertTrue((long) ((Map<String, Object>) stats.get("dataNode")).get("missCount") > 0);
+	}
+
 }
@@ -0,0 +1,43 @@
+package org.sunbird.graph.cache.util;
+
+import java.net.Socket;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+import redis.embedded.RedisServer;
+
+/**
+ * Starts an embedded Redis on the default port for the test class, unless a
+ * Redis is already listening there.
+ *
+ */
+public abstract class BaseRedisTest {
+
+	private static final int REDIS_PORT = 6379;
+	private static RedisServer redisServer = null;
+
+	@BeforeClass
+	public static void startRedis() throws Exception {
+		if (!isRunning()) {
+			redisServer = new RedisServer(REDIS_PORT);
+			redisServer.start();
+		}
+	}
+
+	@AfterClass
+	public static void stopRedis() {
+		if (null != redisServer) {
+			redisServer.stop();
+			redisServer = null;
+		}
+	}
+
+	private static boolean isRunning() {
+		try (Socket socket = new Socket("localhost", REDIS_PORT)) {
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+}
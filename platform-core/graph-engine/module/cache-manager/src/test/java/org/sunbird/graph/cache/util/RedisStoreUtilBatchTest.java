@@ -0,0 +1,105 @@
+package org.sunbird.graph.cache.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.graph.cache.factory.JedisFactory;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * Checks the pipelined / multi-key writes of RedisStoreUtil on an embedded
+ * Redis.
+ *
+ */
+public class RedisStoreUtilBatchTest extends BaseRedisTest {
+
+	private static final int TERM_COUNT = 2000;
+
+	@Test
+	public void testSaveListBatched() {
+		String key = "cat_batch_test_framework_board";
+		saveListLooped(key, getTerms(10));
+		RedisStoreUtil.saveList(key, getTerms(TERM_COUNT));
+		Assert.assertEquals(TERM_COUNT, RedisStoreUtil.getList(key).size());
+		RedisStoreUtil.delete(key);
+	}
+
+	@Test
+	public void testSaveStringListWithTTL() {
+		String key = "cat_batch_test_framework_ttl";
+		List<String> terms = new ArrayList<String>();
+		for (Object term : getTerms(10))
+			terms.add((String) term);
+		RedisStoreUtil.saveStringList(key, terms, 60);
+		Assert.assertEquals(10, RedisStoreUtil.getStringList(key).size());
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			Assert.assertTrue(jedis.ttl(key) > 0);
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+		RedisStoreUtil.delete(key);
+	}
+
+	@Test
+	public void testSaveNodePropertiesBatched() {
+		Map<String, Object> metadata = new HashMap<String, Object>();
+		for (int i = 0; i < 50; i++)
+			metadata.put("prop_" + i, "value_" + i);
+		RedisStoreUtil.saveNodeProperties("domain", "do_batch_test", metadata);
+		Assert.assertEquals("value_7", RedisStoreUtil.getNodeProperty("domain", "do_batch_test", "prop_7"));
+		Assert.assertEquals("value_49", RedisStoreUtil.getNodeProperty("domain", "do_batch_test", "prop_49"));
+	}
+
+	@Test
+	public void testSaveManyNodePropertiesInOnePipeline() {
+		Map<String, Map<String, Object>> properties = new HashMap<String, Map<String, Object>>();
+		for (int i = 0; i < 100; i++) {
+			Map<String, Object> metadata = new HashMap<String, Object>();
+			metadata.put("versionKey", "version_" + i);
+			properties.put("do_batch_node_" + i, metadata);
+		}
+		RedisStoreUtil.saveNodeProperties("domain", properties);
+		Assert.assertEquals("version_0", RedisStoreUtil.getNodeProperty("domain", "do_batch_node_0", "versionKey"));
+		Assert.assertEquals("version_99", RedisStoreUtil.getNodeProperty("domain", "do_batch_node_99", "versionKey"));
+	}
+
+	@Test
+	public void testSaveStringListsInOnePipeline() {
+		Map<String, List<String>> lists = new HashMap<String, List<String>>();
+		for (int i = 0; i < 5; i++) {
+			List<String> terms = new ArrayList<String>();
+			for (Object term : getTerms(3000))
+				terms.add((String) term);
+			lists.put("cat_batch_test_framework_" + i, terms);
+		}
+		RedisStoreUtil.saveStringLists(lists, 0);
+		for (String key : lists.keySet()) {
+			Assert.assertEquals(3000, RedisStoreUtil.getStringList(key).size());
+			RedisStoreUtil.delete(key);
+		}
+	}
+
+	private void saveListLooped(String key, List<Object> values) {
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			jedis.del(key);
+			for (Object val : values)
+				jedis.sadd(key, (String) val);
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+	}
+
+	private List<Object> getTerms(int count) {
+		List<Object> terms = new ArrayList<Object>();
+		for (int i = 0; i < count; i++)
+			terms.add("term_" + i);
+		return terms;
+	}
+}
@@ -0,0 +1,55 @@
+package org.sunbird.graph.cache.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.graph.cache.factory.JedisFactory;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+
+public class RedisStoreUtilDeleteByPatternTest extends BaseRedisTest {
+
+	@Test
+	public void testDeleteByPatternInBatches() {
+		saveKeys("scan_delete_test_", 5000);
+		RedisStoreUtil.save("scan_keep_test", "value", 0);
+		List<Long> progress = new ArrayList<Long>();
+		long deleted = RedisStoreUtil.deleteByPattern("scan_delete_test_*", 200, true, progress::add);
+		Assert.assertEquals(5000, deleted);
+		Assert.assertTrue(progress.size() > 1);
+		Assert.assertEquals(Long.valueOf(5000), progress.get(progress.size() - 1));
+		Assert.assertEquals("value", RedisStoreUtil.get("scan_keep_test"));
+		RedisStoreUtil.delete("scan_keep_test");
+	}
+
+	@Test
+	public void testDeleteAllNodeProperty() {
+		for (int i = 0; i < 100; i++)
+			RedisStoreUtil.saveNodeProperty("domain", "do_scan_" + i, "scanTestProperty", "value");
+		RedisStoreUtil.deleteAllNodeProperty("domain", "scanTestProperty");
+		Assert.assertNull(RedisStoreUtil.getNodeProperty("domain", "do_scan_1", "scanTestProperty"));
+	}
+
+	@Test
+	public void testDeleteByPatternIgnoresWildcard() {
+		RedisStoreUtil.save("scan_wildcard_test", "value", 0);
+		Assert.assertEquals(0, RedisStoreUtil.deleteByPattern("*", 100, true, null));
+		Assert.assertEquals("value", RedisStoreUtil.get("scan_wildcard_test"));
+		RedisStoreUtil.delete("scan_wildcard_test");
+	}
+
+	private void saveKeys(String prefix, int count) {
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			Pipeline pipeline = jedis.pipelined();
+			for (int i = 0; i < count; i++)
+				pipeline.set(prefix + i, "value");
+			pipeline.sync();
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+	}
+}
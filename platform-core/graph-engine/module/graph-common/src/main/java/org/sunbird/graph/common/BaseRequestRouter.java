@@ -1,6 +1,12 @@
 package org.sunbird.graph.common;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -129,12 +135,11 @@ public abstract class BaseRequestRouter extends UntypedActor {
             if (null != methods && methods.length > 0) {
                 for (Method method : methods) {
                     Class<?>[] parameters = method.getParameterTypes();
-                    Class<?> returnType = method.getReturnType();
-                    if (returnType.getCanonicalName() == "void") {
-                        if (null != parameters && parameters.length == 1) {
-                            if (StringUtils.equals(Request.class.getName(), parameters[0].getCanonicalName()))
-                                map.put(method.getName(), method);
-                        }
+                    int modifiers = method.getModifiers();
+                    if (void.class == method.getReturnType() && Modifier.isPublic(modifiers)
+                            && !Modifier.isStatic(modifiers) && !method.isSynthetic()) {
+                        if (null != parameters && parameters.length == 1 && Request.class == parameters[0])
+                            map.put(method.getName(), method);
                     }
                 }
             }
@@ -143,6 +148,39 @@ public abstract class BaseRequestRouter extends UntypedActor {
         return null;
     }
 
+    /**
+     * Generates a handler for each operation of {@link #getMethodMap}. The
+     * handlers call the operation methods directly, without the reflective
+     * access check and argument boxing of {@link Method#invoke} on each
+     * request.
+     *
+     * @param lookup
+     *            a lookup with access to the manager class
+     * @param cls
+     *            the manager class
+     * @return the handlers by operation name
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Map<String, OperationHandler<T>> getHandlerMap(MethodHandles.Lookup lookup, Class<T> cls) {
+        Map<String, Method> methods = getMethodMap(cls);
+        if (null == methods)
+            return null;
+        Map<String, OperationHandler<T>> map = new HashMap<String, OperationHandler<T>>();
+        MethodType handleType = MethodType.methodType(void.class, Object.class, Request.class);
+        for (Map.Entry<String, Method> entry : methods.entrySet()) {
+            try {
+                MethodHandle operation = lookup.unreflect(entry.getValue());
+                CallSite site = LambdaMetafactory.metafactory(lookup, "handle",
+                        MethodType.methodType(OperationHandler.class), handleType, operation, operation.type());
+                map.put(entry.getKey(), (OperationHandler<T>) site.getTarget().invoke());
+            } catch (Throwable e) {
+                throw new ServerException(GraphEngineErrorCodes.ERR_SYSTEM_EXCEPTION.name(),
+                        "Unable to generate the handler of " + cls.getSimpleName() + "." + entry.getKey(), e);
+            }
+        }
+        return map;
+    }
+
     private void setResponseCode(Response res, Throwable e) {
         if (e instanceof ClientException) {
             res.setResponseCode(ResponseCode.CLIENT_ERROR);
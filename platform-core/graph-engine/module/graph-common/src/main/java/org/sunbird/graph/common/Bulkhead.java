@@ -0,0 +1,165 @@
+package org.sunbird.graph.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the pending requests of a class of graph operations. The request
+ * router admits a request only while fewer than the maximum are pending, so
+ * an overloaded class rejects requests at once instead of letting them time
+ * out in the manager mailboxes. The managers record the time each request
+ * waited before they picked it up.
+ * <p>
+ * Each admitted request holds an admission until its manager replies. An
+ * admission the manager never releases, because the request was dropped on
+ * the way or the manager restarted, expires at its deadline: a full bulkhead
+ * releases the admissions past their deadline before rejecting a request.
+ */
+public class Bulkhead {
+
+    private static final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<String, Bulkhead>();
+    private static final long EXPIRY_INTERVAL = 1000;
+    private static final AtomicLong admissionIds = new AtomicLong();
+
+    private final String name;
+    private final int maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger peakPending = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+    private final LongAdder expired = new LongAdder();
+    private final Map<String, Long> admissions = new ConcurrentHashMap<String, Long>();
+    private final AtomicLong nextExpiry = new AtomicLong();
+
+    Bulkhead(String name, int maxPending) {
+        this.name = name;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Gets the bulkhead, creating it with the given limit.
+     */
+    public static Bulkhead get(String name, int maxPending) {
+        return bulkheads.computeIfAbsent(name, key -> new Bulkhead(key, maxPending));
+    }
+
+    /**
+     * Gets the bulkhead, null if none is created.
+     */
+    public static Bulkhead get(String name) {
+        return null == name ? null : bulkheads.get(name);
+    }
+
+    /**
+     * Gets the stats of all the bulkheads by name.
+     */
+    public static Map<String, Object> getAllStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        for (Bulkhead bulkhead : bulkheads.values())
+            stats.put(bulkhead.name, bulkhead.getStats());
+        return stats;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Admits a request if fewer than the maximum are pending. An admitted
+     * request must be released once it completes.
+     *
+     * @return false if the request is rejected
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = pending.get();
+            if (current >= maxPending) {
+                rejected.increment();
+                return false;
+            }
+            if (pending.compareAndSet(current, current + 1)) {
+                admitted.increment();
+                peakPending.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        pending.decrementAndGet();
+    }
+
+    /**
+     * Admits a request if fewer than the maximum are pending, expiring the
+     * admissions past their deadline when the bulkhead is full.
+     *
+     * @param maxHoldTime
+     *            the time in milliseconds after which the admission expires
+     *            if it is not released
+     * @return the id of the admission, null if the request is rejected
+     */
+    public String admit(long maxHoldTime) {
+        if (pending.get() >= maxPending)
+            expire(System.currentTimeMillis());
+        if (!tryAcquire())
+            return null;
+        String admission = name + "#" + admissionIds.incrementAndGet();
+        admissions.put(admission, System.currentTimeMillis() + maxHoldTime);
+        return admission;
+    }
+
+    /**
+     * Releases the admission, unless it is already released or expired.
+     */
+    public void release(String admission) {
+        if (null != admission && null != admissions.remove(admission))
+            release();
+    }
+
+    /**
+     * Releases the admissions past their deadline, at most once every
+     * EXPIRY_INTERVAL.
+     */
+    private void expire(long now) {
+        long next = nextExpiry.get();
+        if (now < next || !nextExpiry.compareAndSet(next, now + EXPIRY_INTERVAL))
+            return;
+        for (Map.Entry<String, Long> entry : admissions.entrySet()) {
+            if (entry.getValue() <= now && admissions.remove(entry.getKey(), entry.getValue())) {
+                expired.increment();
+                release();
+            }
+        }
+    }
+
+    public void recordWait(long millis) {
+        waits.increment();
+        waitTime.add(millis);
+        maxWaitTime.accumulateAndGet(millis, Math::max);
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        long waitCount = waits.sum();
+        stats.put("maxPending", maxPending);
+        stats.put("pending", pending.get());
+        stats.put("peakPending", peakPending.get());
+        stats.put("admitted", admitted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("expired", expired.sum());
+        stats.put("avgWaitTime", waitCount > 0 ? waitTime.sum() / waitCount : 0);
+        stats.put("maxWaitTime", maxWaitTime.get());
+        return stats;
+    }
+}
@@ -0,0 +1,18 @@
+package org.sunbird.graph.common;
+
+import org.sunbird.common.dto.Request;
+
+/**
+ * Calls an operation of a manager with the request. Handlers are generated
+ * once per operation by {@link BaseRequestRouter#getHandlerMap}, so a call
+ * costs the same as calling the operation method directly.
+ *
+ * @param <T>
+ *            the manager class
+ */
+@FunctionalInterface
+public interface OperationHandler<T> {
+
+    void handle(T manager, Request request);
+
+}
@@ -2,5 +2,5 @@ package org.sunbird.graph.common.enums;
 
 public enum GraphHeaderParams {
 
-    graph_id, request_id, start_time, scenario_name;
+    graph_id, request_id, start_time, scenario_name, bulkhead, bulkhead_admission;
 }
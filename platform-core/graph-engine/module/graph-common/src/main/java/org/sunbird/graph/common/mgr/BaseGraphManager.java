@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.dto.Property;
@@ -16,8 +17,12 @@ import org.sunbird.common.exception.MiddlewareException;
 import org.sunbird.common.exception.ResourceNotFoundException;
 import org.sunbird.common.exception.ResponseCode;
 import org.sunbird.common.exception.ServerException;
+import org.sunbird.graph.common.Bulkhead;
+import org.sunbird.graph.common.enums.GraphHeaderParams;
 import org.sunbird.graph.common.exception.GraphEngineErrorCodes;
 
+import org.sunbird.telemetry.logger.TelemetryManager;
+
 import akka.actor.ActorRef;
 import akka.actor.UntypedActor;
 import akka.dispatch.Mapper;
@@ -26,11 +31,19 @@ import akka.dispatch.OnSuccess;
 import scala.concurrent.Future;
 
 public abstract class BaseGraphManager extends UntypedActor {
-    
+
+    /**
+     * The requests in progress holding a bulkhead admission, by their sender.
+     * The router asks each request, so the sender of a request is unique to
+     * it.
+     */
+    private final Map<ActorRef, Request> inProgress = new ConcurrentHashMap<ActorRef, Request>();
+
     @Override
     public void onReceive(Object message) throws Exception {
         if (message instanceof Request) {
             Request request = (Request) message;
+            admitted(request, getSender());
             invokeMethod(request, getSender());
         } else if (message instanceof Response) {
             // do nothing
@@ -41,17 +54,46 @@ public abstract class BaseGraphManager extends UntypedActor {
 
     protected abstract void invokeMethod(Request request, ActorRef parent);
 
+    /**
+     * Records the time the request waited and holds its bulkhead admission
+     * until the operation replies, so that a request whose ask timed out
+     * still counts as pending while the operation runs.
+     */
+    private void admitted(Request request, ActorRef parent) {
+        Bulkhead bulkhead = Bulkhead.get((String) request.getContext().get(GraphHeaderParams.bulkhead.name()));
+        if (null == bulkhead)
+            return;
+        Object startTime = request.getContext().get(GraphHeaderParams.start_time.name());
+        if (startTime instanceof Long)
+            bulkhead.recordWait(System.currentTimeMillis() - (Long) startTime);
+        inProgress.put(parent, request);
+    }
+
+    /**
+     * Sends the reply of an operation and releases the bulkhead admission of
+     * its request.
+     */
+    private void reply(Object message, ActorRef parent) {
+        parent.tell(message, getSelf());
+        Request request = inProgress.remove(parent);
+        if (null == request)
+            return;
+        Bulkhead bulkhead = Bulkhead.get((String) request.getContext().get(GraphHeaderParams.bulkhead.name()));
+        if (null != bulkhead)
+            bulkhead.release((String) request.getContext().get(GraphHeaderParams.bulkhead_admission.name()));
+    }
+
     public void OK(ActorRef parent) {
         Response response = new Response();
         response.setParams(getSucessStatus());
-        parent.tell(response, getSelf());
+        reply(response, parent);
     }
 
     public void OK(String responseIdentifier, Object vo, ActorRef parent) {
         Response response = new Response();
         response.put(responseIdentifier, vo);
         response.setParams(getSucessStatus());
-        parent.tell(response, getSelf());
+        reply(response, parent);
     }
 
     public void OK(Map<String, Object> responseObjects, ActorRef parent) {
@@ -62,11 +104,11 @@ public abstract class BaseGraphManager extends UntypedActor {
             }
         }
         response.setParams(getSucessStatus());
-        parent.tell(response, getSelf());
+        reply(response, parent);
     }
     
     public void sendResponse(Response response, ActorRef parent) {
-    	parent.tell(response, getSelf());
+    	reply(response, parent);
     }
 
     public void ERROR(String errorCode, String errorMessage, ResponseCode code, String responseIdentifier, Object vo, ActorRef parent) {
@@ -74,13 +116,27 @@ public abstract class BaseGraphManager extends UntypedActor {
         response.put(responseIdentifier, vo);
         response.setParams(getErrorStatus(errorCode, errorMessage));
         response.setResponseCode(code);
-        parent.tell(response, getSelf());
+        reply(response, parent);
     }
 
     public void ERROR(Throwable e, ActorRef parent) {
         handleException(e, parent);
     }
     
+    /**
+     * Replies with the failure of an operation. An Error is replied as a
+     * ServerException, so the sender does not wait for its ask to time out.
+     */
+    protected void operationFailed(String operation, Throwable e, ActorRef parent) {
+        if (e instanceof Exception) {
+            ERROR(e, parent);
+        } else {
+            TelemetryManager.error("Operation '" + operation + "' failed with an error: " + e.getMessage(), e);
+            ERROR(new ServerException(GraphEngineErrorCodes.ERR_SYSTEM_EXCEPTION.name(),
+                    "Operation '" + operation + "' failed: " + e, e), parent);
+        }
+    }
+
     public void ERROR(Throwable e, String responseIdentifier, Object vo, ActorRef parent) {
     	 Response response = new Response();
     	 response.put(responseIdentifier, vo);
@@ -95,7 +151,7 @@ public abstract class BaseGraphManager extends UntypedActor {
          params.setErrmsg(setErrMessage(e));
          response.setParams(params);
          setResponseCode(response, e);
-         parent.tell(response, getSelf());
+         reply(response, parent);
     }
     
     public Response getErrorResponse(String errorCode, String errorMessage, ResponseCode code) {
@@ -106,7 +162,7 @@ public abstract class BaseGraphManager extends UntypedActor {
     }
 
     public void ERROR(String errorCode, String errorMessage, ResponseCode code, ActorRef parent) {
-        parent.tell(getErrorResponse(errorCode, errorMessage, code), getSelf());
+        reply(getErrorResponse(errorCode, errorMessage, code), parent);
     }
 
     public boolean checkError(Response response) {
@@ -143,7 +199,7 @@ public abstract class BaseGraphManager extends UntypedActor {
         response.onSuccess(new OnSuccess<Object>() {
             @Override
             public void onSuccess(Object arg0) throws Throwable {
-                parent.tell(arg0, getSelf());
+                reply(arg0, parent);
             }
         }, getContext().dispatcher());
     }
@@ -209,7 +265,7 @@ public abstract class BaseGraphManager extends UntypedActor {
         params.setErrmsg(setErrMessage(e));
         response.setParams(params);
         setResponseCode(response, e);
-        parent.tell(response, getSelf());
+        reply(response, parent);
     }
 
     public boolean checkResponseObject(Throwable arg0, Object arg1, ActorRef parent, String errorCode, String errorMsg) {
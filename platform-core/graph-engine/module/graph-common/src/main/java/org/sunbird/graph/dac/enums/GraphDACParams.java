@@ -11,7 +11,7 @@ public enum GraphDACParams {
     nodeGraphId, nodeUniqueId, objectType, nodeType, transactionData, addedProperties, propertyName, value, removedProperties, addedTags, removedTags, 
     graphId, identifier, key, ets, newValue, status, adedTags, RETIRED, task_id, TAG, TAG_NAME, isoSymbol, type, unicode, properties, userId, requestId, 
     addedRelations, removedRelations, label, altIsoSymbol, member, proxyNode, translationSet, versionKey, versionCheckMode, STALE_DATA_UPDATED, NODE_UPDATE_STATUS, 
-    lastUpdatedOn, ON, MATCH, SET, request, MERGE, nodes, RETURN, keys, nodesCount, relationsCount, rootNode, nodeId, WHERE, indexProperties, startNodeId, endNodeId, 
+    lastUpdatedOn, ON, MATCH, SET, request, MERGE, nodes, RETURN, keys, nodesCount, relationsCount, rootNode, nodeId, nodeIds, WHERE, indexProperties, startNodeId, endNodeId, 
     relationType, startNodeIds, endNodeIds, collectionId, collection, indexProperty, taskId, input, getTags, searchCriteria, paramMap, traverser, cypherQuery, createdOn, 
     lastUpdatedBy, paramValueMap, QUERY_TEMPLATES, queryStatementMap, SYS_INTERNAL_LAST_UPDATED_ON, CONSUMER_ID, consumerId, CHANNEL_ID, channel, newNodes, 
     modifiedNodes, addedOutRelations, removedOutRelations, addedInRelations, removedInRelations, APP_ID, appId, createdBy, publish_type, Live, Unlisted, mid;
@@ -1,10 +1,13 @@
 package org.sunbird.graph.model;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -12,7 +15,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.map.ObjectMapper;
@@ -27,9 +29,11 @@ import org.sunbird.common.exception.ResponseCode;
 import org.sunbird.common.exception.ServerException;
 import org.sunbird.graph.cache.mgr.impl.NodeCacheManager;
 import org.sunbird.graph.cache.mgr.impl.SetCacheManager;
+import org.sunbird.graph.common.DateUtils;
 import org.sunbird.graph.common.enums.GraphEngineParams;
 import org.sunbird.graph.common.enums.GraphHeaderParams;
 import org.sunbird.graph.common.mgr.BaseGraphManager;
+import org.sunbird.graph.dac.enums.AuditProperties;
 import org.sunbird.graph.dac.enums.GraphDACParams;
 import org.sunbird.graph.dac.enums.RelationTypes;
 import org.sunbird.graph.dac.enums.SystemNodeTypes;
@@ -49,8 +53,10 @@ import org.sunbird.graph.model.node.DefinitionNode;
 import org.sunbird.graph.model.node.MetadataDefinition;
 import org.sunbird.graph.model.relation.RelationHandler;
 import org.sunbird.graph.reader.CSVImportMessageHandler;
+import org.sunbird.graph.reader.GraphImportPipeline;
 import org.sunbird.graph.reader.GraphReader;
 import org.sunbird.graph.reader.GraphReaderFactory;
+import org.sunbird.graph.reader.GraphStreamReader;
 import org.sunbird.graph.reader.JsonGraphReader;
 import org.sunbird.graph.writer.GraphWriterFactory;
 import org.sunbird.graph.writer.RDFGraphWriter;
@@ -323,12 +329,11 @@ public class Graph extends AbstractDomainObject {
 				throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_INVALID_INPUTSTREAM.name(),
 						"Import stream is missing");
 			} else {
-				// Get byte array.
-				try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-					IOUtils.copy(inputStream.getInputStream(), baos);
-					byte[] bytes = baos.toByteArray();
-					inputStream.setInputStream(new ByteArrayInputStream(bytes));
-					final ByteArrayInputStream byteInputStream = new ByteArrayInputStream(bytes);
+				// The input is spooled to a file, read once to validate and again to import.
+				File input = null;
+				try {
+					input = File.createTempFile("graph_import_", "." + StringUtils.lowerCase(format));
+					Files.copy(inputStream.getInputStream(), input.toPath(), StandardCopyOption.REPLACE_EXISTING);
 
 					// Fetch Definition Nodes
 					final Request defNodesReq = new Request(request);
@@ -339,6 +344,7 @@ public class Graph extends AbstractDomainObject {
 					Response res = searchMgr.getNodesByProperty(defNodesReq);
 
 					if (manager.checkError(res)) {
+						setImportTaskStatus(request, graphId, taskId, GraphEngineParams.Failed.name());
 						manager.ERROR(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_UNKNOWN_ERROR.name(),
 								manager.getErrorMessage(res), res.getResponseCode(), getParent());
 					} else {
@@ -369,20 +375,32 @@ public class Graph extends AbstractDomainObject {
 							propertyDataMap.put(objectType, propMap);
 						}
 
-						final ImportData importData = GraphReaderFactory.getObject(getManager(), format, graphId,
-								inputStream.getInputStream(), propertyDataMap);
-						request.put(GraphDACParams.import_input_object.name(), importData);
-						request.put(GraphDACParams.task_id.name(), taskId);
-						// Use ImportData object and import Graph.
-						Response importResponse = graphMgr.importGraph(request);
+						// a parse error fails the import before any node is written.
+						validateImportInput(format, graphId, input, propertyDataMap);
+
+						Response importResponse;
+						// nodes are written while the rest of the input is parsed.
+						try (InputStream in = new FileInputStream(input);
+								GraphImportPipeline nodes = new GraphImportPipeline(GraphReaderFactory
+										.getStreamReader(getManager(), format, graphId, in, propertyDataMap))) {
+							final ImportData importData = new ImportData(null, null, null, null);
+							importData.setDataNodeStream(nodes);
+							request.put(GraphDACParams.import_input_object.name(), importData);
+							request.put(GraphDACParams.task_id.name(), taskId);
+							importResponse = graphMgr.importGraph(request);
+						}
 
 						ResponseParams params = (ResponseParams) importResponse.getParams();
 						if (StatusType.failed.name().equals(params.getStatus())) {
-							getParent().tell(importResponse, manager.getSelf());
+							setImportTaskStatus(request, graphId, taskId, GraphEngineParams.Failed.name());
+							manager.sendResponse(importResponse, getParent());
 						} else {
 							final Map<String, List<String>> importMsgMap = (Map<String, List<String>>) importResponse
 									.get(GraphDACParams.messages.name());
-							CSVImportMessageHandler msgHandler = new CSVImportMessageHandler(byteInputStream);
+							CSVImportMessageHandler msgHandler;
+							try (InputStream in = new FileInputStream(input)) {
+								msgHandler = new CSVImportMessageHandler(in);
+							}
 							OutputStream outputStream = msgHandler.getOutputStream(importMsgMap);
 							Map<String, Object> outputMap = new HashMap<String, Object>();
 							outputMap.put(GraphEngineParams.output_stream.name(), new OutputStreamValue(outputStream));
@@ -392,7 +410,11 @@ public class Graph extends AbstractDomainObject {
 
 					}
 				} catch (Exception e) {
+					setImportTaskStatus(request, graphId, taskId, GraphEngineParams.Failed.name());
 					manager.ERROR(e, GraphEngineParams.task_id.name(), taskId, getParent());
+				} finally {
+					if (null != input && !input.delete())
+						TelemetryManager.warn("Import | Failed to delete the import input: " + input.getAbsolutePath());
 				}
 			}
 
@@ -401,6 +423,40 @@ public class Graph extends AbstractDomainObject {
 		}
 	}
 
+	/**
+	 * Reads all the nodes of the import input without writing them, so that
+	 * an invalid row fails the import before the first batch is committed.
+	 */
+	private void validateImportInput(String format, String graphId, File input,
+			Map<String, Map<String, MetadataDefinition>> propertyDataMap) throws Exception {
+		try (InputStream in = new FileInputStream(input);
+				GraphStreamReader reader = GraphReaderFactory.getStreamReader(getManager(), format, graphId, in,
+						propertyDataMap)) {
+			while (reader.hasNext())
+				reader.next();
+		}
+	}
+
+	/**
+	 * Sets the status of the import task node. A failure is only logged, as
+	 * the import has already failed or completed.
+	 */
+	private void setImportTaskStatus(Request request, String graphId, String taskId, String status) {
+		if (StringUtils.isBlank(taskId))
+			return;
+		try {
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("taskId", taskId);
+			params.put("status", status);
+			params.put("date", DateUtils.formatCurrentDate());
+			executeUpdateQuery(request, "MATCH (ee:" + graphId + " { " + SystemProperties.IL_UNIQUE_ID.name()
+					+ ": { taskId } }) SET ee." + GraphEngineParams.status.name() + " = { status }, ee."
+					+ AuditProperties.lastUpdatedOn.name() + " = { date }", params);
+		} catch (Exception e) {
+			TelemetryManager.error("Import | Failed to set the status: " + status + " of the task: " + taskId, e);
+		}
+	}
+
 	public void searchNodes(Request req) {
 		try {
 			Request request = new Request(req);
@@ -559,6 +615,18 @@ public class Graph extends AbstractDomainObject {
 		}
 	}
 
+	public void getDataNodesByIds(Request req) {
+		try {
+			Request request = new Request(req);
+			request.copyRequestValueObjects(req.getRequest());
+			Future<Object> response = Futures.successful(searchMgr.getNodesByIds(request));
+			manager.returnResponse(response, getParent());
+		} catch (Exception e) {
+			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_SEARCH_NODES_UNKNOWN_ERROR.name(), e.getMessage(),
+					e);
+		}
+	}
+
 	public void executeQueryForProps(Request req) {
 		try {
 			Request request = new Request(req);
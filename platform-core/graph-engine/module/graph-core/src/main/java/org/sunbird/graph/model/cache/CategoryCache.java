@@ -1,6 +1,9 @@
 package org.sunbird.graph.model.cache;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,33 +24,53 @@ public class CategoryCache {
 		return RedisStoreUtil.getList(key);
 	}
 
-	@SuppressWarnings("unchecked")
 	public static void setFramework(String id, Map<String, Object> framework) {
-		try {
-			if (null != framework && !framework.isEmpty()) {
-				List<Map<String, Object>> categories = (List<Map<String, Object>>) framework.get("categories");
-				setFramework(id, categories);
-			}
-		} catch (Exception e) {
-			throw e;
+		setFramework(id, getCategories(framework).values());
+	}
+
+	/**
+	 * Gets the categories of the framework hierarchy by their code, in the
+	 * order of the hierarchy. The term names cached here and the framework
+	 * cache are both read from it.
+	 * 
+	 * @param framework
+	 * @return the categories by code
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Map<String, Object>> getCategories(Map<String, Object> framework) {
+		Map<String, Map<String, Object>> categories = new LinkedHashMap<String, Map<String, Object>>();
+		if (null != framework && !framework.isEmpty()) {
+			List<Map<String, Object>> list = (List<Map<String, Object>>) framework.get("categories");
+			if (null != list)
+				for (Map<String, Object> category : list) {
+					String code = (String) category.get("code");
+					if (StringUtils.isNotBlank(code))
+						categories.put(code, category);
+				}
 		}
+		return categories;
 	}
 
 	private static String getKey(String framework, String category) {
 		return "cat_" + framework + category;
 	}
 
-	private static void setFramework(String framework, List<Map<String, Object>> categories) {
+	private static void setFramework(String framework, Collection<Map<String, Object>> categories) {
 		if (null != categories && !categories.isEmpty()) {
+			Map<String, List<String>> categoryTerms = new HashMap<String, List<String>>();
 			for (Map<String, Object> category : categories) {
 				String catName = (String) category.get("code");
 				List<Object> terms = getTerms(category, "terms");
 				if (!terms.isEmpty()) {
 					String key = getKey(framework, catName);
 					TelemetryManager.info("Setting framework category cache with key: " + key);
-					RedisStoreUtil.saveList(key, terms);
+					List<String> termNames = new ArrayList<String>();
+					for (Object term : terms)
+						termNames.add((String) term);
+					categoryTerms.put(key, termNames);
 				}
 			}
+			RedisStoreUtil.saveStringLists(categoryTerms, 0);
 		}
 	}
 
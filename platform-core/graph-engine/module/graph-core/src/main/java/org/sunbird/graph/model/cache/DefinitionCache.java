@@ -108,6 +108,9 @@ public class DefinitionCache extends BaseGraphManager {
 
 	public static void updateDefinitionCache(String graphId, String objectType){
 		DefinitionDTO dto = getDefinitionNodeFromGraph(graphId, objectType);
+		if (null == dto)
+			NodeCacheManager.deleteDefinitionNode(graphId, objectType);
+		else
 			NodeCacheManager.saveDefinitionNode(graphId, objectType, dto);
 	}
 }
@@ -0,0 +1,261 @@
+package org.sunbird.graph.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.exception.ClientException;
+import org.sunbird.graph.dac.enums.SystemNodeTypes;
+import org.sunbird.graph.dac.model.Node;
+import org.sunbird.graph.dac.model.Relation;
+import org.sunbird.graph.exception.GraphEngineErrorCodes;
+import org.sunbird.graph.model.node.MetadataDefinition;
+
+/**
+ * Reads the data nodes of a CSV import one record at a time. The first record
+ * is the header, each following record is a data node with its out relations
+ * in the <code>rel:</code> columns.
+ */
+public class CSVGraphStreamReader implements GraphStreamReader {
+
+	public static final String PROPERTY_ID = "identifier";
+	public static final String PROPERTY_NODE_TYPE = "nodeType";
+	public static final String PROPERTY_OBJECT_TYPE = "objectType";
+	public static final String PROPERTY_TAGS = "tags";
+	public static final String REL_HEADER_START_WITH = "rel:";
+	public static final String LIST_STR_DELIMITER = "::";
+
+	private String graphId;
+	private Map<String, Map<String, MetadataDefinition>> propertyDataMap;
+	private Map<String, List<String>> tagMembersMap;
+	private InputStreamReader isReader;
+	private CSVParser csvReader;
+	private Iterator<CSVRecord> records;
+	private List<String> allHeaders;
+	private Map<String, Integer> relHeaders;
+	private int uniqueIdIndex;
+	private int objectTypeIndex;
+	private int tagsIndex;
+	private List<Integer> skipIndexes;
+
+	/**
+	 * Reads the header of the input.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param inputStream
+	 *            the CSV input
+	 * @param propertyDataMap
+	 *            the property definitions by object type
+	 * @param tagMembersMap
+	 *            collects the members of the tags in the tags column, null to
+	 *            skip the column
+	 */
+	public CSVGraphStreamReader(String graphId, InputStream inputStream,
+			Map<String, Map<String, MetadataDefinition>> propertyDataMap, Map<String, List<String>> tagMembersMap)
+			throws IOException {
+		this.graphId = graphId;
+		this.propertyDataMap = propertyDataMap;
+		this.tagMembersMap = tagMembersMap;
+		isReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+		csvReader = new CSVParser(isReader, CSVFormat.DEFAULT);
+		records = csvReader.iterator();
+		allHeaders = new ArrayList<String>();
+		relHeaders = new HashMap<String, Integer>();
+		if (records.hasNext()) {
+			CSVRecord headerRecord = records.next();
+			for (int i = 0; i < headerRecord.size(); i++) {
+				allHeaders.add(headerRecord.get(i));
+				if (headerRecord.get(i).startsWith(REL_HEADER_START_WITH)) {
+					relHeaders.put(headerRecord.get(i), i);
+				}
+			}
+		}
+		uniqueIdIndex = allHeaders.indexOf(PROPERTY_ID);
+		int nodeTypeIndex = allHeaders.indexOf(PROPERTY_NODE_TYPE);
+		objectTypeIndex = allHeaders.indexOf(PROPERTY_OBJECT_TYPE);
+		tagsIndex = allHeaders.indexOf(PROPERTY_TAGS);
+		skipIndexes = Arrays.asList(uniqueIdIndex, nodeTypeIndex, objectTypeIndex, tagsIndex);
+		if (uniqueIdIndex == -1 || objectTypeIndex == -1) {
+			close();
+			throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_MISSING_REQ_COLUMNS.name(),
+					"Required columns are missing.");
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return records.hasNext();
+	}
+
+	@Override
+	public Node next() {
+		if (!records.hasNext())
+			throw new NoSuchElementException();
+		CSVRecord record = records.next();
+		String uniqueId = record.get(uniqueIdIndex);
+		String objectType = record.get(objectTypeIndex);
+		if (StringUtils.isBlank(uniqueId) || StringUtils.isBlank(objectType)) {
+			throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_MISSING_REQ_COLUMN_DATA.name(),
+					"Required data(uniqueId, objectType) is missing for the row[" + record.getRecordNumber() + "]: "
+							+ record);
+		}
+		Map<String, Object> metadata = new HashMap<String, Object>();
+		for (int j = 0; j < allHeaders.size(); j++) {
+			if (!skipIndexes.contains(j) && !relHeaders.values().contains(j)) {
+				String metadataKey = getMetadataKey(objectType, allHeaders.get(j));
+				String val = record.get(j);
+				if (isListProperty(objectType, allHeaders.get(j))) {
+					String[] valList = getListFromString(val);
+					metadata.put(metadataKey, valList);
+				} else {
+					if (StringUtils.isNotBlank(val))
+						val = val.replaceAll("&lt;", "<").replaceAll("&gt;", ">");
+					else
+						val = null;
+					Object value = getMetadataValue(objectType, metadataKey, val);
+					metadata.put(metadataKey, value);
+				}
+			}
+		}
+		Node node = new Node(graphId, metadata);
+		node.setIdentifier(uniqueId);
+		node.setNodeType(SystemNodeTypes.DATA_NODE.name());
+		node.setObjectType(objectType);
+		List<Relation> relations = new ArrayList<Relation>();
+		for (String relHeader : relHeaders.keySet()) {
+			String relName = relHeader.replaceAll(REL_HEADER_START_WITH, "");
+			String[] endNodeIds = record.get(relHeaders.get(relHeader)).toString().split(",");
+			for (String endNodeId : endNodeIds) {
+				endNodeId = endNodeId.trim();
+				if (StringUtils.isNotBlank(endNodeId)) {
+					Relation relation = new Relation(uniqueId, relName, endNodeId);
+					relations.add(relation);
+				}
+			}
+		}
+		if (!relHeaders.isEmpty()) {
+			node.setOutRelations(relations);
+		}
+		if (null != tagMembersMap && tagsIndex != -1) {
+			String tagsData = record.get(tagsIndex);
+			if (StringUtils.isNotBlank(tagsData)) {
+				String[] recordTags = tagsData.split(LIST_STR_DELIMITER);
+				for (String tagName : recordTags) {
+					tagName = tagName.trim();
+					if (tagMembersMap.containsKey(tagName)) {
+						tagMembersMap.get(tagName).add(uniqueId);
+					} else {
+						List<String> members = new ArrayList<String>();
+						members.add(uniqueId);
+						tagMembersMap.put(tagName, members);
+					}
+				}
+			}
+		}
+		return node;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			csvReader.close();
+		} finally {
+			isReader.close();
+		}
+	}
+
+	private String[] getListFromString(String valStr) {
+		if (StringUtils.isNotBlank(valStr)) {
+			valStr = valStr.replaceAll("&lt;", "<").replaceAll("&gt;", ">");
+			String[] vals = valStr.trim().split("\\s*" + LIST_STR_DELIMITER + "\\s*");
+			if (null != vals && vals.length > 0)
+				return vals;
+		}
+		return null;
+	}
+
+	private String getMetadataKey(String objectType, String title) {
+		if (propertyDataMap != null) {
+			Map<String, MetadataDefinition> objectPropMap = propertyDataMap.get(objectType);
+			if (objectPropMap != null) {
+				MetadataDefinition def = objectPropMap.get(title);
+				if (null != def && StringUtils.isNotBlank(def.getPropertyName())) {
+					return def.getPropertyName();
+				}
+			}
+			return title;
+		} else {
+			return title;
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	private Object getMetadataValue(String objectType, String title, String val) {
+		if (propertyDataMap != null) {
+			Map<String, MetadataDefinition> objectPropMap = propertyDataMap.get(objectType);
+			if (objectPropMap != null) {
+				MetadataDefinition def = objectPropMap.get(title);
+				if (null != def) {
+					Object value = val;
+					if (StringUtils.isBlank(val) && null != def.getDefaultValue()
+							&& StringUtils.isNotBlank(def.getDefaultValue().toString()))
+						value = def.getDefaultValue();
+					if (null != value) {
+						String datatype = def.getDataType();
+						if (StringUtils.equalsIgnoreCase("list", datatype)
+								|| StringUtils.equalsIgnoreCase("multi-select", datatype)) {
+							if (value instanceof List) {
+								value = ((List) value).toArray();
+							} else if (!(value instanceof Object[])) {
+								value = new String[] { value.toString() };
+							}
+						} else if (StringUtils.equalsIgnoreCase("number", datatype)) {
+							try {
+								BigDecimal bd = new BigDecimal(val.toString());
+								value = bd.doubleValue();
+							} catch (Exception e) {
+							}
+						} else if (StringUtils.equalsIgnoreCase("boolean", datatype)) {
+							try {
+								Boolean b = new Boolean(val.toString());
+								value = b;
+							} catch (Exception e) {
+							}
+						}
+					}
+					return value;
+				}
+			}
+		}
+		return val;
+	}
+
+	private boolean isListProperty(String objectType, String title) {
+		if (propertyDataMap != null) {
+			Map<String, MetadataDefinition> objectPropMap = propertyDataMap.get(objectType);
+			if (objectPropMap != null) {
+				MetadataDefinition def = objectPropMap.get(title);
+				if (null != def && StringUtils.isNotBlank(def.getDataType())) {
+					if (StringUtils.equalsIgnoreCase(def.getDataType(), "list")
+							|| StringUtils.equalsIgnoreCase(def.getDataType(), "multi-select"))
+						return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,151 @@
+package org.sunbird.graph.reader;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.sunbird.common.Platform;
+import org.sunbird.common.exception.ServerException;
+import org.sunbird.graph.dac.model.Node;
+import org.sunbird.graph.exception.GraphEngineErrorCodes;
+import org.sunbird.telemetry.logger.TelemetryManager;
+
+/**
+ * Parses the import input on a reader thread while the caller writes the nodes
+ * already read. The reader hands the nodes over in batches of
+ * graph.import.batch_size through a queue holding at most
+ * graph.import.queue_size batches, so the nodes in memory are bounded however
+ * large the input is. An error of the reader is thrown to the caller once the
+ * nodes read before it are consumed.
+ */
+public class GraphImportPipeline implements Iterator<Node>, Closeable {
+
+	private static final String BATCH_SIZE = "graph.import.batch_size";
+	private static final int DEFAULT_BATCH_SIZE = 500;
+	private static final String QUEUE_SIZE = "graph.import.queue_size";
+	private static final int DEFAULT_QUEUE_SIZE = 4;
+	private static final long OFFER_TIMEOUT = 1000;
+
+	private final List<Node> end = new ArrayList<Node>(0);
+	private final GraphStreamReader reader;
+	private final int batchSize;
+	private final BlockingQueue<List<Node>> queue;
+	private volatile boolean closed;
+	private volatile RuntimeException error;
+	private Iterator<Node> batch = Collections.<Node> emptyList().iterator();
+	private boolean done;
+
+	public GraphImportPipeline(GraphStreamReader reader) {
+		this(reader, getConfig(BATCH_SIZE, DEFAULT_BATCH_SIZE), getConfig(QUEUE_SIZE, DEFAULT_QUEUE_SIZE));
+	}
+
+	public GraphImportPipeline(GraphStreamReader reader, int batchSize, int queueSize) {
+		this.reader = reader;
+		this.batchSize = batchSize;
+		this.queue = new ArrayBlockingQueue<List<Node>>(queueSize);
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				read();
+			}
+		}, "graph-import-reader");
+		producer.setDaemon(true);
+		producer.start();
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!batch.hasNext()) {
+			if (done)
+				return false;
+			List<Node> nodes;
+			try {
+				nodes = queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_UNKNOWN_ERROR.name(),
+						"Import | Interrupted while reading the input.", e);
+			}
+			if (nodes == end) {
+				done = true;
+				if (null != error)
+					throw error;
+				return false;
+			}
+			batch = nodes.iterator();
+		}
+		return true;
+	}
+
+	@Override
+	public Node next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		return batch.next();
+	}
+
+	/**
+	 * Stops the reader thread, the input is closed by it.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		queue.clear();
+	}
+
+	private void read() {
+		int count = 0;
+		try {
+			List<Node> nodes = new ArrayList<Node>(batchSize);
+			while (!closed && reader.hasNext()) {
+				nodes.add(reader.next());
+				if (nodes.size() >= batchSize) {
+					count += nodes.size();
+					if (!offer(nodes))
+						return;
+					nodes = new ArrayList<Node>(batchSize);
+				}
+			}
+			if (!nodes.isEmpty()) {
+				count += nodes.size();
+				offer(nodes);
+			}
+		} catch (RuntimeException e) {
+			TelemetryManager.error("Import | Error while reading the input: " + e.getMessage(), e);
+			error = e;
+		} catch (InterruptedException e) {
+		} finally {
+			try {
+				reader.close();
+			} catch (Exception e) {
+				TelemetryManager.error("Import | Error while closing the input: " + e.getMessage(), e);
+			}
+			try {
+				offer(end);
+			} catch (InterruptedException e) {
+			}
+			TelemetryManager.info("Import | Nodes read from the input: " + count);
+		}
+	}
+
+	/**
+	 * Waits for space in the queue until the pipeline is closed.
+	 */
+	private boolean offer(List<Node> nodes) throws InterruptedException {
+		while (!closed) {
+			if (queue.offer(nodes, OFFER_TIMEOUT, TimeUnit.MILLISECONDS))
+				return true;
+		}
+		return false;
+	}
+
+	private static int getConfig(String key, int defaultValue) {
+		return Platform.config.hasPath(key) ? Platform.config.getInt(key) : defaultValue;
+	}
+}
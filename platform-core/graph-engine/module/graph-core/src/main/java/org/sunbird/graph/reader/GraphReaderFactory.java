@@ -1,11 +1,13 @@
 package org.sunbird.graph.reader;
 
 import java.io.InputStream;
+import java.util.Iterator;
 import java.util.Map;
 
 import org.codehaus.jackson.map.ObjectMapper;
 import org.sunbird.common.exception.ClientException;
 import org.sunbird.graph.common.mgr.BaseGraphManager;
+import org.sunbird.graph.dac.model.Node;
 import org.sunbird.graph.enums.ImportType;
 import org.sunbird.graph.exception.GraphEngineErrorCodes;
 import org.sunbird.graph.importer.ImportData;
@@ -40,4 +42,38 @@ public class GraphReaderFactory {
                 graphReader.getTagMembersMap());
         return inputData;
     }
+
+    /**
+     * Gets a reader of the data nodes of the input which parses it as the
+     * nodes are read. The RDF input is parsed as a whole by its model and read
+     * from the parsed nodes.
+     */
+    public static GraphStreamReader getStreamReader(BaseGraphManager manager, String format, String graphId,
+            InputStream inputStream, Map<String, Map<String, MetadataDefinition>> propertyDataMap) throws Exception {
+        if (ImportType.JSON.name().equals(format.toUpperCase())) {
+            return new JsonGraphStreamReader(manager, mapper, graphId, inputStream);
+        } else if (ImportType.CSV.name().equals(format.toUpperCase())) {
+            return new CSVGraphStreamReader(graphId, inputStream, propertyDataMap, null);
+        } else if (ImportType.RDF.name().equals(format.toUpperCase())) {
+            final Iterator<Node> nodes = getObject(manager, format, graphId, inputStream, propertyDataMap)
+                    .getDataNodes().iterator();
+            return new GraphStreamReader() {
+                @Override
+                public boolean hasNext() {
+                    return nodes.hasNext();
+                }
+
+                @Override
+                public Node next() {
+                    return nodes.next();
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        } else {
+            throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_INVALID_FORMAT.name(), "Format:" + format + " is invalid.");
+        }
+    }
 }
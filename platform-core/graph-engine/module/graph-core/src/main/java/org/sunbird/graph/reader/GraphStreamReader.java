@@ -0,0 +1,16 @@
+package org.sunbird.graph.reader;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+import org.sunbird.graph.dac.model.Node;
+
+/**
+ * Reads the data nodes of an import input one at a time, parsing the input
+ * only as far as the node returned by {@link #next()}.
+ * 
+ * @see GraphImportPipeline
+ */
+public interface GraphStreamReader extends Iterator<Node>, Closeable {
+
+}
@@ -173,30 +173,40 @@ public class JsonGraphReader implements GraphReader {
         return metaDefinitions;
     }
 
-    @SuppressWarnings("unchecked")
     private void createDataNodes(String graphId, List<Map<String, Object>> inputNodeList) {
         dataNodes = new ArrayList<Node>();
         if (null != inputNodeList) {
             for (Map<String, Object> inputNode : inputNodeList) {
-                String uniqueId = (String) inputNode.get("uniqueId");
-                String objectType = (String) inputNode.get("objectType");
-                String nodeType = (String) inputNode.get("nodeType");
-                Map<String, Object> metadata = (Map<String, Object>) inputNode.get("metadata");
-                removeNullProperties(metadata);
-                if (SystemNodeTypes.DATA_NODE.name().equals(nodeType)) {
-                    DataNode dataNode = new DataNode(manager, graphId, uniqueId, objectType, metadata);
-                    dataNodes.add(dataNode.toNode());
-                } else if (SystemNodeTypes.SEQUENCE.name().equals(nodeType)) {
-                    Sequence sequence = new Sequence(manager, graphId, uniqueId);
-                    dataNodes.add(sequence.toNode());
-                } else {
-
-                }
+                Node node = getDataNode(manager, graphId, inputNode);
+                if (null != node)
+                    dataNodes.add(node);
             }
         }
     }
 
-    private void removeNullProperties(Map<String, Object> metadata) {
+    /**
+     * Converts an element of the "nodes" list of the input.
+     * 
+     * @return the node, null if it is neither a data node nor a sequence
+     */
+    @SuppressWarnings("unchecked")
+    static Node getDataNode(BaseGraphManager manager, String graphId, Map<String, Object> inputNode) {
+        String uniqueId = (String) inputNode.get("uniqueId");
+        String objectType = (String) inputNode.get("objectType");
+        String nodeType = (String) inputNode.get("nodeType");
+        Map<String, Object> metadata = (Map<String, Object>) inputNode.get("metadata");
+        removeNullProperties(metadata);
+        if (SystemNodeTypes.DATA_NODE.name().equals(nodeType)) {
+            DataNode dataNode = new DataNode(manager, graphId, uniqueId, objectType, metadata);
+            return dataNode.toNode();
+        } else if (SystemNodeTypes.SEQUENCE.name().equals(nodeType)) {
+            Sequence sequence = new Sequence(manager, graphId, uniqueId);
+            return sequence.toNode();
+        }
+        return null;
+    }
+
+    private static void removeNullProperties(Map<String, Object> metadata) {
         Iterator<Entry<String, Object>> it = metadata.entrySet().iterator();
         while (it.hasNext()) {
             Map.Entry<String, Object> e = it.next();
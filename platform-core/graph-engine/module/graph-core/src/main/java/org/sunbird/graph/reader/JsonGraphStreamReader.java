@@ -0,0 +1,95 @@
+package org.sunbird.graph.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.sunbird.common.exception.ClientException;
+import org.sunbird.graph.common.mgr.BaseGraphManager;
+import org.sunbird.graph.dac.model.Node;
+import org.sunbird.graph.exception.GraphEngineErrorCodes;
+
+/**
+ * Reads the data nodes of a JSON import one element of the "nodes" list at a
+ * time with the streaming parser. The other fields of the input are skipped,
+ * the import writes only the data nodes.
+ */
+public class JsonGraphStreamReader implements GraphStreamReader {
+
+	private static final String NODES = "nodes";
+
+	private BaseGraphManager manager;
+	private ObjectMapper mapper;
+	private String graphId;
+	private JsonParser parser;
+	private boolean inNodes;
+	private Node nextNode;
+
+	public JsonGraphStreamReader(BaseGraphManager manager, ObjectMapper mapper, String graphId,
+			InputStream inputStream) throws IOException {
+		this.manager = manager;
+		this.mapper = mapper;
+		this.graphId = graphId;
+		parser = mapper.getJsonFactory().createJsonParser(inputStream);
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			close();
+			throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_INVALID_REQUEST_FORMAT.name(),
+					"Error! Invalid Request Format");
+		}
+		advance();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return null != nextNode;
+	}
+
+	@Override
+	public Node next() {
+		if (null == nextNode)
+			throw new NoSuchElementException();
+		Node node = nextNode;
+		advance();
+		return node;
+	}
+
+	@Override
+	public void close() throws IOException {
+		parser.close();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void advance() {
+		nextNode = null;
+		try {
+			while (null == nextNode) {
+				JsonToken token = parser.nextToken();
+				if (null == token)
+					return;
+				if (inNodes) {
+					if (token == JsonToken.END_ARRAY)
+						inNodes = false;
+					else if (token == JsonToken.START_OBJECT)
+						nextNode = JsonGraphReader.getDataNode(manager, graphId, mapper.readValue(parser, Map.class));
+					else
+						parser.skipChildren();
+				} else {
+					if (token != JsonToken.FIELD_NAME)
+						return;
+					String field = parser.getCurrentName();
+					if (parser.nextToken() == JsonToken.START_ARRAY && NODES.equals(field))
+						inNodes = true;
+					else
+						parser.skipChildren();
+				}
+			}
+		} catch (IOException e) {
+			throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_INVALID_REQUEST_FORMAT.name(),
+					"Error! Invalid Request Format", e);
+		}
+	}
+}
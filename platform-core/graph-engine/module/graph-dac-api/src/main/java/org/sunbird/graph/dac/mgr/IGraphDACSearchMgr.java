@@ -11,6 +11,8 @@ public interface IGraphDACSearchMgr {
 
 	Response getNodesByUniqueIds(Request request);
 
+	Response getNodesByIds(Request request);
+
 	Response getNodesByProperty(Request request);
 
 	Response getNodeProperty(Request request);
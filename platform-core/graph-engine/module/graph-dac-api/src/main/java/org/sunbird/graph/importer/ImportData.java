@@ -1,6 +1,7 @@
 package org.sunbird.graph.importer;
 
 import java.io.Serializable;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +16,7 @@ public class ImportData implements Serializable {
     private List<Node> dataNodes;
     private Map<String, List<String>> tagMembersMap;
     private List<Relation> relations;
+    private transient Iterator<Node> dataNodeStream;
 
     public ImportData(List<Node> definitionNodes, List<Node> dataNodes, List<Relation> relations,
             Map<String, List<String>> tagMembersMap) {
@@ -84,4 +86,20 @@ public class ImportData implements Serializable {
         this.tagMembersMap = tagMembersMap;
     }
 
+    /**
+     * @return the data nodes read as the input is parsed, null if the data
+     *         nodes are in the list
+     */
+    public Iterator<Node> getDataNodeStream() {
+        return dataNodeStream;
+    }
+
+    /**
+     * @param dataNodeStream
+     *            the data nodes read as the input is parsed
+     */
+    public void setDataNodeStream(Iterator<Node> dataNodeStream) {
+        this.dataNodeStream = dataNodeStream;
+    }
+
 }
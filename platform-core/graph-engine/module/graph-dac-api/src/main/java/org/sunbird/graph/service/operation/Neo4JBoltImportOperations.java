@@ -0,0 +1,454 @@
+package org.sunbird.graph.service.operation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.Platform;
+import org.sunbird.common.dto.Request;
+import org.sunbird.common.exception.ServerException;
+import org.sunbird.graph.cache.mgr.impl.NodeCacheManager;
+import org.sunbird.graph.cache.util.RedisStoreUtil;
+import org.sunbird.graph.common.DateUtils;
+import org.sunbird.graph.common.enums.GraphEngineParams;
+import org.sunbird.graph.dac.enums.AuditProperties;
+import org.sunbird.graph.dac.enums.GraphDACParams;
+import org.sunbird.graph.dac.enums.SystemNodeTypes;
+import org.sunbird.graph.dac.enums.SystemProperties;
+import org.sunbird.graph.dac.model.Node;
+import org.sunbird.graph.dac.model.Relation;
+import org.sunbird.graph.service.common.DACErrorCodeConstants;
+import org.sunbird.graph.service.common.DACErrorMessageConstants;
+import org.sunbird.graph.service.common.GraphOperation;
+import org.sunbird.graph.service.request.validator.Neo4jBoltValidator;
+import org.sunbird.graph.service.util.DriverUtil;
+import org.sunbird.telemetry.logger.TelemetryManager;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
+
+/**
+ * Bulk import of data nodes and their out relations. Nodes are read once from
+ * the input and written in chunks of neo4j.import.chunk_size with a single
+ * UNWIND/MERGE statement per chunk. The out relations of a chunk are synced
+ * right after its nodes are written: the relations of a start node which are
+ * not in the input are deleted with one set query and the rest are merged per
+ * relation type. The relations to end nodes which are not written yet (i.e.
+ * later in the input) are kept and merged once all the nodes are written, so
+ * only those relations are held in memory. The progress is written to the
+ * task node after each chunk.
+ */
+public class Neo4JBoltImportOperations {
+
+	private static final String IMPORT_CHUNK_SIZE = "neo4j.import.chunk_size";
+	private static final int DEFAULT_IMPORT_CHUNK_SIZE = 1000;
+	private static final String RELATION_KEY_SEPARATOR = "|";
+
+	private static Neo4jBoltValidator versionValidator = new Neo4jBoltValidator();
+
+	/**
+	 * Imports the nodes and syncs their out relations.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param taskId
+	 *            the task node to report the progress to, null if there is
+	 *            none
+	 * @param nodes
+	 *            the nodes to import
+	 * @param request
+	 *            the request
+	 * @return the import result
+	 */
+	public static ImportResult importNodes(String graphId, String taskId, Iterator<Node> nodes, Request request) {
+		ImportResult result = new ImportResult();
+		Map<String, List<String>> relationKeys = new LinkedHashMap<String, List<String>>();
+		Map<String, List<Map<String, Object>>> relationRows = new HashMap<String, List<Map<String, Object>>>();
+		List<Map<String, Object>> pendingRelations = new ArrayList<Map<String, Object>>();
+		Set<String> nodeIds = new HashSet<String>();
+		int chunkSize = getChunkSize();
+		Driver driver = DriverUtil.getDriver(graphId, GraphOperation.WRITE);
+		try (Session session = driver.session()) {
+			List<Map<String, Object>> batch = new ArrayList<Map<String, Object>>();
+			while (nodes.hasNext()) {
+				Node node = nodes.next();
+				if (null == node || StringUtils.isBlank(node.getIdentifier())
+						|| StringUtils.isBlank(node.getNodeType()) || !nodeIds.add(node.getIdentifier()))
+					continue;
+				batch.add(getNodeRow(graphId, node, request));
+				addRelationRows(node, relationKeys, relationRows);
+				if (batch.size() >= chunkSize) {
+					importChunk(session, graphId, batch, relationKeys, relationRows, pendingRelations, result);
+					updateTaskProgress(session, graphId, taskId, result, null);
+				}
+			}
+			if (!batch.isEmpty()) {
+				importChunk(session, graphId, batch, relationKeys, relationRows, pendingRelations, result);
+				updateTaskProgress(session, graphId, taskId, result, null);
+			}
+			TelemetryManager.info("Import | Nodes imported: " + result.nodesProcessed + ", created: " + result.nodesCount
+					+ ", relations to later nodes: " + pendingRelations.size());
+
+			for (int from = 0; from < pendingRelations.size(); from += chunkSize) {
+				syncPendingRelations(session, graphId,
+						pendingRelations.subList(from, Math.min(from + chunkSize, pendingRelations.size())), result);
+				updateTaskProgress(session, graphId, taskId, result, null);
+			}
+			TelemetryManager.info("Import | Relations synced: " + result.relationsProcessed
+					+ ", relations count change: " + result.relationsCount);
+			updateTaskProgress(session, graphId, taskId, result, GraphEngineParams.Completed.name());
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the nodes of the chunk, syncs their out relations and clears the
+	 * chunk.
+	 */
+	private static void importChunk(Session session, String graphId, List<Map<String, Object>> batch,
+			Map<String, List<String>> relationKeys, Map<String, List<Map<String, Object>>> relationRows,
+			List<Map<String, Object>> pendingRelations, ImportResult result) {
+		result.nodesCount += mergeNodes(session, graphId, batch);
+		result.nodesProcessed += batch.size();
+		syncRelations(session, graphId, relationKeys, relationRows, pendingRelations, result);
+		batch.clear();
+		relationKeys.clear();
+		relationRows.clear();
+	}
+
+	private static Map<String, Object> getNodeRow(String graphId, Node node, Request request) {
+		if (null == node.getMetadata())
+			node.setMetadata(new HashMap<String, Object>());
+		node.setGraphId(graphId);
+		Neo4JBoltNodeOperations.setRequestContextToNode(node, request);
+		versionValidator.validateUpdateOperation(graphId, node);
+		node.getMetadata().remove(GraphDACParams.versionKey.name());
+
+		Map<String, Object> row = new HashMap<String, Object>();
+		row.put(SystemProperties.IL_UNIQUE_ID.name(), node.getIdentifier());
+		row.put(SystemProperties.IL_SYS_NODE_TYPE.name(), node.getNodeType());
+		row.put(SystemProperties.IL_FUNC_OBJECT_TYPE.name(), node.getObjectType());
+		row.put(GraphDACParams.SYS_INTERNAL_LAST_UPDATED_ON.name(),
+				node.getMetadata().get(GraphDACParams.SYS_INTERNAL_LAST_UPDATED_ON.name()));
+		row.put(GraphDACParams.metadata.name(), node.getMetadata());
+		return row;
+	}
+
+	/**
+	 * Keeps the out relations of the node as rows. A node without an out
+	 * relations list leaves its relations as they are, an empty list removes
+	 * them.
+	 */
+	private static void addRelationRows(Node node, Map<String, List<String>> relationKeys,
+			Map<String, List<Map<String, Object>>> relationRows) {
+		if (null == node.getOutRelations())
+			return;
+		String startNodeId = node.getIdentifier();
+		List<String> keys = relationKeys.get(startNodeId);
+		if (null == keys) {
+			keys = new ArrayList<String>();
+			relationKeys.put(startNodeId, keys);
+		}
+		for (Relation relation : node.getOutRelations()) {
+			if (null == relation || StringUtils.isBlank(relation.getRelationType())
+					|| StringUtils.isBlank(relation.getEndNodeId()))
+				continue;
+			String endNodeId = relation.getEndNodeId().trim();
+			keys.add(relation.getRelationType() + RELATION_KEY_SEPARATOR + endNodeId);
+			Map<String, Object> row = new HashMap<String, Object>();
+			row.put(GraphDACParams.startNodeId.name(), startNodeId);
+			row.put(GraphDACParams.relationType.name(), relation.getRelationType());
+			row.put(GraphDACParams.endNodeId.name(), endNodeId);
+			row.put(GraphDACParams.metadata.name(),
+					null == relation.getMetadata() ? new HashMap<String, Object>() : relation.getMetadata());
+			List<Map<String, Object>> rows = relationRows.get(startNodeId);
+			if (null == rows) {
+				rows = new ArrayList<Map<String, Object>>();
+				relationRows.put(startNodeId, rows);
+			}
+			rows.add(row);
+		}
+	}
+
+	/**
+	 * Merges the nodes of the chunk. As in the upsert of a node, the
+	 * lastUpdatedOn of a node written with the passport key (i.e. having
+	 * SYS_INTERNAL_LAST_UPDATED_ON) is not changed.
+	 */
+	private static int mergeNodes(Session session, String graphId, List<Map<String, Object>> batch) {
+		String date = DateUtils.formatCurrentDate();
+		String lastUpdatedOn = "ee." + AuditProperties.lastUpdatedOn.name() + " = CASE WHEN row."
+				+ GraphDACParams.SYS_INTERNAL_LAST_UPDATED_ON.name() + " IS NULL THEN { date } ELSE ee."
+				+ AuditProperties.lastUpdatedOn.name() + " END";
+		String query = "UNWIND { batch } AS row OPTIONAL MATCH (old:" + graphId + " { "
+				+ SystemProperties.IL_UNIQUE_ID.name() + ": row." + SystemProperties.IL_UNIQUE_ID.name()
+				+ " }) WITH row, old IS NULL AS isNew MERGE (ee:" + graphId + " { "
+				+ SystemProperties.IL_UNIQUE_ID.name() + ": row." + SystemProperties.IL_UNIQUE_ID.name() + " })"
+				+ " ON CREATE SET ee += row.metadata, ee." + SystemProperties.IL_SYS_NODE_TYPE.name() + " = row."
+				+ SystemProperties.IL_SYS_NODE_TYPE.name() + ", ee." + SystemProperties.IL_FUNC_OBJECT_TYPE.name()
+				+ " = row." + SystemProperties.IL_FUNC_OBJECT_TYPE.name() + ", ee." + AuditProperties.createdOn.name()
+				+ " = { date }, " + lastUpdatedOn + ", ee." + GraphDACParams.versionKey.name() + " = { versionKey }"
+				+ " ON MATCH SET ee += row.metadata, " + lastUpdatedOn + ", ee." + GraphDACParams.versionKey.name()
+				+ " = { versionKey }"
+				+ " RETURN ee." + SystemProperties.IL_UNIQUE_ID.name() + " AS identifier, ee."
+				+ SystemProperties.IL_SYS_NODE_TYPE.name() + " AS nodeType, ee." + GraphDACParams.versionKey.name()
+				+ " AS versionKey, isNew";
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("batch", batch);
+		params.put("date", date);
+		params.put("versionKey", Long.toString(DateUtils.parse(date).getTime()));
+		List<Record> records;
+		try (Transaction tx = session.beginTransaction()) {
+			records = tx.run(query, params).list();
+			tx.success();
+		} catch (Exception e) {
+			throw new ServerException(DACErrorCodeConstants.SERVER_ERROR.name(),
+					"Import | Failed to write nodes: " + e.getMessage(), e);
+		}
+		int created = 0;
+		for (Record record : records) {
+			if (record.get("isNew").asBoolean())
+				created++;
+		}
+		updateCache(graphId, records);
+		return created;
+	}
+
+	/**
+	 * Saves the version keys of the written data nodes in one pipeline and
+	 * removes the nodes from the local cache.
+	 */
+	private static void updateCache(String graphId, List<Record> records) {
+		if (!StringUtils.equalsIgnoreCase("domain", graphId))
+			return;
+		Map<String, Map<String, Object>> versionKeys = new HashMap<String, Map<String, Object>>();
+		List<String> nodeIds = new ArrayList<String>();
+		for (Record record : records) {
+			if (record.get("nodeType").isNull()
+					|| !StringUtils.equalsIgnoreCase(SystemNodeTypes.DATA_NODE.name(), record.get("nodeType").asString()))
+				continue;
+			String nodeId = record.get("identifier").asString();
+			nodeIds.add(nodeId);
+			if (!record.get("versionKey").isNull()) {
+				Map<String, Object> cacheMap = new HashMap<String, Object>();
+				cacheMap.put(GraphDACParams.versionKey.name(), record.get("versionKey").asString());
+				versionKeys.put(nodeId, cacheMap);
+			}
+		}
+		try {
+			RedisStoreUtil.saveNodeProperties(graphId, versionKeys);
+		} catch (Exception e) {
+			throw new ServerException(DACErrorCodeConstants.CACHE_ERROR.name(),
+					DACErrorMessageConstants.CACHE_ERROR + " | " + e.getMessage());
+		}
+		for (String nodeId : nodeIds)
+			NodeCacheManager.deleteDataNode(graphId, nodeId);
+	}
+
+	/**
+	 * Deletes the relations of the start nodes which are not in the input and
+	 * merges the rest. The relations whose end node is not found are added to
+	 * the pending relations.
+	 */
+	private static void syncRelations(Session session, String graphId, Map<String, List<String>> relationKeys,
+			Map<String, List<Map<String, Object>>> relationRows, List<Map<String, Object>> pendingRelations,
+			ImportResult result) {
+		if (relationKeys.isEmpty())
+			return;
+		List<Map<String, Object>> deleteBatch = new ArrayList<Map<String, Object>>();
+		Set<String> endNodeIds = new HashSet<String>();
+		for (Entry<String, List<String>> entry : relationKeys.entrySet()) {
+			Map<String, Object> row = new HashMap<String, Object>();
+			row.put(GraphDACParams.startNodeId.name(), entry.getKey());
+			row.put(GraphDACParams.keys.name(), entry.getValue());
+			deleteBatch.add(row);
+		}
+		for (List<Map<String, Object>> rows : relationRows.values()) {
+			for (Map<String, Object> relation : rows)
+				endNodeIds.add((String) relation.get(GraphDACParams.endNodeId.name()));
+		}
+		Set<String> foundNodeIds = getExistingNodeIds(session, graphId, endNodeIds);
+		List<Map<String, Object>> relations = new ArrayList<Map<String, Object>>();
+		for (List<Map<String, Object>> rows : relationRows.values()) {
+			for (Map<String, Object> relation : rows) {
+				if (foundNodeIds.contains(relation.get(GraphDACParams.endNodeId.name())))
+					relations.add(relation);
+				else
+					pendingRelations.add(relation);
+			}
+		}
+
+		String deleteQuery = "UNWIND { batch } AS row MATCH (ee:" + graphId + " { "
+				+ SystemProperties.IL_UNIQUE_ID.name() + ": row." + GraphDACParams.startNodeId.name()
+				+ " })-[r]->(end) WHERE NOT (type(r) + '" + RELATION_KEY_SEPARATOR + "' + coalesce(end."
+				+ SystemProperties.IL_UNIQUE_ID.name() + ", '')) IN row." + GraphDACParams.keys.name()
+				+ " DELETE r RETURN count(r) AS deleted";
+		try (Transaction tx = session.beginTransaction()) {
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("batch", deleteBatch);
+			StatementResult deleted = tx.run(deleteQuery, params);
+			if (deleted.hasNext())
+				result.relationsCount -= deleted.next().get("deleted").asInt();
+			mergeRelations(tx, graphId, relations, result);
+			tx.success();
+		} catch (Exception e) {
+			throw new ServerException(DACErrorCodeConstants.SERVER_ERROR.name(),
+					"Import | Failed to write relations: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Merges the pending relations whose end node is now written and reports
+	 * the rest as not found.
+	 */
+	private static void syncPendingRelations(Session session, String graphId, List<Map<String, Object>> pendingRelations,
+			ImportResult result) {
+		Set<String> endNodeIds = new HashSet<String>();
+		for (Map<String, Object> relation : pendingRelations)
+			endNodeIds.add((String) relation.get(GraphDACParams.endNodeId.name()));
+		Set<String> foundNodeIds = getExistingNodeIds(session, graphId, endNodeIds);
+		List<Map<String, Object>> relations = new ArrayList<Map<String, Object>>();
+		for (Map<String, Object> relation : pendingRelations) {
+			String endNodeId = (String) relation.get(GraphDACParams.endNodeId.name());
+			if (foundNodeIds.contains(endNodeId))
+				relations.add(relation);
+			else
+				addMessage(result, (String) relation.get(GraphDACParams.startNodeId.name()), "Node with id: " + endNodeId
+						+ " not found to create relation:" + relation.get(GraphDACParams.relationType.name()));
+		}
+		try (Transaction tx = session.beginTransaction()) {
+			mergeRelations(tx, graphId, relations, result);
+			tx.success();
+		} catch (Exception e) {
+			throw new ServerException(DACErrorCodeConstants.SERVER_ERROR.name(),
+					"Import | Failed to write relations: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Merges the relations with one statement per relation type.
+	 */
+	private static void mergeRelations(Transaction tx, String graphId, List<Map<String, Object>> relations,
+			ImportResult result) {
+		Map<String, List<Map<String, Object>>> mergeBatches = new HashMap<String, List<Map<String, Object>>>();
+		for (Map<String, Object> relation : relations) {
+			String relationType = (String) relation.get(GraphDACParams.relationType.name());
+			if (!relationType.matches("\\w+")) {
+				addMessage(result, (String) relation.get(GraphDACParams.startNodeId.name()),
+						"Invalid relation type: " + relationType);
+				continue;
+			}
+			List<Map<String, Object>> batch = mergeBatches.get(relationType);
+			if (null == batch) {
+				batch = new ArrayList<Map<String, Object>>();
+				mergeBatches.put(relationType, batch);
+			}
+			batch.add(relation);
+		}
+		for (Entry<String, List<Map<String, Object>>> entry : mergeBatches.entrySet()) {
+			String mergeQuery = "UNWIND { batch } AS row MATCH (ee:" + graphId + " { "
+					+ SystemProperties.IL_UNIQUE_ID.name() + ": row." + GraphDACParams.startNodeId.name()
+					+ " }) MATCH (end:" + graphId + " { " + SystemProperties.IL_UNIQUE_ID.name() + ": row."
+					+ GraphDACParams.endNodeId.name() + " }) OPTIONAL MATCH (ee)-[old:" + entry.getKey()
+					+ "]->(end) WITH ee, end, row, old IS NULL AS isNew MERGE (ee)-[r:" + entry.getKey()
+					+ "]->(end) SET r += row." + GraphDACParams.metadata.name()
+					+ " RETURN sum(CASE WHEN isNew THEN 1 ELSE 0 END) AS created";
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("batch", entry.getValue());
+			StatementResult created = tx.run(mergeQuery, params);
+			if (created.hasNext())
+				result.relationsCount += created.next().get("created").asInt();
+			result.relationsProcessed += entry.getValue().size();
+		}
+	}
+
+	private static Set<String> getExistingNodeIds(Session session, String graphId, Set<String> nodeIds) {
+		Set<String> found = new HashSet<String>();
+		if (nodeIds.isEmpty())
+			return found;
+		String query = "UNWIND { nodeIds } AS nodeId MATCH (ee:" + graphId + " { "
+				+ SystemProperties.IL_UNIQUE_ID.name() + ": nodeId }) RETURN ee."
+				+ SystemProperties.IL_UNIQUE_ID.name() + " AS identifier";
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("nodeIds", new ArrayList<String>(nodeIds));
+		StatementResult result = session.run(query, params);
+		while (result.hasNext())
+			found.add(result.next().get("identifier").asString());
+		return found;
+	}
+
+	private static void updateTaskProgress(Session session, String graphId, String taskId, ImportResult result,
+			String status) {
+		if (StringUtils.isBlank(taskId))
+			return;
+		String query = "MATCH (ee:" + graphId + " { " + SystemProperties.IL_UNIQUE_ID.name()
+				+ ": { taskId } }) SET ee.nodesProcessed = { nodesProcessed }, ee.relationsProcessed = { relationsProcessed }, ee."
+				+ AuditProperties.lastUpdatedOn.name() + " = { date }"
+				+ (null == status ? "" : ", ee." + GraphEngineParams.status.name() + " = { status }");
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("taskId", taskId);
+		params.put("nodesProcessed", result.nodesProcessed);
+		params.put("relationsProcessed", result.relationsProcessed);
+		params.put("date", DateUtils.formatCurrentDate());
+		params.put("status", status);
+		session.run(query, params).consume();
+	}
+
+	private static void addMessage(ImportResult result, String nodeId, String message) {
+		List<String> rowMsgs = result.messages.get(nodeId);
+		if (null == rowMsgs) {
+			rowMsgs = new ArrayList<String>();
+			result.messages.put(nodeId, rowMsgs);
+		}
+		rowMsgs.add(message);
+	}
+
+	private static int getChunkSize() {
+		return Platform.config.hasPath(IMPORT_CHUNK_SIZE) ? Platform.config.getInt(IMPORT_CHUNK_SIZE)
+				: DEFAULT_IMPORT_CHUNK_SIZE;
+	}
+
+	/**
+	 * The Class ImportResult.
+	 */
+	public static class ImportResult {
+
+		private int nodesCount;
+		private int relationsCount;
+		private int nodesProcessed;
+		private int relationsProcessed;
+		private Map<String, List<String>> messages = new HashMap<String, List<String>>();
+
+		/** The number of nodes created. */
+		public int getNodesCount() {
+			return nodesCount;
+		}
+
+		/** The number of relations created less the number deleted. */
+		public int getRelationsCount() {
+			return relationsCount;
+		}
+
+		public int getNodesProcessed() {
+			return nodesProcessed;
+		}
+
+		public int getRelationsProcessed() {
+			return relationsProcessed;
+		}
+
+		/** The error messages by node id. */
+		public Map<String, List<String>> getMessages() {
+			return messages;
+		}
+	}
+}
@@ -361,6 +361,7 @@ public class Neo4JBoltNodeOperations {
 		// CHECK - write driver and session created for this - END
 	}
 
+	@SuppressWarnings("unchecked")
 	public static void removePropertyValue(String graphId, String nodeId, String key, Request request) {
 
 		if (StringUtils.isBlank(graphId))
@@ -385,8 +386,10 @@ public class Neo4JBoltNodeOperations {
 			parameterMap.put(GraphDACParams.request.name(), request);
 
 			try (Transaction tx = session.beginTransaction()) {
-				StatementResult result = tx
-						.run(NodeQueryGenerationUtil.generateRemovePropertyValueCypherQuery(parameterMap));
+				String query = NodeQueryGenerationUtil.generateRemovePropertyValueCypherQuery(parameterMap);
+				Map<String, Object> params = (Map<String, Object>) parameterMap
+						.get(GraphDACParams.paramValueMap.name());
+				StatementResult result = tx.run(query, params);
 				tx.success();
 				for (Record record : result.list())
 					TelemetryManager.log("Remove Property Value Operation | ", record.asMap());
@@ -400,6 +403,7 @@ public class Neo4JBoltNodeOperations {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	public static void removePropertyValues(String graphId, String nodeId, List<String> keys, Request request) {
 
 		if (StringUtils.isBlank(graphId))
@@ -424,8 +428,10 @@ public class Neo4JBoltNodeOperations {
 			parameterMap.put(GraphDACParams.request.name(), request);
 
 			try (Transaction tx = session.beginTransaction()) {
-				StatementResult result = tx
-						.run(NodeQueryGenerationUtil.generateRemovePropertyValuesCypherQuery(parameterMap));
+				String query = NodeQueryGenerationUtil.generateRemovePropertyValuesCypherQuery(parameterMap);
+				Map<String, Object> params = (Map<String, Object>) parameterMap
+						.get(GraphDACParams.paramValueMap.name());
+				StatementResult result = tx.run(query, params);
 				tx.success();
 				for (Record record : result.list())
 					TelemetryManager.log("Update Property Values Operation | ", record.asMap());
@@ -438,6 +444,7 @@ public class Neo4JBoltNodeOperations {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	public static void deleteNode(String graphId, String nodeId, Request request) {
 
 		if (StringUtils.isBlank(graphId))
@@ -457,7 +464,10 @@ public class Neo4JBoltNodeOperations {
 			parameterMap.put(GraphDACParams.request.name(), request);
 
 			try (Transaction tx = session.beginTransaction()) {
-				StatementResult result = tx.run(NodeQueryGenerationUtil.generateDeleteNodeCypherQuery(parameterMap));
+				String query = NodeQueryGenerationUtil.generateDeleteNodeCypherQuery(parameterMap);
+				Map<String, Object> params = (Map<String, Object>) parameterMap
+						.get(GraphDACParams.paramValueMap.name());
+				StatementResult result = tx.run(query, params);
 				tx.success();
 				for (Record record : result.list())
 					TelemetryManager.log("Delete Node Operation | ", record.asMap());
@@ -475,6 +485,7 @@ public class Neo4JBoltNodeOperations {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	public static Node upsertRootNode(String graphId, Request request) {
 
 		if (StringUtils.isBlank(graphId))
@@ -507,8 +518,10 @@ public class Neo4JBoltNodeOperations {
 			parameterMap.put(GraphDACParams.request.name(), request);
 
 			try (Transaction tx = session.beginTransaction()) {
-				StatementResult result = tx
-						.run(NodeQueryGenerationUtil.generateUpsertRootNodeCypherQuery(parameterMap));
+				String query = NodeQueryGenerationUtil.generateUpsertRootNodeCypherQuery(parameterMap);
+				Map<String, Object> params = (Map<String, Object>) parameterMap
+						.get(GraphDACParams.paramValueMap.name());
+				StatementResult result = tx.run(query, params);
 				tx.success();
 				for (Record record : result.list())
 					TelemetryManager.log("Upsert Root Node Operation | ", record.asMap());
@@ -549,7 +562,7 @@ public class Neo4JBoltNodeOperations {
 			}
 	}
 	
-	private static void setRequestContextToNode(Node node, Request request) {
+	static void setRequestContextToNode(Node node, Request request) {
 		if (null != request && null != request.getContext()) {
 			String channel = (String) request.getContext().get(GraphDACParams.CHANNEL_ID.name());
 			TelemetryManager.log("Channel from request: " + channel + " for content: " + node.getIdentifier());
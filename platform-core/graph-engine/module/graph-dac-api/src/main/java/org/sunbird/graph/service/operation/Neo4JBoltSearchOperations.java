@@ -3,16 +3,19 @@ package org.sunbird.graph.service.operation;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.Platform;
 import org.sunbird.common.dto.Property;
 import org.sunbird.common.dto.Request;
 import org.sunbird.common.exception.ResourceNotFoundException;
 import org.sunbird.graph.cache.mgr.impl.NodeCacheManager;
 import org.sunbird.graph.dac.enums.GraphDACParams;
+import org.sunbird.graph.dac.enums.SystemProperties;
 import org.sunbird.graph.dac.model.Graph;
 import org.sunbird.graph.dac.model.Node;
 import org.sunbird.graph.dac.model.Relation;
@@ -36,6 +39,9 @@ import org.neo4j.graphdb.Direction;
 
 public class Neo4JBoltSearchOperations {
 
+	private static final String FETCH_CHUNK_SIZE = "neo4j.fetch.chunk_size";
+	private static final int DEFAULT_FETCH_CHUNK_SIZE = 500;
+
 	/**
 	 * Gets the node by id.
 	 *
@@ -49,6 +55,7 @@ public class Neo4JBoltSearchOperations {
 	 *            the request
 	 * @return the node by id
 	 */
+	@SuppressWarnings("unchecked")
 	public static Node getNodeById(String graphId, Long nodeId, Boolean getTags, Request request) {
 
 		if (StringUtils.isBlank(graphId))
@@ -69,8 +76,10 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.getTags.name(), getTags);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetNodeByIdCypherQuery(parameterMap));
+			String query = SearchQueryGenerationUtil.generateGetNodeByIdCypherQuery(parameterMap);
+			Map<String, Object> params = (Map<String, Object>) parameterMap
+					.get(GraphDACParams.paramValueMap.name());
+			StatementResult result = session.run(query, params);
 			if (null == result || !result.hasNext())
 				throw new ResourceNotFoundException(DACErrorCodeConstants.NOT_FOUND.name(),
 						DACErrorMessageConstants.NODE_NOT_FOUND + " | [Invalid Node Id.]");
@@ -108,8 +117,9 @@ public class Neo4JBoltSearchOperations {
 	 *            the request
 	 * @return the node by unique id
 	 */
+	@SuppressWarnings("unchecked")
 	public static Node getNodeByUniqueId(String graphId, String nodeId, Boolean getTags, Request request) {
-		TelemetryManager.log("Graph Id: " + graphId + "\nNode Id: " + nodeId + "\nGet Tags:" + getTags);
+		TelemetryManager.log(() -> "Graph Id: " + graphId + "\nNode Id: " + nodeId + "\nGet Tags:" + getTags);
 
 		if (StringUtils.isBlank(graphId))
 			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
@@ -134,8 +144,10 @@ public class Neo4JBoltSearchOperations {
 				parameterMap.put(GraphDACParams.getTags.name(), getTags);
 				parameterMap.put(GraphDACParams.request.name(), request);
 
-				StatementResult result = session
-						.run(SearchQueryGenerationUtil.generateGetNodeByUniqueIdCypherQuery(parameterMap));
+				String query = SearchQueryGenerationUtil.generateGetNodeByUniqueIdCypherQuery(parameterMap);
+				Map<String, Object> params = (Map<String, Object>) parameterMap
+						.get(GraphDACParams.paramValueMap.name());
+				StatementResult result = session.run(query, params);
 				if (null == result || !result.hasNext())
 					throw new ResourceNotFoundException(DACErrorCodeConstants.NOT_FOUND.name(),
 							DACErrorMessageConstants.NODE_NOT_FOUND + " | [Invalid Node Id.]: " + nodeId, nodeId);
@@ -173,8 +185,9 @@ public class Neo4JBoltSearchOperations {
 	 *            the request
 	 * @return the nodes by property
 	 */
+	@SuppressWarnings("unchecked")
 	public static List<Node> getNodesByProperty(String graphId, Property property, Boolean getTags, Request request) {
-		TelemetryManager.log("Graph Id: " + graphId + "\nProperty: " + property + "\nGet Tags:" + getTags);
+		TelemetryManager.log(() -> "Graph Id: " + graphId + "\nProperty: " + property + "\nGet Tags:" + getTags);
 
 		if (StringUtils.isBlank(graphId))
 			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
@@ -194,8 +207,10 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.getTags.name(), getTags);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetNodesByPropertyCypherQuery(parameterMap));
+			String query = SearchQueryGenerationUtil.generateGetNodesByPropertyCypherQuery(parameterMap);
+			Map<String, Object> params = (Map<String, Object>) parameterMap
+					.get(GraphDACParams.paramValueMap.name());
+			StatementResult result = session.run(query, params);
 			Map<Long, Object> nodeMap = new HashMap<Long, Object>();
 			Map<Long, Object> relationMap = new HashMap<Long, Object>();
 			Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
@@ -275,6 +290,143 @@ public class Neo4JBoltSearchOperations {
 		return nodes;
 	}
 
+	/**
+	 * Gets the nodes of a list of identifiers. The nodes are fetched in chunks
+	 * of neo4j.fetch.chunk_size identifiers, reading the records of a chunk as
+	 * they stream in. When property keys are given, only the system properties
+	 * and those properties are fetched, without relations.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param nodeIds
+	 *            the node ids
+	 * @param propertyKeys
+	 *            the property keys to fetch, null to fetch the whole nodes
+	 * @param request
+	 *            the request
+	 * @return the nodes found, in the order of the node ids
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<Node> getNodesByIds(String graphId, List<String> nodeIds, List<String> propertyKeys,
+			Request request) {
+		if (StringUtils.isBlank(graphId))
+			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
+					DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get Nodes By Ids' Operation Failed.]");
+
+		List<Node> nodes = new ArrayList<Node>();
+		if (null == nodeIds || nodeIds.isEmpty())
+			return nodes;
+		boolean projected = null != propertyKeys && !propertyKeys.isEmpty();
+		Map<String, Node> nodeMap = new HashMap<String, Node>();
+		List<String> ids = new ArrayList<String>();
+		for (String nodeId : new LinkedHashSet<String>(nodeIds)) {
+			if (StringUtils.isNotBlank(nodeId))
+				ids.add(nodeId);
+		}
+		if (ids.isEmpty())
+			return nodes;
+
+		int chunkSize = getFetchChunkSize();
+		Driver driver = DriverUtil.getDriver(graphId, GraphOperation.READ);
+		TelemetryManager.log("Driver Initialised. | [Graph Id: " + graphId + "]");
+		try (Session session = driver.session()) {
+			for (int from = 0; from < ids.size(); from += chunkSize) {
+				Map<String, Object> parameterMap = new HashMap<String, Object>();
+				parameterMap.put(GraphDACParams.graphId.name(), graphId);
+				parameterMap.put(GraphDACParams.nodeIds.name(), ids.subList(from, Math.min(from + chunkSize, ids.size())));
+				parameterMap.put(GraphDACParams.keys.name(), propertyKeys);
+				parameterMap.put(GraphDACParams.request.name(), request);
+
+				String query = SearchQueryGenerationUtil.generateGetNodesByIdsCypherQuery(parameterMap);
+				Map<String, Object> params = (Map<String, Object>) parameterMap.get(GraphDACParams.paramValueMap.name());
+				StatementResult result = session.run(query, params);
+				if (projected)
+					readProjectedNodes(graphId, result, propertyKeys, nodeMap);
+				else
+					readNodes(graphId, result, nodeMap);
+			}
+		}
+
+		for (String nodeId : new LinkedHashSet<String>(nodeIds)) {
+			Node node = nodeMap.get(nodeId);
+			if (null != node)
+				nodes.add(node);
+		}
+		TelemetryManager.log("Returning Nodes By Ids: " + nodes.size());
+		return nodes;
+	}
+
+	private static void readNodes(String graphId, StatementResult result, Map<String, Node> nodes) {
+		Map<Long, org.neo4j.driver.v1.types.Node> nodeMap = new LinkedHashMap<Long, org.neo4j.driver.v1.types.Node>();
+		Map<Long, Map<Long, Object>> relationMap = new HashMap<Long, Map<Long, Object>>();
+		Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
+		Map<Long, Object> endNodeMap = new HashMap<Long, Object>();
+		while (null != result && result.hasNext()) {
+			Record record = result.next();
+			org.neo4j.driver.v1.types.Node node = record.get(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
+					.asNode();
+			nodeMap.putIfAbsent(node.id(), node);
+			Map<Long, Object> relations = relationMap.get(node.id());
+			if (null == relations) {
+				relations = new HashMap<Long, Object>();
+				relationMap.put(node.id(), relations);
+			}
+			getRecordValues(record, null, relations, startNodeMap, endNodeMap);
+		}
+		for (Entry<Long, org.neo4j.driver.v1.types.Node> entry : nodeMap.entrySet()) {
+			Node node = new Node(graphId, entry.getValue(), relationMap.get(entry.getKey()), startNodeMap, endNodeMap);
+			nodes.put(node.getIdentifier(), node);
+		}
+	}
+
+	private static void readProjectedNodes(String graphId, StatementResult result, List<String> propertyKeys,
+			Map<String, Node> nodes) {
+		while (null != result && result.hasNext()) {
+			Record record = result.next();
+			Node node = new Node(getString(record, SystemProperties.IL_UNIQUE_ID.name()),
+					getString(record, SystemProperties.IL_SYS_NODE_TYPE.name()),
+					getString(record, SystemProperties.IL_FUNC_OBJECT_TYPE.name()));
+			node.setGraphId(graphId);
+			Map<String, Object> metadata = new HashMap<String, Object>();
+			for (String key : propertyKeys) {
+				if (!record.containsKey(key))
+					continue;
+				Value value = record.get(key);
+				if (null == value || value.isNull())
+					continue;
+				if (StringUtils.startsWithIgnoreCase(value.type().name(), "LIST")) {
+					if (!value.asList().isEmpty())
+						metadata.put(key, getArray(value.asList()));
+				} else
+					metadata.put(key, value.asObject());
+			}
+			node.setMetadata(metadata);
+			nodes.put(node.getIdentifier(), node);
+		}
+	}
+
+	/** Lists are kept as typed arrays, as in the metadata of a node read with its relations. */
+	private static Object[] getArray(List<Object> list) {
+		Object obj = list.get(0);
+		if (obj instanceof String)
+			return list.toArray(new String[0]);
+		else if (obj instanceof Number)
+			return list.toArray(new Number[0]);
+		else if (obj instanceof Boolean)
+			return list.toArray(new Boolean[0]);
+		return list.toArray(new Object[0]);
+	}
+
+	private static String getString(Record record, String key) {
+		Value value = record.get(key);
+		return (null == value || value.isNull()) ? null : value.asString();
+	}
+
+	private static int getFetchChunkSize() {
+		return Platform.config.hasPath(FETCH_CHUNK_SIZE) ? Platform.config.getInt(FETCH_CHUNK_SIZE)
+				: DEFAULT_FETCH_CHUNK_SIZE;
+	}
+
 	public static List<Map<String, Object>> executeQueryForProps(String graphId, String query, List<String> propKeys) {
 		if (StringUtils.isBlank(graphId))
 			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(), DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Execute Query For Nodes' Operation Failed.]");
@@ -316,8 +468,9 @@ public class Neo4JBoltSearchOperations {
 	 *            the request
 	 * @return the node property
 	 */
+	@SuppressWarnings("unchecked")
 	public static Property getNodeProperty(String graphId, String nodeId, String key, Request request) {
-		TelemetryManager.log("Graph Id: " + graphId + "\nNode Id: " + nodeId + "\nProperty (Key): " + key);
+		TelemetryManager.log(() -> "Graph Id: " + graphId + "\nNode Id: " + nodeId + "\nProperty (Key): " + key);
 
 
 		if (StringUtils.isBlank(graphId))
@@ -342,8 +495,10 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.key.name(), key);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetNodePropertyCypherQuery(parameterMap));
+			String query = SearchQueryGenerationUtil.generateGetNodePropertyCypherQuery(parameterMap);
+			Map<String, Object> params = (Map<String, Object>) parameterMap
+					.get(GraphDACParams.paramValueMap.name());
+			StatementResult result = session.run(query, params);
 			if (null != result) {
 				for (Record record : result.list()) {
 					TelemetryManager.log("'Get Node Property' Operation Finished.", record.asMap());
@@ -439,7 +594,7 @@ public class Neo4JBoltSearchOperations {
 						getRecordValues(record, null, relationMap, startNodeMap, endNodeMap);
 				}
 			}
-			TelemetryManager.log("Relation Map: " + relationMap + "\nStart Node Map: " + startNodeMap + "\nEnd Node Map: "
+			TelemetryManager.log(() -> "Relation Map: " + relationMap + "\nStart Node Map: " + startNodeMap + "\nEnd Node Map: "
 					+ endNodeMap);
 
 			if (!relationMap.isEmpty()) {
@@ -469,10 +624,11 @@ public class Neo4JBoltSearchOperations {
 	 *            the request
 	 * @return the relation property
 	 */
+	@SuppressWarnings("unchecked")
 	public static Property getRelationProperty(String graphId, String startNodeId, String relationType,
 			String endNodeId,
 			String key, Request request) {
-		TelemetryManager.log("Graph Id: " + graphId + "\nStart Node Id: " + startNodeId + "\nRelation Type: "
+		TelemetryManager.log(() -> "Graph Id: " + graphId + "\nStart Node Id: " + startNodeId + "\nRelation Type: "
 				+ relationType + "\nEnd Node Id: " + endNodeId + "\nProperty (Key): " + key);
 
 
@@ -508,8 +664,10 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.key.name(), key);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetRelationPropertyCypherQuery(parameterMap));
+			String query = SearchQueryGenerationUtil.generateGetRelationPropertyCypherQuery(parameterMap);
+			Map<String, Object> params = (Map<String, Object>) parameterMap
+					.get(GraphDACParams.paramValueMap.name());
+			StatementResult result = session.run(query, params);
 			if (null != result) {
 				for (Record record : result.list()) {
 					TelemetryManager.log("'Get Relation Property' Operation Finished.", record.asMap());
@@ -523,8 +681,9 @@ public class Neo4JBoltSearchOperations {
 		return property;
 	}
 	
+	@SuppressWarnings("unchecked")
 	public static Relation getRelationById(String graphId, Long relationId, Request request) {
-		TelemetryManager.log("Graph Id: " + graphId + "\nRelation Id: " + relationId);
+		TelemetryManager.log(() -> "Graph Id: " + graphId + "\nRelation Id: " + relationId);
 
 		if (StringUtils.isBlank(graphId))
 			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
@@ -543,8 +702,10 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.identifier.name(), relationId);
 			parameterMap.put(GraphDACParams.request.name(), request);
 			
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetRelationByIdCypherQuery(parameterMap));
+			String query = SearchQueryGenerationUtil.generateGetRelationByIdCypherQuery(parameterMap);
+			Map<String, Object> params = (Map<String, Object>) parameterMap
+					.get(GraphDACParams.paramValueMap.name());
+			StatementResult result = session.run(query, params);
 			Map<Long, Object> relationMap = new HashMap<Long, Object>();
 			Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
 			Map<Long, Object> endNodeMap = new HashMap<Long, Object>();
@@ -555,7 +716,7 @@ public class Neo4JBoltSearchOperations {
 						getRecordValues(record, null, relationMap, startNodeMap, endNodeMap);
 				}
 			}
-			TelemetryManager.log("Relation Map: " + relationMap + "\nStart Node Map: " + startNodeMap + "\nEnd Node Map: "
+			TelemetryManager.log(() -> "Relation Map: " + relationMap + "\nStart Node Map: " + startNodeMap + "\nEnd Node Map: "
 					+ endNodeMap);
 
 			if (!relationMap.isEmpty()) {
@@ -582,6 +743,7 @@ public class Neo4JBoltSearchOperations {
 	 *            the request
 	 * @return the relation
 	 */
+	@SuppressWarnings("unchecked")
 	public static Relation getRelation(String graphId, String startNodeId, String relationType, String endNodeId,
 			Request request) {
 
@@ -612,8 +774,10 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.endNodeId.name(), endNodeId);
 			parameterMap.put(GraphDACParams.request.name(), request);
 			
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetRelationCypherQuery(parameterMap));
+			String query = SearchQueryGenerationUtil.generateGetRelationCypherQuery(parameterMap);
+			Map<String, Object> params = (Map<String, Object>) parameterMap
+					.get(GraphDACParams.paramValueMap.name());
+			StatementResult result = session.run(query, params);
 			if (null == result || !result.hasNext())
 				throw new ResourceNotFoundException(DACErrorCodeConstants.NOT_FOUND.name(),
 						DACErrorMessageConstants.NODE_NOT_FOUND + " | [No Relation found.]");
@@ -626,7 +790,7 @@ public class Neo4JBoltSearchOperations {
 				if (null != record)
 					getRecordValues(record, null, relationMap, startNodeMap, endNodeMap);
 			}
-			TelemetryManager.log("Relation Map: " + relationMap + "\nStart Node Map: " + startNodeMap + "\nEnd Node Map: "
+			TelemetryManager.log(() -> "Relation Map: " + relationMap + "\nStart Node Map: " + startNodeMap + "\nEnd Node Map: "
 					+ endNodeMap);
 
 			if (!relationMap.isEmpty()) {
@@ -653,9 +817,10 @@ public class Neo4JBoltSearchOperations {
 	 *            the request
 	 * @return the map
 	 */
+	@SuppressWarnings("unchecked")
 	public static Map<String, Object> checkCyclicLoop(String graphId, String startNodeId, String relationType,
 			String endNodeId, Request request) {
-		TelemetryManager.log("Graph Id: " + graphId + "\nStart Node Id: " + startNodeId + "\nRelation Type: "
+		TelemetryManager.log(() -> "Graph Id: " + graphId + "\nStart Node Id: " + startNodeId + "\nRelation Type: "
 				+ relationType + "\nEnd Node Id: " + endNodeId);
 
 
@@ -686,8 +851,10 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.endNodeId.name(), endNodeId);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateCheckCyclicLoopCypherQuery(parameterMap));
+			String query = SearchQueryGenerationUtil.generateCheckCyclicLoopCypherQuery(parameterMap);
+			Map<String, Object> params = (Map<String, Object>) parameterMap
+					.get(GraphDACParams.paramValueMap.name());
+			StatementResult result = session.run(query, params);
 			if (null != result && result.hasNext()) {
 				cyclicLoopMap.put(GraphDACParams.loop.name(), new Boolean(true));
 				cyclicLoopMap.put(GraphDACParams.message.name(),
@@ -716,7 +883,7 @@ public class Neo4JBoltSearchOperations {
 	 */
 	public static List<Map<String, Object>> executeQuery(String graphId, String query, Map<String, Object> paramMap,
 			Request request) {
-		TelemetryManager.log("Graph Id: " + graphId + "\nQuery: " + query + "\nParam Map: ", paramMap);
+		TelemetryManager.log(() -> "Graph Id: " + graphId + "\nQuery: " + query + "\nParam Map: ", paramMap);
 
 		if (StringUtils.isBlank(graphId))
 			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
@@ -77,6 +77,45 @@ public class BaseQueryGenerationUtil {
 		return matchCriteria;
 	}
 
+	protected static Map<String, Object> getMatchCriteriaQueryMap(String graphId, Node node) {
+
+		Map<String, Object> queryMap = new HashMap<String, Object>();
+		if (StringUtils.isNotBlank(graphId) && null != node) {
+			if (StringUtils.isBlank(node.getIdentifier()))
+				node.setIdentifier(Identifier.getIdentifier(graphId, Identifier.getUniqueIdFromTimestamp()));
+			if (StringUtils.isBlank(node.getGraphId()))
+				node.setGraphId(graphId);
+
+			// Sample: IL_UNIQUE_ID : { MC_IL_UNIQUE_ID }
+			Map<String, Object> paramValuesMap = new HashMap<String, Object>();
+			paramValuesMap.put("MC_" + SystemProperties.IL_UNIQUE_ID.name(), node.getIdentifier());
+			queryMap.put(GraphDACParams.query.name(),
+					SystemProperties.IL_UNIQUE_ID.name() + CypherQueryConfigurationConstants.BLANK_SPACE
+							+ CypherQueryConfigurationConstants.COLON + " { MC_" + SystemProperties.IL_UNIQUE_ID.name()
+							+ " }");
+			queryMap.put(GraphDACParams.paramValueMap.name(), paramValuesMap);
+		}
+
+		return queryMap;
+	}
+
+	/**
+	 * Adds the values of the query parameters, given as name and value pairs,
+	 * to the 'paramValueMap' of the parameter map. Node ids and property values
+	 * are passed as parameters instead of literals so that the query text is the
+	 * same for every node and Neo4j reuses the cached plan of the query.
+	 */
+	@SuppressWarnings("unchecked")
+	protected static void putParamValues(Map<String, Object> parameterMap, Object... params) {
+		Map<String, Object> paramValuesMap = (Map<String, Object>) parameterMap
+				.get(GraphDACParams.paramValueMap.name());
+		if (null == paramValuesMap)
+			paramValuesMap = new HashMap<String, Object>();
+		for (int i = 0; i < params.length - 1; i += 2)
+			paramValuesMap.put((String) params[i], params[i + 1]);
+		parameterMap.put(GraphDACParams.paramValueMap.name(), paramValuesMap);
+	}
+
 	protected static Map<String, Object> getMetadataCypherQueryMap(Node node) {
 
 		Map<String, Object> queryMap = new HashMap<String, Object>();
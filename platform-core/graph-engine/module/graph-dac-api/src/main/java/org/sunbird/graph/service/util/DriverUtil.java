@@ -1,10 +1,13 @@
 package org.sunbird.graph.service.util;
 
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.ConnectionRegistry;
+import org.sunbird.common.Platform;
 import org.sunbird.graph.service.common.DACConfigurationConstants;
 import org.sunbird.graph.service.common.GraphOperation;
 import org.sunbird.telemetry.logger.TelemetryManager;
@@ -14,53 +17,96 @@ import org.neo4j.driver.v1.GraphDatabase;
 
 public class DriverUtil {
 
-	private static Map<String, Driver> driverMap = new HashMap<String, Driver>();
+	/** The pool settings of each driver, reported in the stats. */
+	private static Map<Driver, Map<String, Object>> driverSettings = new ConcurrentHashMap<>();
+
+	private static ConnectionRegistry<Driver> drivers = new ConnectionRegistry<>("neo4j", null, driver -> {
+		driverSettings.remove(driver);
+		driver.close();
+	}, driver -> driverSettings.get(driver));
 
 	public static Driver getDriver(String graphId, GraphOperation graphOperation) {
 		TelemetryManager.log("Get Driver for Graph Id: "+ graphId);
 		String driverKey = graphId + DACConfigurationConstants.UNDERSCORE
 				+ StringUtils.lowerCase(graphOperation.name());
 		TelemetryManager.log("Driver Configuration Key: " + driverKey);
-
-		Driver driver = driverMap.get(driverKey);
-		if (null == driver) {
-			driver = loadDriver(graphId, graphOperation);
-			driverMap.put(driverKey, driver);
-		}
-		return driver;
+		return drivers.get(driverKey, () -> loadDriver(graphId, graphOperation));
 	}
 
 	private static Driver loadDriver(String graphId, GraphOperation graphOperation) {
 		String route = RoutingUtil.getRoute(graphId, graphOperation);
-		Driver driver = GraphDatabase.driver(route, getConfig());
-		if (null != driver)
-			registerShutdownHook(driver);
+		Map<String, Object> settings = getPoolSettings(graphId);
+		Driver driver = GraphDatabase.driver(route, getConfig(settings));
+		driverSettings.put(driver, settings);
 		return driver;
 	}
 
-	private static void registerShutdownHook(Driver driver) {
-		Runtime.getRuntime().addShutdownHook(new Thread() {
-			@Override
-			public void run() {
-				if (null != driver)
-					driver.close();
-			}
-		});
+	public static Config getConfig() {
+		return getConfig(getPoolSettings(null));
+	}
+
+	/**
+	 * Gets the driver config of the graph, with the pool settings from
+	 * neo4j.{graphId}.pool.* or neo4j.pool.* when configured.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @return the config
+	 */
+	public static Config getConfig(String graphId) {
+		return getConfig(getPoolSettings(graphId));
 	}
 
-	public static Config getConfig() {
+	private static Config getConfig(Map<String, Object> settings) {
 		Config.ConfigBuilder config = Config.build();
 		config.withEncryptionLevel(Config.EncryptionLevel.NONE);
-		config.withMaxIdleSessions(DACConfigurationConstants.NEO4J_SERVER_MAX_IDLE_SESSION);
+		config.withMaxIdleSessions((int) settings.get("maxConnectionPoolSize"));
 		config.withTrustStrategy(Config.TrustStrategy.trustAllCertificates());
+		if (settings.containsKey("connectionTimeout"))
+			config.withConnectionTimeout((long) settings.get("connectionTimeout"), TimeUnit.MILLISECONDS);
+		if (settings.containsKey("livenessCheckTimeout"))
+			config.withConnectionLivenessCheckTimeout((long) settings.get("livenessCheckTimeout"),
+					TimeUnit.MILLISECONDS);
 		return config.toConfig();
 	}
+
+	/**
+	 * Driver 1.4 pools up to max idle sessions connections per server and has
+	 * no separate acquisition timeout, so the pool size and the acquisition
+	 * timeout map to those and to the connection timeout.
+	 */
+	private static Map<String, Object> getPoolSettings(String graphId) {
+		Map<String, Object> settings = new HashMap<>();
+		settings.put("maxConnectionPoolSize", hasPoolConfig(graphId, "max_connection_pool_size") ?
+				getPoolInt(graphId, "max_connection_pool_size") : DACConfigurationConstants.NEO4J_SERVER_MAX_IDLE_SESSION);
+		if (hasPoolConfig(graphId, "connection_acquisition_timeout"))
+			settings.put("connectionTimeout", (long) getPoolInt(graphId, "connection_acquisition_timeout"));
+		if (hasPoolConfig(graphId, "liveness_check_timeout"))
+			settings.put("livenessCheckTimeout", (long) getPoolInt(graphId, "liveness_check_timeout"));
+		return settings;
+	}
+
+	private static boolean hasPoolConfig(String graphId, String name) {
+		return (null != graphId && Platform.config.hasPath("neo4j." + graphId + ".pool." + name))
+				|| Platform.config.hasPath("neo4j.pool." + name);
+	}
+
+	private static int getPoolInt(String graphId, String name) {
+		if (null != graphId && Platform.config.hasPath("neo4j." + graphId + ".pool." + name))
+			return Platform.config.getInt("neo4j." + graphId + ".pool." + name);
+		return Platform.config.getInt("neo4j.pool." + name);
+	}
+
+	/**
+	 * Gets the registered drivers with their pool settings.
+	 *
+	 * @return the stats
+	 */
+	public static Map<String, Object> getStats() {
+		return drivers.getStats();
+	}
+
 	public static void closeDrivers() {
-		for (Iterator<Map.Entry<String, Driver>> it = driverMap.entrySet().iterator(); it.hasNext(); ) {
-			Map.Entry<String, Driver> entry = it.next();
-			Driver driver = entry.getValue();
-			driver.close();
-			it.remove();
-		}
+		drivers.closeAll();
 	}
 }
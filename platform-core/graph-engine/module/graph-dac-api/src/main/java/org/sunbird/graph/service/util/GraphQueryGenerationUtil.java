@@ -241,7 +241,8 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 
 			query.append(getDeleteRelationCypherQuery(graphId, startNodeId, endNodeId, relationType,
 					CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT,
-					CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT_II, RelationshipDirection.OUTGOING));
+					CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT_II, RelationshipDirection.OUTGOING,
+					parameterMap));
 		}
 
 		TelemetryManager.log("'Delete Relation' Cypher Query: " + query);
@@ -367,7 +368,7 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 			int index = 0;
 			for (String startNodeId : startNodeIds)
 				query.append(getDeleteRelationCypherQuery(graphId, startNodeId, endNodeId, relationType,
-						getString(index++), getString(index++), RelationshipDirection.INCOMING));
+						getString(index++), getString(index++), RelationshipDirection.INCOMING, parameterMap));
 		}
 
 		TelemetryManager.log("'Delete Incoming Relations' Cypher Query: " + query);
@@ -405,7 +406,7 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 			int index = 0;
 			for (String endNodeId : endNodeIds)
 				query.append(getDeleteRelationCypherQuery(graphId, startNodeId, endNodeId, relationType,
-						getString(index++), getString(index++), RelationshipDirection.INCOMING));
+						getString(index++), getString(index++), RelationshipDirection.INCOMING, parameterMap));
 		}
 
 		TelemetryManager.log("'Delete Outgoing Relations' Cypher Query: " + query);
@@ -447,7 +448,8 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 
 			query.append(getRemoveRelationMetadataCypherQuery(graphId, startNodeId, endNodeId, relationType, key,
 					CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT,
-					CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT_II, RelationshipDirection.OUTGOING));
+					CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT_II, RelationshipDirection.OUTGOING,
+					parameterMap));
 		}
 
 		TelemetryManager.log("Returning 'Create Relation' Cypher Query: " + query);
@@ -601,9 +603,10 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 				relationship = "-[r:" + relationType + "]-";
 
 			query.append("MATCH (" + startNodeObjectVariableName + ":" + graphId + " { "
-					+ SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId + "' }),(" + endNodeObjectVariableName
-					+ ":" + graphId + " { " + SystemProperties.IL_UNIQUE_ID.name() + ": '" + endNodeId + "' }) MERGE ("
-					+ startNodeObjectVariableName + ")" + relationship + "(" + endNodeObjectVariableName + ") ");
+					+ SystemProperties.IL_UNIQUE_ID.name() + ": { ID_" + startNodeObjectVariableName + " } }),("
+					+ endNodeObjectVariableName + ":" + graphId + " { " + SystemProperties.IL_UNIQUE_ID.name()
+					+ ": { ID_" + endNodeObjectVariableName + " } }) MERGE (" + startNodeObjectVariableName + ")"
+					+ relationship + "(" + endNodeObjectVariableName + ") ");
 
 			if (null == metadata)
 				metadata = new HashMap<String, Object>();
@@ -635,6 +638,8 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 					mpm.putAll((Map<String, Object>) parameterMap.get(GraphDACParams.paramValueMap.name()));
 				parameterMap.put(GraphDACParams.paramValueMap.name(), mpm);
 			}
+			putParamValues(parameterMap, "ID_" + startNodeObjectVariableName, startNodeId,
+					"ID_" + endNodeObjectVariableName, endNodeId);
 			parameterMap.put(GraphDACParams.query.name(), query.toString());
 			TelemetryManager.log("Returning 'Create Relation' Cypher Query: " + query);
 		}
@@ -702,9 +707,9 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 				relationship = "-[r:" + relationType + "]-";
 
 			query.append("MATCH (" + startNodeObjectVariableName + ":" + graphId + " { "
-					+ SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId + "' })" + relationship + "("
-					+ endNodeObjectVariableName + ":" + graphId + " { " + SystemProperties.IL_UNIQUE_ID.name() + ": '"
-					+ endNodeId + "' }) ");
+					+ SystemProperties.IL_UNIQUE_ID.name() + ": { ID_" + startNodeObjectVariableName + " } })"
+					+ relationship + "(" + endNodeObjectVariableName + ":" + graphId + " { "
+					+ SystemProperties.IL_UNIQUE_ID.name() + ": { ID_" + endNodeObjectVariableName + " } }) ");
 
 			// SET CLAUSE
 			if (null != metadata && !metadata.isEmpty()) {
@@ -715,6 +720,8 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 				parameterMap.put(GraphDACParams.paramValueMap.name(),
 						metadataQueryMap.get(GraphDACParams.paramValueMap.name()));
 			}
+			putParamValues(parameterMap, "ID_" + startNodeObjectVariableName, startNodeId,
+					"ID_" + endNodeObjectVariableName, endNodeId);
 			parameterMap.put(GraphDACParams.query.name(), query.toString());
 			TelemetryManager.log("'Update Relation' Cypher Query: " + query);
 		}
@@ -723,7 +730,7 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 
 	private static String getDeleteRelationCypherQuery(String graphId, String startNodeId, String endNodeId,
 			String relationType, String startNodeObjectVariableName, String endNodeObjectVariableName,
-			RelationshipDirection direction) {
+			RelationshipDirection direction, Map<String, Object> parameterMap) {
 
 		StringBuilder query = new StringBuilder();
 		if (StringUtils.isNotBlank(graphId) && StringUtils.isNotBlank(startNodeId) && StringUtils.isNotBlank(endNodeId)
@@ -738,16 +745,19 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 			else if (direction == RelationshipDirection.BIDIRECTIONAL)
 				relationship = "-[r:" + relationType + "]-";
 
-			query.append("MATCH (a:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-					+ "'})" + relationship + "(b:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '"
-					+ endNodeId + "'}) DELETE r").append(CypherQueryConfigurationConstants.BLANK_SPACE);
+			query.append("MATCH (a:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": { ID_"
+					+ startNodeObjectVariableName + " }})" + relationship + "(b:" + graphId + " {"
+					+ SystemProperties.IL_UNIQUE_ID.name() + ": { ID_" + endNodeObjectVariableName + " }}) DELETE r")
+					.append(CypherQueryConfigurationConstants.BLANK_SPACE);
+			putParamValues(parameterMap, "ID_" + startNodeObjectVariableName, startNodeId,
+					"ID_" + endNodeObjectVariableName, endNodeId);
 		}
 		return query.toString();
 	}
 
 	private static String getRemoveRelationMetadataCypherQuery(String graphId, String startNodeId, String endNodeId,
 			String relationType, String key, String startNodeObjectVariableName, String endNodeObjectVariableName,
-			RelationshipDirection direction) {
+			RelationshipDirection direction, Map<String, Object> parameterMap) {
 
 		StringBuilder query = new StringBuilder();
 		if (StringUtils.isNotBlank(graphId) && StringUtils.isNotBlank(startNodeId) && StringUtils.isNotBlank(endNodeId)
@@ -763,9 +773,12 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 			else if (direction == RelationshipDirection.BIDIRECTIONAL)
 				relationship = "-[r:" + relationType + "]-";
 
-			query.append("MATCH (a:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-					+ "'})" + relationship + "(b:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '"
-					+ endNodeId + "'}) REMOVE r." + key).append(CypherQueryConfigurationConstants.BLANK_SPACE);
+			query.append("MATCH (a:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": { ID_"
+					+ startNodeObjectVariableName + " }})" + relationship + "(b:" + graphId + " {"
+					+ SystemProperties.IL_UNIQUE_ID.name() + ": { ID_" + endNodeObjectVariableName + " }}) REMOVE r."
+					+ key).append(CypherQueryConfigurationConstants.BLANK_SPACE);
+			putParamValues(parameterMap, "ID_" + startNodeObjectVariableName, startNodeId,
+					"ID_" + endNodeObjectVariableName, endNodeId);
 		}
 		return query.toString();
 	}
@@ -779,8 +792,10 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 			try (Session session = driver.session()) {
 				TelemetryManager.log("Session Initialised. | [Graph Id: " + graphId + "]");
 
+				Map<String, Object> params = new HashMap<String, Object>();
+				params.put("startNodeId", startNodeId);
 				StatementResult result = session
-						.run(generateGetAllRelationsCypherQuery(graphId, startNodeId, direction));
+						.run(generateGetAllRelationsCypherQuery(graphId, startNodeId, direction), params);
 				for (Record record : result.list()) {
 					relationships.add(record.get("r").asRelationship());
 				}
@@ -794,14 +809,14 @@ public class GraphQueryGenerationUtil extends BaseQueryGenerationUtil {
 		StringBuilder query = new StringBuilder();
 		if (StringUtils.isNotBlank(graphId) && StringUtils.isNotBlank(startNodeId)) {
 			if (direction == RelationshipDirection.INCOMING)
-				query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-						+ "'})<-[r]-() RETURN r");
+				query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+						+ ": { startNodeId }})<-[r]-() RETURN r");
 			else if (direction == RelationshipDirection.OUTGOING)
-				query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-						+ "'})-[r]->() RETURN r");
+				query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+						+ ": { startNodeId }})-[r]->() RETURN r");
 			else if (direction == RelationshipDirection.BIDIRECTIONAL)
-				query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-						+ "'})-[r]-() RETURN r");
+				query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+						+ ": { startNodeId }})-[r]-() RETURN r");
 		}
 		return query.toString();
 	}
@@ -1,51 +1,33 @@
 package org.sunbird.graph.service.util;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Function;
 
 import org.sunbird.common.Platform;
+import org.sunbird.graph.cache.local.BoundedLocalCache;
+import org.sunbird.graph.cache.local.CacheStats;
 import org.sunbird.graph.cache.util.CacheKeyGenerator;
-import org.sunbird.telemetry.logger.TelemetryManager;
 
 /**
  * The Class LocalCache, is used to cache any object in current java instance
  * local heap until the cached object time to live(ttl) expired as per
- * configured ttl
+ * configured ttl. The cache is bounded by the configured max size and evicts
+ * the least recently used objects once it is full.
  *
  * @author karthik
  */
 public class LocalCache {
 
-	/** The cache map. */
-	private static Map<String, CacheObject> cacheMap = null;
+	/** The cache. */
+	private static BoundedLocalCache<String, Object> cache = null;
 
 	/** The ttl. */
 	private static long ttl = 36000000; // default 10 hour
 
-	/**
-	 * The Class CacheObject.
-	 *
-	 * @author karthik
-	 */
-	protected static class CacheObject {
-
-		/** The create on. */
-		public long createOn = System.currentTimeMillis();
-
-		/** The value. */
-		public Object value;
-
-		/**
-		 * Instantiates a new cache object.
-		 *
-		 * @param value
-		 *            the value
-		 */
-		protected CacheObject(Object value) {
-			this.value = value;
-			TelemetryManager.log("Local cache object value=" + value.toString() + "createOn=" + createOn);
-		}
-	}
+	/** The max size. */
+	private static long maxSize = 10000;
+
+	/** The refresh after write, disabled by default. */
+	private static long refreshAfterWrite = 0;
 
 	static {
 		init();
@@ -55,8 +37,12 @@ public class LocalCache {
 	 * Inits the.
 	 */
 	public static void init() {
-		cacheMap = new HashMap<String, CacheObject>();
 		setTTL();
+		if (Platform.config.hasPath("platform.cache.max_size"))
+			maxSize = Platform.config.getLong("platform.cache.max_size");
+		if (Platform.config.hasPath("platform.cache.refresh_after_write"))
+			refreshAfterWrite = Platform.config.getLong("platform.cache.refresh_after_write");
+		cache = new BoundedLocalCache<String, Object>("local-cache", maxSize, ttl, refreshAfterWrite);
 	}
 
 	/**
@@ -67,20 +53,21 @@ public class LocalCache {
 	 * @return the object
 	 */
 	public static Object get(String key) {
-		CacheObject c = (CacheObject) cacheMap.get(key);
-
-		if (c == null)
-			return null;
-		else {
-			long now = System.currentTimeMillis();
-			if (now - c.createOn > ttl) {
-				TelemetryManager.log("Local cache object value=" + c.value.toString() + "createOn=" + c.createOn
-						+ " is expired now");
-				cacheMap.remove(key);
-				return null;
-			}
-			return c.value;
-		}
+		return cache.get(key);
+	}
+
+	/**
+	 * Gets the object, loading and caching it when it is not present or is due
+	 * for refresh.
+	 *
+	 * @param key
+	 *            the key
+	 * @param loader
+	 *            the loader
+	 * @return the object
+	 */
+	public static Object get(String key, Function<String, Object> loader) {
+		return cache.get(key, loader);
 	}
 
 	/**
@@ -92,11 +79,40 @@ public class LocalCache {
 	 *            the value
 	 */
 	public static void set(String key, Object value) {
+		cache.put(key, value);
+	}
 
-		CacheObject cacheObj = new CacheObject(value);
-		cacheMap.put(key, cacheObj);
-		TelemetryManager.log("Local cache object value=" + cacheObj.value.toString() + "cacheObj.createOn="
-				+ cacheObj.createOn + " is set now");
+	/**
+	 * Sets the object with its own ttl.
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value
+	 * @param ttl
+	 *            the ttl in milliseconds
+	 */
+	public static void set(String key, Object value, long ttl) {
+		cache.put(key, value, ttl);
+	}
+
+	/**
+	 * Removes the.
+	 *
+	 * @param key
+	 *            the key
+	 */
+	public static void remove(String key) {
+		cache.remove(key);
+	}
+
+	/**
+	 * Gets the stats.
+	 *
+	 * @return the cache stats
+	 */
+	public static CacheStats getStats() {
+		return cache.stats();
 	}
 
 	/**
@@ -8,6 +8,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.dto.Property;
 import org.sunbird.graph.common.DateUtils;
 import org.sunbird.graph.common.Identifier;
+import org.sunbird.graph.dac.enums.AuditProperties;
 import org.sunbird.graph.dac.enums.GraphDACParams;
 import org.sunbird.graph.dac.enums.SystemProperties;
 import org.sunbird.graph.dac.model.Node;
@@ -97,13 +98,14 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 			StringBuilder templateQuery = new StringBuilder();
 			Map<String, Object> templateParamValueMap = new HashMap<String, Object>();
 			// Template Query
+			Map<String, Object> mcMap = getMatchCriteriaQueryMap(graphId, node);
 			Map<String, Object> ocsMap = getOnCreateSetQueryMap("ee", date, node);
 			Map<String, Object> omsMap = getOnMatchSetQueryMap("ee", date, node, true);
 			templateQuery.append(GraphDACParams.MERGE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS)
 					.append("ee" + CypherQueryConfigurationConstants.COLON).append(graphId)
 					.append(CypherQueryConfigurationConstants.OPEN_CURLY_BRACKETS)
-					.append(getMatchCriteriaString(graphId, node))
+					.append(mcMap.get(GraphDACParams.query.name()))
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.CLOSE_CURLY_BRACKETS)
 					.append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
@@ -115,6 +117,7 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 			// Return Node
 			templateQuery.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.RETURN.name())
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append("ee");
+			templateParamValueMap.putAll((Map<String, Object>) mcMap.get(GraphDACParams.paramValueMap.name()));
 			templateParamValueMap.putAll((Map<String, Object>) ocsMap.get(GraphDACParams.paramValueMap.name()));
 			templateParamValueMap.putAll((Map<String, Object>) omsMap.get(GraphDACParams.paramValueMap.name()));
 			
@@ -153,12 +156,13 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 			StringBuilder templateQuery = new StringBuilder();
 			Map<String, Object> templateParamValueMap = new HashMap<String, Object>();
 			// Template Query
+			Map<String, Object> mcMap = getMatchCriteriaQueryMap(graphId, node);
 			Map<String, Object> omsMap = getOnMatchSetQueryMap("ee", date, node, false);
 			templateQuery.append(GraphDACParams.MATCH.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS)
 					.append("ee" + CypherQueryConfigurationConstants.COLON).append(graphId)
 					.append(CypherQueryConfigurationConstants.OPEN_CURLY_BRACKETS)
-					.append(getMatchCriteriaString(graphId, node))
+					.append(mcMap.get(GraphDACParams.query.name()))
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.CLOSE_CURLY_BRACKETS)
 					.append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
@@ -168,6 +172,7 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 			// Return Node
 			templateQuery.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.RETURN.name())
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append("ee");
+			templateParamValueMap.putAll((Map<String, Object>) mcMap.get(GraphDACParams.paramValueMap.name()));
 			templateParamValueMap.putAll((Map<String, Object>) omsMap.get(GraphDACParams.paramValueMap.name()));
 			
 			TelemetryManager.log("Returning Update Node Cypher Query: " + templateQuery);
@@ -235,6 +240,7 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 						.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(objPrefix);
 
 				// Template Query
+				Map<String, Object> mcMap = getMatchCriteriaQueryMap(graphId, node);
 				Map<String, Object> mpMap = getMetadataCypherQueryMap(node);
 				Map<String, Object> ocsMap = getOnCreateSetQueryMap(objPrefix, date, node);
 				Map<String, Object> omsMap = getOnMatchSetQueryMap(objPrefix, date, node, false);
@@ -242,7 +248,7 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 						.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS)
 						.append(objPrefix + CypherQueryConfigurationConstants.COLON).append(graphId)
 						.append(CypherQueryConfigurationConstants.OPEN_CURLY_BRACKETS)
-						.append(getMatchCriteriaString(graphId, node))
+						.append(mcMap.get(GraphDACParams.query.name()))
 						.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 						.append(CypherQueryConfigurationConstants.CLOSE_CURLY_BRACKETS)
 						.append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
@@ -254,6 +260,7 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 				// Return Node
 				templateQuery.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.RETURN.name())
 						.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(objPrefix);
+				templateParamValueMap.putAll((Map<String, Object>) mcMap.get(GraphDACParams.paramValueMap.name()));
 				templateParamValueMap.putAll((Map<String, Object>) mpMap.get(GraphDACParams.paramValueMap.name()));
 				templateParamValueMap.putAll((Map<String, Object>) ocsMap.get(GraphDACParams.paramValueMap.name()));
 				templateParamValueMap.putAll((Map<String, Object>) omsMap.get(GraphDACParams.paramValueMap.name()));
@@ -280,16 +287,35 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			String date = DateUtils.formatCurrentDate();
 
+			Map<String, Object> mcMap = getMatchCriteriaQueryMap(graphId, rootNode);
 			query.append(GraphDACParams.MERGE.name())
 					.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS_WITH_NODE_OBJECT_VARIABLE)
 					.append(rootNode.getGraphId()).append(CypherQueryConfigurationConstants.OPEN_CURLY_BRACKETS)
-					.append(getMatchCriteriaString(graphId, rootNode))
+					.append(mcMap.get(GraphDACParams.query.name()))
 					.append(CypherQueryConfigurationConstants.CLOSE_CURLY_BRACKETS)
 					.append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS);
+			parameterMap.put(GraphDACParams.paramValueMap.name(), mcMap.get(GraphDACParams.paramValueMap.name()));
 
 			// Adding 'ON CREATE SET n.created=timestamp()' Clause
-			query.append(
-					getOnCreateSetString(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT, date, rootNode));
+			String objectVariableName = CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT;
+			query.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.ON.name())
+					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.CREATE.name())
+					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.SET.name())
+					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
+					.append(objectVariableName + CypherQueryConfigurationConstants.DOT
+							+ SystemProperties.IL_UNIQUE_ID.name() + " = { SP_" + SystemProperties.IL_UNIQUE_ID.name()
+							+ " }, ")
+					.append(objectVariableName + CypherQueryConfigurationConstants.DOT
+							+ SystemProperties.IL_SYS_NODE_TYPE.name() + " = { SP_"
+							+ SystemProperties.IL_SYS_NODE_TYPE.name() + " }, ")
+					.append(objectVariableName + CypherQueryConfigurationConstants.DOT
+							+ AuditProperties.createdOn.name() + " = { AP_" + AuditProperties.createdOn.name() + " }, ")
+					.append(objectVariableName + CypherQueryConfigurationConstants.DOT
+							+ AuditProperties.lastUpdatedOn.name() + " = { AP_" + AuditProperties.lastUpdatedOn.name()
+							+ " }");
+			putParamValues(parameterMap, "SP_" + SystemProperties.IL_UNIQUE_ID.name(), rootNode.getIdentifier(),
+					"SP_" + SystemProperties.IL_SYS_NODE_TYPE.name(), rootNode.getNodeType(),
+					"AP_" + AuditProperties.createdOn.name(), date, "AP_" + AuditProperties.lastUpdatedOn.name(), date);
 
 			// Return Node
 			query.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.RETURN.name())
@@ -329,17 +355,13 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 					.append(GraphDACParams.WHERE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
 					.append(CypherQueryConfigurationConstants.DOT).append(SystemProperties.IL_UNIQUE_ID.name())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(nodeId)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE)
+					.append(CypherQueryConfigurationConstants.EQUALS).append(" { nodeId }")
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.SET.name())
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
 					.append(CypherQueryConfigurationConstants.DOT).append(property.getPropertyName())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(property.getPropertyValue())
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE);
-
+					.append(CypherQueryConfigurationConstants.EQUALS).append(" { propertyValue }");
+			putParamValues(parameterMap, "nodeId", nodeId, "propertyValue", getStringValue(property.getPropertyValue()));
 		}
 
 		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
@@ -376,13 +398,15 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 					.append(GraphDACParams.WHERE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
 					.append(CypherQueryConfigurationConstants.DOT).append(SystemProperties.IL_UNIQUE_ID.name())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(nodeId)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE)
+					.append(CypherQueryConfigurationConstants.EQUALS).append(" { nodeId }")
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.SET.name())
-					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(getMetadataStringForCypherQuery(
-							CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT, metadata));
-
+					.append(CypherQueryConfigurationConstants.BLANK_SPACE);
+			Map<String, Object> metadataQueryMap = getMetadataCypherQueryMap(
+					CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT, metadata);
+			query.append(metadataQueryMap.get(GraphDACParams.query.name()));
+			parameterMap.put(GraphDACParams.paramValueMap.name(),
+					metadataQueryMap.get(GraphDACParams.paramValueMap.name()));
+			putParamValues(parameterMap, "nodeId", nodeId);
 		}
 
 		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
@@ -418,15 +442,13 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 					.append(GraphDACParams.WHERE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
 					.append(CypherQueryConfigurationConstants.DOT).append(SystemProperties.IL_UNIQUE_ID.name())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(nodeId)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE)
+					.append(CypherQueryConfigurationConstants.EQUALS).append(" { nodeId }")
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.SET.name())
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
 					.append(CypherQueryConfigurationConstants.DOT).append(key)
 					.append(CypherQueryConfigurationConstants.EQUALS).append("null");
-
+			putParamValues(parameterMap, "nodeId", nodeId);
 		}
 
 		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
@@ -463,13 +485,11 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 					.append(GraphDACParams.WHERE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
 					.append(CypherQueryConfigurationConstants.DOT).append(SystemProperties.IL_UNIQUE_ID.name())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(nodeId)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE)
+					.append(CypherQueryConfigurationConstants.EQUALS).append(" { nodeId }")
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.SET.name())
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(getRemoveKeysStringForCypherQuery(
 							CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT, keys));
-
+			putParamValues(parameterMap, "nodeId", nodeId);
 		}
 
 		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
@@ -491,8 +511,9 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_IDENTIFIER
 								+ " | [Remove Property Values Query Generation Failed.]");
 
-			query.append("MATCH (a:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + nodeId
-					+ "'}) DETACH DELETE a");
+			query.append("MATCH (a:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+					+ ": { nodeId }}) DETACH DELETE a");
+			putParamValues(parameterMap, "nodeId", nodeId);
 		}
 
 		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
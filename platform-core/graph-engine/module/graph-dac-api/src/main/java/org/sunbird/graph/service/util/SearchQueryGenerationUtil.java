@@ -1,5 +1,7 @@
 package org.sunbird.graph.service.util;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
@@ -13,7 +15,7 @@ import org.sunbird.graph.service.common.DACErrorMessageConstants;
 import org.sunbird.telemetry.logger.TelemetryManager;
 import org.neo4j.driver.v1.exceptions.ClientException;
 
-public class SearchQueryGenerationUtil {
+public class SearchQueryGenerationUtil extends BaseQueryGenerationUtil {
 
 	public static String generateGetNodeByIdCypherQuery(Map<String, Object> parameterMap) {
 		StringBuilder query = new StringBuilder();
@@ -28,12 +30,13 @@ public class SearchQueryGenerationUtil {
 				throw new ClientException(DACErrorCodeConstants.INVALID_IDENTIFIER.name(),
 						DACErrorMessageConstants.INVALID_NODE_ID + " | ['Get Node By Id' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + ") WHERE id(ee) = " + nodeId
+			query.append("MATCH (ee:" + graphId + ") WHERE id(ee) = { nodeId }"
 					+ " OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			putParamValues(parameterMap, "nodeId", nodeId);
 
 		}
 
-		TelemetryManager.log("Returning Get Node By Id Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get Node By Id Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -52,12 +55,13 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_IDENTIFIER
 								+ " | ['Get Node By Unique Id' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + nodeId
-					+ "'}) OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+					+ ": { nodeId }}) OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			putParamValues(parameterMap, "nodeId", nodeId);
 
 		}
 
-		TelemetryManager.log("Returning Get Node By Unique Id Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get Node By Unique Id Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -76,12 +80,13 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_PROPERTY
 								+ " | ['Get Nodes By Property' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + property.getPropertyName() + ": '"
-					+ property.getPropertyValue()
-					+ "'}) OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			// the value was matched as a quoted literal, so it is still matched as a string
+			query.append("MATCH (ee:" + graphId + " {" + property.getPropertyName()
+					+ ": { propertyValue }}) OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			putParamValues(parameterMap, "propertyValue", String.valueOf(property.getPropertyValue()));
 		}
 
-		TelemetryManager.log("Returning Get Nodes By Property Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get Nodes By Property Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -104,10 +109,68 @@ public class SearchQueryGenerationUtil {
 			query.append(searchCriteria.getQuery());
 		}
 
-		TelemetryManager.log("Returning Get Node By Unique Ids Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get Node By Unique Ids Cypher Query: " + query);
 		return query.toString();
 	}
 
+	/**
+	 * Generates the query fetching the nodes of a list of identifiers, passed
+	 * as the nodeIds parameter. Without property keys the nodes are returned
+	 * with their relations, otherwise only the system properties and the
+	 * given properties of each node are returned.
+	 *
+	 * @param parameterMap
+	 *            the parameter map
+	 * @return the query
+	 */
+	@SuppressWarnings("unchecked")
+	public static String generateGetNodesByIdsCypherQuery(Map<String, Object> parameterMap) {
+		StringBuilder query = new StringBuilder();
+		if (null != parameterMap) {
+			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
+			if (StringUtils.isBlank(graphId))
+				throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
+						DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get Nodes By Ids' Query Generation Failed.]");
+
+			List<String> nodeIds = (List<String>) parameterMap.get(GraphDACParams.nodeIds.name());
+			if (null == nodeIds || nodeIds.isEmpty())
+				throw new ClientException(DACErrorCodeConstants.INVALID_IDENTIFIER.name(),
+						DACErrorMessageConstants.INVALID_IDENTIFIER + " | ['Get Nodes By Ids' Query Generation Failed.]");
+
+			List<String> keys = (List<String>) parameterMap.get(GraphDACParams.keys.name());
+			query.append("UNWIND { nodeIds } AS nodeId MATCH (ee:" + graphId + " {"
+					+ SystemProperties.IL_UNIQUE_ID.name() + ": nodeId})");
+			if (null == keys || keys.isEmpty()) {
+				query.append(" OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			} else {
+				query.append(" RETURN ee." + SystemProperties.IL_UNIQUE_ID.name() + " as "
+						+ SystemProperties.IL_UNIQUE_ID.name() + ", ee." + SystemProperties.IL_SYS_NODE_TYPE.name()
+						+ " as " + SystemProperties.IL_SYS_NODE_TYPE.name() + ", ee."
+						+ SystemProperties.IL_FUNC_OBJECT_TYPE.name() + " as "
+						+ SystemProperties.IL_FUNC_OBJECT_TYPE.name());
+				for (String key : new LinkedHashSet<String>(keys)) {
+					// keys are spliced into the query, a backtick would end the quoted name
+					if (StringUtils.isBlank(key) || StringUtils.contains(key, "`"))
+						throw new ClientException(DACErrorCodeConstants.INVALID_PROPERTY.name(),
+								DACErrorMessageConstants.INVALID_PROPERTY_KEY
+										+ " | ['Get Nodes By Ids' Query Generation Failed.]");
+					if (!isSystemProperty(key))
+						query.append(", ee.`" + key + "` as `" + key + "`");
+				}
+			}
+			putParamValues(parameterMap, "nodeIds", nodeIds);
+		}
+
+		TelemetryManager.log(() -> "Returning Get Nodes By Ids Cypher Query: " + query);
+		return query.toString();
+	}
+
+	private static boolean isSystemProperty(String key) {
+		return StringUtils.equals(SystemProperties.IL_UNIQUE_ID.name(), key)
+				|| StringUtils.equals(SystemProperties.IL_SYS_NODE_TYPE.name(), key)
+				|| StringUtils.equals(SystemProperties.IL_FUNC_OBJECT_TYPE.name(), key);
+	}
+
 	public static String generateGetNodePropertyCypherQuery(Map<String, Object> parameterMap) {
 		StringBuilder query = new StringBuilder();
 		if (null != parameterMap) {
@@ -129,11 +192,12 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_PROPERTY_KEY
 								+ " | ['Get Node Property' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + nodeId
-					+ "'}) OPTIONAL MATCH (ee)-[r]-() RETURN ee." + key + " as " + key + "");
+			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+					+ ": { nodeId }}) OPTIONAL MATCH (ee)-[r]-() RETURN ee." + key + " as " + key + "");
+			putParamValues(parameterMap, "nodeId", nodeId);
 		}
 
-		TelemetryManager.log("Returning Get Node Property Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get Node Property Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -149,7 +213,7 @@ public class SearchQueryGenerationUtil {
 					+ ") OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
 		}
 
-		TelemetryManager.log("Returning Get All Nodes Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get All Nodes Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -166,7 +230,7 @@ public class SearchQueryGenerationUtil {
 					+ ") RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
 		}
 
-		TelemetryManager.log("Returning Get All Relations Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get All Relations Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -203,12 +267,13 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_PROPERTY_KEY
 								+ " | ['Get Relation Property' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-					+ "'})-[r:" + relationType + "]-(aa:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
-					+ ": '" + endNodeId + "'}) RETURN r." + key + " as " + key + "");
+			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+					+ ": { startNodeId }})-[r:" + relationType + "]-(aa:" + graphId + " {"
+					+ SystemProperties.IL_UNIQUE_ID.name() + ": { endNodeId }}) RETURN r." + key + " as " + key + "");
+			putParamValues(parameterMap, "startNodeId", startNodeId, "endNodeId", endNodeId);
 		}
 
-		TelemetryManager.log("Returning Get Relation Property Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get Relation Property Cypher Query: " + query);
 		return query.toString();
 	}
 	
@@ -226,10 +291,11 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_IDENTIFIER
 								+ " | ['Get Relation By Id' Query Generation Failed.]");
 
-			query.append("MATCH ()-[r]-() where ID(r)= " + id + " RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
+			query.append("MATCH ()-[r]-() where ID(r)= { relationId } RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
+			putParamValues(parameterMap, "relationId", id);
 		}
 
-		TelemetryManager.log("Returning Get Relation By Id Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get Relation By Id Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -258,13 +324,15 @@ public class SearchQueryGenerationUtil {
 				throw new ClientException(DACErrorCodeConstants.INVALID_IDENTIFIER.name(),
 						DACErrorMessageConstants.INVALID_END_NODE_ID + " | ['Get Relation' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-					+ "'})-[r:" + relationType + "]-(aa:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
-					+ ": '" + endNodeId + "'}) RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
+			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+					+ ": { startNodeId }})-[r:" + relationType + "]-(aa:" + graphId + " {"
+					+ SystemProperties.IL_UNIQUE_ID.name()
+					+ ": { endNodeId }}) RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
+			putParamValues(parameterMap, "startNodeId", startNodeId, "endNodeId", endNodeId);
 
 		}
 
-		TelemetryManager.log("Returning Get Relation Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get Relation Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -295,13 +363,14 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_END_NODE_ID
 								+ " | ['Check Cyclic Loop' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " { " + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-					+ "' })-[:" + relationType + "*1..]->(aa:" + graphId + "{" + SystemProperties.IL_UNIQUE_ID.name()
-					+ ": '" + endNodeId + "'}) RETURN aa");
+			query.append("MATCH (ee:" + graphId + " { " + SystemProperties.IL_UNIQUE_ID.name()
+					+ ": { startNodeId } })-[:" + relationType + "*1..]->(aa:" + graphId + "{"
+					+ SystemProperties.IL_UNIQUE_ID.name() + ": { endNodeId }}) RETURN aa");
+			putParamValues(parameterMap, "startNodeId", startNodeId, "endNodeId", endNodeId);
 
 		}
 
-		TelemetryManager.log("Returning Check Cyclic Loop Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Check Cyclic Loop Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -327,7 +396,7 @@ public class SearchQueryGenerationUtil {
 
 		}
 
-		TelemetryManager.log("Returning Execute Query, Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Execute Query, Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -350,7 +419,7 @@ public class SearchQueryGenerationUtil {
 			query.append(cypherQuery);
 		}
 
-		TelemetryManager.log("Returning search Nodes Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning search Nodes Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -371,7 +440,7 @@ public class SearchQueryGenerationUtil {
 			query.append(searchCriteria.getQuery());
 		}
 
-		TelemetryManager.log("Returning Nodes Count Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Nodes Count Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -389,7 +458,7 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_TRAVERSER + " | ['Traverse' Query Generation Failed.]");
 		}
 
-		TelemetryManager.log("Returning Traverse Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Traverse Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -409,7 +478,7 @@ public class SearchQueryGenerationUtil {
 								+ " | ['Traverse Sub Graph' Query Generation Failed.]");
 		}
 
-		TelemetryManager.log("Returning Traverse Sub Graph Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Traverse Sub Graph Cypher Query: " + query);
 		return query.toString();
 	}
 
@@ -439,7 +508,7 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_DEPTH + " | ['Get Sub Graph' Query Generation Failed.]");
 		}
 
-		TelemetryManager.log("Returning Get Sub Graph Cypher Query: " + query);
+		TelemetryManager.log(() -> "Returning Get Sub Graph Cypher Query: " + query);
 		return query.toString();
 	}
 
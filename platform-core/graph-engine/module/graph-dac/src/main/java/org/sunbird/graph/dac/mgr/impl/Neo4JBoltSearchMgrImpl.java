@@ -121,6 +121,25 @@ public class Neo4JBoltSearchMgrImpl extends BaseDACMgr implements IGraphDACSearc
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public Response getNodesByIds(Request request) {
+		String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
+		List<String> nodeIds = (List<String>) request.get(GraphDACParams.node_ids.name());
+		List<String> propertyKeys = (List<String>) request.get(GraphDACParams.property_keys.name());
+		if (!validateRequired(nodeIds)) {
+			throw new ClientException(GraphDACErrorCodes.ERR_GET_NODE_LIST_MISSING_REQ_PARAMS.name(),
+					"Required parameters are missing");
+		} else {
+			try {
+				List<Node> nodes = Neo4JBoltSearchOperations.getNodesByIds(graphId, nodeIds, propertyKeys, request);
+				return OK(GraphDACParams.node_list.name(), nodes);
+			} catch (Exception e) {
+				return ERROR(e);
+			}
+		}
+	}
+
     @Override
 	public Response getNodeProperty(Request request) {
         String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
@@ -103,6 +103,18 @@ public interface ISearchManager {
      */
     void getDataNodes(Request request);
 
+    /**
+     * Get data nodes for a list of node ids, fetched in chunks
+     * 
+     * @request - GRAPH_ID as request context variable
+     * @request - NODE_IDS node ids list
+     * @request - PROPERTY_KEYS optional list of properties to fetch, the
+     *          whole nodes with their relations are fetched when absent
+     * @response - NODE_LIST list of node objects, in the order of the node ids
+     * @response - STATUS: API call status
+     */
+    void getDataNodesByIds(Request request);
+
     /**
      * Search nodes by given criteria
      * 
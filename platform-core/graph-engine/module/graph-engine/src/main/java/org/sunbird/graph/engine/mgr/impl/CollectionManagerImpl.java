@@ -1,17 +1,16 @@
 package org.sunbird.graph.engine.mgr.impl;
 
-import java.lang.reflect.Method;
 import java.util.List;
 
 import org.sunbird.common.dto.Request;
 import org.sunbird.common.exception.ClientException;
+import org.sunbird.graph.common.OperationHandler;
 import org.sunbird.graph.common.enums.GraphHeaderParams;
 import org.sunbird.graph.common.mgr.BaseGraphManager;
 import org.sunbird.graph.dac.enums.GraphDACParams;
 import org.sunbird.graph.dac.model.Node;
 import org.sunbird.graph.engine.mgr.ICollectionManager;
 import org.sunbird.graph.engine.router.GraphEngineActorPoolMgr;
-import org.sunbird.graph.engine.router.GraphEngineManagers;
 import org.sunbird.graph.exception.GraphEngineErrorCodes;
 import org.sunbird.graph.model.ICollection;
 import org.sunbird.graph.model.collection.CollectionHandler;
@@ -25,14 +24,15 @@ public class CollectionManagerImpl extends BaseGraphManager implements ICollecti
     protected void invokeMethod(Request request, ActorRef parent) {
         String methodName = request.getOperation();
         try {
-            Method method = GraphEngineActorPoolMgr.getMethod(GraphEngineManagers.COLLECTION_MANAGER, methodName);
-            if (null == method) {
+            OperationHandler<CollectionManagerImpl> handler = GraphEngineActorPoolMgr.getHandler(CollectionManagerImpl.class,
+                    methodName);
+            if (null == handler) {
                 throw new ClientException("ERR_GRAPH_INVALID_OPERATION", "Operation '" + methodName + "' not found");
             } else {
-                method.invoke(this, request);
+                handler.handle(this, request);
             }
-        } catch (Exception e) {
-            ERROR(e, parent);
+        } catch (Throwable e) {
+            operationFailed(methodName, e, parent);
         }
     }
 
@@ -1,6 +1,5 @@
 package org.sunbird.graph.engine.mgr.impl;
 
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
 
@@ -8,6 +7,7 @@ import org.sunbird.common.dto.Request;
 import org.sunbird.common.exception.ClientException;
 import org.sunbird.graph.cache.exception.GraphCacheErrorCodes;
 import org.sunbird.graph.cache.util.RedisStoreUtil;
+import org.sunbird.graph.common.OperationHandler;
 import org.sunbird.graph.common.enums.GraphEngineParams;
 import org.sunbird.graph.common.enums.GraphHeaderParams;
 import org.sunbird.graph.common.mgr.BaseGraphManager;
@@ -15,7 +15,6 @@ import org.sunbird.graph.dac.enums.GraphDACParams;
 import org.sunbird.graph.dac.model.Node;
 import org.sunbird.graph.engine.mgr.IGraphManager;
 import org.sunbird.graph.engine.router.GraphEngineActorPoolMgr;
-import org.sunbird.graph.engine.router.GraphEngineManagers;
 import org.sunbird.graph.exception.GraphEngineErrorCodes;
 import org.sunbird.graph.exception.GraphRelationErrorCodes;
 import org.sunbird.graph.model.Graph;
@@ -31,14 +30,15 @@ public class GraphMgrImpl extends BaseGraphManager implements IGraphManager {
     protected void invokeMethod(Request request, ActorRef parent) {
         String methodName = request.getOperation();
         try {
-            Method method = GraphEngineActorPoolMgr.getMethod(GraphEngineManagers.GRAPH_MANAGER, methodName);
-            if (null == method) {
+            OperationHandler<GraphMgrImpl> handler = GraphEngineActorPoolMgr.getHandler(GraphMgrImpl.class,
+                    methodName);
+            if (null == handler) {
                 throw new ClientException("ERR_GRAPH_INVALID_OPERATION", "Operation '" + methodName + "' not found");
             } else {
-                method.invoke(this, request);
+                handler.handle(this, request);
             }
-        } catch (Exception e) {
-            ERROR(e, parent);
+        } catch (Throwable e) {
+            operationFailed(methodName, e, parent);
         }
     }
 
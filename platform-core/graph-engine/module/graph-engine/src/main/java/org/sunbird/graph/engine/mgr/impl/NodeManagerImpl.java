@@ -1,6 +1,5 @@
 package org.sunbird.graph.engine.mgr.impl;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -13,6 +12,7 @@ import org.sunbird.common.dto.Response;
 import org.sunbird.common.exception.ClientException;
 import org.sunbird.common.exception.ResponseCode;
 import org.sunbird.graph.common.DateUtils;
+import org.sunbird.graph.common.OperationHandler;
 import org.sunbird.graph.common.enums.GraphHeaderParams;
 import org.sunbird.graph.common.mgr.BaseGraphManager;
 import org.sunbird.graph.dac.enums.AuditProperties;
@@ -22,7 +22,6 @@ import org.sunbird.graph.dac.model.Node;
 import org.sunbird.graph.dac.model.Relation;
 import org.sunbird.graph.engine.mgr.INodeManager;
 import org.sunbird.graph.engine.router.GraphEngineActorPoolMgr;
-import org.sunbird.graph.engine.router.GraphEngineManagers;
 import org.sunbird.graph.exception.GraphEngineErrorCodes;
 import org.sunbird.graph.model.Graph;
 import org.sunbird.graph.model.collection.Set;
@@ -56,14 +55,15 @@ public class NodeManagerImpl extends BaseGraphManager implements INodeManager {
 	protected void invokeMethod(Request request, ActorRef parent) {
 		String methodName = request.getOperation();
 		try {
-			Method method = GraphEngineActorPoolMgr.getMethod(GraphEngineManagers.NODE_MANAGER, methodName);
-			if (null == method) {
+			OperationHandler<NodeManagerImpl> handler = GraphEngineActorPoolMgr.getHandler(NodeManagerImpl.class,
+					methodName);
+			if (null == handler) {
 				throw new ClientException("ERR_GRAPH_INVALID_OPERATION", "Operation '" + methodName + "' not found");
 			} else {
-				method.invoke(this, request);
+				handler.handle(this, request);
 			}
-		} catch (Exception e) {
-			ERROR(e.getCause(), parent);
+		} catch (Throwable e) {
+			operationFailed(methodName, e, parent);
 		}
 	}
 
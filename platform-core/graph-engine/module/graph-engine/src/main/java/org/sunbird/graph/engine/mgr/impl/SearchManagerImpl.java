@@ -1,6 +1,5 @@
 package org.sunbird.graph.engine.mgr.impl;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -12,6 +11,7 @@ import org.sunbird.common.dto.Property;
 import org.sunbird.common.dto.Request;
 import org.sunbird.common.exception.ClientException;
 import org.sunbird.common.exception.ServerException;
+import org.sunbird.graph.common.OperationHandler;
 import org.sunbird.graph.common.enums.GraphHeaderParams;
 import org.sunbird.graph.common.mgr.BaseGraphManager;
 import org.sunbird.graph.dac.enums.GraphDACParams;
@@ -24,7 +24,6 @@ import org.sunbird.graph.dac.model.SearchCriteria;
 import org.sunbird.graph.dac.model.Traverser;
 import org.sunbird.graph.engine.mgr.ISearchManager;
 import org.sunbird.graph.engine.router.GraphEngineActorPoolMgr;
-import org.sunbird.graph.engine.router.GraphEngineManagers;
 import org.sunbird.graph.exception.GraphEngineErrorCodes;
 import org.sunbird.graph.model.Graph;
 import org.neo4j.graphdb.Direction;
@@ -36,14 +35,15 @@ public class SearchManagerImpl extends BaseGraphManager implements ISearchManage
     protected void invokeMethod(Request request, ActorRef parent) {
         String methodName = request.getOperation();
         try {
-            Method method = GraphEngineActorPoolMgr.getMethod(GraphEngineManagers.SEARCH_MANAGER, methodName);
-            if (null == method) {
+            OperationHandler<SearchManagerImpl> handler = GraphEngineActorPoolMgr.getHandler(SearchManagerImpl.class,
+                    methodName);
+            if (null == handler) {
                 throw new ClientException("ERR_GRAPH_INVALID_OPERATION", "Operation '" + methodName + "' not found");
             } else {
-                method.invoke(this, request);
+                handler.handle(this, request);
             }
-        } catch (Exception e) {
-            ERROR(e.getCause(), parent);
+        } catch (Throwable e) {
+            operationFailed(methodName, e, parent);
         }
     }
 
@@ -132,6 +132,24 @@ public class SearchManagerImpl extends BaseGraphManager implements ISearchManage
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void getDataNodesByIds(Request request) {
+        List<String> nodeIds = (List<String>) request.get(GraphDACParams.node_ids.name());
+        if (!validateRequired(nodeIds)) {
+            throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_SEARCH_MISSING_REQ_PARAMS.name(),
+                    "GetDataNodesByIds: Required parameters are missing...");
+        } else {
+            String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
+            try {
+                Graph graph = new Graph(this, graphId);
+                graph.getDataNodesByIds(request);
+            } catch (Exception e) {
+                handleException(e, getSender());
+            }
+        }
+    }
+
     @Override
     public void getNodesByObjectType(Request request) {
         String objectType = (String) request.get(GraphDACParams.object_type.name());
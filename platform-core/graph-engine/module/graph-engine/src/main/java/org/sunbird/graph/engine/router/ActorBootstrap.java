@@ -226,21 +226,42 @@ public class ActorBootstrap {
         for (String className : arr) {
             try {
                 Class<?> cls = Class.forName(className);
-                Props actorProps = Props.create(cls);
-                ActorRef actor = null;
-                if (null != addresses && addresses.length > 0) {
-                    actor = system.actorOf(new RemoteRouterConfig(new RoundRobinPool(count), addresses).props(Props.create(cls)));
+                if (StringUtils.equalsIgnoreCase("graph-managers", poolName)) {
+                    // a pool for each class of operations, so that one class
+                    // cannot fill the mailboxes of the others
+                    for (OperationClass operationClass : OperationClass.values()) {
+                        ActorRef actor = createPool(getProps(cls, operationClass), count, addresses);
+                        GraphEngineActorPoolMgr.addActorRefToPool(id, className, operationClass, actor,
+                                null != addresses && addresses.length > 0);
+                    }
                 } else {
-                    actor = system.actorOf(new SmallestMailboxPool(count).props(actorProps));
+                    createPool(Props.create(cls), count, addresses);
                 }
-                if (StringUtils.equalsIgnoreCase("graph-managers", poolName))
-                    GraphEngineActorPoolMgr.addActorRefToPool(id, className, actor);
             } catch (Exception e) {
                 e.printStackTrace();
             }
         }
     }
 
+    private static ActorRef createPool(Props actorProps, int count, Address[] addresses) {
+        if (null != addresses && addresses.length > 0)
+            return system.actorOf(new RemoteRouterConfig(new RoundRobinPool(count), addresses).props(actorProps));
+        return system.actorOf(new SmallestMailboxPool(count).props(actorProps));
+    }
+
+    /**
+     * Runs the managers of the class of operations on its dispatcher and
+     * mailbox if they are configured, on the defaults otherwise.
+     */
+    private static Props getProps(Class<?> cls, OperationClass operationClass) {
+        Props props = Props.create(cls);
+        if (system.dispatchers().hasDispatcher(operationClass.getDispatcherId()))
+            props = props.withDispatcher(operationClass.getDispatcherId());
+        if (system.settings().config().hasPath(operationClass.getMailboxId()))
+            props = props.withMailbox(operationClass.getMailboxId());
+        return props;
+    }
+
     private static void registerShutdownHook() {
         Runtime.getRuntime().addShutdownHook(new Thread() {
             @Override
@@ -1,11 +1,14 @@
 package org.sunbird.graph.engine.router;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandles;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.graph.common.BaseRequestRouter;
+import org.sunbird.graph.common.OperationHandler;
 import org.sunbird.graph.engine.mgr.impl.CollectionManagerImpl;
 import org.sunbird.graph.engine.mgr.impl.GraphMgrImpl;
 import org.sunbird.graph.engine.mgr.impl.NodeManagerImpl;
@@ -18,7 +21,8 @@ public class GraphEngineActorPoolMgr {
     private static final String DEFAULT_GRAPH_ID = "*";
 
     private static Map<String, Map<String, ActorRef>> actorMap = null;
-    private static Map<String, Map<String, Method>> methodMap = null;
+    private static Map<Class<?>, Map<String, ? extends OperationHandler<?>>> handlerMap = null;
+    private static Set<ActorRef> remotePools = new HashSet<ActorRef>();
 
     private static ActorRef reqRouter;
 
@@ -27,7 +31,7 @@ public class GraphEngineActorPoolMgr {
         Map<String, ActorRef> defaultActorMap = new HashMap<String, ActorRef>();
         actorMap.put(DEFAULT_GRAPH_ID, defaultActorMap);
 
-        methodMap = new HashMap<String, Map<String, Method>>();
+        handlerMap = new HashMap<Class<?>, Map<String, ? extends OperationHandler<?>>>();
     }
 
     public static ActorRef getRequestRouter() {
@@ -49,17 +53,25 @@ public class GraphEngineActorPoolMgr {
         } else if (StringUtils.equals(GraphEngineManagers.SEARCH_MANAGER, managerName)) {
             cls = SearchManagerImpl.class;
         }
-        if (null != cls) {
-            Map<String, Method> map = BaseRequestRouter.getMethodMap(cls);
-            if (null != map && !map.isEmpty())
-                methodMap.put(managerName, map);
-        }
+        if (null != cls)
+            initHandlerMap(cls);
+    }
+
+    private static <T> void initHandlerMap(Class<T> cls) {
+        Map<String, OperationHandler<T>> map = BaseRequestRouter.getHandlerMap(MethodHandles.lookup(), cls);
+        if (null != map && !map.isEmpty())
+            handlerMap.put(cls, map);
     }
 
-    public static Method getMethod(String managerName, String operation) {
-        Map<String, Method> map = methodMap.get(managerName);
-        if (null != map && !map.isEmpty()) {
-            return map.get(operation);
+    /**
+     * Returns the handler of the operation, null if the manager has no such
+     * operation.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> OperationHandler<T> getHandler(Class<T> managerClass, String operation) {
+        Map<String, ? extends OperationHandler<?>> map = handlerMap.get(managerClass);
+        if (null != map && null != operation) {
+            return (OperationHandler<T>) map.get(operation);
         }
         return null;
     }
@@ -83,6 +95,33 @@ public class GraphEngineActorPoolMgr {
         }
     }
 
+    static void addActorRefToPool(String graphId, String managerName, OperationClass operationClass, ActorRef ref,
+            boolean remote) {
+        addActorRefToPool(graphId, getPoolName(managerName, operationClass), ref);
+        if (remote)
+            remotePools.add(ref);
+    }
+
+    /**
+     * Checks if the managers of the pool run in another actor system.
+     */
+    static boolean isRemotePool(ActorRef ref) {
+        return remotePools.contains(ref);
+    }
+
+    /**
+     * Gets the pool of the manager for the class of operations, the pool of
+     * the manager serving all the operations if there is none.
+     */
+    static ActorRef getActorRefFromPool(String graphId, String managerName, OperationClass operationClass) {
+        ActorRef ref = getActorRefFromPool(graphId, getPoolName(managerName, operationClass));
+        return null != ref ? ref : getActorRefFromPool(graphId, managerName);
+    }
+
+    private static String getPoolName(String managerName, OperationClass operationClass) {
+        return managerName + "." + operationClass.getName();
+    }
+
     static ActorRef getActorRefFromPool(String graphId, String managerName) {
         if (StringUtils.isNotBlank(managerName)) {
             Map<String, ActorRef> actorRefs = null;
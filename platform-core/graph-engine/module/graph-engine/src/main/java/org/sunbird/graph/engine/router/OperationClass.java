@@ -0,0 +1,70 @@
+package org.sunbird.graph.engine.router;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.Platform;
+
+/**
+ * The classes of graph operations that get separate manager pools, so that
+ * slow writes and imports cannot hold up reads. Each class runs on the
+ * dispatcher graph-&lt;class&gt;-dispatcher and the mailbox
+ * graph-&lt;class&gt;-mailbox of the actor system config when they are defined,
+ * and the requests of each graph are admitted through a
+ * {@link org.sunbird.graph.common.Bulkhead} of the class.
+ */
+public enum OperationClass {
+
+    READ(1000), WRITE(200), SEARCH(200), IMPORT(8);
+
+    private static final Set<String> READ_OPERATIONS = new HashSet<String>(Arrays.asList("getAllDefinitions",
+            "getNodeDefinition", "getNodeDefinitionFromCache", "getDataNode", "getDataNodes", "getDataNodesByIds",
+            "getProxyNode"));
+    private static final Set<String> IMPORT_OPERATIONS = new HashSet<String>(
+            Arrays.asList("importGraph", "exportGraph", "loadGraph", "validateGraph", "bulkUpdateNodes"));
+
+    private final int defaultMaxPending;
+
+    private OperationClass(int defaultMaxPending) {
+        this.defaultMaxPending = defaultMaxPending;
+    }
+
+    /**
+     * Gets the maximum pending requests of the class per graph,
+     * graph.bulkhead.&lt;class&gt;.max_pending if configured.
+     */
+    public int getMaxPending() {
+        String path = "graph.bulkhead." + getName() + ".max_pending";
+        return Platform.config.hasPath(path) ? Platform.config.getInt(path) : defaultMaxPending;
+    }
+
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    public String getDispatcherId() {
+        return "graph-" + getName() + "-dispatcher";
+    }
+
+    public String getMailboxId() {
+        return "graph-" + getName() + "-mailbox";
+    }
+
+    /**
+     * Gets the class of an operation. Lookups of definitions and nodes by id
+     * are reads, the other operations of the search manager are searches. Of
+     * the other managers, the bulk operations are imports, lookups and
+     * validations are reads and the rest are writes.
+     */
+    public static OperationClass of(String managerName, String operation) {
+        if (StringUtils.equals(GraphEngineManagers.SEARCH_MANAGER, managerName))
+            return READ_OPERATIONS.contains(operation) ? READ : SEARCH;
+        if (IMPORT_OPERATIONS.contains(operation))
+            return IMPORT;
+        if (StringUtils.startsWith(operation, "get") || StringUtils.startsWith(operation, "validate"))
+            return READ;
+        return WRITE;
+    }
+}
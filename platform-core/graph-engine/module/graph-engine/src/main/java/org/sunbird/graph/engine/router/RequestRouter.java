@@ -3,7 +3,9 @@ package org.sunbird.graph.engine.router;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.dto.Request;
 import org.sunbird.common.exception.ClientException;
+import org.sunbird.common.exception.ServerException;
 import org.sunbird.graph.common.BaseRequestRouter;
+import org.sunbird.graph.common.Bulkhead;
 import org.sunbird.graph.common.enums.GraphHeaderParams;
 import org.sunbird.graph.exception.RequestRouterErrorCodes;
 
@@ -28,15 +30,40 @@ public class RequestRouter extends BaseRequestRouter {
     }
 
     protected ActorRef getActorFromPool(Request request) {
+        // the request may be sent again after an earlier request completed
+        request.getContext().remove(GraphHeaderParams.bulkhead.name());
+        request.getContext().remove(GraphHeaderParams.bulkhead_admission.name());
         String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
         if (StringUtils.isBlank(graphId))
             throw new ClientException(RequestRouterErrorCodes.ERR_ROUTER_INVALID_GRAPH_ID.name(), "GraphId cannot be empty");
         String manager = request.getManagerName();
-        ActorRef ref = GraphEngineActorPoolMgr.getActorRefFromPool(graphId, manager);
+        OperationClass operationClass = OperationClass.of(manager, request.getOperation());
+        ActorRef ref = GraphEngineActorPoolMgr.getActorRefFromPool(graphId, manager, operationClass);
         if (null == ref)
             throw new ClientException(RequestRouterErrorCodes.ERR_ROUTER_ACTOR_NOT_FOUND.name(),
                     "Actor not found in the pool for manager: " + manager);
+        // the managers of a remote pool cannot release the bulkheads of this
+        // actor system
+        if (!GraphEngineActorPoolMgr.isRemotePool(ref))
+            admit(request, graphId, operationClass);
         return ref;
     }
 
+    /**
+     * Admits the request through the bulkhead of its graph and class of
+     * operations, rejects it at once if too many requests are pending. The
+     * manager releases the admission when it replies. If the request never
+     * gets a reply, the admission expires after twice the request timeout.
+     */
+    private void admit(Request request, String graphId, OperationClass operationClass) {
+        Bulkhead bulkhead = Bulkhead.get(graphId + "." + operationClass.getName(), operationClass.getMaxPending());
+        String admission = bulkhead.admit(2 * timeout);
+        if (null == admission)
+            throw new ServerException(RequestRouterErrorCodes.ERR_ROUTER_OVERLOADED.name(),
+                    "Too many pending " + operationClass.getName() + " requests for graph: " + graphId
+                            + ", please try again later");
+        request.getContext().put(GraphHeaderParams.bulkhead.name(), bulkhead.getName());
+        request.getContext().put(GraphHeaderParams.bulkhead_admission.name(), admission);
+    }
+
 }
@@ -0,0 +1,88 @@
+package org.sunbird.graph.engine.importtest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.common.exception.ClientException;
+import org.sunbird.graph.dac.model.Node;
+import org.sunbird.graph.reader.CSVGraphStreamReader;
+import org.sunbird.graph.reader.GraphImportPipeline;
+import org.sunbird.graph.reader.JsonGraphStreamReader;
+
+public class GraphImportPipelineTest {
+
+	private static final int ROW_COUNT = 1050;
+
+	@Test
+	public void testReadCSVInBatches() throws Exception {
+		int count = 0;
+		try (GraphImportPipeline nodes = new GraphImportPipeline(
+				new CSVGraphStreamReader("domain", getCSV(ROW_COUNT, -1), null, null), 100, 2)) {
+			while (nodes.hasNext()) {
+				Node node = nodes.next();
+				Assert.assertEquals("do_" + count, node.getIdentifier());
+				Assert.assertEquals("Content", node.getObjectType());
+				Assert.assertEquals("Name " + count, node.getMetadata().get("name"));
+				if (count > 0)
+					Assert.assertEquals("do_" + (count - 1), node.getOutRelations().get(0).getEndNodeId());
+				else
+					Assert.assertTrue(node.getOutRelations().isEmpty());
+				count++;
+			}
+		}
+		Assert.assertEquals(ROW_COUNT, count);
+	}
+
+	@Test
+	public void testErrorAfterNodesRead() throws Exception {
+		int count = 0;
+		try (GraphImportPipeline nodes = new GraphImportPipeline(
+				new CSVGraphStreamReader("domain", getCSV(ROW_COUNT, 500), null, null), 100, 2)) {
+			while (nodes.hasNext()) {
+				nodes.next();
+				count++;
+			}
+			Assert.fail("Missing object type is not reported.");
+		} catch (ClientException e) {
+			Assert.assertTrue(e.getMessage().contains("row[502]"));
+		}
+		Assert.assertEquals(500, count);
+	}
+
+	@Test
+	public void testCloseBeforeEnd() throws Exception {
+		GraphImportPipeline nodes = new GraphImportPipeline(
+				new CSVGraphStreamReader("domain", getCSV(ROW_COUNT, -1), null, null), 10, 1);
+		Assert.assertEquals("do_0", nodes.next().getIdentifier());
+		nodes.close();
+	}
+
+	@Test(expected = ClientException.class)
+	public void testCSVWithoutRequiredColumns() throws Exception {
+		new CSVGraphStreamReader("domain",
+				new ByteArrayInputStream("identifier,name\ndo_1,Name".getBytes(StandardCharsets.UTF_8)), null, null);
+	}
+
+	@Test
+	public void testJsonSkipsOtherFields() throws Exception {
+		String json = "{\"definitionNodes\": [{\"objectType\": \"Content\"}], \"relations\": [], "
+				+ "\"nodes\": [{\"uniqueId\": \"do_1\", \"nodeType\": \"TAG\", \"metadata\": {}}], \"count\": 1}";
+		JsonGraphStreamReader reader = new JsonGraphStreamReader(null, new ObjectMapper(), "domain",
+				new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+		Assert.assertFalse(reader.hasNext());
+		reader.close();
+	}
+
+	private static InputStream getCSV(int rows, int missingObjectTypeRow) {
+		StringBuilder csv = new StringBuilder("identifier,objectType,name,rel:associatedTo\n");
+		for (int i = 0; i < rows; i++) {
+			csv.append("do_").append(i).append(",").append(i == missingObjectTypeRow ? "" : "Content")
+					.append(",Name ").append(i).append(",").append(i > 0 ? "do_" + (i - 1) : "").append("\n");
+		}
+		return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
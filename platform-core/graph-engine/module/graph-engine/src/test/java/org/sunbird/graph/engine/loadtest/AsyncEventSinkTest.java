@@ -0,0 +1,219 @@
+package org.sunbird.graph.engine.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.telemetry.sink.AsyncEventSink;
+import org.sunbird.telemetry.sink.EventWriter;
+import org.sunbird.telemetry.sink.OverflowPolicy;
+import org.sunbird.telemetry.sink.RingBuffer;
+
+/**
+ * Checks the ring buffer and the overflow policies of the event sink, and
+ * that the events of many senders are all written, buffered or written by
+ * the senders themselves.
+ */
+public class AsyncEventSinkTest {
+
+	private static final int THREADS = 8;
+	private static final int EVENTS = 100000;
+
+	@Test
+	public void testRingBufferUnderContention() throws Exception {
+		RingBuffer<Long> buffer = new RingBuffer<Long>(1000);
+		Assert.assertEquals(1024, buffer.capacity());
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+		try {
+			List<Future<?>> producers = new ArrayList<Future<?>>();
+			for (int i = 0; i < THREADS; i++) {
+				long base = (long) i * EVENTS;
+				producers.add(executor.submit(() -> {
+					for (long j = 1; j <= EVENTS; j++)
+						while (!buffer.offer(base + j))
+							Thread.yield();
+				}));
+			}
+			Future<long[]> consumer = executor.submit(() -> {
+				long count = 0, sum = 0;
+				while (count < (long) THREADS * EVENTS) {
+					Long item = buffer.poll();
+					if (null == item) {
+						Thread.yield();
+						continue;
+					}
+					count++;
+					sum += item;
+				}
+				return new long[] { count, sum };
+			});
+			for (Future<?> producer : producers)
+				producer.get();
+			long n = (long) THREADS * EVENTS;
+			Assert.assertArrayEquals(new long[] { n, n * (n + 1) / 2 }, consumer.get(60, TimeUnit.SECONDS));
+			Assert.assertNull(buffer.poll());
+			Assert.assertEquals(0, buffer.size());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testBlockWritesAllEventsInOrder() throws Exception {
+		List<String> written = Collections.synchronizedList(new ArrayList<String>());
+		AsyncEventSink sink = new AsyncEventSink("test_block", written::addAll, 64, OverflowPolicy.BLOCK, 16, 10, true);
+		try {
+			for (int i = 0; i < 1000; i++) {
+				Map<String, Object> event = new HashMap<String, Object>();
+				event.put("id", i);
+				Assert.assertTrue(sink.send(event));
+			}
+			Assert.assertTrue(sink.awaitFlush(10000));
+			Assert.assertEquals(1000, written.size());
+			Assert.assertEquals("{\"id\":0}", written.get(0));
+			Assert.assertEquals("{\"id\":999}", written.get(999));
+			Map<String, Object> stats = sink.getStats();
+			Assert.assertEquals(1000L, stats.get("written"));
+			Assert.assertEquals(0L, stats.get("dropped"));
+			Assert.assertEquals(0L, stats.get("lag"));
+			Assert.assertTrue((Long) stats.get("batches") >= 1000 / 16);
+		} finally {
+			sink.close();
+		}
+	}
+
+	@Test
+	public void testDropWhenFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		EventWriter stalledWriter = events -> release.await();
+		AsyncEventSink sink = new AsyncEventSink("test_drop", stalledWriter, 16, OverflowPolicy.DROP, 1, 10, true);
+		try {
+			int sent = 0;
+			for (int i = 0; i < 100; i++)
+				if (sink.send("{}"))
+					sent++;
+			Map<String, Object> stats = sink.getStats();
+			Assert.assertTrue(sent <= 16 + 1);
+			Assert.assertEquals((long) (100 - sent), stats.get("dropped"));
+			Assert.assertTrue((Long) stats.get("lag") > 0);
+			release.countDown();
+			Assert.assertTrue(sink.awaitFlush(10000));
+		} finally {
+			release.countDown();
+			sink.close();
+		}
+	}
+
+	@Test
+	public void testSampleOnceHalfFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		EventWriter stalledWriter = events -> release.await();
+		AsyncEventSink sink = new AsyncEventSink("test_sample", stalledWriter, 64, OverflowPolicy.SAMPLE, 1, 4, true);
+		try {
+			for (int i = 0; i < 100; i++)
+				sink.send("{}");
+			Map<String, Object> stats = sink.getStats();
+			Assert.assertTrue((Long) stats.get("sampled") > 0);
+			Assert.assertTrue((Long) stats.get("enqueued") > 32);
+			Assert.assertTrue((Long) stats.get("enqueued") < 64);
+		} finally {
+			release.countDown();
+			sink.close();
+		}
+	}
+
+	@Test
+	public void testIdleFlusherIsWokenUp() throws Exception {
+		List<String> written = Collections.synchronizedList(new ArrayList<String>());
+		AsyncEventSink sink = new AsyncEventSink("test_idle", written::addAll, 64, OverflowPolicy.BLOCK, 16, 10, true);
+		try {
+			for (int i = 0; i < 3; i++) {
+				Thread.sleep(50);
+				Assert.assertTrue(sink.send("{\"id\":" + i + "}"));
+				Assert.assertTrue(sink.awaitFlush(1000));
+			}
+			Assert.assertEquals(3, written.size());
+		} finally {
+			sink.close();
+		}
+	}
+
+	@Test
+	public void testWriteErrorsLoggedOnce() throws Exception {
+		AtomicLong logged = new AtomicLong();
+		AbstractAppender appender = new AbstractAppender("test_errors", null, null) {
+			@Override
+			public void append(LogEvent event) {
+				logged.incrementAndGet();
+			}
+		};
+		appender.start();
+		Logger logger = (Logger) LogManager.getLogger(AsyncEventSink.class);
+		logger.addAppender(appender);
+		EventWriter failingWriter = events -> {
+			throw new IllegalStateException("kafka unavailable");
+		};
+		AsyncEventSink sink = new AsyncEventSink("test_errors", failingWriter, 64, OverflowPolicy.BLOCK, 1, 10, false);
+		try {
+			for (int i = 0; i < 1000; i++)
+				Assert.assertTrue(sink.send("{}"));
+			Assert.assertEquals(1000L, sink.getStats().get("failed"));
+			Assert.assertEquals(1L, logged.get());
+		} finally {
+			logger.removeAppender(appender);
+			sink.close();
+		}
+	}
+
+	@Test
+	public void testConcurrentSenders() throws Exception {
+		AtomicLong count = new AtomicLong();
+		EventWriter writer = events -> count.addAndGet(events.size());
+		AsyncEventSink direct = new AsyncEventSink("test_direct", writer, 1024, OverflowPolicy.BLOCK, 512, 10, false);
+		AsyncEventSink buffered = new AsyncEventSink("test_async", writer, 65536, OverflowPolicy.BLOCK, 512, 10, true);
+		try {
+			sendEvents(direct);
+			Assert.assertEquals((long) THREADS * EVENTS, count.get());
+			sendEvents(buffered);
+			Assert.assertTrue(buffered.awaitFlush(30000));
+			Assert.assertEquals(2L * THREADS * EVENTS, count.get());
+			Assert.assertEquals(0L, buffered.getStats().get("dropped"));
+		} finally {
+			direct.close();
+			buffered.close();
+		}
+	}
+
+	private static void sendEvents(AsyncEventSink sink) throws Exception {
+		Map<String, Object> event = new HashMap<String, Object>();
+		event.put("nodeUniqueId", "do_1");
+		event.put("operationType", "UPDATE");
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> results = new ArrayList<Future<?>>();
+			for (int i = 0; i < THREADS; i++)
+				results.add(executor.submit(() -> {
+					for (int j = 0; j < EVENTS; j++)
+						sink.send(event);
+				}));
+			for (Future<?> result : results)
+				result.get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package org.sunbird.graph.engine.loadtest;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.factory.GraphDatabaseFactory;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.sunbird.common.dto.Request;
+import org.sunbird.graph.dac.model.Node;
+import org.sunbird.graph.dac.model.Relation;
+import org.sunbird.graph.engine.common.TestParams;
+import org.sunbird.graph.importer.ImportData;
+import org.sunbird.graph.service.operation.Neo4JBoltGraphOperations;
+import org.sunbird.graph.service.util.DriverUtil;
+
+/**
+ * Imports a few thousand nodes, more than one import chunk, into an embedded
+ * Neo4j and checks the nodes, the relation sync, the messages and the task
+ * progress.
+ */
+public class BulkGraphImportTest {
+
+	private static final String GRAPH_ID = "domain";
+	private static final int NODE_COUNT = 2500;
+
+	private static GraphDatabaseService graphDb;
+	private static File graphDir;
+
+	@BeforeClass
+	public static void before() throws Exception {
+		graphDir = Files.createTempDirectory("bulk-graph-import").toFile();
+		GraphDatabaseSettings.BoltConnector bolt = GraphDatabaseSettings.boltConnector("0");
+		graphDb = new GraphDatabaseFactory().newEmbeddedDatabaseBuilder(graphDir)
+				.setConfig(bolt.type, TestParams.BOLT.name()).setConfig(bolt.enabled, "true")
+				.setConfig(bolt.address, "localhost:7687").newGraphDatabase();
+		graphDb.execute("CREATE INDEX ON :" + GRAPH_ID + "(IL_UNIQUE_ID)").close();
+		graphDb.execute("CREATE (n:" + GRAPH_ID + " { IL_UNIQUE_ID: 'import_task', IL_SYS_NODE_TYPE: 'DATA_NODE', status: 'Pending' })")
+				.close();
+	}
+
+	@AfterClass
+	public static void after() throws Exception {
+		DriverUtil.closeDrivers();
+		if (null != graphDb)
+			graphDb.shutdown();
+		FileUtils.deleteDirectory(graphDir);
+	}
+
+	@Test
+	public void testImportAndReimport() throws Exception {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			Node node = getNode("imp_" + i, "Node " + i);
+			if (i > 0)
+				node.getOutRelations().add(new Relation("imp_" + i, "isParentOf", "imp_" + (i - 1)));
+			nodes.add(node);
+		}
+		nodes.get(10).getOutRelations().add(new Relation("imp_10", "associatedTo", "imp_missing"));
+		nodes.add(getNode("imp_1", "Duplicate"));
+
+		Map<String, List<String>> messages = Neo4JBoltGraphOperations.importGraph(GRAPH_ID, "import_task",
+				new ImportData(null, nodes, null, null), new Request());
+		Assert.assertEquals(1, messages.size());
+		Assert.assertTrue(messages.get("imp_10").get(0).contains("imp_missing"));
+		Assert.assertEquals(NODE_COUNT, count("MATCH (n:" + GRAPH_ID + ") WHERE n.IL_UNIQUE_ID STARTS WITH 'imp_' RETURN count(n) AS c"));
+		Assert.assertEquals("Node 1", single("MATCH (n:" + GRAPH_ID + " {IL_UNIQUE_ID: 'imp_1'}) RETURN n.name AS c"));
+		Assert.assertEquals(NODE_COUNT - 1, count("MATCH (:" + GRAPH_ID + ")-[r:isParentOf]->() RETURN count(r) AS c"));
+		Assert.assertEquals("Completed", single("MATCH (n:" + GRAPH_ID + " {IL_UNIQUE_ID: 'import_task'}) RETURN n.status AS c"));
+		Assert.assertEquals((long) NODE_COUNT, count("MATCH (n:" + GRAPH_ID + " {IL_UNIQUE_ID: 'import_task'}) RETURN n.nodesProcessed AS c"));
+		Assert.assertEquals((long) NODE_COUNT, count("MATCH (n:" + GRAPH_ID + " {IL_SYS_NODE_TYPE: 'ROOT_NODE'}) RETURN n.nodesCount AS c"));
+		Assert.assertEquals((long) NODE_COUNT - 1, count("MATCH (n:" + GRAPH_ID + " {IL_SYS_NODE_TYPE: 'ROOT_NODE'}) RETURN n.relationsCount AS c"));
+
+		// re-import a part: relations not in the input are deleted, existing ones are kept
+		List<Node> updates = new ArrayList<>();
+		Node node = getNode("imp_5", "Updated 5");
+		Relation relation = new Relation("imp_5", "isParentOf", "imp_4");
+		relation.setMetadata(new HashMap<>());
+		relation.getMetadata().put("index", 1L);
+		node.getOutRelations().add(relation);
+		node.getOutRelations().add(new Relation("imp_5", "associatedTo", "imp_100"));
+		updates.add(node);
+		updates.add(getNode("imp_6", "Updated 6"));
+		Node unchanged = getNode("imp_7", "Updated 7");
+		unchanged.setOutRelations(null);
+		updates.add(unchanged);
+		messages = Neo4JBoltGraphOperations.importGraph(GRAPH_ID, null, new ImportData(null, updates, null, null),
+				new Request());
+		Assert.assertTrue(messages.isEmpty());
+		Assert.assertEquals("Updated 5", single("MATCH (n:" + GRAPH_ID + " {IL_UNIQUE_ID: 'imp_5'}) RETURN n.name AS c"));
+		Assert.assertEquals(1L, count("MATCH (:" + GRAPH_ID + " {IL_UNIQUE_ID: 'imp_5'})-[r:isParentOf]->({IL_UNIQUE_ID: 'imp_4'}) RETURN r.index AS c"));
+		Assert.assertEquals(1L, count("MATCH (:" + GRAPH_ID + " {IL_UNIQUE_ID: 'imp_5'})-[r:associatedTo]->() RETURN count(r) AS c"));
+		Assert.assertEquals(0L, count("MATCH (:" + GRAPH_ID + " {IL_UNIQUE_ID: 'imp_6'})-[r]->() RETURN count(r) AS c"));
+		Assert.assertEquals(1L, count("MATCH (:" + GRAPH_ID + " {IL_UNIQUE_ID: 'imp_7'})-[r]->() RETURN count(r) AS c"));
+		Assert.assertEquals((long) NODE_COUNT, count("MATCH (n:" + GRAPH_ID + " {IL_SYS_NODE_TYPE: 'ROOT_NODE'}) RETURN n.nodesCount AS c"));
+		Assert.assertEquals((long) NODE_COUNT - 1, count("MATCH (n:" + GRAPH_ID + " {IL_SYS_NODE_TYPE: 'ROOT_NODE'}) RETURN n.relationsCount AS c"));
+	}
+
+	private static Node getNode(String identifier, String name) {
+		Node node = new Node(identifier, "SET", "Content");
+		node.setMetadata(new HashMap<>());
+		node.getMetadata().put("name", name);
+		node.getMetadata().put("keywords", new String[] { "import", "test" });
+		node.setOutRelations(new ArrayList<>());
+		return node;
+	}
+
+	private static long count(String query) {
+		return ((Number) single(query)).longValue();
+	}
+
+	private static Object single(String query) {
+		try (Result result = graphDb.execute(query)) {
+			return result.next().get("c");
+		}
+	}
+}
@@ -0,0 +1,211 @@
+package org.sunbird.graph.engine.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.common.dto.Request;
+import org.sunbird.graph.common.Bulkhead;
+import org.sunbird.graph.common.enums.GraphHeaderParams;
+import org.sunbird.graph.common.mgr.BaseGraphManager;
+import org.sunbird.graph.engine.router.GraphEngineManagers;
+import org.sunbird.graph.engine.router.OperationClass;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.pattern.Patterns;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Checks the classes of the graph operations, that a bulkhead never admits
+ * more than its maximum pending requests, however many callers race for it,
+ * that a request holds its bulkhead until the manager replies and that the
+ * admission of a request without a reply expires. The admission timings are
+ * written to the performance test log.
+ */
+public class BulkheadTest {
+
+	private static final String SCENARIO_NAME = "BULKHEAD";
+	private static final Logger logger = LogManager.getLogger("PerformanceTestLogger");
+	private static final int THREADS = 16;
+	private static final int ATTEMPTS = 100000;
+	private static final int MAX_PENDING = 8;
+
+	private static CountDownLatch replyLatch;
+
+	public static class SlowManager extends BaseGraphManager {
+
+		@Override
+		protected void invokeMethod(Request request, ActorRef parent) {
+			try {
+				replyLatch.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+			}
+			OK(parent);
+		}
+	}
+
+	@Before
+	public void init() {
+		LoggerUtil.config(SCENARIO_NAME + "_" + System.currentTimeMillis());
+	}
+
+	@Test
+	public void testOperationClasses() {
+		Assert.assertEquals(OperationClass.READ, OperationClass.of(GraphEngineManagers.SEARCH_MANAGER, "getDataNode"));
+		Assert.assertEquals(OperationClass.READ,
+				OperationClass.of(GraphEngineManagers.SEARCH_MANAGER, "getNodeDefinitionFromCache"));
+		Assert.assertEquals(OperationClass.SEARCH, OperationClass.of(GraphEngineManagers.SEARCH_MANAGER, "searchNodes"));
+		Assert.assertEquals(OperationClass.SEARCH,
+				OperationClass.of(GraphEngineManagers.SEARCH_MANAGER, "getNodesByProperty"));
+		Assert.assertEquals(OperationClass.WRITE, OperationClass.of(GraphEngineManagers.NODE_MANAGER, "updateDataNode"));
+		Assert.assertEquals(OperationClass.READ, OperationClass.of(GraphEngineManagers.NODE_MANAGER, "validateNode"));
+		Assert.assertEquals(OperationClass.IMPORT, OperationClass.of(GraphEngineManagers.GRAPH_MANAGER, "importGraph"));
+		Assert.assertEquals(OperationClass.WRITE, OperationClass.of(GraphEngineManagers.GRAPH_MANAGER, "createIndex"));
+		Assert.assertEquals(1000, OperationClass.READ.getMaxPending());
+		Assert.assertEquals("graph-import-dispatcher", OperationClass.IMPORT.getDispatcherId());
+	}
+
+	@Test
+	public void testRejectsWhenFull() {
+		Bulkhead bulkhead = Bulkhead.get("test.full", 2);
+		Assert.assertSame(bulkhead, Bulkhead.get("test.full"));
+		Assert.assertTrue(bulkhead.tryAcquire());
+		Assert.assertTrue(bulkhead.tryAcquire());
+		Assert.assertFalse(bulkhead.tryAcquire());
+		bulkhead.release();
+		Assert.assertTrue(bulkhead.tryAcquire());
+		bulkhead.recordWait(10);
+		bulkhead.recordWait(30);
+
+		Map<String, Object> stats = bulkhead.getStats();
+		Assert.assertEquals(2, stats.get("pending"));
+		Assert.assertEquals(2, stats.get("peakPending"));
+		Assert.assertEquals(3L, stats.get("admitted"));
+		Assert.assertEquals(1L, stats.get("rejected"));
+		Assert.assertEquals(20L, stats.get("avgWaitTime"));
+		Assert.assertEquals(30L, stats.get("maxWaitTime"));
+		Assert.assertTrue(Bulkhead.getAllStats().containsKey("test.full"));
+		Assert.assertNull(Bulkhead.get(null));
+	}
+
+	@Test
+	public void testConcurrentAdmission() throws Exception {
+		Bulkhead bulkhead = Bulkhead.get("test.concurrent", MAX_PENDING);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int i = 0; i < THREADS; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					int maxSeen = 0;
+					for (int j = 0; j < ATTEMPTS; j++) {
+						if (bulkhead.tryAcquire()) {
+							maxSeen = Math.max(maxSeen, bulkhead.getPending());
+							bulkhead.release();
+						}
+					}
+					return maxSeen;
+				}));
+			}
+			long startTime = System.nanoTime();
+			start.countDown();
+			for (Future<Integer> result : results)
+				Assert.assertTrue(result.get() <= MAX_PENDING);
+			long time = System.nanoTime() - startTime;
+
+			Map<String, Object> stats = bulkhead.getStats();
+			Assert.assertEquals(0, stats.get("pending"));
+			Assert.assertTrue((Integer) stats.get("peakPending") <= MAX_PENDING);
+			Assert.assertEquals((long) THREADS * ATTEMPTS, (Long) stats.get("admitted") + (Long) stats.get("rejected"));
+			logger.info(String.format("Bulkhead | threads: %d | attempts: %d | admitted: %d | rejected: %d | %.2f ns/attempt",
+					THREADS, THREADS * ATTEMPTS, stats.get("admitted"), stats.get("rejected"),
+					(double) time / (THREADS * ATTEMPTS)));
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	public void testHeldUntilManagerReplies() throws Exception {
+		Bulkhead bulkhead = Bulkhead.get("test.reply", 1);
+		ActorSystem system = ActorSystem.create("BulkheadTest");
+		replyLatch = new CountDownLatch(1);
+		try {
+			ActorRef manager = system.actorOf(Props.create(SlowManager.class));
+			Request request = getRequest(bulkhead, bulkhead.admit(60000));
+			try {
+				Await.result(Patterns.ask(manager, request, 100), Duration.create(1, TimeUnit.SECONDS));
+				Assert.fail("The ask should time out while the manager is working");
+			} catch (akka.pattern.AskTimeoutException e) {
+			}
+			Assert.assertEquals(1, bulkhead.getPending());
+			Assert.assertNull(bulkhead.admit(60000));
+
+			replyLatch.countDown();
+			long deadline = System.currentTimeMillis() + 5000;
+			while (bulkhead.getPending() > 0 && System.currentTimeMillis() < deadline)
+				Thread.sleep(10);
+			Assert.assertEquals(0, bulkhead.getPending());
+		} finally {
+			replyLatch.countDown();
+			system.shutdown();
+		}
+	}
+
+	@Test
+	public void testExpiresWhenMessageDropped() throws Exception {
+		Bulkhead bulkhead = Bulkhead.get("test.dropped", 1);
+		ActorSystem system = ActorSystem.create("BulkheadDropTest");
+		try {
+			ActorRef manager = system.actorOf(Props.create(SlowManager.class));
+			system.stop(manager);
+			Thread.sleep(100);
+			// the request goes to the dead letters, no manager ever replies
+			String admission = bulkhead.admit(200);
+			Assert.assertNotNull(admission);
+			manager.tell(getRequest(bulkhead, admission), ActorRef.noSender());
+			Assert.assertNull(bulkhead.admit(200));
+
+			long deadline = System.currentTimeMillis() + 5000;
+			String next = null;
+			while (null == next && System.currentTimeMillis() < deadline) {
+				Thread.sleep(100);
+				next = bulkhead.admit(60000);
+			}
+			Assert.assertNotNull(next);
+			Assert.assertEquals(1L, bulkhead.getStats().get("expired"));
+
+			// a late release of the expired admission does not free the slot again
+			bulkhead.release(admission);
+			Assert.assertEquals(1, bulkhead.getPending());
+			bulkhead.release(next);
+			bulkhead.release(next);
+			Assert.assertEquals(0, bulkhead.getPending());
+		} finally {
+			system.shutdown();
+		}
+	}
+
+	private Request getRequest(Bulkhead bulkhead, String admission) {
+		Request request = new Request();
+		request.getContext().put(GraphHeaderParams.bulkhead.name(), bulkhead.getName());
+		request.getContext().put(GraphHeaderParams.bulkhead_admission.name(), admission);
+		request.getContext().put(GraphHeaderParams.start_time.name(), System.currentTimeMillis());
+		return request;
+	}
+}
@@ -0,0 +1,213 @@
+package org.sunbird.graph.engine.loadtest;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.factory.GraphDatabaseFactory;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.sunbird.common.dto.Property;
+import org.sunbird.common.dto.Request;
+import org.sunbird.graph.dac.enums.GraphDACParams;
+import org.sunbird.graph.dac.enums.SystemProperties;
+import org.sunbird.graph.dac.model.Node;
+import org.sunbird.graph.engine.common.TestParams;
+import org.sunbird.graph.service.common.GraphOperation;
+import org.sunbird.graph.service.operation.Neo4JBoltGraphOperations;
+import org.sunbird.graph.service.operation.Neo4JBoltNodeOperations;
+import org.sunbird.graph.service.operation.Neo4JBoltSearchOperations;
+import org.sunbird.graph.service.util.DriverUtil;
+import org.sunbird.graph.service.util.SearchQueryGenerationUtil;
+
+/**
+ * Runs the node and relation operations against an embedded Neo4j and
+ * compares looking up nodes with the id spliced into the query text against
+ * the parameterized query, which Neo4j plans once and serves from its plan
+ * cache. The timings are written to the performance test log.
+ */
+public class CypherQueryPlanCacheTest {
+
+	private static final String SCENARIO_NAME = "CYPHER_QUERY_PLAN_CACHE";
+	private static final Logger logger = LogManager.getLogger("PerformanceTestLogger");
+
+	private static final String GRAPH_ID = "domain";
+	private static final int NODE_COUNT = 1000;
+
+	private static GraphDatabaseService graphDb;
+	private static File graphDir;
+
+	@BeforeClass
+	public static void before() throws Exception {
+		LoggerUtil.config(SCENARIO_NAME + "_" + System.currentTimeMillis());
+		graphDir = Files.createTempDirectory("cypher-plan-cache").toFile();
+		GraphDatabaseSettings.BoltConnector bolt = GraphDatabaseSettings.boltConnector("0");
+		graphDb = new GraphDatabaseFactory().newEmbeddedDatabaseBuilder(graphDir)
+				.setConfig(bolt.type, TestParams.BOLT.name()).setConfig(bolt.enabled, "true")
+				.setConfig(bolt.address, "localhost:7687").newGraphDatabase();
+		Map<String, Object> params = new HashMap<>();
+		List<Map<String, Object>> rows = new ArrayList<>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			Map<String, Object> row = new HashMap<>();
+			row.put("id", "do_" + i);
+			row.put("name", "Node " + i);
+			rows.add(row);
+		}
+		params.put("rows", rows);
+		graphDb.execute("CREATE INDEX ON :" + GRAPH_ID + "(" + SystemProperties.IL_UNIQUE_ID.name() + ")").close();
+		graphDb.execute("UNWIND { rows } AS row CREATE (n:" + GRAPH_ID + " { " + SystemProperties.IL_UNIQUE_ID.name()
+				+ ": row.id, name: row.name, IL_SYS_NODE_TYPE: 'DATA_NODE' })", params).close();
+	}
+
+	@AfterClass
+	public static void after() throws Exception {
+		DriverUtil.closeDrivers();
+		if (null != graphDb)
+			graphDb.shutdown();
+		FileUtils.deleteDirectory(graphDir);
+	}
+
+	@Test
+	public void testOperationsWithParameterizedQueries() {
+		Request request = new Request();
+		Node node = Neo4JBoltSearchOperations.getNodeByUniqueId(GRAPH_ID, "do_1", false, request);
+		Assert.assertEquals("do_1", node.getIdentifier());
+		Assert.assertEquals("Node 2", getNodeProperty("do_2", "name", request).asString());
+		Assert.assertEquals(1, Neo4JBoltSearchOperations
+				.getNodesByProperty(GRAPH_ID, new Property("name", "Node 3"), false, request).size());
+
+		Neo4JBoltGraphOperations.createRelation(GRAPH_ID, "do_4", "do_5", "hasSequenceMember", request);
+		Assert.assertEquals("do_5", Neo4JBoltSearchOperations
+				.getRelation(GRAPH_ID, "do_4", "hasSequenceMember", "do_5", request).getEndNodeId());
+		Assert.assertEquals(true, Neo4JBoltSearchOperations
+				.checkCyclicLoop(GRAPH_ID, "do_4", "hasSequenceMember", "do_5", request).get(GraphDACParams.loop.name()));
+		Neo4JBoltGraphOperations.deleteRelation(GRAPH_ID, "do_4", "do_5", "hasSequenceMember", request);
+		Assert.assertEquals(false, Neo4JBoltSearchOperations
+				.checkCyclicLoop(GRAPH_ID, "do_4", "hasSequenceMember", "do_5", request).get(GraphDACParams.loop.name()));
+
+		Neo4JBoltNodeOperations.removePropertyValue(GRAPH_ID, "do_6", "name", request);
+		Assert.assertTrue(getNodeProperty("do_6", "name", request).isNull());
+
+		Node newNode = new Node("do_new", "SET", "Content");
+		newNode.setMetadata(new HashMap<>());
+		newNode.getMetadata().put("name", "New Node");
+		Neo4JBoltNodeOperations.upsertNode(GRAPH_ID, newNode, request);
+		newNode.getMetadata().put("name", "Updated Node");
+		Neo4JBoltNodeOperations.upsertNode(GRAPH_ID, newNode, request);
+		Assert.assertEquals("Updated Node", getNodeProperty("do_new", "name", request).asString());
+		Neo4JBoltNodeOperations.deleteNode(GRAPH_ID, "do_new", request);
+		Assert.assertTrue(Neo4JBoltSearchOperations
+				.getNodesByProperty(GRAPH_ID, new Property("name", "Updated Node"), false, request).isEmpty());
+		Node rootNode = Neo4JBoltNodeOperations.upsertRootNode(GRAPH_ID, request);
+		Assert.assertEquals(rootNode.getNodeType(), getNodeProperty(rootNode.getIdentifier(),
+				SystemProperties.IL_SYS_NODE_TYPE.name(), request).asString());
+
+		// a value with a quote broke the spliced query, it is now only a parameter
+		Assert.assertEquals(0, Neo4JBoltSearchOperations
+				.getNodesByProperty(GRAPH_ID, new Property("name", "Node ' OR 1=1 //"), false, request).size());
+	}
+
+	@Test
+	public void testGetNodesByIdsInChunks() {
+		Request request = new Request();
+		List<String> nodeIds = new ArrayList<>();
+		for (int i = NODE_COUNT - 1; i >= 0; i--)
+			nodeIds.add("do_" + i);
+		nodeIds.add("do_unknown");
+		nodeIds.add("do_10");
+
+		List<Node> nodes = Neo4JBoltSearchOperations.getNodesByIds(GRAPH_ID, nodeIds, null, request);
+		Assert.assertEquals(NODE_COUNT, nodes.size());
+		for (int i = 0; i < NODE_COUNT; i++) {
+			Assert.assertEquals("do_" + (NODE_COUNT - 1 - i), nodes.get(i).getIdentifier());
+			Assert.assertEquals("DATA_NODE", nodes.get(i).getNodeType());
+		}
+
+		Neo4JBoltGraphOperations.createRelation(GRAPH_ID, "do_20", "do_21", "associatedTo", request);
+		nodes = Neo4JBoltSearchOperations.getNodesByIds(GRAPH_ID, Arrays.asList("do_20", "do_21"), null, request);
+		Assert.assertEquals("do_21", nodes.get(0).getOutRelations().get(0).getEndNodeId());
+		Assert.assertEquals("do_20", nodes.get(1).getInRelations().get(0).getStartNodeId());
+		Neo4JBoltGraphOperations.deleteRelation(GRAPH_ID, "do_20", "do_21", "associatedTo", request);
+
+		nodes = Neo4JBoltSearchOperations.getNodesByIds(GRAPH_ID, Arrays.asList("do_30", "do_31"),
+				Arrays.asList("name", "status"), request);
+		Assert.assertEquals(2, nodes.size());
+		Assert.assertEquals("do_30", nodes.get(0).getIdentifier());
+		Assert.assertEquals("Node 30", nodes.get(0).getMetadata().get("name"));
+		Assert.assertFalse(nodes.get(0).getMetadata().containsKey("status"));
+		Assert.assertNull(nodes.get(0).getOutRelations());
+
+		Assert.assertTrue(Neo4JBoltSearchOperations.getNodesByIds(GRAPH_ID, new ArrayList<>(), null, request).isEmpty());
+	}
+
+	@Test
+	public void testPlanCacheReuseAndLatency() {
+		Driver driver = DriverUtil.getDriver(GRAPH_ID, GraphOperation.READ);
+		Set<String> literalQueries = new HashSet<>();
+		Set<String> parameterizedQueries = new HashSet<>();
+		try (Session session = driver.session()) {
+			// warm up the connection and the parameterized plan
+			runParameterized(session, 0, 100, new HashSet<>());
+
+			long start = System.nanoTime();
+			for (int i = 0; i < NODE_COUNT; i++) {
+				String query = "MATCH (ee:" + GRAPH_ID + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": 'do_" + i
+						+ "'}) OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode";
+				literalQueries.add(query);
+				Assert.assertTrue(session.run(query).hasNext());
+			}
+			long literalTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			runParameterized(session, 0, NODE_COUNT, parameterizedQueries);
+			long parameterizedTime = System.nanoTime() - start;
+
+			logger.info("Node lookups: " + NODE_COUNT);
+			logger.info("Literal queries: " + literalQueries.size() + " distinct query texts, plan cache hit rate "
+					+ hitRate(literalQueries.size()) + "%, " + (literalTime / 1000000) + " ms, "
+					+ (literalTime / NODE_COUNT / 1000) + " us/lookup");
+			logger.info("Parameterized queries: " + parameterizedQueries.size()
+					+ " distinct query texts, plan cache hit rate " + hitRate(parameterizedQueries.size()) + "%, "
+					+ (parameterizedTime / 1000000) + " ms, " + (parameterizedTime / NODE_COUNT / 1000) + " us/lookup");
+		}
+		Assert.assertEquals(NODE_COUNT, literalQueries.size());
+		Assert.assertEquals(1, parameterizedQueries.size());
+	}
+
+	private static Value getNodeProperty(String nodeId, String key, Request request) {
+		return (Value) Neo4JBoltSearchOperations.getNodeProperty(GRAPH_ID, nodeId, key, request).getPropertyValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void runParameterized(Session session, int from, int to, Set<String> queries) {
+		for (int i = from; i < to; i++) {
+			Map<String, Object> parameterMap = new HashMap<>();
+			parameterMap.put(GraphDACParams.graphId.name(), GRAPH_ID);
+			parameterMap.put(GraphDACParams.nodeId.name(), "do_" + i);
+			String query = SearchQueryGenerationUtil.generateGetNodeByUniqueIdCypherQuery(parameterMap);
+			queries.add(query);
+			Assert.assertTrue(session
+					.run(query, (Map<String, Object>) parameterMap.get(GraphDACParams.paramValueMap.name())).hasNext());
+		}
+	}
+
+	private static long hitRate(int distinctQueries) {
+		return (NODE_COUNT - distinctQueries) * 100L / NODE_COUNT;
+	}
+}
@@ -0,0 +1,115 @@
+package org.sunbird.graph.engine.loadtest;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.common.dto.Request;
+import org.sunbird.graph.common.BaseRequestRouter;
+import org.sunbird.graph.common.OperationHandler;
+import org.sunbird.graph.engine.mgr.impl.CollectionManagerImpl;
+import org.sunbird.graph.engine.mgr.impl.GraphMgrImpl;
+import org.sunbird.graph.engine.mgr.impl.NodeManagerImpl;
+import org.sunbird.graph.engine.mgr.impl.SearchManagerImpl;
+
+/**
+ * Checks the generated operation handlers of the graph managers and compares
+ * the cost of calling an operation through them against
+ * {@link Method#invoke}. The timings are written to the performance test log.
+ */
+public class OperationDispatchTest {
+
+	private static final String SCENARIO_NAME = "OPERATION_DISPATCH";
+	private static final Logger logger = LogManager.getLogger("PerformanceTestLogger");
+	private static final int WARMUP_CALLS = 200000;
+	private static final int CALLS = 1000000;
+
+	public static class CountingManager {
+
+		private long count;
+
+		public void countRequest(Request request) {
+			count++;
+		}
+
+		public void countOperation(Request request) {
+			count += 2;
+		}
+
+		private void notAnOperation(Request request) {
+		}
+
+		public String notVoid(Request request) {
+			return null;
+		}
+	}
+
+	@Before
+	public void init() {
+		LoggerUtil.config(SCENARIO_NAME + "_" + System.currentTimeMillis());
+	}
+
+	@Test
+	public void testManagerHandlers() {
+		for (Class<?> cls : new Class<?>[] { GraphMgrImpl.class, NodeManagerImpl.class, CollectionManagerImpl.class,
+				SearchManagerImpl.class }) {
+			Map<String, Method> methods = BaseRequestRouter.getMethodMap(cls);
+			Map<String, ? extends OperationHandler<?>> handlers = BaseRequestRouter
+					.getHandlerMap(MethodHandles.lookup(), cls);
+			Assert.assertFalse(methods.isEmpty());
+			Assert.assertEquals(methods.keySet(), handlers.keySet());
+		}
+		Assert.assertTrue(BaseRequestRouter.getMethodMap(SearchManagerImpl.class).containsKey("getDataNode"));
+	}
+
+	@Test
+	public void testHandlerCallsOperation() {
+		Map<String, OperationHandler<CountingManager>> handlers = BaseRequestRouter
+				.getHandlerMap(MethodHandles.lookup(), CountingManager.class);
+		Assert.assertEquals(2, handlers.size());
+		CountingManager manager = new CountingManager();
+		handlers.get("countRequest").handle(manager, new Request());
+		handlers.get("countOperation").handle(manager, new Request());
+		Assert.assertEquals(3, manager.count);
+	}
+
+	@Test
+	public void testDispatchOverhead() throws Exception {
+		Map<String, Method> methods = BaseRequestRouter.getMethodMap(CountingManager.class);
+		Map<String, OperationHandler<CountingManager>> handlers = BaseRequestRouter
+				.getHandlerMap(MethodHandles.lookup(), CountingManager.class);
+		CountingManager manager = new CountingManager();
+		Request request = new Request();
+
+		invokeMethods(methods, manager, request, WARMUP_CALLS);
+		invokeHandlers(handlers, manager, request, WARMUP_CALLS);
+
+		long start = System.nanoTime();
+		invokeMethods(methods, manager, request, CALLS);
+		long reflectiveTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		invokeHandlers(handlers, manager, request, CALLS);
+		long handlerTime = System.nanoTime() - start;
+
+		Assert.assertEquals(3L * (WARMUP_CALLS + CALLS), manager.count);
+		logger.info(String.format("Operation dispatch | calls: %d | Method.invoke: %.2f ns/call | handler: %.2f ns/call",
+				CALLS, (double) reflectiveTime / CALLS, (double) handlerTime / CALLS));
+	}
+
+	private static void invokeMethods(Map<String, Method> methods, CountingManager manager, Request request,
+			int calls) throws Exception {
+		for (int i = 0; i < calls; i++)
+			methods.get((i & 1) == 0 ? "countRequest" : "countOperation").invoke(manager, request);
+	}
+
+	private static void invokeHandlers(Map<String, OperationHandler<CountingManager>> handlers,
+			CountingManager manager, Request request, int calls) {
+		for (int i = 0; i < calls; i++)
+			handlers.get((i & 1) == 0 ? "countRequest" : "countOperation").handle(manager, request);
+	}
+}
@@ -0,0 +1,184 @@
+package org.sunbird.graph.engine.loadtest;
+
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.graph.cache.factory.JedisFactory;
+import org.sunbird.graph.cache.util.CacheKeyGenerator;
+import org.sunbird.graph.cache.util.RedisStoreUtil;
+
+import redis.clients.jedis.Jedis;
+import redis.embedded.RedisServer;
+
+/**
+ * Compares the per element writes RedisStoreUtil used to do against the
+ * pipelined / multi-key writes, on an embedded Redis. The commands each path
+ * sends are counted from INFO commandstats, the timings, taken after a warm
+ * up, are written to the performance test log.
+ */
+public class RedisBatchWriteTest {
+
+	private static final String SCENARIO_NAME = "REDIS_BATCH_WRITE";
+	private static final Logger logger = LogManager.getLogger("PerformanceTestLogger");
+	private static final int REDIS_PORT = 6379;
+	private static final int TERM_COUNT = 2000;
+	private static final int PROPERTY_COUNT = 50;
+	private static final int WARMUP = 5;
+	private static final int ITERATIONS = 20;
+
+	private static RedisServer redisServer = null;
+
+	@BeforeClass
+	public static void before() throws Exception {
+		LoggerUtil.config(SCENARIO_NAME + "_" + System.currentTimeMillis());
+		if (!isRunning()) {
+			redisServer = new RedisServer(REDIS_PORT);
+			redisServer.start();
+		}
+	}
+
+	@AfterClass
+	public static void after() {
+		if (null != redisServer) {
+			redisServer.stop();
+			redisServer = null;
+		}
+	}
+
+	@Test
+	public void testSaveList() {
+		String key = "cat_batch_benchmark_framework_board";
+		List<Object> terms = new ArrayList<Object>();
+		for (int i = 0; i < TERM_COUNT; i++)
+			terms.add("term_" + i);
+		for (int i = 0; i < WARMUP; i++) {
+			saveListLooped(key, terms);
+			RedisStoreUtil.saveList(key, terms);
+		}
+
+		resetStats();
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++)
+			saveListLooped(key, terms);
+		long looped = System.nanoTime() - start;
+		long loopedCommands = getCommandCount();
+
+		resetStats();
+		start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++)
+			RedisStoreUtil.saveList(key, terms);
+		long batched = System.nanoTime() - start;
+		long batchedCommands = getCommandCount();
+
+		Assert.assertEquals(TERM_COUNT, RedisStoreUtil.getList(key).size());
+		report("saveList(" + TERM_COUNT + " terms)", loopedCommands, looped, batchedCommands, batched);
+		Assert.assertTrue(loopedCommands > 10 * batchedCommands);
+		RedisStoreUtil.delete(key);
+	}
+
+	@Test
+	public void testSaveNodeProperties() {
+		Map<String, Object> metadata = new HashMap<String, Object>();
+		for (int i = 0; i < PROPERTY_COUNT; i++)
+			metadata.put("prop_" + i, "value_" + i);
+		for (int i = 0; i < WARMUP; i++) {
+			saveNodePropertiesLooped("do_batch_benchmark", metadata);
+			RedisStoreUtil.saveNodeProperties("domain", "do_batch_benchmark", metadata);
+		}
+
+		resetStats();
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++)
+			saveNodePropertiesLooped("do_batch_benchmark", metadata);
+		long looped = System.nanoTime() - start;
+		long loopedCommands = getCommandCount();
+
+		resetStats();
+		start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++)
+			RedisStoreUtil.saveNodeProperties("domain", "do_batch_benchmark", metadata);
+		long batched = System.nanoTime() - start;
+		long batchedCommands = getCommandCount();
+
+		Assert.assertEquals("value_7", RedisStoreUtil.getNodeProperty("domain", "do_batch_benchmark", "prop_7"));
+		report("saveNodeProperties(" + PROPERTY_COUNT + " properties)", loopedCommands, looped, batchedCommands,
+				batched);
+		Assert.assertTrue(loopedCommands > 10 * batchedCommands);
+	}
+
+	private static void saveListLooped(String key, List<Object> values) {
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			jedis.del(key);
+			for (Object val : values)
+				jedis.sadd(key, (String) val);
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+	}
+
+	private static void saveNodePropertiesLooped(String objectId, Map<String, Object> metadata) {
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			for (Map.Entry<String, Object> entry : metadata.entrySet())
+				jedis.set(CacheKeyGenerator.getNodePropertyKey("domain", objectId, entry.getKey()),
+						entry.getValue().toString());
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+	}
+
+	private static void resetStats() {
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			jedis.configResetStat();
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+	}
+
+	/**
+	 * Gets the number of commands the server ran since the stats were reset,
+	 * leaving out the INFO and CONFIG commands of the test itself.
+	 */
+	private static long getCommandCount() {
+		Jedis jedis = JedisFactory.getRedisConncetion();
+		try {
+			long count = 0;
+			for (String line : jedis.info("commandstats").split("\r\n")) {
+				if (!line.startsWith("cmdstat_") || line.startsWith("cmdstat_info:")
+						|| line.startsWith("cmdstat_config:"))
+					continue;
+				String calls = line.substring(line.indexOf("calls=") + 6);
+				count += Long.parseLong(calls.substring(0, calls.indexOf(',')));
+			}
+			return count;
+		} finally {
+			JedisFactory.returnConnection(jedis);
+		}
+	}
+
+	private static void report(String operation, long loopedCommands, long loopedNanos, long batchedCommands,
+			long batchedNanos) {
+		logger.info(String.format("%s: looped %d commands, %.2f ms/op | batched %d commands, %.2f ms/op", operation,
+				loopedCommands / ITERATIONS, loopedNanos / (ITERATIONS * 1e6), batchedCommands / ITERATIONS,
+				batchedNanos / (ITERATIONS * 1e6)));
+	}
+
+	private static boolean isRunning() {
+		try (Socket socket = new Socket("localhost", REDIS_PORT)) {
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+}
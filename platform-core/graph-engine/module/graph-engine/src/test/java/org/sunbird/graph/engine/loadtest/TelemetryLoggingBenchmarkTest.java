@@ -0,0 +1,96 @@
+package org.sunbird.graph.engine.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.common.dto.ExecutionContext;
+import org.sunbird.common.dto.HeaderParam;
+import org.sunbird.telemetry.TelemetryGenerator;
+import org.sunbird.telemetry.TelemetryParams;
+import org.sunbird.telemetry.handler.Level;
+import org.sunbird.telemetry.handler.TelemetryHandler;
+import org.sunbird.telemetry.handler.TelemetryLoggingHandler;
+import org.sunbird.telemetry.logger.TelemetryManager;
+
+/**
+ * Measures the cost of the DEBUG logs of the graph operations while DEBUG is
+ * disabled (the root level of the test log4j2.xml is INFO). Before the level
+ * check, every call built the context and the LOG event and serialized it to
+ * JSON, only for the logger to drop it. The timings are written to the
+ * performance test log.
+ */
+public class TelemetryLoggingBenchmarkTest {
+
+	private static final String SCENARIO_NAME = "TELEMETRY_LOGGING";
+	private static final Logger logger = LogManager.getLogger("PerformanceTestLogger");
+
+	private static final int WARMUP = 50000;
+	private static final int CALLS = 200000;
+
+	private static final TelemetryHandler handler = new TelemetryLoggingHandler();
+	private static final Map<String, Object> relationMap = getMap("rel_", 10);
+	private static final Map<String, Object> nodeMap = getMap("node_", 20);
+
+	private static volatile int blackhole;
+
+	@Before
+	public void init() {
+		LoggerUtil.config(SCENARIO_NAME + "_" + System.currentTimeMillis());
+	}
+
+	@Test
+	public void testDisabledLevelCost() {
+		Assert.assertFalse(handler.isEnabled(Level.DEBUG));
+		Assert.assertTrue(handler.isEnabled(Level.INFO));
+		AtomicInteger built = new AtomicInteger();
+		TelemetryManager.log(() -> "Relation Map: " + relationMap + built.incrementAndGet());
+		Assert.assertEquals(0, built.get());
+
+		long before = measure(() -> logUngated("Relation Map: " + relationMap + "\nStart Node Map: " + nodeMap));
+		long gated = measure(() -> TelemetryManager.log("Relation Map: " + relationMap + "\nStart Node Map: " + nodeMap));
+		long lazy = measure(() -> TelemetryManager.log(() -> "Relation Map: " + relationMap + "\nStart Node Map: " + nodeMap));
+		long constant = measure(() -> TelemetryManager.log("'Get Node By Unique Id' Operation Finished."));
+
+		logger.info(String.format("Disabled DEBUG log | calls: %d | before: %.1f ns/op | level check: %.1f ns/op"
+				+ " | level check + supplier: %.1f ns/op | constant message: %.1f ns/op", CALLS,
+				(double) before / CALLS, (double) gated / CALLS, (double) lazy / CALLS, (double) constant / CALLS));
+	}
+
+	private static long measure(Runnable call) {
+		for (int i = 0; i < WARMUP; i++)
+			call.run();
+		long start = System.nanoTime();
+		for (int i = 0; i < CALLS; i++)
+			call.run();
+		return System.nanoTime() - start;
+	}
+
+	/** The logging path as it was before the level check. */
+	private static void logUngated(String message) {
+		Map<String, String> context = new HashMap<String, String>();
+		Map<String, Object> globalContext = ExecutionContext.getCurrent().getGlobalContext();
+		context.put(TelemetryParams.ACTOR.name(), getValue(globalContext.get(TelemetryParams.ACTOR.name()), "org.sunbird.learning.platform"));
+		context.put(TelemetryParams.CHANNEL.name(), getValue(globalContext.get(HeaderParam.CHANNEL_ID.name()), "in.ekstep"));
+		context.put(TelemetryParams.ENV.name(), getValue(globalContext.get(TelemetryParams.ENV.name()), "system"));
+		String event = TelemetryGenerator.log(context, "system", Level.DEBUG.name(), message, null, null);
+		handler.send(event, Level.DEBUG);
+		blackhole += event.length();
+	}
+
+	private static String getValue(Object value, String defaultValue) {
+		return null == value ? defaultValue : (String) value;
+	}
+
+	private static Map<String, Object> getMap(String prefix, int size) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		for (int i = 0; i < size; i++)
+			map.put(prefix + i, "value_" + i);
+		return map;
+	}
+}
@@ -0,0 +1,204 @@
+package org.sunbird.common;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The Class ConnectionRegistry, holds one long lived connection object (a
+ * cassandra session, a neo4j driver) per key. The object of a key is created
+ * atomically on first use, so concurrent callers never create duplicate
+ * clusters or drivers, and is re-created when it is no longer valid. A single
+ * shutdown hook closes every registered object.
+ *
+ * @param <T>
+ *            the connection type
+ */
+public class ConnectionRegistry<T> {
+
+	private static final Logger logger = LogManager.getLogger(ConnectionRegistry.class);
+
+	private final String name;
+	private final Map<String, T> connections = new ConcurrentHashMap<>();
+	/** The objects being created, by key. */
+	private final Map<String, CompletableFuture<T>> creations = new ConcurrentHashMap<>();
+	private final Predicate<T> validator;
+	private final Consumer<T> closer;
+	private final Function<T, Map<String, Object>> metrics;
+
+	private final LongAdder createCount = new LongAdder();
+	private final LongAdder recreateCount = new LongAdder();
+
+	/**
+	 * Instantiates a new connection registry.
+	 *
+	 * @param name
+	 *            the name, used in stats
+	 * @param validator
+	 *            tells whether a registered object can still be used, null if
+	 *            it always can
+	 * @param closer
+	 *            closes an object
+	 * @param metrics
+	 *            the pool metrics of an object, null if there are none
+	 */
+	public ConnectionRegistry(String name, Predicate<T> validator, Consumer<T> closer,
+			Function<T, Map<String, Object>> metrics) {
+		this.name = name;
+		this.validator = validator;
+		this.closer = closer;
+		this.metrics = metrics;
+		Runtime.getRuntime().addShutdownHook(new Thread(this::closeAll, name + "-connection-registry-shutdown"));
+	}
+
+	/**
+	 * Gets the object of the key, creating it with the factory when there is
+	 * none or when the registered one is no longer valid. Creation for a key
+	 * happens at most once at a time and outside of any map lock, the other
+	 * callers of the key wait for it. An exception from the factory is thrown
+	 * to every waiting caller and nothing is registered.
+	 *
+	 * @param key
+	 *            the key
+	 * @param factory
+	 *            the factory
+	 * @return the object
+	 */
+	public T get(String key, Supplier<? extends T> factory) {
+		T connection = connections.get(key);
+		if (null != connection && isValid(connection))
+			return connection;
+		CompletableFuture<T> creation = new CompletableFuture<>();
+		CompletableFuture<T> pending = creations.putIfAbsent(key, creation);
+		if (null != pending)
+			return await(pending);
+		try {
+			T current = connections.get(key);
+			if (null != current) {
+				if (isValid(current)) {
+					creation.complete(current);
+					return current;
+				}
+				connections.remove(key, current);
+				close(current);
+				recreateCount.increment();
+			}
+			T created = factory.get();
+			if (null != created) {
+				connections.put(key, created);
+				createCount.increment();
+			}
+			creation.complete(created);
+			return created;
+		} catch (RuntimeException | Error e) {
+			creation.completeExceptionally(e);
+			throw e;
+		} finally {
+			creations.remove(key, creation);
+		}
+	}
+
+	/**
+	 * Gets the registered object of the key, without creating it.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the object, null if there is none
+	 */
+	public T getIfPresent(String key) {
+		return connections.get(key);
+	}
+
+	/**
+	 * Removes and closes the object of the key.
+	 *
+	 * @param key
+	 *            the key
+	 */
+	public void remove(String key) {
+		T connection = connections.remove(key);
+		if (null != connection)
+			close(connection);
+	}
+
+	/**
+	 * Removes and closes all the registered objects.
+	 */
+	public void closeAll() {
+		for (Iterator<Map.Entry<String, T>> itr = connections.entrySet().iterator(); itr.hasNext();) {
+			T connection = itr.next().getValue();
+			itr.remove();
+			close(connection);
+		}
+	}
+
+	/**
+	 * Gets the registry stats along with the pool metrics of every registered
+	 * object. The metrics should hold counts and status only, the stats are
+	 * reported by the health check.
+	 *
+	 * @return the stats
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("name", name);
+		stats.put("createCount", createCount.sum());
+		stats.put("recreateCount", recreateCount.sum());
+		stats.put("connections", connections.size());
+		Map<String, Object> pools = new HashMap<>();
+		for (Map.Entry<String, T> entry : connections.entrySet()) {
+			Map<String, Object> pool = null;
+			if (null != metrics) {
+				try {
+					pool = metrics.apply(entry.getValue());
+				} catch (Exception e) {
+					pool = new HashMap<>();
+					pool.put("error", e.getMessage());
+				}
+			}
+			pools.put(entry.getKey(), (null == pool) ? new HashMap<>() : pool);
+		}
+		stats.put("pools", pools);
+		return stats;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	private T await(CompletableFuture<T> creation) {
+		try {
+			return creation.join();
+		} catch (CompletionException e) {
+			Throwable cause = (null == e.getCause()) ? e : e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw e;
+		}
+	}
+
+	private boolean isValid(T connection) {
+		return null == validator || validator.test(connection);
+	}
+
+	private void close(T connection) {
+		try {
+			closer.accept(connection);
+		} catch (Exception e) {
+			logger.warn("Error while closing a " + name + " connection: " + e.getMessage(), e);
+		}
+	}
+}
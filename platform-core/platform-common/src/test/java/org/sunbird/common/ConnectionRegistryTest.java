@@ -0,0 +1,143 @@
+package org.sunbird.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectionRegistryTest {
+
+	private static final int THREADS = 8;
+
+	private ExecutorService executor;
+	private AtomicInteger factoryCalls;
+
+	public static class TestConnection {
+		private final int id;
+		private volatile boolean valid = true;
+		private volatile boolean closed = false;
+
+		TestConnection(int id) {
+			this.id = id;
+		}
+	}
+
+	@Before
+	public void init() {
+		executor = Executors.newFixedThreadPool(THREADS);
+		factoryCalls = new AtomicInteger();
+	}
+
+	@After
+	public void destroy() throws Exception {
+		executor.shutdownNow();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testConcurrentFirstGetCreatesOnce() throws Exception {
+		ConnectionRegistry<TestConnection> registry = getRegistry();
+		List<Future<TestConnection>> results = getConcurrently(registry, () -> {
+			sleep(200);
+			return new TestConnection(factoryCalls.incrementAndGet());
+		});
+		TestConnection first = results.get(0).get();
+		for (Future<TestConnection> result : results)
+			Assert.assertSame(first, result.get());
+		Assert.assertEquals(1, factoryCalls.get());
+		Assert.assertSame(first, registry.getIfPresent("test"));
+		Assert.assertEquals(1L, registry.getStats().get("createCount"));
+	}
+
+	@Test
+	public void testFactoryFailureReachesEveryWaiter() throws Exception {
+		ConnectionRegistry<TestConnection> registry = getRegistry();
+		List<Future<TestConnection>> results = getConcurrently(registry, () -> {
+			factoryCalls.incrementAndGet();
+			sleep(300);
+			throw new IllegalStateException("cluster unavailable");
+		});
+		for (Future<TestConnection> result : results) {
+			try {
+				result.get();
+				Assert.fail("Every caller should get the failure of the factory");
+			} catch (ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+				Assert.assertEquals("cluster unavailable", e.getCause().getMessage());
+			}
+		}
+		Assert.assertEquals(1, factoryCalls.get());
+		Assert.assertNull(registry.getIfPresent("test"));
+
+		TestConnection connection = registry.get("test", () -> new TestConnection(factoryCalls.incrementAndGet()));
+		Assert.assertSame(connection, registry.getIfPresent("test"));
+	}
+
+	@Test
+	public void testInvalidConnectionClosedAndRecreated() {
+		ConnectionRegistry<TestConnection> registry = getRegistry();
+		TestConnection first = registry.get("test", () -> new TestConnection(factoryCalls.incrementAndGet()));
+		Assert.assertSame(first, registry.get("test", () -> new TestConnection(factoryCalls.incrementAndGet())));
+
+		first.valid = false;
+		TestConnection second = registry.get("test", () -> new TestConnection(factoryCalls.incrementAndGet()));
+		Assert.assertNotSame(first, second);
+		Assert.assertEquals(2, second.id);
+		Assert.assertTrue(first.closed);
+		Assert.assertFalse(second.closed);
+
+		Map<String, Object> stats = registry.getStats();
+		Assert.assertEquals(2L, stats.get("createCount"));
+		Assert.assertEquals(1L, stats.get("recreateCount"));
+		Assert.assertEquals(1, stats.get("connections"));
+	}
+
+	@Test
+	public void testCloseFailureDoesNotPropagate() {
+		ConnectionRegistry<TestConnection> registry = new ConnectionRegistry<>("test", null, connection -> {
+			throw new IllegalStateException("close failed");
+		}, null);
+		registry.get("test", () -> new TestConnection(1));
+		registry.closeAll();
+		Assert.assertNull(registry.getIfPresent("test"));
+	}
+
+	private ConnectionRegistry<TestConnection> getRegistry() {
+		return new ConnectionRegistry<>("test", connection -> connection.valid, connection -> connection.closed = true,
+				null);
+	}
+
+	private List<Future<TestConnection>> getConcurrently(ConnectionRegistry<TestConnection> registry,
+			Supplier<TestConnection> factory) throws InterruptedException {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<TestConnection>> results = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				return registry.get("test", factory);
+			}));
+		}
+		start.countDown();
+		return results;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
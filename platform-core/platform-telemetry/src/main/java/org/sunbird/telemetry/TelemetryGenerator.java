@@ -1,6 +1,7 @@
 package org.sunbird.telemetry;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.Platform;
 import org.sunbird.telemetry.dto.Actor;
@@ -9,6 +10,7 @@ import org.sunbird.telemetry.dto.Producer;
 import org.sunbird.telemetry.dto.Target;
 import org.sunbird.telemetry.dto.Telemetry;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,6 +27,10 @@ import java.util.Map.Entry;
 public class TelemetryGenerator {
 
 	private static ObjectMapper mapper = new ObjectMapper();
+	private static final ObjectWriter writer = mapper.writerFor(Telemetry.class);
+	/** Buffers larger than this are not kept for reuse by the thread. */
+	private static final int MAX_BUFFER_SIZE = 64 * 1024;
+	private static final ThreadLocal<StringWriter> buffers = ThreadLocal.withInitial(() -> new StringWriter(1024));
 	private static final String ENVIRONMENT = Platform.config.hasPath("telemetry_env")?Platform.config.getString("telemetry_env"):"dev";
 	private static final String INSTALLATION_ID = Platform.config.hasPath("installation.id")?Platform.config.getString("installation.id"):"ekstep";
 	private static final String DEFAULT_PRODUCER_ID = ENVIRONMENT + "." + INSTALLATION_ID + ".learning.platform";
@@ -262,13 +268,22 @@ public class TelemetryGenerator {
 		return paramsList;
 	}
 
+	/**
+	 * Serializes the event into a buffer reused by the thread, so that only
+	 * the event string itself is allocated.
+	 */
 	private static String getTelemetry(Telemetry telemetry) {
 		String event = "";
+		StringWriter buffer = buffers.get();
+		buffer.getBuffer().setLength(0);
 		try {
-			event = mapper.writeValueAsString(telemetry);
+			writer.writeValue(buffer, telemetry);
+			event = buffer.toString();
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
+		if (buffer.getBuffer().capacity() > MAX_BUFFER_SIZE)
+			buffers.remove();
 		return event;
 	}
 }
\ No newline at end of file
@@ -21,4 +21,15 @@ public interface TelemetryHandler {
 	public void send(String event, Level level);
 	
 	public void send(String event, Level level, boolean telemetry);
+
+	/**
+	 * Tells whether the events of the level are handled, so that the events
+	 * which would be dropped are not generated at all.
+	 * 
+	 * @param level
+	 * @return true if the events of the level are handled
+	 */
+	public default boolean isEnabled(Level level) {
+		return true;
+	}
 }
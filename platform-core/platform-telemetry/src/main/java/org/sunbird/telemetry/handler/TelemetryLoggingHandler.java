@@ -3,8 +3,13 @@
  */
 package org.sunbird.telemetry.handler;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.sunbird.telemetry.sink.AsyncEventSink;
+import org.sunbird.telemetry.sink.LoggerEventWriter;
 
 /**
  * This is the custom logger implementation to carry out platform Logging. This
@@ -16,8 +21,18 @@ import org.apache.logging.log4j.Logger;
 public class TelemetryLoggingHandler implements TelemetryHandler {
 
 	private static final Logger rootLogger = LogManager.getLogger("DefaultPlatformLogger");
-	private static final Logger telemetryLogger = LogManager.getLogger("TelemetryEventLogger");
-	
+	private static final AsyncEventSink telemetrySink = AsyncEventSink.get(AsyncEventSink.TELEMETRY,
+			new LoggerEventWriter("TelemetryEventLogger"));
+	private static final Map<Level, org.apache.logging.log4j.Level> levels = new EnumMap<Level, org.apache.logging.log4j.Level>(Level.class);
+
+	static {
+		for (Level level : Level.values())
+			levels.put(level, org.apache.logging.log4j.Level.getLevel(level.name()));
+	}
+
+	public boolean isEnabled(Level level) {
+		return rootLogger.isEnabled(levels.get(level));
+	}
 
 	public void send(String event, Level level) {
 		send(event, level, false);
@@ -28,7 +43,7 @@ public class TelemetryLoggingHandler implements TelemetryHandler {
 	 */
 	public void send(String event, Level level, boolean telemetry) {
 		if (telemetry) {
-			telemetryLogger.info(event);
+			telemetrySink.send(event);
 		} else {
 			switch(level) {
 				case INFO:
@@ -3,6 +3,7 @@ package org.sunbird.telemetry.logger;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -27,6 +28,8 @@ public class TelemetryManager {
 
 	private static TelemetryHandler telemetryHandler = new TelemetryLoggingHandler();
 
+	private static volatile TelemetryHandler auditHandler = telemetryHandler;
+
 	private static final String DEFAULT_CHANNEL_ID = Platform.config.hasPath("channel.default") ? Platform.config.getString("channel.default") : "in.ekstep";
 
 	/**
@@ -47,7 +50,7 @@ public class TelemetryManager {
 	 * @param message
 	 */
 	public static void log(String message) {
-		log(message, null, Level.DEBUG.name());
+		log(message, null, Level.DEBUG);
 	}
 
 	/**
@@ -57,7 +60,7 @@ public class TelemetryManager {
 	 * @param data
 	 */
 	public static void log(String message, Map<String, Object> params) {
-		log(message, params, Level.DEBUG.name());
+		log(message, params, Level.DEBUG);
 	}
 	
 	/**
@@ -66,7 +69,7 @@ public class TelemetryManager {
 	 * @param message
 	 */
 	public static void info(String message) {
-		log(message, null, Level.INFO.name());
+		log(message, null, Level.INFO);
 	}
 
 	/**
@@ -76,7 +79,46 @@ public class TelemetryManager {
 	 * @param data
 	 */
 	public static void info(String message, Map<String, Object> params) {
-		log(message, params, Level.INFO.name());
+		log(message, params, Level.INFO);
+	}
+
+	/**
+	 * To log a message built only if DEBUG is enabled, for messages costly to
+	 * build, e.g. concatenating maps.
+	 * 
+	 * @param message
+	 */
+	public static void log(Supplier<String> message) {
+		log(message, null, Level.DEBUG);
+	}
+
+	/**
+	 * To log a message built only if DEBUG is enabled, with params.
+	 * 
+	 * @param message
+	 * @param params
+	 */
+	public static void log(Supplier<String> message, Map<String, Object> params) {
+		log(message, params, Level.DEBUG);
+	}
+
+	/**
+	 * To log a message built only if INFO is enabled.
+	 * 
+	 * @param message
+	 */
+	public static void info(Supplier<String> message) {
+		log(message, null, Level.INFO);
+	}
+
+	/**
+	 * To log a message built only if INFO is enabled, with params.
+	 * 
+	 * @param message
+	 * @param params
+	 */
+	public static void info(Supplier<String> message, Map<String, Object> params) {
+		log(message, params, Level.INFO);
 	}
 	
 	/**
@@ -85,7 +127,7 @@ public class TelemetryManager {
 	 */
 	
 	public static void warn(String message) {
-		log(message, null, Level.WARN.name());
+		log(message, null, Level.WARN);
 	}
 	
 	/**
@@ -95,7 +137,7 @@ public class TelemetryManager {
 	 */
 	
 	public static void warn(String message, Map<String, Object> params) {
-		log(message, params, Level.WARN.name());
+		log(message, params, Level.WARN);
 	}
 	
 	/**
@@ -103,7 +145,7 @@ public class TelemetryManager {
 	 * @param message
 	 */
 	public static void error(String message) {
-		log(message, null, Level.ERROR.name());
+		log(message, null, Level.ERROR);
 	}
 	
 	/**
@@ -112,7 +154,7 @@ public class TelemetryManager {
 	 * @param params
 	 */
 	public static void error(String message, Map<String, Object> params) {
-		log(message, params, Level.ERROR.name());
+		log(message, params, Level.ERROR);
 	}
 
 	/**
@@ -132,6 +174,8 @@ public class TelemetryManager {
 	 * @param object
 	 */
 	public static void error(String message, Throwable e, Object object) {
+		if (!telemetryHandler.isEnabled(Level.ERROR))
+			return;
 		Map<String, String> context = getContext();
 		String stacktrace = ExceptionUtils.getStackTrace(e);
 		String code = ResponseCode.SERVER_ERROR.name();
@@ -152,7 +196,17 @@ public class TelemetryManager {
 		context.put("objectId", id);
 		context.put("objectType", type);
 		String event = TelemetryGenerator.audit(context, props, state, prevState);
-		telemetryHandler.send(event, Level.INFO);
+		auditHandler.send(event, Level.INFO);
+	}
+
+	/**
+	 * To send the audit events with the given handler instead of logging them,
+	 * e.g. to publish them to Kafka.
+	 * 
+	 * @param handler
+	 */
+	public static void setAuditHandler(TelemetryHandler handler) {
+		auditHandler = (null == handler) ? telemetryHandler : handler;
 	}
 
 	/**
@@ -212,15 +266,25 @@ public class TelemetryManager {
 
 	/**
 	 * To log exception with message and params for user specified log level as a
-	 * telemetry event.
+	 * telemetry event. Nothing is generated if the level is disabled.
 	 * @param message
 	 * @param params
-	 * @param logLevel
+	 * @param level
 	 */
-	private static void log(String message, Map<String, Object> params, String logLevel) {
+	private static void log(String message, Map<String, Object> params, Level level) {
+		if (telemetryHandler.isEnabled(level))
+			send(message, params, level);
+	}
+
+	private static void log(Supplier<String> message, Map<String, Object> params, Level level) {
+		if (telemetryHandler.isEnabled(level))
+			send(message.get(), params, level);
+	}
+
+	private static void send(String message, Map<String, Object> params, Level level) {
 		Map<String, String> context = getContext();
-		String event = TelemetryGenerator.log(context, "system", logLevel, message, null, params);
-		telemetryHandler.send(event, Level.getLevel(logLevel));
+		String event = TelemetryGenerator.log(context, "system", level.name(), message, null, params);
+		telemetryHandler.send(event, level);
 	}
 
 	private static Map<String, String> getContext() {
@@ -0,0 +1,336 @@
+package org.sunbird.telemetry.sink;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sunbird.common.Platform;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Takes the writing of the events (telemetry and graph events) off the
+ * request threads. The senders only put the events in a {@link RingBuffer},
+ * a flusher thread drains them in batches, serializes them to JSON and hands
+ * each batch to the {@link EventWriter}. The flusher sleeps while the buffer
+ * is empty and is woken up by the next sender.
+ * <p>
+ * A sink is configured with telemetry.sink.{name}.capacity,
+ * telemetry.sink.{name}.overflow_policy (block, drop or sample, see
+ * {@link OverflowPolicy}), telemetry.sink.{name}.batch_size and
+ * telemetry.sink.{name}.sample_rate. With telemetry.sink.async = false the
+ * events are written by the senders, as they were before.
+ * <p>
+ * The errors of a sink are logged to the log4j logger of this class, never
+ * back through a sink, at most once every ERROR_LOG_INTERVAL with the count of
+ * the errors left out since the previous one.
+ */
+public class AsyncEventSink {
+
+	public static final String TELEMETRY = "telemetry";
+	public static final String GRAPH_EVENT = "graph_event";
+
+	private static final String CONFIG_PREFIX = "telemetry.sink.";
+	private static final boolean async = Platform.config.hasPath(CONFIG_PREFIX + "async")
+			? Platform.config.getBoolean(CONFIG_PREFIX + "async") : true;
+
+	/** Time between two checks of the lag while waiting for a flush. */
+	private static final long FLUSH_WAIT = TimeUnit.MILLISECONDS.toNanos(1);
+	/** Time a blocked sender waits for room in the buffer before retrying. */
+	private static final long BLOCK_WAIT = TimeUnit.MICROSECONDS.toNanos(50);
+	private static final long CLOSE_TIMEOUT = 5000;
+	private static final long ERROR_LOG_INTERVAL = 10000;
+	private static final Logger logger = LogManager.getLogger(AsyncEventSink.class);
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+	private static final Map<String, AsyncEventSink> sinks = new ConcurrentHashMap<String, AsyncEventSink>();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(AsyncEventSink::closeAll, "event-sink-shutdown"));
+	}
+
+	private final String name;
+	private final RingBuffer<Object> buffer;
+	private final OverflowPolicy policy;
+	private final int batchSize;
+	private final int sampleRate;
+	private final boolean isAsync;
+	private final ObjectWriter objectWriter = mapper.writer();
+	private final StringWriter serializationBuffer = new StringWriter(1024);
+	private final Thread flusher;
+	private volatile EventWriter writer;
+	private volatile boolean closed;
+	/** Set by the flusher before it parks on an empty buffer. */
+	private volatile boolean idle;
+
+	private final AtomicLong sampleCounter = new AtomicLong();
+	private final LongAdder enqueued = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder sampled = new LongAdder();
+	private final LongAdder blocked = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+	private final AtomicLong nextErrorLog = new AtomicLong();
+	private final LongAdder suppressedErrors = new LongAdder();
+
+	public AsyncEventSink(String name, EventWriter writer, int capacity, OverflowPolicy policy, int batchSize,
+			int sampleRate, boolean isAsync) {
+		this.name = name;
+		this.writer = writer;
+		this.buffer = new RingBuffer<Object>(capacity);
+		this.policy = policy;
+		this.batchSize = batchSize;
+		this.sampleRate = Math.max(1, sampleRate);
+		this.isAsync = isAsync;
+		this.flusher = new Thread(this::flush, "event-sink-" + name);
+		this.flusher.setDaemon(true);
+		if (isAsync)
+			this.flusher.start();
+	}
+
+	/**
+	 * Gets the sink of the name, creating it from the configuration on the
+	 * first use.
+	 *
+	 * @param name
+	 *            the name of the sink
+	 * @param defaultWriter
+	 *            the writer of the sink, unless another one is set
+	 * @return the sink
+	 */
+	public static AsyncEventSink get(String name, EventWriter defaultWriter) {
+		return sinks.computeIfAbsent(name, sinkName -> new AsyncEventSink(sinkName, defaultWriter,
+				getInt(sinkName, "capacity", 65536),
+				OverflowPolicy.getPolicy(getString(sinkName, "overflow_policy", OverflowPolicy.BLOCK.name())),
+				getInt(sinkName, "batch_size", 512), getInt(sinkName, "sample_rate", 10), async));
+	}
+
+	public static Map<String, Object> getAllStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		for (AsyncEventSink sink : sinks.values())
+			stats.put(sink.name, sink.getStats());
+		return stats;
+	}
+
+	/**
+	 * Sets the writer of the events, e.g. to publish them to Kafka instead of
+	 * logging them.
+	 *
+	 * @param writer
+	 */
+	public void setWriter(EventWriter writer) {
+		this.writer = writer;
+	}
+
+	/**
+	 * Sends the event, a JSON string or an object to serialize. The event must
+	 * not be modified once sent.
+	 *
+	 * @param event
+	 * @return false if the event was dropped or sampled out
+	 */
+	public boolean send(Object event) {
+		if (null == event)
+			return false;
+		if (!isAsync || closed) {
+			enqueued.increment();
+			writeNow(event);
+			return true;
+		}
+		if (policy == OverflowPolicy.SAMPLE && buffer.size() >= buffer.capacity() / 2
+				&& sampleCounter.getAndIncrement() % sampleRate != 0) {
+			sampled.increment();
+			return false;
+		}
+		if (!buffer.offer(event) && (policy != OverflowPolicy.BLOCK || !awaitOffer(event))) {
+			dropped.increment();
+			return false;
+		}
+		enqueued.increment();
+		if (idle) {
+			idle = false;
+			LockSupport.unpark(flusher);
+		}
+		return true;
+	}
+
+	/**
+	 * Waits until all the events sent so far are written.
+	 *
+	 * @param timeout
+	 *            the maximum time to wait, in milliseconds
+	 * @return false if some events are still not written
+	 */
+	public boolean awaitFlush(long timeout) {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (getLag() > 0) {
+			if (System.currentTimeMillis() > deadline)
+				return false;
+			LockSupport.parkNanos(FLUSH_WAIT);
+		}
+		return true;
+	}
+
+	/**
+	 * Stops the flusher once it has written the buffered events. The events
+	 * sent afterwards are written by the senders.
+	 */
+	public void close() {
+		closed = true;
+		if (flusher.isAlive()) {
+			LockSupport.unpark(flusher);
+			try {
+				flusher.join(CLOSE_TIMEOUT);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		// events which raced with the close
+		Object event;
+		while (null != (event = buffer.poll()))
+			writeNow(event);
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("async", isAsync);
+		stats.put("capacity", buffer.capacity());
+		stats.put("overflowPolicy", policy.name());
+		stats.put("pending", buffer.size());
+		stats.put("enqueued", enqueued.sum());
+		stats.put("written", written.sum());
+		stats.put("dropped", dropped.sum());
+		stats.put("sampled", sampled.sum());
+		stats.put("blocked", blocked.sum());
+		stats.put("failed", failed.sum());
+		stats.put("batches", batches.sum());
+		stats.put("lag", getLag());
+		return stats;
+	}
+
+	/** Events sent and not yet written. */
+	private long getLag() {
+		return Math.max(0, enqueued.sum() - written.sum() - failed.sum());
+	}
+
+	private boolean awaitOffer(Object event) {
+		blocked.increment();
+		do {
+			if (closed) {
+				writeNow(event);
+				return true;
+			}
+			LockSupport.parkNanos(BLOCK_WAIT);
+		} while (!buffer.offer(event));
+		return true;
+	}
+
+	private void flush() {
+		List<String> batch = new ArrayList<String>(batchSize);
+		while (true) {
+			Object event;
+			while (batch.size() < batchSize && null != (event = buffer.poll())) {
+				String json = serialize(event);
+				if (null == json)
+					failed.increment();
+				else
+					batch.add(json);
+			}
+			if (batch.isEmpty()) {
+				if (closed && buffer.size() == 0)
+					return;
+				// the flag is set before the buffer is checked again, so an
+				// event offered meanwhile either is seen here or unparks us
+				idle = true;
+				if (buffer.size() == 0 && !closed)
+					LockSupport.park(this);
+				idle = false;
+				continue;
+			}
+			write(batch);
+			batch.clear();
+		}
+	}
+
+	private void write(List<String> batch) {
+		try {
+			writer.write(batch);
+			written.add(batch.size());
+			batches.increment();
+		} catch (Throwable e) {
+			failed.add(batch.size());
+			logError("Error while writing a batch of " + batch.size() + " events", e);
+		}
+	}
+
+	private void writeNow(Object event) {
+		try {
+			String json = (event instanceof String) ? (String) event : mapper.writeValueAsString(event);
+			writer.write(Collections.singletonList(json));
+			written.increment();
+		} catch (Throwable e) {
+			failed.increment();
+			logError("Error while writing an event", e);
+		}
+	}
+
+	/**
+	 * Serializes the event on the flusher thread, reusing one buffer for the
+	 * whole batch.
+	 */
+	private String serialize(Object event) {
+		if (event instanceof String)
+			return (String) event;
+		try {
+			serializationBuffer.getBuffer().setLength(0);
+			objectWriter.writeValue(serializationBuffer, event);
+			return serializationBuffer.toString();
+		} catch (Exception e) {
+			logError("Error while serializing an event", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Logs the error, unless an error of the sink was logged less than
+	 * ERROR_LOG_INTERVAL ago.
+	 */
+	private void logError(String message, Throwable e) {
+		long now = System.currentTimeMillis();
+		long next = nextErrorLog.get();
+		if (now < next || !nextErrorLog.compareAndSet(next, now + ERROR_LOG_INTERVAL)) {
+			suppressedErrors.increment();
+			return;
+		}
+		long suppressed = suppressedErrors.sumThenReset();
+		logger.error(message + " in event sink: " + name
+				+ (suppressed > 0 ? " (" + suppressed + " more errors since the last one logged)" : ""), e);
+	}
+
+	private static void closeAll() {
+		for (AsyncEventSink sink : sinks.values())
+			sink.close();
+	}
+
+	private static int getInt(String name, String key, int defaultValue) {
+		String path = CONFIG_PREFIX + name + "." + key;
+		return Platform.config.hasPath(path) ? Platform.config.getInt(path) : defaultValue;
+	}
+
+	private static String getString(String name, String key, String defaultValue) {
+		String path = CONFIG_PREFIX + name + "." + key;
+		return Platform.config.hasPath(path) ? Platform.config.getString(path) : defaultValue;
+	}
+}
@@ -0,0 +1,18 @@
+package org.sunbird.telemetry.sink;
+
+import java.util.List;
+
+/**
+ * Writes the batches of serialized events drained by an
+ * {@link AsyncEventSink}, e.g. to a log file or to Kafka.
+ */
+public interface EventWriter {
+
+	/**
+	 * @param events
+	 *            the JSON events, in the order they were sent
+	 * @throws Exception
+	 *             if the batch could not be written
+	 */
+	public void write(List<String> events) throws Exception;
+}
@@ -0,0 +1,23 @@
+package org.sunbird.telemetry.sink;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes the events to the log file of a log4j logger, one line per event.
+ */
+public class LoggerEventWriter implements EventWriter {
+
+	private final Logger logger;
+
+	public LoggerEventWriter(String loggerName) {
+		this.logger = LogManager.getLogger(loggerName);
+	}
+
+	public void write(List<String> events) {
+		for (String event : events)
+			logger.info(event);
+	}
+}
@@ -0,0 +1,22 @@
+package org.sunbird.telemetry.sink;
+
+/**
+ * What an {@link AsyncEventSink} does with the events sent while its buffer is
+ * full.
+ */
+public enum OverflowPolicy {
+
+	/** The sender waits until the buffer has room, no event is lost. */
+	BLOCK,
+	/** The event is dropped. */
+	DROP,
+	/**
+	 * Once the buffer is half full, only one in sample_rate events is kept. The
+	 * events sent while it is full are dropped.
+	 */
+	SAMPLE;
+
+	public static OverflowPolicy getPolicy(String policy) {
+		return OverflowPolicy.valueOf(policy.trim().toUpperCase());
+	}
+}
@@ -0,0 +1,101 @@
+package org.sunbird.telemetry.sink;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer, for many producers and consumers. Every slot
+ * has a sequence telling whether it is free for the producer of the current
+ * lap or holds an item for its consumer, so that producers and consumers only
+ * contend on their own counter.
+ *
+ * @param <E>
+ *            the type of the items
+ */
+public class RingBuffer<E> {
+
+	private final int capacity;
+	private final int mask;
+	private final AtomicReferenceArray<E> items;
+	private final AtomicLongArray sequences;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * @param capacity
+	 *            the minimum capacity, rounded up to a power of two
+	 */
+	public RingBuffer(int capacity) {
+		if (capacity < 1 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Invalid ring buffer capacity: " + capacity);
+		this.capacity = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		this.mask = this.capacity - 1;
+		this.items = new AtomicReferenceArray<E>(this.capacity);
+		this.sequences = new AtomicLongArray(this.capacity);
+		for (int i = 0; i < this.capacity; i++)
+			sequences.set(i, i);
+	}
+
+	/**
+	 * Adds the item, unless the buffer is full.
+	 *
+	 * @param item
+	 * @return false if the buffer is full
+	 */
+	public boolean offer(E item) {
+		long position = tail.get();
+		int index;
+		while (true) {
+			index = (int) (position & mask);
+			long diff = sequences.get(index) - position;
+			if (diff == 0) {
+				if (tail.compareAndSet(position, position + 1))
+					break;
+				position = tail.get();
+			} else if (diff < 0) {
+				return false;
+			} else {
+				position = tail.get();
+			}
+		}
+		items.lazySet(index, item);
+		sequences.set(index, position + 1);
+		return true;
+	}
+
+	/**
+	 * Removes the oldest item.
+	 *
+	 * @return the item, null if the buffer is empty
+	 */
+	public E poll() {
+		long position = head.get();
+		int index;
+		while (true) {
+			index = (int) (position & mask);
+			long diff = sequences.get(index) - (position + 1);
+			if (diff == 0) {
+				if (head.compareAndSet(position, position + 1))
+					break;
+				position = head.get();
+			} else if (diff < 0) {
+				return null;
+			} else {
+				position = head.get();
+			}
+		}
+		E item = items.get(index);
+		items.lazySet(index, null);
+		sequences.set(index, position + capacity);
+		return item;
+	}
+
+	public int size() {
+		return (int) Math.max(0, Math.min(capacity, tail.get() - head.get()));
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+}
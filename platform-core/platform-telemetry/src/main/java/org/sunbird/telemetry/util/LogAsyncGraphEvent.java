@@ -4,24 +4,31 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import org.sunbird.telemetry.sink.AsyncEventSink;
+import org.sunbird.telemetry.sink.LoggerEventWriter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class LogAsyncGraphEvent {
 
-	private static final Logger graphEventLogger = LogManager.getLogger("GraphEventLogger");
+	private static final AsyncEventSink graphEventSink = AsyncEventSink.get(AsyncEventSink.GRAPH_EVENT,
+			new LoggerEventWriter("GraphEventLogger"));
 	private static ObjectMapper mapper = new ObjectMapper();
 	
-	
+	/**
+	 * Sends the graph events to the graph event sink, they are logged off the
+	 * calling thread. The messages are serialized before they are sent, as
+	 * the callers keep using the maps they hold.
+	 * 
+	 * @param messages
+	 */
 	public static void pushMessageToLogger(List<Map<String, Object>> messages) {
 		if (null == messages || messages.size() <= 0) return; 
 		for (Map<String, Object> message : messages) {
 			try{
 				String jsonMessage = mapper.writeValueAsString(message);
 				if (StringUtils.isNotBlank(jsonMessage))
-					graphEventLogger.info(jsonMessage);
+					graphEventSink.send(jsonMessage);
 			}catch(Exception e){
 				e.printStackTrace();
 			}
@@ -5,19 +5,20 @@ import java.util.Map;
 import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.sunbird.common.dto.Request;
 import org.sunbird.telemetry.dto.TelemetryBEEvent;
 import org.sunbird.telemetry.dto.TelemetryBJREvent;
 import org.sunbird.telemetry.logger.TelemetryManager;
+import org.sunbird.telemetry.sink.AsyncEventSink;
+import org.sunbird.telemetry.sink.LoggerEventWriter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class LogTelemetryEventUtil {
 
 	
-	private static final Logger telemetryEventLogger = LogManager.getLogger("TelemetryEventLogger");
+	private static final AsyncEventSink telemetrySink = AsyncEventSink.get(AsyncEventSink.TELEMETRY,
+			new LoggerEventWriter("TelemetryEventLogger"));
 	private static ObjectMapper mapper = new ObjectMapper();
 	private static String beJobRequesteventId = "BE_JOB_REQUEST";
 	private static int iteration = 1;
@@ -65,7 +66,7 @@ public class LogTelemetryEventUtil {
 	
 			jsonMessage = mapper.writeValueAsString(te);
 			if (StringUtils.isNotBlank(jsonMessage))
-				telemetryEventLogger.info(jsonMessage);
+				telemetrySink.send(jsonMessage);
 		} catch (Exception e) {
 			TelemetryManager.error("Error logging BE_CONTENT_LIFECYCLE event: " + e.getMessage(), e);
 		}
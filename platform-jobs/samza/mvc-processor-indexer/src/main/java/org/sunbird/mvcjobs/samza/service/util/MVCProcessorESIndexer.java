@@ -4,6 +4,7 @@
 package org.sunbird.mvcjobs.samza.service.util;
 
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.codehaus.jackson.type.TypeReference;
 import org.sunbird.common.Platform;
@@ -12,6 +13,7 @@ import org.sunbird.jobs.samza.util.JobLogger;
 import org.sunbird.learning.util.ControllerUtil;
 import org.sunbird.mvcsearchindex.elasticsearch.ElasticSearchUtil;
 import org.sunbird.searchindex.util.CompositeSearchConstants;
+import org.sunbird.searchindex.util.ObjectDefinitionCache;
 
 import java.io.IOException;
 import java.util.*;
@@ -27,7 +29,10 @@ public class MVCProcessorESIndexer extends AbstractESIndexer {
 	private JobLogger LOGGER = new JobLogger(MVCProcessorESIndexer.class);
 	private ObjectMapper mapper = new ObjectMapper();
 	private ControllerUtil util = new ControllerUtil();
+	private static final String GRAPH_ID = "domain";
 	private static List<String>  NESTED_FIELDS = Platform.config.hasPath("nested.fields")? Arrays.asList(Platform.config.getString("nested.fields").split(",")): new ArrayList<String>();
+	private boolean jsonFieldsFromDefinition = Platform.config.hasPath("json.fields.from_definition")
+			&& Platform.config.getBoolean("json.fields.from_definition");
 
 	@Override
 	public void init() {
@@ -107,17 +112,55 @@ public class MVCProcessorESIndexer extends AbstractESIndexer {
 
 	private void proocessNestedProps(Map<String, Object> jsonIndexDocument) throws IOException {
 		if (MapUtils.isNotEmpty(jsonIndexDocument)) {
+			Map<String, Object> definition = jsonFieldsFromDefinition
+					? getDefinition((String) jsonIndexDocument.get("objectType")) : new HashMap<String, Object>();
 			for (String propertyName : jsonIndexDocument.keySet()) {
 				if (NESTED_FIELDS.contains(propertyName)) {
 					Map<String, Object> propertyNewValue = mapper.readValue((String) jsonIndexDocument.get(propertyName),
 							new TypeReference<Object>() {
 							});
 					jsonIndexDocument.put(propertyName, propertyNewValue);
+				} else if (jsonIndexDocument.get(propertyName) instanceof String && isJsonProperty(definition, propertyName)) {
+					jsonIndexDocument.put(propertyName, parseJson(propertyName, (String) jsonIndexDocument.get(propertyName)));
 				}
 			}
 		}
 	}
 
+	/**
+	 * Parses the value of a json property of the definition, the value itself
+	 * if it is not valid JSON.
+	 */
+	private Object parseJson(String propertyName, String value) {
+		try {
+			return mapper.readValue(value, Object.class);
+		} catch (IOException e) {
+			LOGGER.info("Indexing the value of property " + propertyName + " as text, it is not valid JSON.");
+			return value;
+		}
+	}
+
+	/**
+	 * Gets the property definitions of the object type from the definition
+	 * cache, an empty map if it is not available.
+	 */
+	private Map<String, Object> getDefinition(String objectType) {
+		if (StringUtils.isBlank(objectType))
+			return new HashMap<String, Object>();
+		try {
+			Map<String, Object> definition = ObjectDefinitionCache.getDefinitionNode(objectType, GRAPH_ID);
+			return null == definition ? new HashMap<String, Object>() : definition;
+		} catch (Exception e) {
+			LOGGER.error("Unable to get the definition of objectType: " + objectType, e);
+			return new HashMap<String, Object>();
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	private boolean isJsonProperty(Map<String, Object> definition, String propertyName) {
+		Object property = definition.get(propertyName);
+		return property instanceof Map && StringUtils.equalsIgnoreCase("json", (String) ((Map) property).get("dataType"));
+	}
 
 	// Remove params which should not be inserted into ES
 	public  Map<String,Object> removeExtraParams(Map<String,Object> obj) {
@@ -16,6 +16,7 @@ import org.sunbird.jobs.samza.service.task.JobMetrics;
 import org.sunbird.jobs.samza.util.JobLogger;
 import org.sunbird.jobs.samza.util.SamzaCommonParams;
 import org.sunbird.learning.util.ControllerUtil;
+import org.sunbird.searchindex.util.ObjectDefinitionCache;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -70,6 +71,7 @@ public class MVCSearchIndexerTask extends BaseTask {
 					String graphId = edata.getOrDefault("graphId", "").toString();
 					String objectType = edata.getOrDefault("objectType", "").toString();
 					controllerUtil.updateDefinitionCache(graphId, objectType);
+					ObjectDefinitionCache.invalidate(graphId, objectType);
 				}
 			} else {
 				service.processMessage(outgoingMap, metrics, collector);
@@ -5,6 +5,8 @@ import com.google.gson.Gson;
 import org.apache.commons.lang.StringUtils;
 import org.sunbird.mvcjobs.samza.service.util.MVCProcessorESIndexer;
 import org.sunbird.mvcsearchindex.elasticsearch.ElasticSearchUtil;
+import org.sunbird.searchindex.util.ObjectDefinitionCache;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Before;
@@ -16,15 +18,18 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 import org.apache.samza.config.Config;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.mockito.Mockito.*;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({ElasticSearchUtil.class, Config.class, MVCProcessorESIndexer.class})
+@PrepareForTest({ElasticSearchUtil.class, Config.class, MVCProcessorESIndexer.class, ObjectDefinitionCache.class})
 @PowerMockIgnore({"javax.management.*", "sun.security.ssl.*", "javax.net.ssl.*" , "javax.crypto.*"})
 public class MVCProcessorESIndexerTest {
     private String uniqueId = "do_113041248230580224116";
@@ -32,6 +37,7 @@ public class MVCProcessorESIndexerTest {
     private String eventDataMlKeywords = "{\"action\":\"update-ml-keywords\",\"stage\":\"2\",\"ml_Keywords\":[\"maths\",\"addition\",\"add\"],\"ml_contentText\":\"This is the content text for addition of two numbers.\"}";
     private String eventDataContentRating = "{\"action\":\"update-content-rating\",\"stage\":4,\"metadata\":{\"me_averageRating\":\"1\",\"me_total_time_spent_in_app\":\"2\",\"me_total_time_spent_in_portal\":\"3\",\"me_total_time_spent_in_desktop\":\"4\",\"me_total_play_sessions_in_app\":\"5\",\"me_total_play_sessions_in_portal\":\"6\",\"me_total_play_sessions_in_desktop\":\"7\"}}";
     private String eventDataContentTextVector = "{\"action\":\"update-ml-contenttextvector\",\"stage\":3,\"ml_contentTextVector\":[[1.1,2,7.4,68]]}";
+    private String eventDataJsonProperty = "{\"identifier\":\"do_113041248230580224116\",\"action\":\"update-es-index\",\"stage\":1,\"objectType\":\"Content\",\"name\":\"Maths\",\"questionSet\":\"{\\\"count\\\":2}\",\"sections\":\"[\\\"intro\\\",\\\"summary\\\"]\",\"outcome\":\"{count:\"}";
     private Config configMock;
     private MVCProcessorESIndexer mvcProcessorESIndexer = new MVCProcessorESIndexer();
 
@@ -80,6 +86,58 @@ public class MVCProcessorESIndexerTest {
         assertTrue(StringUtils.contains(doc, uniqueId));
     }
 
+    @Test
+    public void testUpsertDocumentParsesJsonPropertiesOfTheDefinition() throws Exception {
+        ElasticSearchUtil.addDocumentWithId(Mockito.anyString(),Mockito.anyString(),Mockito.anyString());
+        MVCProcessorESIndexer indexer = getIndexerWithJsonDefinition(true);
+        Map<String, Object> event = getEvent(eventDataJsonProperty);
+        indexer.upsertDocument(uniqueId, event);
+        assertTrue(event.get("questionSet") instanceof Map);
+        assertEquals("Maths", event.get("name"));
+    }
+
+    @Test
+    public void testUpsertDocumentParsesJsonArrayProperty() throws Exception {
+        ElasticSearchUtil.addDocumentWithId(Mockito.anyString(),Mockito.anyString(),Mockito.anyString());
+        MVCProcessorESIndexer indexer = getIndexerWithJsonDefinition(true);
+        Map<String, Object> event = getEvent(eventDataJsonProperty);
+        indexer.upsertDocument(uniqueId, event);
+        assertEquals(Arrays.asList("intro", "summary"), event.get("sections"));
+    }
+
+    @Test
+    public void testUpsertDocumentKeepsInvalidJsonPropertyAsText() throws Exception {
+        ElasticSearchUtil.addDocumentWithId(Mockito.anyString(),Mockito.anyString(),Mockito.anyString());
+        MVCProcessorESIndexer indexer = getIndexerWithJsonDefinition(true);
+        Map<String, Object> event = getEvent(eventDataJsonProperty);
+        indexer.upsertDocument(uniqueId, event);
+        assertEquals("{count:", event.get("outcome"));
+        assertTrue(event.get("questionSet") instanceof Map);
+    }
+
+    @Test
+    public void testUpsertDocumentIgnoresDefinitionByDefault() throws Exception {
+        ElasticSearchUtil.addDocumentWithId(Mockito.anyString(),Mockito.anyString(),Mockito.anyString());
+        MVCProcessorESIndexer indexer = getIndexerWithJsonDefinition(false);
+        Map<String, Object> event = getEvent(eventDataJsonProperty);
+        indexer.upsertDocument(uniqueId, event);
+        assertEquals("{\"count\":2}", event.get("questionSet"));
+        assertEquals("{count:", event.get("outcome"));
+    }
+
+    private MVCProcessorESIndexer getIndexerWithJsonDefinition(boolean fromDefinition) throws Exception {
+        Map<String, Object> definition = new HashMap<String, Object>();
+        for (String property : Arrays.asList("questionSet", "sections", "outcome")) {
+            Map<String, Object> propertyDefinition = new HashMap<String, Object>();
+            propertyDefinition.put("dataType", "json");
+            definition.put(property, propertyDefinition);
+        }
+        PowerMockito.mockStatic(ObjectDefinitionCache.class);
+        when(ObjectDefinitionCache.getDefinitionNode("Content", "domain")).thenReturn(definition);
+        MVCProcessorESIndexer indexer = new MVCProcessorESIndexer();
+        Whitebox.setInternalState(indexer, "jsonFieldsFromDefinition", fromDefinition);
+        return indexer;
+    }
 
     public  Map<String, Object> getEvent(String message) throws IOException {
         return  new Gson().fromJson(message, Map.class);
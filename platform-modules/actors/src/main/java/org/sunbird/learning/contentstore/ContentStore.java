@@ -59,7 +59,7 @@ public class ContentStore extends CassandraStore {
 		if (StringUtils.isBlank(query))
 			throw new ClientException(ContentStoreParams.ERR_INVALID_PROPERTY_NAME.name(),
 					"Invalid property name. Please specify a valid property name");
-		PreparedStatement ps = session.prepare(query);
+		PreparedStatement ps = CassandraConnector.prepare(query);
 		BoundStatement bound = ps.bind(contentId);
 		try {
 			ResultSet rs = session.execute(bound);
@@ -85,7 +85,7 @@ public class ContentStore extends CassandraStore {
 		if (StringUtils.isBlank(query))
 			throw new ClientException(ContentStoreParams.ERR_INVALID_PROPERTY_NAME.name(),
 					"Invalid properties list. Please specify a valid list of property names");
-		PreparedStatement ps = session.prepare(query);
+		PreparedStatement ps = CassandraConnector.prepare(query);
 		BoundStatement bound = ps.bind(contentId);
 		try {
 			ResultSet rs = session.execute(bound);
@@ -116,7 +116,7 @@ public class ContentStore extends CassandraStore {
 		if (StringUtils.isBlank(query))
 			throw new ClientException(ContentStoreParams.ERR_INVALID_PROPERTY_NAME.name(),
 					"Invalid property name. Please specify a valid property name");
-		PreparedStatement ps = session.prepare(query);
+		PreparedStatement ps = CassandraConnector.prepare(query);
 		BoundStatement bound = ps.bind(value, contentId);
 		try {
 			session.execute(bound);
@@ -137,7 +137,7 @@ public class ContentStore extends CassandraStore {
 			throw new ClientException(ContentStoreParams.ERR_INVALID_PROPERTY_VALUES.name(),
 					"Invalid property values. Please specify valid property values");
 		String query = getUpdateQuery(map.keySet());
-		PreparedStatement ps = session.prepare(query);
+		PreparedStatement ps = CassandraConnector.prepare(query);
 		Object[] values = new Object[map.size() + 1];
 		try {
 			int i = 0;
@@ -226,7 +226,7 @@ public class ContentStore extends CassandraStore {
             String query = "UPDATE " + getKeyspace() + "." + getTable() + " SET externallink = ? WHERE content_id = ?";
             String externalLinksData = mapper.writeValueAsString(externalLinks);
             Session session = CassandraConnector.getSession();
-            PreparedStatement statement = session.prepare(query);
+            PreparedStatement statement = CassandraConnector.prepare(query);
             BoundStatement boundStatement = new BoundStatement(statement);
             session.execute(boundStatement.bind(externalLinksData, contentId));
         } catch (JsonProcessingException e) {
@@ -0,0 +1,98 @@
+package org.sunbird.learning.hierarchy.store;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bookmark index of a collection hierarchy. Every unit (a descendant of the
+ * root with the visibility Parent) is indexed to its path, the identifiers of
+ * the nodes leading from the top level children of the root down to the unit.
+ * A unit is read by following its path, one level at a time, instead of
+ * scanning the whole tree.
+ */
+public class HierarchyBookmarks {
+
+    private static final String IDENTIFIER = "identifier";
+    private static final String CHILDREN = "children";
+    private static final String VISIBILITY = "visibility";
+    private static final String VISIBILITY_PARENT = "Parent";
+    private static final String CACHE_KEY_PREFIX = "bookmark_";
+
+    /**
+     * Gets the key of the cached paths of the unit.
+     */
+    public static String getCacheKey(String unitId) {
+        return CACHE_KEY_PREFIX + unitId;
+    }
+
+    /**
+     * Indexes the units of the hierarchy to their paths. A unit found more
+     * than once is indexed to its shallowest path.
+     *
+     * @param hierarchy
+     * @return the paths of the units by unit identifier
+     */
+    public static Map<String, List<String>> index(Map<String, Object> hierarchy) {
+        Map<String, List<String>> index = new HashMap<>();
+        if (null != hierarchy)
+            indexChildren(hierarchy.get(CHILDREN), new ArrayList<>(), index);
+        return index;
+    }
+
+    /**
+     * Follows the path down the children of the root.
+     *
+     * @param children
+     * @param path
+     * @return the unit at the end of the path, null if the path does not lead
+     *         to a unit of the hierarchy
+     */
+    public static Map<String, Object> find(List<Map<String, Object>> children, List<String> path) {
+        if (CollectionUtils.isEmpty(path))
+            return null;
+        Map<String, Object> node = null;
+        Object level = children;
+        for (String identifier : path) {
+            node = getChild(level, identifier);
+            if (null == node)
+                return null;
+            level = node.get(CHILDREN);
+        }
+        return StringUtils.equalsIgnoreCase(VISIBILITY_PARENT, (String) node.get(VISIBILITY)) ? node : null;
+    }
+
+    private static Map<String, Object> getChild(Object children, String identifier) {
+        if (children instanceof List) {
+            for (Object child : (List<Object>) children) {
+                if (child instanceof Map && StringUtils.equals(identifier, (String) ((Map<String, Object>) child).get(IDENTIFIER)))
+                    return (Map<String, Object>) child;
+            }
+        }
+        return null;
+    }
+
+    private static void indexChildren(Object children, List<String> parentPath, Map<String, List<String>> index) {
+        if (!(children instanceof List))
+            return;
+        for (Object child : (List<Object>) children) {
+            if (!(child instanceof Map))
+                continue;
+            Map<String, Object> node = (Map<String, Object>) child;
+            Object identifier = node.get(IDENTIFIER);
+            if (!(identifier instanceof String)
+                    || !StringUtils.equalsIgnoreCase(VISIBILITY_PARENT, (String) node.get(VISIBILITY)))
+                continue;
+            List<String> path = new ArrayList<>(parentPath);
+            path.add((String) identifier);
+            List<String> indexed = index.get(identifier);
+            if (null == indexed || indexed.size() > path.size())
+                index.put((String) identifier, path);
+            indexChildren(node.get(CHILDREN), path, index);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.sunbird.learning.hierarchy.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact storage format of a collection hierarchy. The root node and each of
+ * its children are kept as separate LZ4 compressed JSON segments, preceded by a
+ * header listing the segment sizes and an index of every unit (a node having
+ * children) to the segment holding it. A unit is read by inflating only the
+ * segment of its top level branch.
+ *
+ * <pre>
+ * magic "LPH1" | hasChildren | segmentCount | (rawLength, compressedLength)*
+ *              | unitCount | (unitId, segment)* | segment payloads
+ * </pre>
+ */
+public class HierarchyCodec {
+
+    private static final byte[] MAGIC = new byte[] { 'L', 'P', 'H', '1' };
+    private static final String IDENTIFIER = "identifier";
+    private static final String CHILDREN = "children";
+
+    private static ObjectMapper mapper = new ObjectMapper();
+    private static LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private static LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    /**
+     * Tells whether the bytes are in the compact format.
+     *
+     * @param data
+     * @return true if the data starts with the format header
+     */
+    public static boolean isCompact(byte[] data) {
+        return null != data && data.length >= MAGIC.length
+                && Arrays.equals(MAGIC, Arrays.copyOf(data, MAGIC.length));
+    }
+
+    /**
+     * Encodes the hierarchy in the compact format.
+     *
+     * @param hierarchy
+     * @return the encoded bytes
+     * @throws IOException
+     */
+    public static byte[] encode(Map<String, Object> hierarchy) throws IOException {
+        Object children = hierarchy.get(CHILDREN);
+        boolean hasChildren = children instanceof List;
+        Map<String, Object> root = new HashMap<>(hierarchy);
+        if (hasChildren)
+            root.remove(CHILDREN);
+        List<Object> branches = hasChildren ? (List<Object>) children : new ArrayList<>();
+
+        List<byte[]> raw = new ArrayList<>();
+        raw.add(mapper.writeValueAsBytes(root));
+        Map<String, Integer> index = new HashMap<>();
+        for (Object branch : branches) {
+            raw.add(mapper.writeValueAsBytes(branch));
+            indexUnits(branch, raw.size() - 1, index);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(out);
+        List<byte[]> compressed = new ArrayList<>(raw.size());
+        header.write(MAGIC);
+        header.writeBoolean(hasChildren);
+        header.writeInt(raw.size());
+        for (byte[] segment : raw) {
+            byte[] data = compressor.compress(segment);
+            compressed.add(data);
+            header.writeInt(segment.length);
+            header.writeInt(data.length);
+        }
+        header.writeInt(index.size());
+        for (Map.Entry<String, Integer> entry : index.entrySet()) {
+            header.writeUTF(entry.getKey());
+            header.writeInt(entry.getValue());
+        }
+        for (byte[] data : compressed)
+            header.write(data);
+        header.flush();
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the whole hierarchy.
+     *
+     * @param data
+     * @return the hierarchy
+     * @throws IOException
+     */
+    public static Map<String, Object> decode(byte[] data) throws IOException {
+        Layout layout = readLayout(data);
+        Map<String, Object> root = readSegment(data, layout, 0);
+        if (layout.hasChildren) {
+            List<Object> children = new ArrayList<>(layout.segmentCount - 1);
+            for (int i = 1; i < layout.segmentCount; i++)
+                children.add(readSegment(data, layout, i));
+            root.put(CHILDREN, children);
+        }
+        return root;
+    }
+
+    /**
+     * Decodes the subtree of one unit, inflating only the segment holding it.
+     *
+     * @param data
+     * @param unitId
+     * @return the unit with its children, null if the hierarchy has no such unit
+     * @throws IOException
+     */
+    public static Map<String, Object> decodeUnit(byte[] data, String unitId) throws IOException {
+        Layout layout = readLayout(data);
+        Integer segment = layout.index.get(unitId);
+        if (null == segment) {
+            Map<String, Object> root = readSegment(data, layout, 0);
+            return StringUtils.equals(unitId, (String) root.get(IDENTIFIER)) ? decode(data) : null;
+        }
+        return findUnit(readSegment(data, layout, segment), unitId);
+    }
+
+    /**
+     * Finds the unit in the hierarchy, used for the rows still stored as JSON.
+     *
+     * @param node
+     * @param unitId
+     * @return the unit with its children, null if there is no such unit
+     */
+    public static Map<String, Object> findUnit(Object node, String unitId) {
+        if (!(node instanceof Map))
+            return null;
+        Map<String, Object> map = (Map<String, Object>) node;
+        if (StringUtils.equals(unitId, (String) map.get(IDENTIFIER)))
+            return map;
+        Object children = map.get(CHILDREN);
+        if (children instanceof List) {
+            for (Object child : (List<Object>) children) {
+                Map<String, Object> unit = findUnit(child, unitId);
+                if (null != unit)
+                    return unit;
+            }
+        }
+        return null;
+    }
+
+    private static void indexUnits(Object node, int segment, Map<String, Integer> index) {
+        if (!(node instanceof Map))
+            return;
+        Map<String, Object> map = (Map<String, Object>) node;
+        Object children = map.get(CHILDREN);
+        if (!(children instanceof List) || CollectionUtils.isEmpty((List<Object>) children))
+            return;
+        Object identifier = map.get(IDENTIFIER);
+        if (identifier instanceof String)
+            index.putIfAbsent((String) identifier, segment);
+        for (Object child : (List<Object>) children)
+            indexUnits(child, segment, index);
+    }
+
+    private static Layout readLayout(byte[] data) throws IOException {
+        if (!isCompact(data))
+            throw new IOException("Hierarchy data is not in the compact format.");
+        ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+        DataInputStream in = new DataInputStream(bytes);
+        in.skipBytes(MAGIC.length);
+        Layout layout = new Layout();
+        layout.hasChildren = in.readBoolean();
+        layout.segmentCount = in.readInt();
+        layout.rawLengths = new int[layout.segmentCount];
+        layout.offsets = new int[layout.segmentCount];
+        int[] compressedLengths = new int[layout.segmentCount];
+        for (int i = 0; i < layout.segmentCount; i++) {
+            layout.rawLengths[i] = in.readInt();
+            compressedLengths[i] = in.readInt();
+        }
+        int unitCount = in.readInt();
+        layout.index = new HashMap<>();
+        for (int i = 0; i < unitCount; i++)
+            layout.index.put(in.readUTF(), in.readInt());
+        int offset = data.length - bytes.available();
+        for (int i = 0; i < layout.segmentCount; i++) {
+            layout.offsets[i] = offset;
+            offset += compressedLengths[i];
+        }
+        return layout;
+    }
+
+    private static Map<String, Object> readSegment(byte[] data, Layout layout, int segment) throws IOException {
+        byte[] raw = decompressor.decompress(data, layout.offsets[segment], layout.rawLengths[segment]);
+        return mapper.readValue(raw, Map.class);
+    }
+
+    private static class Layout {
+        private boolean hasChildren;
+        private int segmentCount;
+        private int[] rawLengths;
+        private int[] offsets;
+        private Map<String, Integer> index;
+    }
+}
@@ -5,20 +5,64 @@ import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.datastax.driver.core.utils.Bytes;
 import org.sunbird.cassandra.connector.util.CassandraConnector;
 import org.sunbird.cassandra.store.CassandraStore;
 import org.sunbird.common.Platform;
 import org.sunbird.common.exception.ServerException;
+import org.sunbird.graph.cache.util.RedisStoreUtil;
 import org.sunbird.learning.contentstore.ContentStoreParams;
 import org.sunbird.searchindex.util.CompositeSearchConstants;
 import org.sunbird.telemetry.logger.TelemetryManager;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Stores the collection hierarchies. A hierarchy is kept as JSON text in the
+ * hierarchy column or, when the table is configured with
+ * hierarchy.{table}.format = compact, in the compact format of
+ * {@link HierarchyCodec} in the hierarchy_data blob column. With
+ * hierarchy.{table}.compact.read enabled (the default for the compact format)
+ * both columns are read, the compact one first, and rows still in JSON are
+ * rewritten in the compact format when read, unless
+ * hierarchy.{table}.compact.migrate_on_read is disabled. The rewrite is a
+ * conditional update applying only while the row still holds the JSON read,
+ * so it never overwrites a hierarchy saved in the meantime.
+ * <p>
+ * With hierarchy.{table}.bookmark_index enabled, saving a hierarchy also
+ * saves its {@link HierarchyBookmarks} in the {table}_bookmark table, keyed by
+ * unit and root:
+ *
+ * <pre>
+ * CREATE TABLE {keyspace}.{table}_bookmark (identifier text, root_id text, path list&lt;text&gt;,
+ *     PRIMARY KEY (identifier, root_id));
+ * </pre>
+ *
+ * The rows of a hierarchy are written at most
+ * hierarchy.bookmark_index.max_inflight (default 32) at a time. Once they are
+ * written, the cached bookmarks of the units are deleted. The index is never
+ * pruned, the readers verify a path against the hierarchy and fall back to
+ * searching the root of the unit.
+ */
 public class HierarchyStore extends CassandraStore {
 
+    private static final String FORMAT_COMPACT = "compact";
+    private static final int BOOKMARK_MAX_INFLIGHT = Platform.config.hasPath("hierarchy.bookmark_index.max_inflight")
+            ? Platform.config.getInt("hierarchy.bookmark_index.max_inflight") : 32;
+    private static final boolean CONTENT_CACHE_ENABLED = Platform.config.hasPath("content.cache.hierarchy")
+            && Platform.config.getBoolean("content.cache.hierarchy");
+
+    private boolean compactWrite = false;
+    private boolean compactRead = false;
+    private boolean migrateOnRead = true;
+    private boolean bookmarkIndex = false;
+
     public HierarchyStore() {
         super();
         String keyspace = Platform.config.hasPath("hierarchy.keyspace.name")
@@ -30,43 +74,63 @@ public class HierarchyStore extends CassandraStore {
         String objectType = "Content";
         initialise(keyspace, table, objectType, false);
         nodeType = CompositeSearchConstants.NODE_TYPE_DATA;
+        initialiseFormat(table);
     }
 
     public HierarchyStore(String keyspace, String table, String objectType, boolean index) {
         super();
         initialise(keyspace, table, objectType, index);
         nodeType = CompositeSearchConstants.NODE_TYPE_DATA;
+        initialiseFormat(table);
+    }
+
+    private void initialiseFormat(String table) {
+        String prefix = "hierarchy." + table + ".";
+        compactWrite = Platform.config.hasPath(prefix + "format")
+                && FORMAT_COMPACT.equalsIgnoreCase(Platform.config.getString(prefix + "format"));
+        compactRead = Platform.config.hasPath(prefix + "compact.read")
+                ? Platform.config.getBoolean(prefix + "compact.read") : compactWrite;
+        if (Platform.config.hasPath(prefix + "compact.migrate_on_read"))
+            migrateOnRead = Platform.config.getBoolean(prefix + "compact.migrate_on_read");
+        if (Platform.config.hasPath(prefix + "bookmark_index"))
+            bookmarkIndex = Platform.config.getBoolean(prefix + "bookmark_index");
     }
 
     public void saveOrUpdateHierarchy(String contentId, Map<String, Object> hierarchy) {
         try {
-            String query = "UPDATE " + getKeyspace() + "." + getTable() + " SET hierarchy = ? WHERE identifier = ?";
-            String hierarchyData = mapper.writeValueAsString(hierarchy);
             Session session = CassandraConnector.getSession();
-            PreparedStatement statement = session.prepare(query);
+            PreparedStatement statement = CassandraConnector.prepare(getUpdateQuery());
             BoundStatement boundStatement = new BoundStatement(statement);
-            session.execute(boundStatement.bind(hierarchyData, contentId));
-        } catch (JsonProcessingException e) {
+            session.execute(boundStatement.bind(serialize(hierarchy), contentId));
+        } catch (IOException e) {
             TelemetryManager.error("Error while updating collection hierarchy for ID" + contentId, e);
         }
+        saveBookmarks(contentId, hierarchy).join();
+    }
 
+    /**
+     * Saves the hierarchy without blocking, so that several hierarchies can be
+     * written in parallel.
+     *
+     * @param contentId
+     * @param hierarchy
+     * @return the future completing once the hierarchy is saved
+     */
+    public CompletableFuture<Void> saveOrUpdateHierarchyAsync(String contentId, Map<String, Object> hierarchy) {
+        try {
+            Object data = serialize(hierarchy);
+            CompletableFuture<Void> bookmarks = saveBookmarks(contentId, hierarchy);
+            return withServerError(executeQueryAsync(getUpdateQuery(), data, contentId).thenCombine(bookmarks, (rs, result) -> result),
+                    "Error while updating collection hierarchy for ID : " + contentId);
+        } catch (IOException e) {
+            TelemetryManager.error("Error while updating collection hierarchy for ID" + contentId, e);
+            return CompletableFuture.completedFuture(null);
+        }
     }
 
     public Map<String, Object> getHierarchy(String contentId) {
-        String query = "SELECT hierarchy FROM " + getKeyspace() + "." + getTable() + " WHERE identifier=?";
-
-        Session session = CassandraConnector.getSession();
-        PreparedStatement ps = session.prepare(query);
-        BoundStatement bound = ps.bind(contentId);
         try {
-            ResultSet rs = session.execute(bound);
-            if (null != rs && rs.iterator().hasNext()) {
-                Row row = rs.iterator().next();
-                String value = row.getString("hierarchy");
-                return mapper.readValue(value, Map.class);
-            } else {
-               return null;
-            }
+            return readHierarchy(contentId, readRow(contentId));
         } catch (Exception e) {
             TelemetryManager.error("Error! Executing get collection hierarchy: " + e.getMessage(), e);
             throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
@@ -74,11 +138,213 @@ public class HierarchyStore extends CassandraStore {
         }
     }
 
+    /**
+     * Reads the hierarchy without blocking, so that several hierarchies can be
+     * read in parallel.
+     *
+     * @param contentId
+     * @return the future of the hierarchy, completing with null when it does not exist
+     */
+    public CompletableFuture<Map<String, Object>> getHierarchyAsync(String contentId) {
+        CompletableFuture<Map<String, Object>> future = executeQueryAsync(getSelectQuery(), contentId).thenApplyAsync(rs -> {
+            try {
+                return readHierarchy(contentId, getRow(rs));
+            } catch (Exception e) {
+                throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
+                        "Error fetching hierarchy from hierarchy Store.", e);
+            }
+        });
+        return withServerError(future, "Error fetching hierarchy from hierarchy Store.");
+    }
+
+    /**
+     * Reads the subtree of one unit of the hierarchy. For a hierarchy in the
+     * compact format only the top level branch holding the unit is inflated.
+     *
+     * @param contentId
+     * @param unitId
+     * @return the unit with its children, null when the hierarchy or the unit does not exist
+     */
+    public Map<String, Object> getHierarchyUnit(String contentId, String unitId) {
+        try {
+            Row row = readRow(contentId);
+            if (null == row)
+                return null;
+            byte[] data = getCompactData(row);
+            if (null != data)
+                return HierarchyCodec.decodeUnit(data, unitId);
+            return HierarchyCodec.findUnit(readHierarchy(contentId, row), unitId);
+        } catch (Exception e) {
+            TelemetryManager.error("Error! Executing get collection hierarchy unit: " + e.getMessage(), e);
+            throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
+                    "Error fetching hierarchy unit from hierarchy Store.", e);
+        }
+    }
+
+    /**
+     * Gets the paths of the unit in the hierarchies indexing it.
+     *
+     * @param unitId
+     * @return the paths of the unit by root identifier, empty when the bookmark
+     *         index is disabled, has no such unit or cannot be read
+     */
+    public Map<String, List<String>> getBookmarks(String unitId) {
+        Map<String, List<String>> bookmarks = new HashMap<>();
+        if (!bookmarkIndex)
+            return bookmarks;
+        try {
+            Session session = CassandraConnector.getSession();
+            PreparedStatement ps = CassandraConnector.prepare("SELECT root_id, path FROM " + getBookmarkTable() + " WHERE identifier=?");
+            for (Row row : session.execute(ps.bind(unitId)))
+                bookmarks.put(row.getString("root_id"), row.getList("path", String.class));
+        } catch (Exception e) {
+            TelemetryManager.error("Error while reading the bookmark index for unit: " + unitId, e);
+        }
+        return bookmarks;
+    }
+
+    /**
+     * Saves the bookmark index of the hierarchy. Each unit is a partition of
+     * its own, so the rows are written in BOOKMARK_MAX_INFLIGHT lanes, each
+     * writing its rows one after the other. A failure is only logged, the
+     * readers fall back to searching the root of the unit.
+     */
+    private CompletableFuture<Void> saveBookmarks(String contentId, Map<String, Object> hierarchy) {
+        if (!bookmarkIndex)
+            return CompletableFuture.completedFuture(null);
+        List<Map.Entry<String, List<String>>> entries;
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        try {
+            entries = new ArrayList<>(HierarchyBookmarks.index(hierarchy).entrySet());
+            PreparedStatement statement = CassandraConnector.prepare(
+                    "INSERT INTO " + getBookmarkTable() + " (identifier, root_id, path) VALUES (?, ?, ?)");
+            for (int i = 0; i < BOOKMARK_MAX_INFLIGHT && i < entries.size(); i++) {
+                CompletableFuture<Void> lane = CompletableFuture.completedFuture(null);
+                for (int j = i; j < entries.size(); j += BOOKMARK_MAX_INFLIGHT) {
+                    Map.Entry<String, List<String>> entry = entries.get(j);
+                    lane = lane.thenCompose(result -> executeAsync(statement.bind(entry.getKey(), contentId, entry.getValue())))
+                            .thenApply(rs -> null);
+                }
+                lanes.add(lane);
+            }
+        } catch (Exception e) {
+            entries = new ArrayList<>();
+            lanes.add(failedFuture(e));
+        }
+        List<String> unitIds = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : entries)
+            unitIds.add(entry.getKey());
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture[lanes.size()])).handle((result, e) -> {
+            if (null != e)
+                TelemetryManager.error("Error while saving the bookmark index of collection hierarchy for ID: " + contentId, e);
+            deleteCachedBookmarks(unitIds);
+            return null;
+        });
+    }
+
+    /**
+     * Deletes the bookmarks of the units cached by the hierarchy reads.
+     */
+    private void deleteCachedBookmarks(List<String> unitIds) {
+        if (!CONTENT_CACHE_ENABLED || unitIds.isEmpty())
+            return;
+        try {
+            RedisStoreUtil.delete(unitIds.stream().map(HierarchyBookmarks::getCacheKey).toArray(String[]::new));
+        } catch (Exception e) {
+            TelemetryManager.error("Error while deleting the cached bookmarks of units: " + unitIds, e);
+        }
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    private String getBookmarkTable() {
+        return getKeyspace() + "." + getTable() + "_bookmark";
+    }
+
+    private Row readRow(String contentId) {
+        Session session = CassandraConnector.getSession();
+        PreparedStatement ps = CassandraConnector.prepare(getSelectQuery());
+        return getRow(session.execute(ps.bind(contentId)));
+    }
+
+    private Row getRow(ResultSet rs) {
+        return (null != rs && rs.iterator().hasNext()) ? rs.iterator().next() : null;
+    }
+
+    private Map<String, Object> readHierarchy(String contentId, Row row) throws Exception {
+        if (null == row)
+            return null;
+        byte[] data = getCompactData(row);
+        if (null != data)
+            return HierarchyCodec.decode(data);
+        String value = row.getString("hierarchy");
+        if (null == value)
+            return null;
+        Map<String, Object> hierarchy = mapper.readValue(value, Map.class);
+        if (compactWrite && migrateOnRead)
+            migrate(contentId, value, hierarchy);
+        return hierarchy;
+    }
+
+    private byte[] getCompactData(Row row) {
+        if (!compactRead)
+            return null;
+        ByteBuffer buffer = row.getBytes("hierarchy_data");
+        return (null == buffer) ? null : Bytes.getArray(buffer);
+    }
+
+    /**
+     * Rewrites the hierarchy read as JSON in the compact format, if the row
+     * still holds that JSON. The hierarchy itself is unchanged, so the
+     * bookmark index is left as it is.
+     *
+     * @param contentId
+     * @param value the JSON read
+     * @param hierarchy the hierarchy parsed from the JSON
+     * @return the future of whether the row was rewritten
+     */
+    CompletableFuture<Boolean> migrate(String contentId, String value, Map<String, Object> hierarchy) {
+        CompletableFuture<Boolean> future;
+        try {
+            String query = "UPDATE " + getKeyspace() + "." + getTable()
+                    + " SET hierarchy_data = ?, hierarchy = null WHERE identifier = ? IF hierarchy = ?";
+            future = executeQueryAsync(query, ByteBuffer.wrap(HierarchyCodec.encode(hierarchy)), contentId, value)
+                    .thenApply(ResultSet::wasApplied);
+        } catch (Exception e) {
+            future = failedFuture(e);
+        }
+        return future.whenComplete((applied, e) -> {
+            if (null != e)
+                TelemetryManager.error("Error while migrating collection hierarchy to compact format for ID: " + contentId, e);
+        });
+    }
+
+    private Object serialize(Map<String, Object> hierarchy) throws IOException {
+        return compactWrite ? ByteBuffer.wrap(HierarchyCodec.encode(hierarchy)) : mapper.writeValueAsString(hierarchy);
+    }
+
+    private String getSelectQuery() {
+        String columns = compactRead ? "hierarchy, hierarchy_data" : "hierarchy";
+        return "SELECT " + columns + " FROM " + getKeyspace() + "." + getTable() + " WHERE identifier=?";
+    }
+
+    private String getUpdateQuery() {
+        String table = getKeyspace() + "." + getTable();
+        if (compactWrite)
+            return "UPDATE " + table + " SET hierarchy = null, hierarchy_data = ? WHERE identifier = ?";
+        if (compactRead)
+            return "UPDATE " + table + " SET hierarchy = ?, hierarchy_data = null WHERE identifier = ?";
+        return "UPDATE " + table + " SET hierarchy = ? WHERE identifier = ?";
+    }
     public void deleteHierarchy(List<String> identifiers) {
         String query = "DELETE FROM " + getKeyspace() + "." + getTable() + " WHERE identifier IN :ids";
 
         Session session = CassandraConnector.getSession();
-        PreparedStatement ps = session.prepare(query);
+        PreparedStatement ps = CassandraConnector.prepare(query);
         BoundStatement bs = ps.bind();
         session.execute(bs.setList("ids", identifiers));
     }
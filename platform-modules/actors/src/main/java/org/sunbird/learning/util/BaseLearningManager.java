@@ -1,25 +1,17 @@
 package org.sunbird.learning.util;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.logging.log4j.Logger;
 import org.sunbird.common.dto.Request;
 import org.sunbird.common.dto.Response;
 import org.sunbird.common.enums.TaxonomyErrorCodes;
-import org.sunbird.common.exception.ResponseCode;
 import org.sunbird.common.exception.ServerException;
 import org.sunbird.common.mgr.BaseManager;
-import org.sunbird.common.router.RequestRouterPool;
-import org.sunbird.learning.common.enums.LearningErrorCodes;
 import org.sunbird.learning.router.LearningRequestRouterPool;
 import org.sunbird.telemetry.logger.TelemetryManager;
 
 import akka.actor.ActorRef;
-import akka.dispatch.Futures;
-import akka.pattern.Patterns;
-import scala.concurrent.Await;
-import scala.concurrent.Future;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -87,18 +79,7 @@ public abstract class BaseLearningManager extends BaseManager {
 	 * @return the language response
 	 */
 	protected Response getLearningResponse(Request request) {
-		ActorRef router = LearningRequestRouterPool.getRequestRouter();
-		try {
-			Future<Object> future = Patterns.ask(router, request, LearningRequestRouterPool.REQ_TIMEOUT);
-			Object obj = Await.result(future, LearningRequestRouterPool.WAIT_TIMEOUT.duration());
-			if (obj instanceof Response) {
-				return (Response) obj;
-			} else {
-				return ERROR(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
-			}
-		} catch (Exception e) {
-			throw new ServerException(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
-		}
+		return getResult(getResponseAsync(request, LearningRequestRouterPool.getRequestRouter()));
 	}
 
 	/**
@@ -117,48 +98,7 @@ public abstract class BaseLearningManager extends BaseManager {
 	 */
 	protected Response getLearningResponse(List<Request> requests, Logger logger, String paramName,
 			String returnParam) {
-		if (null != requests && !requests.isEmpty()) {
-			ActorRef router = LearningRequestRouterPool.getRequestRouter();
-			try {
-				List<Future<Object>> futures = new ArrayList<Future<Object>>();
-				for (Request request : requests) {
-					Future<Object> future = Patterns.ask(router, request, LearningRequestRouterPool.REQ_TIMEOUT);
-					futures.add(future);
-				}
-				Future<Iterable<Object>> objects = Futures.sequence(futures,
-						RequestRouterPool.getActorSystem().dispatcher());
-				Iterable<Object> responses = Await.result(objects, LearningRequestRouterPool.WAIT_TIMEOUT.duration());
-				if (null != responses) {
-					List<Object> list = new ArrayList<Object>();
-					Response response = new Response();
-					for (Object obj : responses) {
-						if (obj instanceof Response) {
-							Response res = (Response) obj;
-							if (!checkError(res)) {
-								Object vo = res.get(paramName);
-								response = copyResponse(response, res);
-								if (null != vo) {
-									list.add(vo);
-								}
-							} else {
-								return res;
-							}
-						} else {
-							return ERROR(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error",
-									ResponseCode.SERVER_ERROR);
-						}
-					}
-					response.put(returnParam, list);
-					return response;
-				} else {
-					return ERROR(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
-				}
-			} catch (Exception e) {
-				logger.error(e.getMessage(), e);
-				throw new ServerException(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
-			}
-		} else {
-			return ERROR(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
-		}
+		return getResult(
+				getResponseAsync(requests, LearningRequestRouterPool.getRequestRouter(), paramName, returnParam));
 	}
 }
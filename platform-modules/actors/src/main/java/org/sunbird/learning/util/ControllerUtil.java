@@ -315,6 +315,28 @@ public class ControllerUtil extends BaseLearningManager {
         return null;
     }
 
+    /**
+     * Gets the data nodes of the node ids, fetched from the graph in chunks.
+     *
+     * @param taxonomyId the taxonomy id
+     * @param nodeIds the node ids
+     * @param propertyKeys the properties to fetch, null to fetch the whole nodes
+     * @return the nodes found, in the order of the node ids
+     */
+    @SuppressWarnings("unchecked")
+    public List<Node> getDataNodesByIds(String taxonomyId, List<String> nodeIds, List<String> propertyKeys) {
+        if (CollectionUtils.isEmpty(nodeIds))
+            return new ArrayList<>();
+        Request request = getRequest(taxonomyId, GraphEngineManagers.SEARCH_MANAGER, "getDataNodesByIds",
+                GraphDACParams.node_ids.name(), nodeIds);
+        if (CollectionUtils.isNotEmpty(propertyKeys))
+            request.put(GraphDACParams.property_keys.name(), propertyKeys);
+        Response response = getResponse(request);
+        if (checkError(response))
+            throw new ServerException(response.getParams().getErr(), response.getParams().getErrmsg());
+        return (List<Node>) response.get(GraphDACParams.node_list.name());
+    }
+
     public Response getHirerachy(String identifier) {
         String url = Platform.config.getString("platform-api-url") + "/content/v3/hierarchy/" + identifier + "?mode=edit";
         Response hirerachyRes = null;
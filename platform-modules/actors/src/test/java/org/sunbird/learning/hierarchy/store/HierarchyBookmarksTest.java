@@ -0,0 +1,75 @@
+package org.sunbird.learning.hierarchy.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HierarchyBookmarksTest {
+
+	@Test
+	public void testIndex() {
+		Map<String, List<String>> index = HierarchyBookmarks.index(getHierarchy(3, 2));
+		Assert.assertEquals(12, index.size());
+		Assert.assertEquals(Arrays.asList("do_unit_1"), index.get("do_unit_1"));
+		Assert.assertEquals(Arrays.asList("do_unit_1", "do_unit_1_2"), index.get("do_unit_1_2"));
+		Assert.assertFalse(index.containsKey("do_root"));
+		Assert.assertFalse(index.containsKey("do_resource_0"));
+		Assert.assertTrue(HierarchyBookmarks.index(null).isEmpty());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testFind() {
+		Map<String, Object> hierarchy = getHierarchy(3, 2);
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		Map<String, List<String>> index = HierarchyBookmarks.index(hierarchy);
+		for (Map.Entry<String, List<String>> entry : index.entrySet())
+			Assert.assertSame(HierarchyCodec.findUnit(hierarchy, entry.getKey()),
+					HierarchyBookmarks.find(children, entry.getValue()));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testFindStalePath() {
+		Map<String, Object> hierarchy = getHierarchy(3, 2);
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		Assert.assertNull(HierarchyBookmarks.find(children, Arrays.asList("do_unit_0", "do_unit_1_2")));
+		Assert.assertNull(HierarchyBookmarks.find(children, Arrays.asList("do_unit_0", "do_unit_0_1", "do_resource_1")));
+		Assert.assertNull(HierarchyBookmarks.find(children, new ArrayList<>()));
+		Assert.assertNull(HierarchyBookmarks.find(children, null));
+		Assert.assertNull(HierarchyBookmarks.find(null, Arrays.asList("do_unit_0")));
+	}
+
+	private static Map<String, Object> getHierarchy(int units, int resources) {
+		Map<String, Object> root = getNode("do_root", "Default");
+		List<Object> children = new ArrayList<>();
+		for (int i = 0; i < units; i++) {
+			Map<String, Object> unit = getNode("do_unit_" + i, "Parent");
+			List<Object> subUnits = new ArrayList<>();
+			for (int j = 0; j < units; j++) {
+				Map<String, Object> subUnit = getNode("do_unit_" + i + "_" + j, "Parent");
+				List<Object> leaves = new ArrayList<>();
+				for (int k = 0; k < resources; k++)
+					leaves.add(getNode("do_resource_" + k, "Default"));
+				subUnit.put("children", leaves);
+				subUnits.add(subUnit);
+			}
+			unit.put("children", subUnits);
+			children.add(unit);
+		}
+		root.put("children", children);
+		return root;
+	}
+
+	private static Map<String, Object> getNode(String identifier, String visibility) {
+		Map<String, Object> node = new HashMap<>();
+		node.put("identifier", identifier);
+		node.put("visibility", visibility);
+		return node;
+	}
+}
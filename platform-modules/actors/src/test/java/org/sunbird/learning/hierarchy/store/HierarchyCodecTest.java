@@ -0,0 +1,80 @@
+package org.sunbird.learning.hierarchy.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class HierarchyCodecTest {
+
+	private static ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void testEncodeAndDecode() throws Exception {
+		Map<String, Object> hierarchy = getHierarchy(5, 4);
+		byte[] data = HierarchyCodec.encode(hierarchy);
+		Assert.assertTrue(HierarchyCodec.isCompact(data));
+		Assert.assertEquals(hierarchy, HierarchyCodec.decode(data));
+		Assert.assertTrue(data.length < mapper.writeValueAsBytes(hierarchy).length);
+	}
+
+	@Test
+	public void testDecodeWithoutChildren() throws Exception {
+		Map<String, Object> hierarchy = new HashMap<>();
+		hierarchy.put("identifier", "do_root");
+		hierarchy.put("name", "Empty Collection");
+		Assert.assertEquals(hierarchy, HierarchyCodec.decode(HierarchyCodec.encode(hierarchy)));
+	}
+
+	@Test
+	public void testDecodeUnit() throws Exception {
+		Map<String, Object> hierarchy = getHierarchy(5, 4);
+		byte[] data = HierarchyCodec.encode(hierarchy);
+		Assert.assertEquals(HierarchyCodec.findUnit(hierarchy, "do_unit_3"), HierarchyCodec.decodeUnit(data, "do_unit_3"));
+		Assert.assertEquals(HierarchyCodec.findUnit(hierarchy, "do_unit_3_2"),
+				HierarchyCodec.decodeUnit(data, "do_unit_3_2"));
+		Assert.assertEquals(hierarchy, HierarchyCodec.decodeUnit(data, "do_root"));
+		Assert.assertNull(HierarchyCodec.decodeUnit(data, "do_unknown"));
+	}
+
+	@Test
+	public void testIsCompactForJson() throws Exception {
+		Assert.assertFalse(HierarchyCodec.isCompact(mapper.writeValueAsBytes(getHierarchy(1, 1))));
+		Assert.assertFalse(HierarchyCodec.isCompact(null));
+	}
+
+	private static Map<String, Object> getHierarchy(int units, int resources) {
+		Map<String, Object> root = getNode("do_root", "Parent");
+		List<Object> children = new ArrayList<>();
+		for (int i = 0; i < units; i++) {
+			Map<String, Object> unit = getNode("do_unit_" + i, "Parent");
+			List<Object> subUnits = new ArrayList<>();
+			for (int j = 0; j < units; j++) {
+				Map<String, Object> subUnit = getNode("do_unit_" + i + "_" + j, "Parent");
+				List<Object> leaves = new ArrayList<>();
+				for (int k = 0; k < resources; k++)
+					leaves.add(getNode("do_resource_" + k, "Default"));
+				subUnit.put("children", leaves);
+				subUnits.add(subUnit);
+			}
+			unit.put("children", subUnits);
+			children.add(unit);
+		}
+		root.put("children", children);
+		return root;
+	}
+
+	private static Map<String, Object> getNode(String identifier, String visibility) {
+		Map<String, Object> node = new HashMap<>();
+		node.put("identifier", identifier);
+		node.put("name", "Node " + identifier);
+		node.put("visibility", visibility);
+		node.put("description", "Description of the node " + identifier + " used in the collection hierarchy");
+		return node;
+	}
+}
@@ -0,0 +1,116 @@
+package org.sunbird.learning.hierarchy.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.cassandra.CassandraTestSetup;
+import org.sunbird.common.Platform;
+
+import com.datastax.driver.core.Row;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.ConfigFactory;
+
+public class HierarchyStoreTest extends CassandraTestSetup {
+
+	private static final String keyspace = "hierarchy_store_test";
+	private static final String table = "content_hierarchy_migrate_test";
+
+	private static String createKeyspace = "CREATE KEYSPACE IF NOT EXISTS " + keyspace
+			+ " WITH replication = {'class': 'SimpleStrategy', 'replication_factor': '1'}";
+	private static String createTable = "CREATE TABLE IF NOT EXISTS " + keyspace + "." + table
+			+ " (identifier text, hierarchy text, hierarchy_data blob, PRIMARY KEY (identifier));";
+	private static String createBookmarkTable = "CREATE TABLE IF NOT EXISTS " + keyspace + "." + table
+			+ "_bookmark (identifier text, root_id text, path list<text>, PRIMARY KEY (identifier, root_id));";
+
+	private static ObjectMapper mapper = new ObjectMapper();
+	private static HierarchyStore hierarchyStore;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		Map<String, Object> conf = new HashMap<>();
+		conf.put("hierarchy." + table + ".format", "compact");
+		conf.put("hierarchy." + table + ".bookmark_index", true);
+		Platform.loadProperties(ConfigFactory.parseMap(conf));
+		executeScript(createKeyspace, createTable, createBookmarkTable);
+		hierarchyStore = new HierarchyStore(keyspace, table, "Content", false);
+	}
+
+	@Test
+	public void testReadMigratesLegacyHierarchy() throws Exception {
+		String identifier = "do_migrate_on_read";
+		insertLegacy(identifier, getHierarchy(identifier, "do_unit_read"));
+
+		Map<String, Object> hierarchy = hierarchyStore.getHierarchy(identifier);
+		Assert.assertEquals(identifier, hierarchy.get("identifier"));
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+		while (null != readRow(identifier).getString("hierarchy") && System.currentTimeMillis() < deadline)
+			Thread.sleep(50);
+
+		Row row = readRow(identifier);
+		Assert.assertNull(row.getString("hierarchy"));
+		Assert.assertNotNull(row.getBytes("hierarchy_data"));
+		Assert.assertEquals(hierarchy, hierarchyStore.getHierarchy(identifier));
+		Assert.assertTrue(getSession().execute("SELECT * FROM " + keyspace + "." + table
+				+ "_bookmark WHERE identifier = 'do_unit_read'").all().isEmpty());
+	}
+
+	@Test
+	public void testMigrationDoesNotOverwriteConcurrentSave() throws Exception {
+		String identifier = "do_migrate_race";
+		Map<String, Object> stale = getHierarchy(identifier, "do_unit_stale");
+		String value = insertLegacy(identifier, stale);
+
+		// the save lands between the read of the JSON and its migration
+		Map<String, Object> saved = getHierarchy(identifier, "do_unit_saved");
+		hierarchyStore.saveOrUpdateHierarchy(identifier, saved);
+		Assert.assertFalse(hierarchyStore.migrate(identifier, value, stale).get(10, TimeUnit.SECONDS));
+
+		Assert.assertEquals(saved, hierarchyStore.getHierarchy(identifier));
+		Assert.assertEquals(1, hierarchyStore.getBookmarks("do_unit_saved").size());
+		Assert.assertTrue(hierarchyStore.getBookmarks("do_unit_stale").isEmpty());
+	}
+
+	@Test
+	public void testMigrationOfUnchangedHierarchy() throws Exception {
+		String identifier = "do_migrate_unchanged";
+		Map<String, Object> hierarchy = getHierarchy(identifier, "do_unit_unchanged");
+		String value = insertLegacy(identifier, hierarchy);
+
+		Assert.assertTrue(hierarchyStore.migrate(identifier, value, hierarchy).get(10, TimeUnit.SECONDS));
+		Assert.assertFalse(hierarchyStore.migrate(identifier, value, hierarchy).get(10, TimeUnit.SECONDS));
+		Assert.assertNull(readRow(identifier).getString("hierarchy"));
+		Assert.assertEquals(hierarchy, hierarchyStore.getHierarchy(identifier));
+	}
+
+	private static String insertLegacy(String identifier, Map<String, Object> hierarchy) throws Exception {
+		String value = mapper.writeValueAsString(hierarchy);
+		getSession().execute("INSERT INTO " + keyspace + "." + table + " (identifier, hierarchy) VALUES (?, ?)",
+				identifier, value);
+		return value;
+	}
+
+	private static Row readRow(String identifier) {
+		return getSession().execute("SELECT hierarchy, hierarchy_data FROM " + keyspace + "." + table
+				+ " WHERE identifier = ?", identifier).one();
+	}
+
+	private static Map<String, Object> getHierarchy(String identifier, String unitId) {
+		Map<String, Object> unit = new HashMap<>();
+		unit.put("identifier", unitId);
+		unit.put("visibility", "Parent");
+		unit.put("children", new ArrayList<>());
+		List<Object> children = new ArrayList<>();
+		children.add(unit);
+		Map<String, Object> root = new HashMap<>();
+		root.put("identifier", identifier);
+		root.put("visibility", "Default");
+		root.put("children", children);
+		return root;
+	}
+}
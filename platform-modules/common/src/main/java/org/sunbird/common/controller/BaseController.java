@@ -10,11 +10,14 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.map.ObjectMapper;
+import org.sunbird.common.Platform;
 import org.sunbird.common.dto.Request;
 import org.sunbird.common.dto.RequestParams;
 import org.sunbird.common.dto.Response;
@@ -25,8 +28,11 @@ import org.sunbird.common.exception.ClientException;
 import org.sunbird.common.exception.MiddlewareException;
 import org.sunbird.common.exception.ResourceNotFoundException;
 import org.sunbird.common.exception.ResponseCode;
+import org.sunbird.common.exception.ServerException;
+import org.sunbird.telemetry.logger.TelemetryManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
 
 public abstract class BaseController {
 
@@ -34,6 +40,10 @@ public abstract class BaseController {
 	public static final String API_VERSION_2 = "2.0";
 	public static final String API_VERSION_3 = "3.0";
 
+	// a pending request may wait for more than one actor call.
+	private static final long DEFERRED_RESULT_TIMEOUT = 2 * (Platform.config.hasPath("akka.request_timeout")
+			? Platform.config.getLong("akka.request_timeout") * 1000 : 30000);
+
 	protected ObjectMapper mapper = new ObjectMapper();
 
 	protected ResponseEntity<Response> getResponseEntity(Response response, String apiId, String msgId) {
@@ -94,6 +104,37 @@ public abstract class BaseController {
 		return new ResponseEntity<Response>(response, status);
 	}
 
+	/**
+	 * Gets the response entity once the response completes, the request
+	 * thread is released while it is pending.
+	 */
+	protected DeferredResult<ResponseEntity<Response>> getDeferredResponseEntity(CompletionStage<Response> response,
+			String apiId, String msgId) {
+		DeferredResult<ResponseEntity<Response>> result = new DeferredResult<ResponseEntity<Response>>(
+				DEFERRED_RESULT_TIMEOUT);
+		result.onTimeout(() -> result.setResult(getExceptionResponseEntity(
+				new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "Request timed out"), apiId, msgId)));
+		response.whenComplete((res, e) -> {
+			if (null == e) {
+				result.setResult(getResponseEntity(res, apiId, msgId));
+			} else {
+				Throwable cause = (e instanceof CompletionException && null != e.getCause()) ? e.getCause() : e;
+				TelemetryManager.error("Exception: " + cause.getMessage(), cause);
+				result.setResult(getExceptionResponseEntity(cause instanceof Exception ? (Exception) cause
+						: new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), cause.getMessage(), cause),
+						apiId, msgId));
+			}
+		});
+		return result;
+	}
+
+	protected DeferredResult<ResponseEntity<Response>> getDeferredExceptionResponseEntity(Exception e, String apiId,
+			String msgId) {
+		DeferredResult<ResponseEntity<Response>> result = new DeferredResult<ResponseEntity<Response>>();
+		result.setResult(getExceptionResponseEntity(e, apiId, msgId));
+		return result;
+	}
+
 	protected HttpStatus getStatus(int statusCode) {
 		HttpStatus status = null;
 		try {
@@ -6,6 +6,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.dto.Property;
@@ -26,10 +29,7 @@ import org.sunbird.graph.engine.router.GraphEngineManagers;
 import org.sunbird.telemetry.logger.TelemetryManager;
 
 import akka.actor.ActorRef;
-import akka.dispatch.Futures;
-import akka.pattern.Patterns;
-import scala.concurrent.Await;
-import scala.concurrent.Future;
+import akka.pattern.PatternsCS;
 
 
 public abstract class BaseManager {
@@ -73,22 +73,80 @@ public abstract class BaseManager {
 	}
 
 	public Response getResponse(Request request, ActorRef router) {
-		if (null == router)
-			router = RequestRouterPool.getRequestRouter();
-		try {
-			Future<Object> future = Patterns.ask(router, request, RequestRouterPool.REQ_TIMEOUT);
-			Object obj = Await.result(future, RequestRouterPool.WAIT_TIMEOUT.duration());
+		return getResult(getResponseAsync(request, router));
+	}
+
+	public CompletionStage<Response> getDataNodeAsync(String taxonomyId, String id) {
+		Request request = getRequest(taxonomyId, GraphEngineManagers.SEARCH_MANAGER, "getDataNode",
+				GraphDACParams.node_id.name(), id);
+		return getResponseAsync(request);
+	}
+
+	public CompletionStage<Response> getResponseAsync(Request request) {
+		return getResponseAsync(request, null);
+	}
+
+	/**
+	 * Sends the request to the router without waiting for the reply. The
+	 * returned stage completes on the thread delivering the reply, so the
+	 * stages chained to it must not block.
+	 *
+	 * @param request
+	 * @param router
+	 *            the router to ask, the request router of the pool if null
+	 * @return the response, completed with a ServerException if the ask fails
+	 *         or times out
+	 */
+	public CompletionStage<Response> getResponseAsync(Request request, ActorRef router) {
+		return ask(null == router ? RequestRouterPool.getRequestRouter() : router, request);
+	}
+
+	/**
+	 * Asks the router for the response of the request, for the static helpers
+	 * which have no manager instance.
+	 *
+	 * @see #getResponseAsync(Request, ActorRef)
+	 */
+	protected static CompletionStage<Response> ask(ActorRef router, Request request) {
+		return PatternsCS.ask(router, request, RequestRouterPool.REQ_TIMEOUT).handle((obj, e) -> {
+			if (null != e) {
+				TelemetryManager.error("Error! Something went wrong: " + e.getMessage(), e);
+				throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
+			}
 			if (obj instanceof Response) {
 				Response response = (Response) obj;
 				TelemetryManager.log("Response Params: " + response.getParams() + " | Code: "
 						+ response.getResponseCode() + " | Result: " + response.getResult().keySet());
 				return response;
 			} else {
-				return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
+				Response response = new Response();
+				ResponseParams params = new ResponseParams();
+				params.setErr(TaxonomyErrorCodes.SYSTEM_ERROR.name());
+				params.setStatus(StatusType.failed.name());
+				params.setErrmsg("System Error");
+				response.setParams(params);
+				response.setResponseCode(ResponseCode.SERVER_ERROR);
+				return response;
 			}
-		} catch (Exception e) {
-			TelemetryManager.error("Error! Something went wrong: " + e.getMessage(), e);
-			throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
+		});
+	}
+
+	/**
+	 * Waits for the stage, for the synchronous callers of the asynchronous
+	 * operations.
+	 *
+	 * @param stage
+	 * @return the result
+	 * @throws RuntimeException
+	 *             the exception the stage completed with
+	 */
+	protected static <T> T getResult(CompletionStage<T> stage) {
+		try {
+			return stage.toCompletableFuture().join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", e.getCause());
 		}
 	}
 
@@ -102,49 +160,43 @@ public abstract class BaseManager {
 	}
 
 	protected Response getResponse(List<Request> requests, String paramName, String returnParam) {
-		if (null != requests && !requests.isEmpty()) {
-			ActorRef router = RequestRouterPool.getRequestRouter();
-			try {
-				List<Future<Object>> futures = new ArrayList<Future<Object>>();
-				for (Request request : requests) {
-					Future<Object> future = Patterns.ask(router, request, RequestRouterPool.REQ_TIMEOUT);
-					futures.add(future);
-				}
-				Future<Iterable<Object>> objects = Futures.sequence(futures,
-						RequestRouterPool.getActorSystem().dispatcher());
-				Iterable<Object> responses = Await.result(objects, RequestRouterPool.WAIT_TIMEOUT.duration());
-				if (null != responses) {
-					List<Object> list = new ArrayList<Object>();
-					Response response = new Response();
-					for (Object obj : responses) {
-						if (obj instanceof Response) {
-							Response res = (Response) obj;
-							if (!checkError(res)) {
-								Object vo = res.get(paramName);
-								response = copyResponse(response, res);
-								if (null != vo) {
-									list.add(vo);
-								}
-							} else {
-								return res;
-							}
-						} else {
-							return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error",
-									ResponseCode.SERVER_ERROR);
-						}
-					}
-					response.put(returnParam, list);
-					return response;
-				} else {
-					return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
-				}
-			} catch (Exception e) {
-				TelemetryManager.error("ERROR! Something went wrong: " + e.getMessage(), e);
-				throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
+		return getResult(getResponseAsync(requests, null, paramName, returnParam));
+	}
+
+	/**
+	 * Sends the requests together and collects the paramName value of each
+	 * response in the returnParam list of the response.
+	 *
+	 * @param requests
+	 * @param router
+	 *            the router to ask, the request router of the pool if null
+	 * @param paramName
+	 * @param returnParam
+	 * @return the response, the first error response if any of them failed
+	 */
+	protected CompletionStage<Response> getResponseAsync(List<Request> requests, ActorRef router, String paramName,
+			String returnParam) {
+		if (null == requests || requests.isEmpty())
+			return CompletableFuture.completedFuture(
+					ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR));
+		List<CompletableFuture<Response>> futures = new ArrayList<CompletableFuture<Response>>();
+		for (Request request : requests)
+			futures.add(getResponseAsync(request, router).toCompletableFuture());
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).thenApply(v -> {
+			List<Object> list = new ArrayList<Object>();
+			Response response = new Response();
+			for (CompletableFuture<Response> future : futures) {
+				Response res = future.join();
+				if (checkError(res))
+					return res;
+				Object vo = res.get(paramName);
+				response = copyResponse(response, res);
+				if (null != vo)
+					list.add(vo);
 			}
-		} else {
-			return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
-		}
+			response.put(returnParam, list);
+			return response;
+		});
 	}
 
 	protected Request setContext(Request request, String graphId, String manager, String operation) {
@@ -6,7 +6,12 @@ import java.util.Map;
 import org.sunbird.common.dto.Request;
 import org.sunbird.common.dto.Response;
 import org.sunbird.graph.cache.factory.JedisFactory;
+import org.sunbird.graph.cache.local.RedisNearCache;
+import org.sunbird.graph.cache.mgr.impl.NodeCacheManager;
+import org.sunbird.graph.common.Bulkhead;
 import org.sunbird.graph.engine.router.GraphEngineManagers;
+import org.sunbird.graph.service.util.DriverUtil;
+import org.sunbird.telemetry.sink.AsyncEventSink;
 
 import redis.clients.jedis.Jedis;
 public abstract class HealthCheckManager extends BaseManager{
@@ -26,6 +31,10 @@ public abstract class HealthCheckManager extends BaseManager{
 	            check.put("errmsg", getErrorMessage(res)); // default English error message 				
 			} else {
 				check.put("healthy", true);
+				check.put("drivers", DriverUtil.getStats());
+				check.put("bulkheads", Bulkhead.getAllStats());
+				check.put("nodeCache", NodeCacheManager.getStats());
+				check.put("eventSinks", AsyncEventSink.getAllStats());
 			}
 
 		}catch (Exception e) {
@@ -45,6 +54,8 @@ public abstract class HealthCheckManager extends BaseManager{
         	Jedis jedis = JedisFactory.getRedisConncetion();
             jedis.close();
     		check.put("healthy", true);
+    		if (RedisNearCache.isEnabled())
+    			check.put("nearCache", RedisNearCache.getStats());
         } catch (Exception e) {
         	e.printStackTrace();
     		check.put("healthy", false);
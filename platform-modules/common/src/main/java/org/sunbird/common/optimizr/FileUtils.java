@@ -5,7 +5,6 @@
 package org.sunbird.common.optimizr;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -13,7 +12,6 @@ import java.text.DecimalFormat;
 import java.util.Enumeration;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipOutputStream;
 
 import javax.activation.MimetypesFileTypeMap;
 
@@ -26,7 +24,13 @@ import org.sunbird.telemetry.logger.TelemetryManager;
 public class FileUtils {
 
     private static DecimalFormat decimalFormat = new DecimalFormat("#.00");
-    private static MimetypesFileTypeMap mimeTypesMap = null;
+    private static final MimetypesFileTypeMap mimeTypesMap = new MimetypesFileTypeMap();
+
+    static {
+        mimeTypesMap.addMimeTypes("image png jpg jpeg");
+        mimeTypesMap.addMimeTypes("audio mp3 ogg wav");
+        mimeTypesMap.addMimeTypes("video mp4");
+    }
 
     public static long printFileSize(String fileName) {
         File file = new File(fileName);
@@ -80,7 +84,7 @@ public class FileUtils {
                 // Extract the file
                 InputStream is = zipFile.getInputStream(zipEntry);
                 FileOutputStream fos = new FileOutputStream(file);
-                byte[] bytes = new byte[1024];
+                byte[] bytes = new byte[65536];
                 int length;
                 while ((length = is.read(bytes)) >= 0) {
                     fos.write(bytes, 0, length);
@@ -98,32 +102,20 @@ public class FileUtils {
     public static void compress(String zipFileName, String dir) throws Exception {
     	TelemetryManager.log("compress | zipFileName =" + zipFileName + " | dir =" + dir);
     	File dirObj = new File(dir);
-        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zipFileName, false));
         System.out.println("Creating : " + zipFileName);
-        addDir(dirObj, out, dirObj);
-        out.close();
+        try (ZipEntryWriter out = new ZipEntryWriter(new File(zipFileName), dirObj, null)) {
+            addDir(dirObj, out);
+        }
     }
     
-    private static void addDir(File dirObj, ZipOutputStream out, File baseDir) throws IOException {
+    private static void addDir(File dirObj, ZipEntryWriter out) throws IOException {
         File[] files = dirObj.listFiles();
-        byte[] tmpBuf = new byte[1024];
-
         for (int i = 0; i < files.length; i++) {
             if (files[i].isDirectory()) {
-                addDir(files[i], out, baseDir);
+                addDir(files[i], out);
                 continue;
             }
-            FileInputStream in = new FileInputStream(files[i].getAbsolutePath());
-            String relative = baseDir.toURI().relativize(files[i].toURI()).getPath();
-            // System.out.println(" Adding: " + relative);
-            
-            out.putNextEntry(new ZipEntry(relative));
-            int len;
-            while ((len = in.read(tmpBuf)) > 0) {
-                out.write(tmpBuf, 0, len);
-            }
-            out.closeEntry();
-            in.close();
+            out.add(files[i]);
         }
     }
     
@@ -143,13 +135,6 @@ public class FileUtils {
 
         if (file.isDirectory()) return FileType.Directory;
         
-        if (mimeTypesMap == null) {
-            mimeTypesMap = new MimetypesFileTypeMap();
-            mimeTypesMap.addMimeTypes("image png jpg jpeg");
-            mimeTypesMap.addMimeTypes("audio mp3 ogg wav");
-            mimeTypesMap.addMimeTypes("video mp4");
-        }
-        
         String mimeType = mimeTypesMap.getContentType(file);
         
         if (mimeType != null) {
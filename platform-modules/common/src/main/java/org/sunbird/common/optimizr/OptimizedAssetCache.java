@@ -0,0 +1,133 @@
+package org.sunbird.common.optimizr;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.sunbird.common.Platform;
+import org.sunbird.telemetry.logger.TelemetryManager;
+
+/**
+ * Keeps the outputs of the processors on disk by the content hash of their
+ * input, so that an asset already optimized (e.g. in a previous version of the
+ * ECAR) is copied instead of being processed again. The entries not used for
+ * optimizr.cache.ttl seconds are deleted.
+ */
+public class OptimizedAssetCache {
+
+	private static final boolean enabled = Platform.config.hasPath("optimizr.cache.enabled")
+			? Platform.config.getBoolean("optimizr.cache.enabled") : true;
+	private static final String cacheDir = Platform.config.hasPath("optimizr.cache.dir")
+			? Platform.config.getString("optimizr.cache.dir") : "/data/contentBundle/optimizr_cache";
+	private static final long cacheTtl = Platform.config.hasPath("optimizr.cache.ttl")
+			? Platform.config.getLong("optimizr.cache.ttl") : 604800;
+	private static final long EVICT_INTERVAL = TimeUnit.HOURS.toMillis(1);
+	private static final int BUFFER_SIZE = 65536;
+
+	private static volatile OptimizedAssetCache instance;
+
+	private final File dir;
+	private final long ttl;
+	private volatile long lastEviction;
+
+	public OptimizedAssetCache(File dir, long ttl) {
+		this.dir = dir;
+		this.ttl = ttl;
+	}
+
+	/**
+	 * @return the configured cache, or null if it is disabled
+	 */
+	public static OptimizedAssetCache getInstance() {
+		if (enabled && null == instance) {
+			synchronized (OptimizedAssetCache.class) {
+				if (null == instance)
+					instance = new OptimizedAssetCache(new File(cacheDir), TimeUnit.SECONDS.toMillis(cacheTtl));
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets the key of the output of the processor for the current content of
+	 * the file.
+	 */
+	public String getKey(Processor processor, File file) throws IOException {
+		return processor.getClass().getSimpleName() + "_" + hash(file);
+	}
+
+	/**
+	 * Replaces the content of the file with the cached output of the key.
+	 *
+	 * @return false if the output is not cached
+	 */
+	public boolean restore(String key, File file) throws IOException {
+		File cached = new File(dir, key);
+		if (!cached.isFile())
+			return false;
+		try {
+			Files.copy(cached.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			cached.setLastModified(System.currentTimeMillis());
+			return true;
+		} catch (NoSuchFileException e) {
+			return false;
+		}
+	}
+
+	public void save(String key, File output) {
+		try {
+			if (!dir.exists())
+				dir.mkdirs();
+			File temp = File.createTempFile(key, ".tmp", dir);
+			Files.copy(output.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			Files.move(temp.toPath(), new File(dir, key).toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			TelemetryManager.warn("Failed to cache the optimized asset: " + key + ". " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Deletes the expired entries, at most once an hour.
+	 *
+	 * @return the number of entries deleted
+	 */
+	public int evictExpired() {
+		long now = System.currentTimeMillis();
+		if (now - lastEviction < EVICT_INTERVAL)
+			return 0;
+		lastEviction = now;
+		int count = 0;
+		File[] files = dir.listFiles();
+		if (null != files)
+			for (File file : files)
+				if (now - file.lastModified() > ttl && file.delete())
+					count++;
+		if (count > 0)
+			TelemetryManager.log("Deleted " + count + " expired assets from the optimizr cache.");
+		return count;
+	}
+
+	private static String hash(File file) throws IOException {
+		try (InputStream in = new FileInputStream(file)) {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int length;
+			while ((length = in.read(buffer)) > 0)
+				digest.update(buffer, 0, length);
+			StringBuilder hash = new StringBuilder();
+			for (byte b : digest.digest())
+				hash.append(String.format("%02x", b));
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+}
@@ -38,6 +38,9 @@ public class Optimizr {
 		if(!tempDir.exists())
 			tempDir.mkdir();
 		FileUtils.extract(input, temp);
+		OptimizedAssetCache cache = OptimizedAssetCache.getInstance();
+		if (null != cache)
+			cache.evictExpired();
 		optimzeZip(tempDir);
 		
 		String outputFileName = inputFieName + ".min";
@@ -75,16 +78,23 @@ public class Optimizr {
         Statistics stats = new Statistics();
         stats.start(zipFile.length());
         
+        long start = System.nanoTime();
         FileUtils.extract(zipFile, tempDir.getPath());
+        stats.addTime("extract", System.nanoTime() - start);
         
-        RecursiveProcessor recusriveProc = new RecursiveProcessor(stats);
+        RecursiveProcessor recusriveProc = new RecursiveProcessor(stats, OptimizedAssetCache.getInstance());
         recusriveProc.addProcessor(new MonoChannelProcessor());
         recusriveProc.addProcessor(new ResizeImagemagickProcessor());
         //recusriveProc.addProcessor(new ResolutionProcessor());
         
-        recusriveProc.process(tempDir);
-        
-        FileUtils.compress(zipFile.getPath(), tempDir.getPath());
+        // the files are zipped as they are processed
+        start = System.nanoTime();
+        File output = new File(zipFile.getPath() + ".tmp");
+        try (ZipEntryWriter zip = new ZipEntryWriter(output, tempDir, stats)) {
+        	recusriveProc.process(tempDir, zip);
+        }
+        FileUtils.replace(zipFile, output);
+        stats.addTime("process", System.nanoTime() - start);
         stats.end(zipFile.length());
         
         stats.print();
@@ -7,55 +7,67 @@ package org.sunbird.common.optimizr;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
 
+import org.sunbird.common.Platform;
+import org.sunbird.common.exception.ServerException;
 import org.sunbird.telemetry.logger.TelemetryManager;
 
 /**
+ * Applies the processors to all the files of a directory. The directories and
+ * the files are processed in parallel on a work stealing pool
+ * (optimizr.parallelism threads) and the external tools (ImageMagick, FFmpeg)
+ * run at most optimizr.tool.max_processes at a time across all the
+ * optimizations. The outputs are cached by the content of their input, see
+ * {@link OptimizedAssetCache}.
  *
  * @author feroz
  */
 public class RecursiveProcessor implements Processor {
 
+    private static final int parallelism = Platform.config.hasPath("optimizr.parallelism")
+            ? Platform.config.getInt("optimizr.parallelism") : Runtime.getRuntime().availableProcessors();
+    private static final int maxProcesses = Platform.config.hasPath("optimizr.tool.max_processes")
+            ? Platform.config.getInt("optimizr.tool.max_processes") : Runtime.getRuntime().availableProcessors();
+    private static final ForkJoinPool pool = new ForkJoinPool(parallelism);
+    private static final Semaphore processes = new Semaphore(maxProcesses, true);
+
     protected List<Processor> processors = new ArrayList<Processor>();
     protected Statistics stats = null;
-    
+    protected OptimizedAssetCache cache = null;
+
     public RecursiveProcessor(Statistics stats) {
         this.stats = stats;
     }
-    
+
+    public RecursiveProcessor(Statistics stats, OptimizedAssetCache cache) {
+        this.stats = stats;
+        this.cache = cache;
+    }
+
     public void addProcessor(Processor proc) {
         this.processors.add(proc);
     }
-    
+
     //@Override
     public File process(File dir) {
+        return process(dir, null);
+    }
+
+    /**
+     * Processes the files of the directory, adding each one to the zip once
+     * it is processed.
+     *
+     * @param dir
+     * @param zip
+     *            the zip to write the files to, can be null
+     * @return the directory
+     */
+    public File process(File dir, ZipEntryWriter zip) {
         if (dir.isDirectory()) {
-            File[] files = dir.listFiles();
-            for (int i = 0; i < files.length; i++) {
-                if (files[i].isDirectory()) {
-                    process(files[i]);
-                    continue;
-                }
-                
-                File file = files[i];
-                FileType type = FileUtils.getFileType(file);
-                long rawSize = file.length();
-                long redSize = 0;
-                
-                for (Processor proc : processors) {
-                    if (proc.isApplicable(type)) {
-                        try {
-                        	TelemetryManager.log("Processing file: " + file.getName());
-                            File output = proc.process(file);
-                            if (output != null) redSize = output.length();
-                            stats.update(type, rawSize, redSize);
-                        }
-                        catch (Exception ex) {
-                        	TelemetryManager.warn("Failed to apply processor: " + proc.getClass() + " on file: " + file.getName());
-                        }
-                    }
-                }
-            }
+            pool.invoke(new FileTask(dir, zip));
             return dir;
         }
         return null;
@@ -64,4 +76,79 @@ public class RecursiveProcessor implements Processor {
     public boolean isApplicable(FileType type) {
         return (type == FileType.Directory);
     }
+
+    private void processFile(File file) {
+        FileType type = FileUtils.getFileType(file);
+        long rawSize = file.length();
+        long redSize = 0;
+
+        for (Processor proc : processors) {
+            if (proc.isApplicable(type)) {
+                try {
+                    long start = System.nanoTime();
+                    String key = (null == cache) ? null : cache.getKey(proc, file);
+                    if (null != key && cache.restore(key, file)) {
+                        stats.addTime("cache", System.nanoTime() - start);
+                        stats.cached();
+                        stats.update(type, rawSize, file.length());
+                        continue;
+                    }
+                    TelemetryManager.log(() -> "Processing file: " + file.getName());
+                    File output = runTool(proc, file);
+                    if (output != null) {
+                        redSize = output.length();
+                        if (null != key)
+                            cache.save(key, output);
+                    }
+                    stats.update(type, rawSize, redSize);
+                }
+                catch (Exception ex) {
+                    TelemetryManager.warn("Failed to apply processor: " + proc.getClass() + " on file: " + file.getName());
+                }
+            }
+        }
+    }
+
+    private File runTool(Processor proc, File file) throws InterruptedException {
+        processes.acquire();
+        long start = System.nanoTime();
+        try {
+            return proc.process(file);
+        } finally {
+            stats.addTime("tool", System.nanoTime() - start);
+            processes.release();
+        }
+    }
+
+    private class FileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final File file;
+        private final ZipEntryWriter zip;
+
+        private FileTask(File file, ZipEntryWriter zip) {
+            this.file = file;
+            this.zip = zip;
+        }
+
+        @Override
+        protected void compute() {
+            if (file.isDirectory()) {
+                File[] files = file.listFiles();
+                List<FileTask> tasks = new ArrayList<FileTask>(files.length);
+                for (File child : files)
+                    tasks.add(new FileTask(child, zip));
+                invokeAll(tasks);
+                return;
+            }
+            processFile(file);
+            if (null != zip) {
+                try {
+                    zip.add(file);
+                } catch (Exception e) {
+                    throw new ServerException("ERR_OPTIMIZR_ZIP", "Failed to add file: " + file.getName() + " to the zip.", e);
+                }
+            }
+        }
+    }
 }
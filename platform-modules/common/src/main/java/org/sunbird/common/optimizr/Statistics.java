@@ -5,10 +5,18 @@
 package org.sunbird.common.optimizr;
 
 import java.text.DecimalFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.sunbird.telemetry.logger.TelemetryManager;
 
 /**
+ * Sizes of the optimized assets and the time spent in each stage. The stages
+ * run on several threads, the times of the per-file stages (tool, cache, zip)
+ * are the sums over the files.
  *
  * @author feroz
  */
@@ -28,20 +36,63 @@ public class Statistics {
     private long redSize = 0;
     private long begin = 0;
     private long end = 0;
+    private final LongAdder cachedAssets = new LongAdder();
+    private final Map<String, LongAdder> stageTimes = new ConcurrentHashMap<String, LongAdder>();
 
-    public void print() {
+    public synchronized void print() {
         System.out.println("---- Summary ----");
         TelemetryManager.log("    Compressed Zip: before - " + toMB(rawSize) + ", after - " + toMB(redSize) + " %n");
         TelemetryManager.log("    Audio Files: " +audioAssets + ", before - " + toMB(audioSizeRaw) + ", after - " + toMB(audioSizeRed) + ", %n");
         TelemetryManager.log("    Audio Files: " +imageAssets + ", before - " + toMB(imageSizeRaw) + ", after - " + toMB(imageSizeRed) + ", %n");
         TelemetryManager.log("    Video Files: " +videoAssets + ", before - " + toMB(videoSizeRaw) + ", after - " + toMB(videoSizeRed) + ", %n");
         TelemetryManager.log("    Optimized in" + (end - begin) + " ms %n");
+        TelemetryManager.log("    Cached Files: " + cachedAssets.sum() + ", stages (ms) - " + getStageTimes() + " %n");
         System.out.printf("    Optimization Ratio: %.2f%% of original %n", (redSize * 100.0 / rawSize));
         System.out.printf("    Compressed Zip: before - %s, after - %s %n", toMB(rawSize), toMB(redSize));
         System.out.printf("    Audio Files: %d, before - %s, after - %s, %n", audioAssets, toMB(audioSizeRaw), toMB(audioSizeRed));
         System.out.printf("    Image Files: %d, before - %s, after - %s, %n", imageAssets, toMB(imageSizeRaw), toMB(imageSizeRed));
         System.out.printf("    Video Files: %d, before - %s, after - %s, %n", videoAssets, toMB(videoSizeRaw), toMB(videoSizeRed));
         System.out.printf("    Optimized in %d ms %n", (end - begin));
+        System.out.printf("    Cached Files: %d, stages (ms) - %s %n", cachedAssets.sum(), getStageTimes());
+    }
+
+    /**
+     * Adds the time spent in a stage, e.g. extract, process, tool or zip.
+     *
+     * @param stage
+     * @param nanos
+     */
+    public void addTime(String stage, long nanos) {
+        stageTimes.computeIfAbsent(stage, key -> new LongAdder()).add(nanos);
+    }
+
+    public void cached() {
+        cachedAssets.increment();
+    }
+
+    public long getCachedAssets() {
+        return cachedAssets.sum();
+    }
+
+    public synchronized int getAssets(FileType type) {
+        switch (type) {
+            case Audio:
+                return audioAssets;
+            case Video:
+                return videoAssets;
+            case Image:
+                return imageAssets;
+            default:
+                return 0;
+        }
+    }
+
+    /** Time spent in each stage, in milliseconds. */
+    public Map<String, Long> getStageTimes() {
+        Map<String, Long> times = new TreeMap<String, Long>();
+        for (Map.Entry<String, LongAdder> entry : stageTimes.entrySet())
+            times.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue().sum()));
+        return times;
     }
 
     public void start(long rawSize) {
@@ -54,7 +105,7 @@ public class Statistics {
         this.redSize = redSize;
     }
 
-    public void update(FileType type, long rawSize, long reducedSize) {
+    public synchronized void update(FileType type, long rawSize, long reducedSize) {
         switch (type) {
             case Audio: {
                 audioAssets++;
@@ -0,0 +1,68 @@
+package org.sunbird.common.optimizr;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * Writes the files of a directory to a zip as they are added, so that a zip
+ * can be written while the other files are still being optimized. The media
+ * formats which are already compressed are stored without compression.
+ */
+public class ZipEntryWriter implements Closeable {
+
+	private static final int BUFFER_SIZE = 65536;
+	private static final Set<String> compressedExtensions = new HashSet<String>(
+			Arrays.asList("png", "jpg", "jpeg", "gif", "webp", "mp3", "ogg", "mp4", "webm", "zip", "ecar", "gz"));
+
+	private final ZipOutputStream out;
+	private final File baseDir;
+	private final Statistics stats;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	/**
+	 * @param zipFile
+	 *            the zip to write
+	 * @param baseDir
+	 *            the directory the entry names are relative to
+	 * @param stats
+	 *            the statistics to add the zip time to, can be null
+	 */
+	public ZipEntryWriter(File zipFile, File baseDir, Statistics stats) throws IOException {
+		this.out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile, false), BUFFER_SIZE));
+		this.baseDir = baseDir;
+		this.stats = stats;
+	}
+
+	public synchronized void add(File file) throws IOException {
+		long start = System.nanoTime();
+		String relative = baseDir.toURI().relativize(file.toURI()).getPath();
+		boolean compressed = compressedExtensions.contains(FilenameUtils.getExtension(file.getName()).toLowerCase());
+		out.setLevel(compressed ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+		out.putNextEntry(new ZipEntry(relative));
+		try (InputStream in = new FileInputStream(file)) {
+			int length;
+			while ((length = in.read(buffer)) > 0)
+				out.write(buffer, 0, length);
+		}
+		out.closeEntry();
+		if (null != stats)
+			stats.addTime("zip", System.nanoTime() - start);
+	}
+
+	public synchronized void close() throws IOException {
+		out.close();
+	}
+}
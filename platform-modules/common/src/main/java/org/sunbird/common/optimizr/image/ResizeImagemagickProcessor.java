@@ -6,7 +6,6 @@ package org.sunbird.common.optimizr.image;
 
 import java.io.File;
 
-import org.apache.commons.io.FilenameUtils;
 import org.sunbird.common.optimizr.FileUtils;
 import org.im4java.core.ConvertCmd;
 import org.im4java.core.IMOperation;
@@ -24,8 +23,9 @@ public class ResizeImagemagickProcessor extends ImageProcessor {
         try {
             // File names
             String inputFileName = file.getAbsolutePath();
-            String outputFileName = file.getAbsolutePath().replaceAll("\\.", "\\."+outputFileNameSuffix+"\\.");
-            outputFileName = FilenameUtils.getName(outputFileName);
+            // next to the input, the files of a directory are resized in parallel
+            String outputFileName = file.getName().replaceAll("\\.", "\\."+outputFileNameSuffix+"\\.");
+            outputFileName = new File(file.getParentFile(), outputFileName).getPath();
 
             // set optimize width and height
             int ow = width;
@@ -7,36 +7,53 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.Platform;
+import org.sunbird.graph.cache.local.BoundedLocalCache;
 import org.sunbird.graph.cache.util.RedisStoreUtil;
+import org.sunbird.graph.model.cache.CategoryCache;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
+/**
+ * Caches the framework hierarchies in Redis, one key for the framework
+ * metadata (fw_{id}) and one key per category (fw_{id}_{version}_{code}), so
+ * that each category is stored once whatever the combinations of categories
+ * read. The responses are assembled on read from the parsed categories, kept
+ * in a local cache. The version is a digest of the categories, a new hierarchy
+ * never reads the categories of an older one.
+ */
 public class FrameworkCache {
 
     private static final int cacheTtl = Platform.config.hasPath("framework.cache.ttl") ? Platform.config.getInt("framework.cache.ttl") : 86400;
     protected static boolean cacheEnabled = Platform.config.hasPath("framework.cache.read") ? Platform.config.getBoolean("framework.cache.read") : false;
+    private static final int localMaxSize = Platform.config.hasPath("framework.cache.local.max_size") ? Platform.config.getInt("framework.cache.local.max_size") : 1000;
     private static final String CACHE_PREFIX = "fw_";
+    private static final String CATEGORIES = "categories";
+    private static final String CACHE_VERSION = "cacheVersion";
     protected static ObjectMapper mapper = new ObjectMapper();
+    private static final BoundedLocalCache<String, Map<String, Object>> categoryCache = new BoundedLocalCache<>("framework_categories", localMaxSize, cacheTtl * 1000L);
 
 
-    protected static String getFwCacheKey(String identifier, List<String> categoryNames) {
-        Collections.sort(categoryNames);
-        return CACHE_PREFIX + identifier.toLowerCase() + "_" + categoryNames.stream().map(cat -> cat.toLowerCase()).collect(Collectors.joining("_"));
+    protected static String getFwCacheKey(String identifier) {
+        return CACHE_PREFIX + identifier.toLowerCase();
+    }
+
+    protected static String getCategoryCacheKey(String identifier, String version, String category) {
+        return CACHE_PREFIX + identifier.toLowerCase() + "_" + version + "_" + category;
     }
 
 
     public static Map<String, Object> get(String id, List<String> returnCategories) throws IOException {
         if(cacheEnabled) {
             if(CollectionUtils.isNotEmpty(returnCategories)) {
-                Collections.sort(returnCategories);
-                String cachedCategories = RedisStoreUtil.get(getFwCacheKey(id, returnCategories));
-                if(StringUtils.isNotBlank(cachedCategories)) {
-                    return mapper.readValue(cachedCategories, new TypeReference<Map<String, Object>>(){});
-                }
+                return assemble(id, RedisStoreUtil.get(getFwCacheKey(id)), returnCategories, RedisStoreUtil::get);
             } else {
                 String frameworkMetadata = RedisStoreUtil.get(id);
                 if(StringUtils.isNotBlank(frameworkMetadata)) {
@@ -48,17 +65,137 @@ public class FrameworkCache {
     }
 
 
-    public static void save(Map<String, Object> framework, List<String> categoryNames) throws JsonProcessingException {
-        if(cacheEnabled && MapUtils.isNotEmpty(framework) && StringUtils.isNotBlank((String) framework.get("identifier")) && CollectionUtils.isNotEmpty(categoryNames)) {
-            Collections.sort(categoryNames);
-            String key = getFwCacheKey((String) framework.get("identifier"), categoryNames);
-            RedisStoreUtil.save(key, mapper.writeValueAsString(framework), cacheTtl);
+    /**
+     * Saves the framework with all its categories, the responses for any
+     * combination of categories are assembled from it.
+     *
+     * @param framework the framework hierarchy, before filtering the categories
+     * @throws JsonProcessingException
+     */
+    public static void save(Map<String, Object> framework) throws JsonProcessingException {
+        if(cacheEnabled && MapUtils.isNotEmpty(framework) && StringUtils.isNotBlank((String) framework.get("identifier"))) {
+            for (Map.Entry<String, String> entry : getCacheEntries(framework).entrySet())
+                RedisStoreUtil.save(entry.getKey(), entry.getValue(), cacheTtl);
         }
     }
 
+    @SuppressWarnings("unchecked")
     public static void delete(String id) {
-        if(StringUtils.isNotBlank(id))
-            RedisStoreUtil.deleteByPattern(CACHE_PREFIX + id + "_*");
+        if(StringUtils.isNotBlank(id)) {
+            List<String> keys = new ArrayList<>();
+            keys.add(getFwCacheKey(id));
+            try {
+                String metadata = RedisStoreUtil.get(getFwCacheKey(id));
+                if (StringUtils.isNotBlank(metadata)) {
+                    Map<String, Object> framework = mapper.readValue(metadata, new TypeReference<Map<String, Object>>(){});
+                    String version = (String) framework.get(CACHE_VERSION);
+                    for (Object code : (List<Object>) framework.get(CATEGORIES))
+                        keys.add(getCategoryCacheKey(id, version, (String) code));
+                }
+            } catch (Exception e) {
+                // the category keys expire with the ttl
+            }
+            RedisStoreUtil.delete(keys.toArray(new String[0]));
+            String prefix = CACHE_PREFIX + id.toLowerCase() + "_";
+            categoryCache.removeIf((key, value) -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Gets the keys and the values to save for the framework, the category keys
+     * first and the metadata key last so that a reader never finds the
+     * metadata of a version without its categories.
+     */
+    static Map<String, String> getCacheEntries(Map<String, Object> framework) throws JsonProcessingException {
+        String id = (String) framework.get("identifier");
+        Map<String, Map<String, Object>> categories = CategoryCache.getCategories(framework);
+        Map<String, String> categoryValues = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Object>> category : categories.entrySet())
+            categoryValues.put(category.getKey(), mapper.writeValueAsString(category.getValue()));
+        String version = getVersion(categoryValues);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (Map.Entry<String, String> category : categoryValues.entrySet())
+            entries.put(getCategoryCacheKey(id, version, category.getKey()), category.getValue());
+        Map<String, Object> metadata = new LinkedHashMap<>(framework);
+        metadata.put(CATEGORIES, new ArrayList<>(categories.keySet()));
+        metadata.put(CACHE_VERSION, version);
+        entries.put(getFwCacheKey(id), mapper.writeValueAsString(metadata));
+        return entries;
+    }
+
+    /**
+     * Assembles the framework with the categories to return, in the order of
+     * the framework. The categories are copies, the caller can filter them.
+     *
+     * @return the framework or null if the metadata or a category is not cached
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> assemble(String id, String metadata, List<String> returnCategories,
+            Function<String, String> reader) throws IOException {
+        if(StringUtils.isBlank(metadata))
+            return null;
+        Map<String, Object> framework = mapper.readValue(metadata, new TypeReference<Map<String, Object>>(){});
+        String version = (String) framework.remove(CACHE_VERSION);
+        List<Object> codes = (List<Object>) framework.get(CATEGORIES);
+        if(StringUtils.isBlank(version) || null == codes)
+            return null;
+        List<Object> categories = new ArrayList<>();
+        for (Object code : codes) {
+            if (!returnCategories.contains(code))
+                continue;
+            Map<String, Object> category = getCategory(getCategoryCacheKey(id, version, (String) code), reader);
+            if (null == category)
+                return null;
+            categories.add(copy(category));
+        }
+        framework.put(CATEGORIES, categories);
+        return framework;
+    }
+
+    private static Map<String, Object> getCategory(String key, Function<String, String> reader) throws IOException {
+        Map<String, Object> category = categoryCache.get(key);
+        if (null == category) {
+            String value = reader.apply(key);
+            if (StringUtils.isBlank(value))
+                return null;
+            category = mapper.readValue(value, new TypeReference<Map<String, Object>>(){});
+            categoryCache.put(key, category);
+        }
+        return category;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copy(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet())
+                copy.put(entry.getKey(), copy(entry.getValue()));
+            return copy;
+        } else if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<Object>) value).size());
+            for (Object item : (List<Object>) value)
+                copy.add(copy(item));
+            return copy;
+        }
+        return value;
+    }
+
+    private static String getVersion(Map<String, String> categoryValues) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            for (Map.Entry<String, String> category : categoryValues.entrySet()) {
+                digest.update(category.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update(category.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder version = new StringBuilder();
+            byte[] hash = digest.digest();
+            for (int i = 0; i < 8; i++)
+                version.append(String.format("%02x", hash[i]));
+            return version.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return String.valueOf(System.currentTimeMillis());
+        }
     }
 
 }
@@ -0,0 +1,35 @@
+package org.sunbird.kafka;
+
+import org.sunbird.telemetry.handler.Level;
+import org.sunbird.telemetry.handler.TelemetryHandler;
+import org.sunbird.telemetry.handler.TelemetryLoggingHandler;
+
+/**
+ * Publishes the audit events to the Kafka topic kafka.topic.audit through the
+ * {@link KafkaEventPublisher}. An event which cannot be sent is logged instead,
+ * so that it is not lost.
+ */
+public class KafkaAuditHandler implements TelemetryHandler {
+
+	private final TelemetryHandler fallbackHandler = new TelemetryLoggingHandler();
+	private final String topic;
+
+	public KafkaAuditHandler(String topic) {
+		this.topic = topic;
+	}
+
+	public void send(String event, Level level) {
+		send(event, level, false);
+	}
+
+	public void send(String event, Level level, boolean telemetry) {
+		try {
+			KafkaEventPublisher.getInstance().sendAsync(event, topic).whenComplete((metadata, e) -> {
+				if (null != e)
+					fallbackHandler.send(event, level, telemetry);
+			});
+		} catch (Exception e) {
+			fallbackHandler.send(event, level, telemetry);
+		}
+	}
+}
@@ -0,0 +1,302 @@
+package org.sunbird.kafka;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.LongSerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.sunbird.common.Platform;
+import org.sunbird.common.exception.ClientException;
+import org.sunbird.common.exception.ServerException;
+import org.sunbird.telemetry.logger.TelemetryManager;
+
+/**
+ * Publisher of the events of the platform (publish, instruction and audit
+ * events) to Kafka. It is safe for concurrent use, all the callers share one
+ * producer.
+ * <p>
+ * The topics of the cluster are cached and refreshed in the background every
+ * kafka.topic.refresh_interval milliseconds, an unknown topic triggers a
+ * refresh at most every kafka.topic.min_refresh_interval milliseconds. A
+ * failed refresh is retried with an exponential backoff, and the last known
+ * topics are used meanwhile. The
+ * batching of the producer is configured with kafka.producer.linger_ms,
+ * kafka.producer.batch_size, kafka.producer.compression_type and
+ * kafka.producer.acks. At most kafka.producer.max_in_flight events are sent
+ * and not yet acknowledged, a sender waits up to
+ * kafka.producer.max_in_flight_wait_ms for the budget before being rejected.
+ */
+public class KafkaEventPublisher {
+
+	private static final String BOOTSTRAP_SERVERS = "kafka.urls";
+	private static final String TOPIC_REFRESH_INTERVAL = "kafka.topic.refresh_interval";
+	private static final String TOPIC_MIN_REFRESH_INTERVAL = "kafka.topic.min_refresh_interval";
+	private static final String LINGER_MS = "kafka.producer.linger_ms";
+	private static final String BATCH_SIZE = "kafka.producer.batch_size";
+	private static final String COMPRESSION_TYPE = "kafka.producer.compression_type";
+	private static final String ACKS = "kafka.producer.acks";
+	private static final String MAX_IN_FLIGHT = "kafka.producer.max_in_flight";
+	private static final String MAX_IN_FLIGHT_WAIT = "kafka.producer.max_in_flight_wait_ms";
+
+	private static final long TOPIC_LIST_TIMEOUT = 30000;
+
+	private static volatile KafkaEventPublisher instance;
+
+	private final Producer<Long, String> producer;
+	private final Callable<Set<String>> topicLister;
+	private final long refreshInterval;
+	private final long minRefreshInterval;
+	private final Semaphore inFlight;
+	private final int maxInFlight;
+	private final long maxInFlightWait;
+
+	private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "kafka-topic-refresh");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private volatile Set<String> topics = Collections.emptySet();
+	private volatile long refreshedAt = Long.MIN_VALUE / 2;
+	/** The earliest time of the next refresh, guarded by this. */
+	private long nextRefreshAt = Long.MIN_VALUE;
+	/** The refresh in progress, guarded by this. */
+	private CompletableFuture<Set<String>> refresh;
+	/** The number of failed refreshes in a row, guarded by this. */
+	private int refreshFailures = 0;
+
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder refreshes = new LongAdder();
+	private final LongAdder failedRefreshes = new LongAdder();
+
+	KafkaEventPublisher(Producer<Long, String> producer, Callable<Set<String>> topicLister, long refreshInterval,
+			long minRefreshInterval, int maxInFlight, long maxInFlightWait) {
+		this.producer = producer;
+		this.topicLister = topicLister;
+		this.refreshInterval = refreshInterval;
+		this.minRefreshInterval = minRefreshInterval;
+		this.maxInFlight = maxInFlight;
+		this.inFlight = new Semaphore(maxInFlight);
+		this.maxInFlightWait = maxInFlightWait;
+	}
+
+	/**
+	 * Gets the publisher shared by the platform, the producer is created on the
+	 * first use.
+	 */
+	public static KafkaEventPublisher getInstance() {
+		if (null == instance) {
+			synchronized (KafkaEventPublisher.class) {
+				if (null == instance) {
+					String servers = Platform.config.getString(BOOTSTRAP_SERVERS);
+					AdminClient adminClient = createAdminClient(servers);
+					instance = new KafkaEventPublisher(createProducer(servers),
+							() -> adminClient.listTopics().names().get(TOPIC_LIST_TIMEOUT, TimeUnit.MILLISECONDS),
+							getLong(TOPIC_REFRESH_INTERVAL, 300000), getLong(TOPIC_MIN_REFRESH_INTERVAL, 10000),
+							(int) getLong(MAX_IN_FLIGHT, 10000), getLong(MAX_IN_FLIGHT_WAIT, 5000));
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Sends the event and returns at once. A failure to deliver the event is
+	 * logged.
+	 *
+	 * @param event
+	 * @param topic
+	 * @throws Exception
+	 *             if the topic does not exist or the in-flight budget is
+	 *             exhausted
+	 */
+	public void send(String event, String topic) throws Exception {
+		sendAsync(event, topic).whenComplete((metadata, e) -> {
+			if (null != e)
+				TelemetryManager.error("Error while sending event to topic: " + topic, e);
+		});
+	}
+
+	/**
+	 * Sends the event asynchronously. The returned future completes once Kafka
+	 * acknowledges the event, as configured by kafka.producer.acks. Its
+	 * callbacks run on the I/O thread of the producer and must not block.
+	 *
+	 * @param event
+	 * @param topic
+	 * @return the metadata of the record sent
+	 * @throws Exception
+	 *             if the topic does not exist or the in-flight budget is
+	 *             exhausted
+	 */
+	public CompletableFuture<RecordMetadata> sendAsync(String event, String topic) throws Exception {
+		if (!validate(topic)) {
+			TelemetryManager.error("Topic id: " + topic + ", does not exists.");
+			throw new ClientException("TOPIC_NOT_EXISTS_EXCEPTION", "Topic id: " + topic + ", does not exists.");
+		}
+		if (!inFlight.tryAcquire(maxInFlightWait, TimeUnit.MILLISECONDS)) {
+			rejected.increment();
+			throw new ServerException("ERR_KAFKA_PUBLISHER_OVERLOADED",
+					"Too many events in flight to Kafka, could not send event to topic: " + topic);
+		}
+		CompletableFuture<RecordMetadata> future = new CompletableFuture<RecordMetadata>();
+		try {
+			producer.send(new ProducerRecord<Long, String>(topic, event), (metadata, e) -> {
+				inFlight.release();
+				if (null == e) {
+					sent.increment();
+					future.complete(metadata);
+				} else {
+					failed.increment();
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RuntimeException e) {
+			// the callback is not invoked when the send fails before the record is queued
+			inFlight.release();
+			failed.increment();
+			throw e;
+		}
+		return future;
+	}
+
+	/**
+	 * Tells whether the topic exists, looking it up in the cached topics of the
+	 * cluster. A known topic never waits for a refresh. An unknown topic waits
+	 * for a refresh of the topics, unless one was done within the minimum
+	 * refresh interval or the refreshes are backing off after a failure.
+	 *
+	 * @param topic
+	 * @return true if the topic exists
+	 * @throws Exception
+	 *             if the topics of the cluster were never listed and cannot
+	 *             be listed
+	 */
+	public boolean validate(String topic) throws Exception {
+		if (topics.contains(topic)) {
+			if (System.currentTimeMillis() - refreshedAt >= refreshInterval)
+				refreshTopics(null);
+			return true;
+		}
+		CompletableFuture<Set<String>> refresh = refreshTopics(topic);
+		if (null == refresh)
+			return false;
+		try {
+			return refresh.get().contains(topic);
+		} catch (ExecutionException e) {
+			if (!topics.isEmpty())
+				return topics.contains(topic);
+			throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+		}
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("sent", sent.sum());
+		stats.put("failed", failed.sum());
+		stats.put("rejected", rejected.sum());
+		stats.put("inFlight", maxInFlight - inFlight.availablePermits());
+		stats.put("maxInFlight", maxInFlight);
+		stats.put("topics", topics.size());
+		stats.put("topicRefreshes", refreshes.sum());
+		stats.put("failedTopicRefreshes", failedRefreshes.sum());
+		return stats;
+	}
+
+	/**
+	 * Starts listing the topics of the cluster on the refresher thread, unless
+	 * a listing is already in progress, in which case it is returned.
+	 *
+	 * @param topic
+	 *            the unknown topic the listing is for, null for a periodic
+	 *            refresh
+	 * @return the listing, null if it is too early for another one
+	 */
+	private synchronized CompletableFuture<Set<String>> refreshTopics(String topic) {
+		if (null != refresh)
+			return refresh;
+		if (null != topic && topics.contains(topic))
+			return CompletableFuture.completedFuture(topics);
+		if (System.currentTimeMillis() < nextRefreshAt)
+			return null;
+		refresh = CompletableFuture.supplyAsync(this::listTopics, refresher);
+		return refresh;
+	}
+
+	private Set<String> listTopics() {
+		try {
+			Set<String> listed = topicLister.call();
+			synchronized (this) {
+				long now = System.currentTimeMillis();
+				topics = listed;
+				refreshedAt = now;
+				nextRefreshAt = now + minRefreshInterval;
+				refreshFailures = 0;
+				refresh = null;
+			}
+			refreshes.increment();
+			return listed;
+		} catch (Exception e) {
+			long backoff;
+			synchronized (this) {
+				refreshFailures++;
+				backoff = Math.min(Math.max(minRefreshInterval, 1000) << Math.min(refreshFailures - 1, 16),
+						refreshInterval);
+				nextRefreshAt = System.currentTimeMillis() + backoff;
+				refresh = null;
+			}
+			failedRefreshes.increment();
+			TelemetryManager.error("Error while listing the Kafka topics, retrying in " + backoff + " ms.", e);
+			throw new CompletionException(e);
+		}
+	}
+
+	private static Producer<Long, String> createProducer(String servers) {
+		Properties props = new Properties();
+		props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
+		props.put(ProducerConfig.CLIENT_ID_CONFIG, "KafkaClientProducer");
+		props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, LongSerializer.class.getName());
+		props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+		props.put(ProducerConfig.LINGER_MS_CONFIG, getLong(LINGER_MS, 5));
+		props.put(ProducerConfig.BATCH_SIZE_CONFIG, (int) getLong(BATCH_SIZE, 65536));
+		props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, getString(COMPRESSION_TYPE, "lz4"));
+		props.put(ProducerConfig.ACKS_CONFIG, getString(ACKS, "1"));
+		return new KafkaProducer<Long, String>(props);
+	}
+
+	private static AdminClient createAdminClient(String servers) {
+		Properties props = new Properties();
+		props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
+		props.put(AdminClientConfig.CLIENT_ID_CONFIG, "KafkaClientAdmin");
+		return AdminClient.create(props);
+	}
+
+	private static long getLong(String key, long defaultValue) {
+		return Platform.config.hasPath(key) ? Platform.config.getLong(key) : defaultValue;
+	}
+
+	private static String getString(String key, String defaultValue) {
+		return Platform.config.hasPath(key) ? Platform.config.getString(key) : defaultValue;
+	}
+}
@@ -0,0 +1,25 @@
+package org.sunbird.kafka;
+
+import java.util.List;
+
+import org.sunbird.telemetry.sink.EventWriter;
+
+/**
+ * Writes the batches of an event sink to a Kafka topic through the
+ * {@link KafkaEventPublisher}. The producer batches the events itself, the
+ * writer only waits for the in-flight budget.
+ */
+public class KafkaEventWriter implements EventWriter {
+
+	private final String topic;
+
+	public KafkaEventWriter(String topic) {
+		this.topic = topic;
+	}
+
+	public void write(List<String> events) throws Exception {
+		KafkaEventPublisher publisher = KafkaEventPublisher.getInstance();
+		for (String event : events)
+			publisher.send(event, topic);
+	}
+}
@@ -0,0 +1,132 @@
+package org.sunbird.common.optimizr;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RecursiveProcessorTest {
+
+	private static final int DIRS = 4;
+	private static final int IMAGES = 25;
+
+	private File workDir;
+	private AtomicInteger processed = new AtomicInteger();
+	private AtomicInteger running = new AtomicInteger();
+	private AtomicInteger maxRunning = new AtomicInteger();
+
+	/** Keeps the first half of the image, as a stand-in for ImageMagick. */
+	private Processor halfProcessor = new Processor() {
+		public boolean isApplicable(FileType type) {
+			return type == FileType.Image;
+		}
+
+		public File process(File file) {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(5);
+				byte[] content = Files.readAllBytes(file.toPath());
+				byte[] half = new byte[content.length / 2];
+				System.arraycopy(content, 0, half, 0, half.length);
+				Files.write(file.toPath(), half);
+				processed.incrementAndGet();
+				return file;
+			} catch (Exception e) {
+				return null;
+			} finally {
+				running.decrementAndGet();
+			}
+		}
+	};
+
+	@Before
+	public void setUp() throws Exception {
+		workDir = Files.createTempDirectory("optimizr_test").toFile();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		new Optimizr().delete(workDir);
+	}
+
+	private File createAssets(String name) throws Exception {
+		File dir = new File(workDir, name);
+		for (int i = 0; i < DIRS; i++) {
+			File assets = new File(dir, "assets_" + i);
+			assets.mkdirs();
+			for (int j = 0; j < IMAGES; j++)
+				Files.write(new File(assets, "image_" + j + ".png").toPath(),
+						("image " + i + " " + j + " content").getBytes(StandardCharsets.UTF_8));
+		}
+		Files.write(new File(dir, "manifest.json").toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+		return dir;
+	}
+
+	private Map<String, Long> getEntries(File zipFile) throws Exception {
+		Map<String, Long> entries = new HashMap<String, Long>();
+		try (ZipFile zip = new ZipFile(zipFile)) {
+			Enumeration<? extends ZipEntry> enu = zip.entries();
+			while (enu.hasMoreElements()) {
+				ZipEntry entry = enu.nextElement();
+				entries.put(entry.getName(), entry.getSize());
+			}
+		}
+		return entries;
+	}
+
+	private Statistics optimize(File dir, OptimizedAssetCache cache, File zipFile) throws Exception {
+		Statistics stats = new Statistics();
+		RecursiveProcessor processor = new RecursiveProcessor(stats, cache);
+		processor.addProcessor(halfProcessor);
+		try (ZipEntryWriter zip = new ZipEntryWriter(zipFile, dir, stats)) {
+			processor.process(dir, zip);
+		}
+		return stats;
+	}
+
+	@Test
+	public void testAllFilesProcessedAndZipped() throws Exception {
+		File dir = createAssets("content");
+		File zipFile = new File(workDir, "content.zip");
+		Statistics stats = optimize(dir, null, zipFile);
+
+		Assert.assertEquals(DIRS * IMAGES, processed.get());
+		Assert.assertEquals(DIRS * IMAGES, stats.getAssets(FileType.Image));
+		Map<String, Long> entries = getEntries(zipFile);
+		Assert.assertEquals(DIRS * IMAGES + 1, entries.size());
+		Assert.assertEquals(Long.valueOf("image 0 0 content".length() / 2), entries.get("assets_0/image_0.png"));
+		Assert.assertEquals(Long.valueOf(2), entries.get("manifest.json"));
+		Assert.assertTrue(stats.getStageTimes().containsKey("tool"));
+		Assert.assertTrue(stats.getStageTimes().containsKey("zip"));
+		if (Runtime.getRuntime().availableProcessors() > 1)
+			Assert.assertTrue(maxRunning.get() > 1);
+	}
+
+	@Test
+	public void testUnchangedAssetsAreRestoredFromCache() throws Exception {
+		OptimizedAssetCache cache = new OptimizedAssetCache(new File(workDir, "cache"), 60000);
+		optimize(createAssets("v1"), cache, new File(workDir, "v1.zip"));
+		Assert.assertEquals(DIRS * IMAGES, processed.get());
+
+		File v2 = createAssets("v2");
+		Files.write(new File(v2, "assets_0/image_0.png").toPath(), "changed image".getBytes(StandardCharsets.UTF_8));
+		File zipFile = new File(workDir, "v2.zip");
+		Statistics stats = optimize(v2, cache, zipFile);
+
+		Assert.assertEquals(DIRS * IMAGES + 1, processed.get());
+		Assert.assertEquals(DIRS * IMAGES - 1, stats.getCachedAssets());
+		Map<String, Long> entries = getEntries(zipFile);
+		Assert.assertEquals(Long.valueOf("image 1 1 content".length() / 2), entries.get("assets_1/image_1.png"));
+		Assert.assertEquals(Long.valueOf("changed image".length() / 2), entries.get("assets_0/image_0.png"));
+	}
+}
@@ -0,0 +1,93 @@
+package org.sunbird.common.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameworkCacheTest {
+
+	private static Map<String, Object> getFramework(String id, String subjectTerm) {
+		Map<String, Object> framework = new HashMap<String, Object>();
+		framework.put("identifier", id);
+		framework.put("name", "Test Framework");
+		List<Object> categories = new ArrayList<Object>();
+		categories.add(getCategory("board", "CBSE"));
+		categories.add(getCategory("gradeLevel", "Class 1"));
+		categories.add(getCategory("subject", subjectTerm));
+		framework.put("categories", categories);
+		return framework;
+	}
+
+	private static Map<String, Object> getCategory(String code, String termName) {
+		Map<String, Object> term = new HashMap<String, Object>();
+		term.put("name", termName);
+		term.put("category", code);
+		Map<String, Object> category = new HashMap<String, Object>();
+		category.put("code", code);
+		category.put("terms", new ArrayList<Object>(Arrays.asList(term)));
+		return category;
+	}
+
+	@Test
+	public void testOneKeyPerCategory() throws Exception {
+		Map<String, String> entries = FrameworkCache.getCacheEntries(getFramework("fw_test_1", "English"));
+		Assert.assertEquals(4, entries.size());
+		List<String> keys = new ArrayList<String>(entries.keySet());
+		Assert.assertEquals("fw_fw_test_1", keys.get(3));
+		Assert.assertTrue(keys.get(2).endsWith("_subject"));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testAssembleInFrameworkOrder() throws Exception {
+		Map<String, String> entries = FrameworkCache.getCacheEntries(getFramework("fw_test_2", "English"));
+		String metadata = entries.get("fw_fw_test_2");
+		Map<String, Object> framework = FrameworkCache.assemble("fw_test_2", metadata,
+				Arrays.asList("subject", "board"), entries::get);
+		Assert.assertEquals("Test Framework", framework.get("name"));
+		Assert.assertFalse(framework.containsKey("cacheVersion"));
+		List<Map<String, Object>> categories = (List<Map<String, Object>>) framework.get("categories");
+		Assert.assertEquals(2, categories.size());
+		Assert.assertEquals("board", categories.get(0).get("code"));
+		Assert.assertEquals("subject", categories.get(1).get("code"));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testCategoriesAreParsedOnceAndCopied() throws Exception {
+		Map<String, String> entries = FrameworkCache.getCacheEntries(getFramework("fw_test_3", "English"));
+		String metadata = entries.get("fw_fw_test_3");
+		AtomicInteger reads = new AtomicInteger();
+		List<String> returnCategories = Arrays.asList("subject");
+		Map<String, Object> first = FrameworkCache.assemble("fw_test_3", metadata, returnCategories, key -> {
+			reads.incrementAndGet();
+			return entries.get(key);
+		});
+		List<Map<String, Object>> categories = (List<Map<String, Object>>) first.get("categories");
+		((List<Object>) categories.get(0).get("terms")).clear();
+
+		Map<String, Object> second = FrameworkCache.assemble("fw_test_3", metadata, returnCategories, key -> {
+			reads.incrementAndGet();
+			return entries.get(key);
+		});
+		categories = (List<Map<String, Object>>) second.get("categories");
+		Assert.assertEquals(1, ((List<Object>) categories.get(0).get("terms")).size());
+		Assert.assertEquals(1, reads.get());
+	}
+
+	@Test
+	public void testNewHierarchyGetsNewCategoryKeys() throws Exception {
+		Map<String, String> before = FrameworkCache.getCacheEntries(getFramework("fw_test_4", "English"));
+		Map<String, String> after = FrameworkCache.getCacheEntries(getFramework("fw_test_4", "Hindi"));
+		Assert.assertEquals(before.keySet(), FrameworkCache.getCacheEntries(getFramework("fw_test_4", "English")).keySet());
+		Assert.assertNotEquals(before.keySet(), after.keySet());
+		Assert.assertNull(FrameworkCache.assemble("fw_test_4", after.get("fw_fw_test_4"), Arrays.asList("board"),
+				before::get));
+	}
+}
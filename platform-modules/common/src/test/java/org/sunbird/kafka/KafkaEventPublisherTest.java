@@ -0,0 +1,141 @@
+package org.sunbird.kafka;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.LongSerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.sunbird.common.exception.ClientException;
+import org.sunbird.common.exception.ServerException;
+
+public class KafkaEventPublisherTest {
+
+	private static final Set<String> TOPICS = new HashSet<String>(Arrays.asList("test.publish", "test.audit"));
+
+	private MockProducer<Long, String> producer = new MockProducer<Long, String>(false, new LongSerializer(),
+			new StringSerializer());
+	private AtomicInteger lookups = new AtomicInteger();
+
+	private KafkaEventPublisher getPublisher(long minRefreshInterval, int maxInFlight) {
+		return new KafkaEventPublisher(producer, () -> {
+			lookups.incrementAndGet();
+			return TOPICS;
+		}, 60000, minRefreshInterval, maxInFlight, 10);
+	}
+
+	@Test
+	public void testTopicsAreCached() throws Exception {
+		KafkaEventPublisher publisher = getPublisher(60000, 100);
+		for (int i = 0; i < 100; i++)
+			Assert.assertTrue(publisher.validate("test.publish"));
+		Assert.assertFalse(publisher.validate("test.unknown"));
+		Assert.assertEquals(1, lookups.get());
+	}
+
+	@Test
+	public void testUnknownTopicRefreshesTopics() throws Exception {
+		KafkaEventPublisher publisher = getPublisher(0, 100);
+		Assert.assertTrue(publisher.validate("test.publish"));
+		Assert.assertFalse(publisher.validate("test.unknown"));
+		Assert.assertEquals(2, lookups.get());
+	}
+
+	@Test
+	public void testFailedRefreshKeepsTopicsAndBacksOff() throws Exception {
+		KafkaEventPublisher publisher = new KafkaEventPublisher(producer, () -> {
+			if (lookups.incrementAndGet() > 1)
+				throw new IllegalStateException("broker down");
+			return TOPICS;
+		}, 60000, 0, 100, 10);
+		Assert.assertTrue(publisher.validate("test.publish"));
+		Assert.assertFalse(publisher.validate("test.unknown"));
+		Assert.assertFalse(publisher.validate("test.unknown"));
+		Assert.assertTrue(publisher.validate("test.publish"));
+		Assert.assertEquals(2, lookups.get());
+		Assert.assertEquals(1L, publisher.getStats().get("failedTopicRefreshes"));
+	}
+
+	@Test(expected = ClientException.class)
+	public void testSendToUnknownTopic() throws Exception {
+		getPublisher(60000, 100).sendAsync("{}", "test.unknown");
+	}
+
+	@Test
+	public void testSendAsyncCompletesOnAcknowledgement() throws Exception {
+		KafkaEventPublisher publisher = getPublisher(60000, 100);
+		CompletableFuture<RecordMetadata> sent = publisher.sendAsync("{\"eid\":\"BE_JOB_REQUEST\"}", "test.publish");
+		CompletableFuture<RecordMetadata> failed = publisher.sendAsync("{\"eid\":\"AUDIT\"}", "test.audit");
+		Assert.assertFalse(sent.isDone());
+		Assert.assertEquals(2, publisher.getStats().get("inFlight"));
+
+		producer.completeNext();
+		producer.errorNext(new RuntimeException("broker down"));
+		Assert.assertEquals("test.publish", sent.get().topic());
+		try {
+			failed.get();
+			Assert.fail("The failed send is not reported.");
+		} catch (ExecutionException e) {
+			Assert.assertEquals("broker down", e.getCause().getMessage());
+		}
+		Map<String, Object> stats = publisher.getStats();
+		Assert.assertEquals(0, stats.get("inFlight"));
+		Assert.assertEquals(1L, stats.get("sent"));
+		Assert.assertEquals(1L, stats.get("failed"));
+	}
+
+	@Test
+	public void testRejectsWhenInFlightBudgetIsExhausted() throws Exception {
+		KafkaEventPublisher publisher = getPublisher(60000, 2);
+		publisher.sendAsync("{}", "test.publish");
+		publisher.sendAsync("{}", "test.publish");
+		try {
+			publisher.sendAsync("{}", "test.publish");
+			Assert.fail("The send over the in-flight budget is not rejected.");
+		} catch (ServerException e) {
+			Assert.assertEquals("ERR_KAFKA_PUBLISHER_OVERLOADED", e.getErrCode());
+		}
+		producer.completeNext();
+		publisher.sendAsync("{}", "test.publish");
+		Assert.assertEquals(1L, publisher.getStats().get("rejected"));
+		Assert.assertEquals(3, producer.history().size());
+	}
+
+	@Test
+	public void testConcurrentSends() throws Exception {
+		KafkaEventPublisher publisher = getPublisher(0, 10000);
+		int threads = 8, events = 1000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Object>> results = new ArrayList<Future<Object>>();
+			for (int i = 0; i < threads; i++)
+				results.add(executor.submit(() -> {
+					for (int j = 0; j < events; j++)
+						publisher.sendAsync("{}", "test.publish");
+					return null;
+				}));
+			for (Future<Object> result : results)
+				result.get();
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		Assert.assertEquals(threads * events, publisher.getStats().get("inFlight"));
+		Assert.assertEquals(threads * events, producer.history().size());
+		Assert.assertEquals(1, lookups.get());
+	}
+}
@@ -17,6 +17,7 @@ import org.sunbird.common.dto.Request;
 import org.sunbird.common.dto.Response;
 import org.sunbird.common.enums.TaxonomyErrorCodes;
 import org.sunbird.common.exception.ClientException;
+import org.sunbird.common.exception.ResourceNotFoundException;
 import org.sunbird.common.exception.ResponseCode;
 import org.sunbird.common.exception.ServerException;
 import org.sunbird.common.mgr.ConvertGraphNode;
@@ -48,6 +49,7 @@ import org.sunbird.graph.model.node.DefinitionDTO;
 import org.sunbird.graph.service.common.DACConfigurationConstants;
 import org.sunbird.itemset.publish.ItemsetPublishManager;
 import org.sunbird.learning.common.enums.ContentAPIParams;
+import org.sunbird.learning.common.enums.ContentErrorCodes;
 import org.sunbird.learning.contentstore.VideoStreamingJobRequest;
 import org.sunbird.learning.hierarchy.store.HierarchyStore;
 import org.sunbird.learning.util.CloudStore;
@@ -65,11 +67,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
@@ -544,13 +549,14 @@ public class PublishFinalizer extends BaseFinalizer {
 			if (CollectionUtils.isNotEmpty(children)) {
 				List<Map<String, Object>> newChildren = new ArrayList<>(children);
 				if (null != newChildren && !newChildren.isEmpty()) {
+					Map<String, CompletableFuture<Map<String, Object>>> childHierarchies = getChildHierarchies(newChildren);
 					for (Map<String, Object> child : newChildren) {
 						if (StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.visibility.name()), "Parent") &&
 								StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.mimeType.name()), COLLECTION_MIMETYPE))
 							enrichChildren((List<Map<String, Object>>) child.get(ContentWorkflowPipelineParams.children.name()), collectionResourceChildNodes, node);
 						if (StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.visibility.name()), "Default") &&
 								EXPANDABLE_OBJECTS.contains((String)child.get("objectType"))) {
-							Map<String, Object> collectionHierarchy = getHierarchy((String) child.get(ContentWorkflowPipelineParams.identifier.name()), false, (String) child.get(ContentWorkflowPipelineParams.objectType.name()));
+							Map<String, Object> collectionHierarchy = getChildHierarchy(childHierarchies.get((String) child.get(ContentWorkflowPipelineParams.identifier.name())));
 							LOGGER.debug("Collection hierarchy for childNode : " + child.get(ContentWorkflowPipelineParams.identifier.name()) + " : " + collectionHierarchy);
 							if (MapUtils.isNotEmpty(collectionHierarchy)) {
 								collectionHierarchy.put(ContentWorkflowPipelineParams.index.name(), child.get(ContentWorkflowPipelineParams.index.name()));
@@ -595,6 +601,38 @@ public class PublishFinalizer extends BaseFinalizer {
 		}
 	}
 
+	/**
+	 * Reads the hierarchies of the expandable children in parallel.
+	 */
+	private Map<String, CompletableFuture<Map<String, Object>>> getChildHierarchies(List<Map<String, Object>> children) {
+		Map<String, CompletableFuture<Map<String, Object>>> hierarchies = new HashMap<>();
+		for (Map<String, Object> child : children) {
+			String objectType = (String) child.get(ContentWorkflowPipelineParams.objectType.name());
+			if (StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.visibility.name()), "Default") &&
+					EXPANDABLE_OBJECTS.contains(objectType)) {
+				String identifier = (String) child.get(ContentWorkflowPipelineParams.identifier.name());
+				String storeObjectType = StringUtils.isBlank(objectType) ? "Collection" : objectType.replaceAll("Image", "");
+				hierarchies.put(identifier, getHierarchyStore(storeObjectType).getHierarchyAsync(identifier.replaceAll(".img", "")));
+			}
+		}
+		return hierarchies;
+	}
+
+	/**
+	 * Waits for the hierarchy of a child, rethrowing the failure of the read
+	 * instead of the CompletionException wrapping it.
+	 */
+	private Map<String, Object> getChildHierarchy(CompletableFuture<Map<String, Object>> hierarchy) {
+		try {
+			return hierarchy.join();
+		} catch (CompletionException e) {
+			Throwable cause = (null == e.getCause()) ? e : e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			throw new ServerException("ERR_INTERNAL_SERVER_ERROR", cause.getMessage(), cause);
+		}
+	}
+
 	private void getUnitFromLiveContent(List<String> unitNodes){
 		Map<String, Object> liveContentHierarchy = getHierarchy(contentId, false, "Collection");
 		if(MapUtils.isNotEmpty(liveContentHierarchy)) {
@@ -665,13 +703,36 @@ public class PublishFinalizer extends BaseFinalizer {
 		}
 	}
 
-	private void getNodeMap(List<Map<String, Object>> children, List<Node> nodes, List<String> nodeIds, DefinitionDTO definition) {
+	/**
+	 * Fetches the nodes of all the Default visibility children of the
+	 * hierarchy at once, rather than one graph call per child.
+	 */
+	private Map<String, Node> getLeafNodes(List<Map<String, Object>> children) {
+		List<String> leafNodeIds = new ArrayList<>();
+		getLeafNodeIds(children, leafNodeIds);
+		return util.getDataNodesByIds(ContentWorkflowPipelineParams.domain.name(), leafNodeIds, null).stream()
+				.collect(Collectors.toMap(Node::getIdentifier, leafNode -> leafNode, (first, second) -> first));
+	}
+
+	private void getLeafNodeIds(List<Map<String, Object>> children, List<String> leafNodeIds) {
+		if (CollectionUtils.isNotEmpty(children)) {
+			children.stream().forEach(child -> {
+				if (StringUtils.equalsIgnoreCase("Default", (String) child.get("visibility")))
+					leafNodeIds.add((String) child.get("identifier"));
+				getLeafNodeIds((List<Map<String, Object>>) child.get("children"), leafNodeIds);
+			});
+		}
+	}
+
+	private void getNodeMap(List<Map<String, Object>> children, List<Node> nodes, List<String> nodeIds, DefinitionDTO definition, Map<String, Node> leafNodes) {
 		if (CollectionUtils.isNotEmpty(children)) {
 			children.stream().forEach(child -> {
 				Node node = null;
 				try {
 					if(StringUtils.equalsIgnoreCase("Default", (String) child.get("visibility"))) {
-						node = util.getNode(ContentWorkflowPipelineParams.domain.name(), (String)child.get("identifier"));//getContentNode(TAXONOMY_ID, (String) child.get("identifier"), null);
+						node = leafNodes.get((String) child.get("identifier"));
+						if (null == node)
+							throw new ResourceNotFoundException(ContentErrorCodes.ERR_CONTENT_NOT_FOUND.name(), "Content not found with id: " + child.get("identifier"));
 						node.getMetadata().remove("children");
 						Map<String, Object> childData = new HashMap<>();
 						childData.putAll(child);
@@ -723,7 +784,7 @@ public class PublishFinalizer extends BaseFinalizer {
 				} catch (Exception e) {
 					LOGGER.error("Error while generating node map. ", e);
 				}
-				getNodeMap((List<Map<String, Object>>) child.get("children"), nodes, nodeIds, definition);
+				getNodeMap((List<Map<String, Object>>) child.get("children"), nodes, nodeIds, definition, leafNodes);
 			});
 		}
 	}
@@ -1051,13 +1112,10 @@ public class PublishFinalizer extends BaseFinalizer {
 	}
 
 	private List<String> generateEcar(EcarPackageType pkgType, Node node, ContentBundle contentBundle,
-									  List<Map<String, Object>> ecarContents, List<String> childrenIds, List<Map<String, Object>> children) {
+									  List<Map<String, Object>> ecarContents, Map<Object, List<String>> downloadUrls, List<Map<String, Object>> children) {
 
-		Map<Object, List<String>> downloadUrls = null;
 		LOGGER.debug("Creating " + pkgType.toString() + " ECAR For Content Id: " + node.getIdentifier());
 		String bundleFileName = getBundleFileName(contentId, node, pkgType);
-		downloadUrls = contentBundle.createContentManifestData(ecarContents, childrenIds, null,
-				pkgType);
 
 		List<String> ecarUrl = Arrays.asList(contentBundle.createContentBundle(ecarContents, bundleFileName,
 				ContentConfigurationConstants.DEFAULT_CONTENT_MANIFEST_VERSION, downloadUrls, node, children));
@@ -1114,7 +1172,7 @@ public class PublishFinalizer extends BaseFinalizer {
 			List<String> nodeIds = new ArrayList<>();
 			nodeIds.add(node.getIdentifier());
 			updateRootChildrenList(node, children);
-			getNodeMap(children, nodes, nodeIds, definition);
+			getNodeMap(children, nodes, nodeIds, definition, getLeafNodes(children));
 		}
 
 		List<Node> filteredNodes = nodes.stream().filter(n -> !StringUtils.equals("Question", n.getObjectType())).collect(toList());
@@ -1132,6 +1190,9 @@ public class PublishFinalizer extends BaseFinalizer {
 		ContentBundle contentBundle = new ContentBundle(disableAkka);
 		// ECARs Generation - START
 		node.getMetadata().put(ContentWorkflowPipelineParams.variants.name(), new HashMap<String, Object>());
+		// the contents of each ECAR to generate, their manifests are created in one pass
+		// and the artifacts they share are downloaded once
+		Map<EcarPackageType, List<Map<String, Object>>> packageContents = new EnumMap<>(EcarPackageType.class);
 		if (COLLECTION_MIMETYPE.equalsIgnoreCase(mimeType) && disableCollectionFullECAR()) {
 			LOGGER.debug("Disabled full ECAR generation for collections. So not generating for collection id: " + node.getIdentifier());
 			// TODO: START : Remove the below when mobile app is ready to accept Resources as Default in manifest
@@ -1147,12 +1208,23 @@ public class PublishFinalizer extends BaseFinalizer {
 				content.put(ContentAPIParams.downloadUrl.name(), "");
 			});
 		} else {
-			List<String> fullECARURL = generateEcar(EcarPackageType.FULL, node, contentBundle, contents, childrenIds, null);
+			packageContents.put(EcarPackageType.FULL, contents);
+		}
+		packageContents.put(EcarPackageType.SPINE, spineContents);
+		if (COLLECTION_MIMETYPE.equalsIgnoreCase(mimeType))
+			packageContents.put(EcarPackageType.ONLINE, onlineContents);
+		Map<EcarPackageType, Map<Object, List<String>>> downloadUrls = contentBundle.createContentManifestData(packageContents,
+				childrenIds, null);
+
+		if (packageContents.containsKey(EcarPackageType.FULL)) {
+			List<String> fullECARURL = generateEcar(EcarPackageType.FULL, node, contentBundle, contents,
+					downloadUrls.get(EcarPackageType.FULL), null);
 			downloadUrl = fullECARURL.get(IDX_S3_URL);
 			s3Key = fullECARURL.get(IDX_S3_KEY);
 		}
 		// Generate spine ECAR.
-		List<String> spineECARUrl = generateEcar(EcarPackageType.SPINE, node, contentBundle, spineContents, childrenIds, children);
+		List<String> spineECARUrl = generateEcar(EcarPackageType.SPINE, node, contentBundle, spineContents,
+				downloadUrls.get(EcarPackageType.SPINE), children);
 
 		// if collection full ECAR creation disabled set spine as download url.
 		if (COLLECTION_MIMETYPE.equalsIgnoreCase(mimeType) && disableCollectionFullECAR()) {
@@ -1162,7 +1234,8 @@ public class PublishFinalizer extends BaseFinalizer {
 
 		// generate online ECAR for Collection
 		if (COLLECTION_MIMETYPE.equalsIgnoreCase(mimeType)) {
-			generateEcar(EcarPackageType.ONLINE, node, contentBundle, onlineContents, childrenIds, children);
+			generateEcar(EcarPackageType.ONLINE, node, contentBundle, onlineContents,
+					downloadUrls.get(EcarPackageType.ONLINE), children);
 			node.getMetadata().remove("children");
 		}
 		// ECAR generation - END
@@ -27,11 +27,8 @@ import org.sunbird.common.Slug;
 import org.sunbird.common.dto.NodeDTO;
 import org.sunbird.common.dto.Request;
 import org.sunbird.common.dto.Response;
-import org.sunbird.common.enums.TaxonomyErrorCodes;
-import org.sunbird.common.exception.ResponseCode;
 import org.sunbird.common.exception.ServerException;
 import org.sunbird.common.mgr.BaseManager;
-import org.sunbird.common.router.RequestRouterPool;
 import org.sunbird.common.util.S3PropertyReader;
 import org.sunbird.content.common.ContentConfigurationConstants;
 import org.sunbird.content.common.ContentErrorMessageConstants;
@@ -59,11 +56,6 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rits.cloning.Cloner;
 
-import akka.actor.ActorRef;
-import akka.pattern.Patterns;
-import scala.concurrent.Await;
-import scala.concurrent.Future;
-
 /**
  * The Class BasePipeline is a PipeLineClass between initializers and finalizers
  * mainly holds Common Methods and operations of a ContentNode .
@@ -177,22 +169,7 @@ public class BasePipeline extends BaseManager {
 	 * @return Response
 	 */
 	protected Response makeLearningRequest(Request request) {
-		ActorRef router = LearningRequestRouterPool.getRequestRouter();
-		try {
-			Future<Object> future = Patterns.ask(router, request, RequestRouterPool.REQ_TIMEOUT);
-			Object obj = Await.result(future, RequestRouterPool.WAIT_TIMEOUT.duration());
-			if (obj instanceof Response) {
-				Response response = (Response) obj;
-				TelemetryManager.log("Response Params: " + response.getParams() + " | Code: " + response.getResponseCode()
-						+ " | Result: " + response.getResult().keySet());
-				return response;
-			} else {
-				return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
-			}
-		} catch (Exception e) {
-			TelemetryManager.error("Error! Something went wrong" + e.getMessage(), e);
-			throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "Something went wrong while processing the request", e);
-		}
+		return getResult(getResponseAsync(request, LearningRequestRouterPool.getRequestRouter()));
 	}
 
 	/**
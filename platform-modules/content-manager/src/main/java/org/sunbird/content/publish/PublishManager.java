@@ -10,10 +10,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.Platform;
 import org.sunbird.common.dto.Request;
 import org.sunbird.common.dto.Response;
-import org.sunbird.common.enums.TaxonomyErrorCodes;
-import org.sunbird.common.exception.ServerException;
 import org.sunbird.common.mgr.BaseManager;
-import org.sunbird.common.router.RequestRouterPool;
 import org.sunbird.content.pipeline.initializer.InitializePipeline;
 import org.sunbird.graph.dac.model.Node;
 import org.sunbird.learning.common.enums.ContentAPIParams;
@@ -23,11 +20,6 @@ import org.sunbird.learning.contentstore.ContentStoreParams;
 import org.sunbird.learning.router.LearningRequestRouterPool;
 import org.sunbird.telemetry.logger.TelemetryManager;
 
-import akka.actor.ActorRef;
-import akka.pattern.Patterns;
-import scala.concurrent.Await;
-import scala.concurrent.Future;
-
 public class PublishManager extends BaseManager {
 
 	private static final String tempFileLocation = "/data/contentBundle";
@@ -114,22 +106,7 @@ public class PublishManager extends BaseManager {
 	 * @return the LearningActor response
 	 */
 	private static Response makeLearningRequest(Request request) {
-		Response response = new Response();
-		ActorRef router = LearningRequestRouterPool.getRequestRouter();
-		try {
-			Future<Object> future = Patterns.ask(router, request, RequestRouterPool.REQ_TIMEOUT);
-			Object obj = Await.result(future, RequestRouterPool.WAIT_TIMEOUT.duration());
-			if (obj instanceof Response) {
-				response = (Response) obj;
-				TelemetryManager.log("Response Params: " + response.getParams() + " | Code: " + response.getResponseCode() + " | Result: "
-						+ response.getResult().keySet());
-				return response;
-			}
-		} catch (Exception e) {
-			TelemetryManager.error("Error! Something went wrong:"+ e.getMessage(), e);
-			throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), " System Error", e);
-		}
-		return response;
+		return getResult(ask(LearningRequestRouterPool.getRequestRouter(), request));
 	}
 
 }
\ No newline at end of file
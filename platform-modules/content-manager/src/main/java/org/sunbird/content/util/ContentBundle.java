@@ -1,20 +1,29 @@
 package org.sunbird.content.util;
 
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -23,7 +32,6 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.slf4j.Logger;
@@ -78,6 +86,19 @@ public class ContentBundle {
 	
 	private static final List<String> EXCLUDE_ECAR_METADATA_FIELDS=Arrays.asList("screenshots","posterImage");
 	private static final String COLLECTION_MIMETYPE = "application/vnd.ekstep.content-collection";
+
+	private static final String DOWNLOAD_PARALLELISM = "content.bundle.download.parallelism";
+	private static final String DOWNLOAD_TIMEOUT = "content.bundle.download.timeout";
+
+	/** The seconds to wait for each download. */
+	private static final long downloadTimeout = Platform.config.hasPath(DOWNLOAD_TIMEOUT)
+			? Platform.config.getLong(DOWNLOAD_TIMEOUT) : 60;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** The pool shared by the bundles to download their artifacts. */
+	private static final ExecutorService DOWNLOAD_POOL = createDownloadPool();
+
 	public static final Logger LOGGER = LoggerFactory.getLogger(ContentBundle.class);
 	public ContentBundle() {
 		// TODO Auto-generated constructor stub
@@ -100,9 +121,53 @@ public class ContentBundle {
      *            the package type
 	 * @return the map
 	 */
-	@SuppressWarnings("unchecked")
 	public Map<Object, List<String>> createContentManifestData(List<Map<String, Object>> contents,
 			List<String> children, String expiresOn, EcarPackageType packageType) {
+		LOGGER.info("ContentBundle:: createContentManifestData:: children => " + children);
+		List<String> urlFields = getUrlFields(packageType);
+		Map<Object, List<String>> downloadUrls = new HashMap<Object, List<String>>();
+		for (Map<String, Object> content : contents)
+			addContentManifestData(content, children, expiresOn, packageType, urlFields, downloadUrls);
+		return downloadUrls;
+	}
+
+	/**
+	 * Creates the content manifest data of several package types in one pass
+	 * over the contents.
+	 *
+	 * @param packageContents
+	 *            the copy of the contents for each package type, in the same
+	 *            order
+	 * @param children
+	 *            the children
+	 * @param expiresOn
+	 *            the expires on
+	 * @return the download urls of each package type
+	 */
+	public Map<EcarPackageType, Map<Object, List<String>>> createContentManifestData(
+			Map<EcarPackageType, List<Map<String, Object>>> packageContents, List<String> children, String expiresOn) {
+		LOGGER.info("ContentBundle:: createContentManifestData:: package types => " + packageContents.keySet()
+				+ " | children => " + children);
+		Map<EcarPackageType, List<String>> urlFields = new EnumMap<EcarPackageType, List<String>>(EcarPackageType.class);
+		Map<EcarPackageType, Map<Object, List<String>>> downloadUrls = new EnumMap<EcarPackageType, Map<Object, List<String>>>(
+				EcarPackageType.class);
+		int count = 0;
+		for (Map.Entry<EcarPackageType, List<Map<String, Object>>> entry : packageContents.entrySet()) {
+			urlFields.put(entry.getKey(), getUrlFields(entry.getKey()));
+			downloadUrls.put(entry.getKey(), new HashMap<Object, List<String>>());
+			count = Math.max(count, entry.getValue().size());
+		}
+		for (int i = 0; i < count; i++) {
+			for (Map.Entry<EcarPackageType, List<Map<String, Object>>> entry : packageContents.entrySet()) {
+				if (i < entry.getValue().size())
+					addContentManifestData(entry.getValue().get(i), children, expiresOn, entry.getKey(),
+							urlFields.get(entry.getKey()), downloadUrls.get(entry.getKey()));
+			}
+		}
+		return downloadUrls;
+	}
+
+	private List<String> getUrlFields(EcarPackageType packageType) {
 		List<String> urlFields = new ArrayList<String>();
 		if (!EcarPackageType.ONLINE.equals(packageType)) {
 			urlFields.add("appIcon");
@@ -110,80 +175,80 @@ public class ContentBundle {
 			urlFields.add("artifactUrl");
 			urlFields.add("itemSetPreviewUrl");
 		}
-		LOGGER.info("ContentBundle:: createContentManifestData:: children => " + children);
-		Map<Object, List<String>> downloadUrls = new HashMap<Object, List<String>>();
-		for (Map<String, Object> content : contents) {
-			String identifier = (String) content.get(ContentWorkflowPipelineParams.identifier.name());
-			String mimeType = (String) content.get(ContentWorkflowPipelineParams.mimeType.name());
-			String contentDisposition = (String) content.get(ContentAPIParams.contentDisposition.name());
-			// TODO: START : Remove this when mobile app is ready
-			if (children.contains(identifier))
-				content.put(ContentWorkflowPipelineParams.visibility.name(),
-						ContentWorkflowPipelineParams.Parent.name());
-			// TODO: END
-
-			//TODO: Added for backward compatibility in mobile - start
+		return urlFields;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addContentManifestData(Map<String, Object> content, List<String> children, String expiresOn,
+			EcarPackageType packageType, List<String> urlFields, Map<Object, List<String>> downloadUrls) {
+		String identifier = (String) content.get(ContentWorkflowPipelineParams.identifier.name());
+		String mimeType = (String) content.get(ContentWorkflowPipelineParams.mimeType.name());
+		String contentDisposition = (String) content.get(ContentAPIParams.contentDisposition.name());
+		// TODO: START : Remove this when mobile app is ready
+		if (children.contains(identifier))
+			content.put(ContentWorkflowPipelineParams.visibility.name(),
+					ContentWorkflowPipelineParams.Parent.name());
+		// TODO: END
+
+		//TODO: Added for backward compatibility in mobile - start
 //			updateContentTaggedProperty(content);
 
-			if (StringUtils.isNotBlank(expiresOn))
-				content.put(ContentWorkflowPipelineParams.expires.name(), expiresOn);
-			content.keySet().removeIf(metadata -> EXCLUDE_ECAR_METADATA_FIELDS.contains(metadata));
-			for (Map.Entry<String, Object> entry : content.entrySet()) {
-				if (urlFields.contains(entry.getKey())) {
-					Object val = entry.getValue();
-					if (null != val) {
-						if (!isOnlineContent(mimeType, contentDisposition)) {
-							if (val instanceof File) {
-								File file = (File) val;
-								addDownloadUrl(downloadUrls, val, identifier, entry.getKey(), packageType);
-								entry.setValue(identifier.trim() + File.separator + file.getName());
-							} else if (HttpDownloadUtility.isValidUrl(val)) {
-								addDownloadUrl(downloadUrls, val, identifier, entry.getKey(), packageType);
-								String file = FilenameUtils.getName(entry.getValue().toString());
-								if (file.endsWith(ContentConfigurationConstants.FILENAME_EXTENSION_SEPERATOR
-										+ ContentConfigurationConstants.DEFAULT_ECAR_EXTENSION)) {
-									entry.setValue(identifier.trim() + File.separator + identifier.trim() + ".zip");
-								} else {
-									entry.setValue(identifier.trim() + File.separator + Slug.makeSlug(file, true));
-								}
+		if (StringUtils.isNotBlank(expiresOn))
+			content.put(ContentWorkflowPipelineParams.expires.name(), expiresOn);
+		content.keySet().removeIf(metadata -> EXCLUDE_ECAR_METADATA_FIELDS.contains(metadata));
+		for (Map.Entry<String, Object> entry : content.entrySet()) {
+			if (urlFields.contains(entry.getKey())) {
+				Object val = entry.getValue();
+				if (null != val) {
+					if (!isOnlineContent(mimeType, contentDisposition)) {
+						if (val instanceof File) {
+							File file = (File) val;
+							addDownloadUrl(downloadUrls, val, identifier, entry.getKey(), packageType);
+							entry.setValue(identifier.trim() + File.separator + file.getName());
+						} else if (HttpDownloadUtility.isValidUrl(val)) {
+							addDownloadUrl(downloadUrls, val, identifier, entry.getKey(), packageType);
+							String file = FilenameUtils.getName(entry.getValue().toString());
+							if (file.endsWith(ContentConfigurationConstants.FILENAME_EXTENSION_SEPERATOR
+									+ ContentConfigurationConstants.DEFAULT_ECAR_EXTENSION)) {
+								entry.setValue(identifier.trim() + File.separator + identifier.trim() + ".zip");
+							} else {
+								entry.setValue(identifier.trim() + File.separator + Slug.makeSlug(file, true));
+							}
 
-							} else if (val instanceof List) {
-								List<String> data = (List<String>) val;
-								List<String> id = new ArrayList<>();
-								id.add(identifier.trim() + File.separator + entry.getKey());
-								List<String> screeshot = new ArrayList<>();
-								for (String value : data) {
-									if (HttpDownloadUtility.isValidUrl(value)) {
-										downloadUrls.put(value, id);
-										String file = FilenameUtils.getName(value);
-										screeshot.add(identifier.trim() + File.separator
-												+ ContentWorkflowPipelineParams.screenshots.name() + File.separator
-												+ Slug.makeSlug(file, true));
-									}
+						} else if (val instanceof List) {
+							List<String> data = (List<String>) val;
+							List<String> id = new ArrayList<>();
+							id.add(identifier.trim() + File.separator + entry.getKey());
+							List<String> screeshot = new ArrayList<>();
+							for (String value : data) {
+								if (HttpDownloadUtility.isValidUrl(value)) {
+									downloadUrls.put(value, id);
+									String file = FilenameUtils.getName(value);
+									screeshot.add(identifier.trim() + File.separator
+											+ ContentWorkflowPipelineParams.screenshots.name() + File.separator
+											+ Slug.makeSlug(file, true));
 								}
-								entry.setValue(screeshot);
-							}
-						} else {
-							if (entry.getKey().equals(ContentWorkflowPipelineParams.artifactUrl.name())
-									|| entry.getKey().equals(ContentWorkflowPipelineParams.downloadUrl.name())) {
-								entry.setValue(entry.getValue());
-							} else if (HttpDownloadUtility.isValidUrl(val)) {
-								addDownloadUrl(downloadUrls, val, identifier, entry.getKey(), packageType);
-								String file = FilenameUtils.getName(entry.getValue().toString());
-								entry.setValue(identifier.trim() + File.separator + Slug.makeSlug(file, true));
 							}
+							entry.setValue(screeshot);
+						}
+					} else {
+						if (entry.getKey().equals(ContentWorkflowPipelineParams.artifactUrl.name())
+								|| entry.getKey().equals(ContentWorkflowPipelineParams.downloadUrl.name())) {
+							entry.setValue(entry.getValue());
+						} else if (HttpDownloadUtility.isValidUrl(val)) {
+							addDownloadUrl(downloadUrls, val, identifier, entry.getKey(), packageType);
+							String file = FilenameUtils.getName(entry.getValue().toString());
+							entry.setValue(identifier.trim() + File.separator + Slug.makeSlug(file, true));
 						}
 					}
 				}
 			}
-			if (StringUtils.equalsIgnoreCase(contentDisposition, "online-only")) {
-				content.put(ContentWorkflowPipelineParams.downloadUrl.name(), "");
-			} else
-				content.put(ContentWorkflowPipelineParams.downloadUrl.name(),
-						(String) content.get(ContentWorkflowPipelineParams.artifactUrl.name()));
 		}
-		return downloadUrls;
-
+		if (StringUtils.equalsIgnoreCase(contentDisposition, "online-only")) {
+			content.put(ContentWorkflowPipelineParams.downloadUrl.name(), "");
+		} else
+			content.put(ContentWorkflowPipelineParams.downloadUrl.name(),
+					(String) content.get(ContentWorkflowPipelineParams.artifactUrl.name()));
 	}
 
 	
@@ -193,7 +258,10 @@ public class ContentBundle {
 	}
 	
 	/**
-	 * Creates the content bundle.
+	 * Creates the content bundle. The artifacts are downloaded in parallel on
+	 * a shared pool, each distinct url once, or taken from the
+	 * {@link EcarPartCache}, and the ECAR is streamed to the bundle file. The
+	 * bytes and the time of each phase are logged.
 	 *
 	 * @param contents
 	 *            the contents
@@ -213,36 +281,52 @@ public class ContentBundle {
 		String contentId = node.getIdentifier();
         String bundleFileName = BUNDLE_PATH + File.separator + fileName;
 		String bundlePath = BUNDLE_PATH + File.separator + System.currentTimeMillis() + "_temp";
-		List<File> downloadedFiles = getContentBundle(downloadUrls, bundlePath);
+		Map<String, Object> stats = new LinkedHashMap<String, Object>();
+		long start = System.currentTimeMillis();
+		Map<String, File> entries = getContentBundle(downloadUrls, bundlePath, getVersions(contents));
+		stats.put("downloadUrls", downloadUrls.size());
+		stats.put("downloadFiles", entries.size());
+		stats.put("downloadBytes", getSize(entries.values()));
+		stats.put("downloadTime", System.currentTimeMillis() - start);
+		List<File> bundleFiles = new ArrayList<File>();
 		try {
+			start = System.currentTimeMillis();
 			File manifestFile = new File(
 					bundlePath + File.separator + ContentConfigurationConstants.CONTENT_BUNDLE_MANIFEST_FILE_NAME);
 			createManifestFile(manifestFile, version, null, contents);
-			if (null != downloadedFiles) {
-				if (null != manifestFile)
-					downloadedFiles.add(manifestFile);
-				//Adding Hierarchy into hierarchy.json file
-				if (StringUtils.isNotBlank((String) node.getMetadata().get("mimeType")) &&
-						StringUtils.equalsIgnoreCase((String) node.getMetadata().get("mimeType"), COLLECTION_MIMETYPE)) {
-					File hierarchyFile = createHierarchyFile(bundlePath, node, children);
-					if (null != hierarchyFile)
-						downloadedFiles.add(hierarchyFile);
-				}
-				try {
-					File contentBundle = createBundle(downloadedFiles, bundleFileName);
-					String folderName = S3PropertyReader.getProperty(ECAR_FOLDER);
-					folderName = folderName + "/" + contentId;
-					String[] url = CloudStore.uploadFile(folderName, contentBundle, true);
-					downloadedFiles.add(contentBundle);
-					return url;
-				} catch (Throwable e) {
-					e.printStackTrace();
-					throw e;
-				} finally {
-					HttpDownloadUtility.deleteFiles(downloadedFiles);
+			entries.put(manifestFile.getName(), manifestFile);
+			bundleFiles.add(manifestFile);
+			//Adding Hierarchy into hierarchy.json file
+			if (StringUtils.isNotBlank((String) node.getMetadata().get("mimeType")) &&
+					StringUtils.equalsIgnoreCase((String) node.getMetadata().get("mimeType"), COLLECTION_MIMETYPE)) {
+				File hierarchyFile = createHierarchyFile(bundlePath, node, children);
+				if (null != hierarchyFile) {
+					entries.put(hierarchyFile.getName(), hierarchyFile);
+					bundleFiles.add(hierarchyFile);
 				}
 			}
-			return null;
+			stats.put("manifestBytes", getSize(bundleFiles));
+			stats.put("manifestTime", System.currentTimeMillis() - start);
+			try {
+				start = System.currentTimeMillis();
+				File contentBundle = createBundle(entries, bundleFileName);
+				bundleFiles.add(contentBundle);
+				stats.put("ecarBytes", contentBundle.length());
+				stats.put("ecarTime", System.currentTimeMillis() - start);
+				start = System.currentTimeMillis();
+				String folderName = S3PropertyReader.getProperty(ECAR_FOLDER);
+				folderName = folderName + "/" + contentId;
+				String[] url = CloudStore.uploadFile(folderName, contentBundle, true);
+				stats.put("uploadTime", System.currentTimeMillis() - start);
+				stats.put("partCache", EcarPartCache.getStats());
+				TelemetryManager.info("ECAR bundle created for content: " + contentId + " | " + fileName, stats);
+				return url;
+			} catch (Throwable e) {
+				e.printStackTrace();
+				throw e;
+			} finally {
+				HttpDownloadUtility.deleteFiles(bundleFiles);
+			}
 		} catch (Exception e) {
 			e.printStackTrace();
 			throw new ServerException(ContentErrorCodes.ERR_ECAR_BUNDLE_FAILED.name(),
@@ -267,16 +351,36 @@ public class ContentBundle {
 	 * @return the file
 	 */
 	public File createBundle(List<File> files, String bundleFileName) {
+		Map<String, File> entries = new LinkedHashMap<String, File>();
+		if (null != files) {
+			for (File file : files) {
+				if (null != file)
+					entries.put(getEntryName(file), file);
+			}
+		}
+		return createBundle(entries, bundleFileName);
+	}
+
+	/**
+	 * Creates the bundle, streaming the files to it.
+	 *
+	 * @param entries
+	 *            the files by their name in the bundle
+	 * @param bundleFileName
+	 *            the bundle file name
+	 * @return the file
+	 */
+	public File createBundle(Map<String, File> entries, String bundleFileName) {
 		File bundleFile = new File(bundleFileName);
 		try {
-			if (null == files || files.isEmpty())
+			if (null == entries || entries.isEmpty())
 				throw new ClientException(ContentErrorCodeConstants.BUNDLE_FILE_WRITE.name(),
 						ContentErrorMessageConstants.NO_FILES_TO_BUNDLE + " | [Atleast one file is needed to bundle.]");
 			if (StringUtils.isBlank(bundleFileName))
 				throw new ClientException(ContentErrorCodeConstants.BUNDLE_FILE_WRITE.name(),
 						ContentErrorMessageConstants.INVALID_BUNDLE_FILE_NAME + " | [Bundle File Name is Required.]");
-			try (FileOutputStream stream = new FileOutputStream(bundleFileName)) {
-				stream.write(createECAR(files));
+			try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(bundleFile), BUFFER_SIZE)) {
+				writeECAR(entries, stream);
 			}
 		} catch (Throwable e) {
 			throw new ServerException(ContentErrorCodeConstants.BUNDLE_FILE_WRITE.name(),
@@ -375,137 +479,185 @@ public class ContentBundle {
 	}
 
 	/**
-	 * Gets the content bundle.
+	 * Gets the content bundle. Each url is downloaded once on the shared
+	 * download pool and added to the bundle under every content using it. The
+	 * downloads are cancelled when one of them fails or takes more than
+	 * content.bundle.download.timeout seconds.
 	 *
 	 * @param downloadUrls
 	 *            the download urls
 	 * @param bundlePath
 	 *            the bundle path
-	 * @return the content bundle
+	 * @param versions
+	 *            the pkgVersion of the contents
+	 * @return the downloaded files by their name in the bundle
 	 */
-	private List<File> getContentBundle(final Map<Object, List<String>> downloadUrls, final String bundlePath) {
-		List<File> files = new ArrayList<File>();
+	private Map<String, File> getContentBundle(final Map<Object, List<String>> downloadUrls, final String bundlePath,
+			final Map<String, Object> versions) {
+		List<Future<Map<String, File>>> results = new ArrayList<Future<Map<String, File>>>(downloadUrls.size());
+		Map<String, File> entries = new LinkedHashMap<String, File>();
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool(1);
-			List<Callable<List<File>>> tasks = new ArrayList<Callable<List<File>>>(downloadUrls.size());
-
-			for (final Object val : downloadUrls.keySet()) {
-				tasks.add(new Callable<List<File>>() {
-					public List<File> call() throws Exception {
-						List<String> ids = downloadUrls.get(val);
-						List<File> files = new ArrayList<File>();
-						for (String id : ids) {
-							String destPath = bundlePath + File.separator + id;
-							createDirectoryIfNeeded(destPath);
-							if (val instanceof File) {
-								File file = (File) val;
-								File newFile = new File(destPath + File.separator + file.getName());
-								FileUtils.copyFile(file, newFile);
-								files.add(newFile);
-							} else {
-								String url = val.toString();
-								if (url.endsWith(".ecar")) {
-									File ecarFile = HttpDownloadUtility.downloadFile(url, destPath + "_ecar");
-									UnzipUtility unzipper = new UnzipUtility();
-									unzipper.unzip(ecarFile.getPath(), destPath + "_ecar");
-									File ecarFolder = new File(destPath + "_ecar" + File.separator + id);
-									File[] fileList = ecarFolder.listFiles();
-									File zipFile = null;
-									if (null != fileList && fileList.length > 0) {
-										for (File f : fileList) {
-											if (f.getName().endsWith(".zip")) {
-												zipFile = f;
-											}
-										}
-									}
-									if (null != zipFile) {
-										String newFileName = id + ".zip";
-										File contentDir = new File(destPath);
-										if (!contentDir.exists())
-											contentDir.mkdirs();
-										zipFile.renameTo(new File(contentDir + File.separator + newFileName));
-										File ecarTemp = new File(destPath + "_ecar");
-										FileUtils.deleteDirectory(ecarTemp);
-										File newFile = new File(contentDir + File.separator + newFileName);
-										files.add(newFile);
-									} else {
-										// do nothing
-									}
-								} else {
-									File newFile = HttpDownloadUtility.downloadFile(url, destPath);
-									if (null != newFile)
-										files.add(newFile);
-								}
-							}
-						}
-						return files;
-					}
-				});
+			for (final Map.Entry<Object, List<String>> downloadUrl : downloadUrls.entrySet()) {
+				results.add(DOWNLOAD_POOL.submit(
+						() -> download(downloadUrl.getKey(), downloadUrl.getValue(), bundlePath, versions)));
 			}
-			List<Future<List<File>>> results = pool.invokeAll(tasks);
-			for (Future<List<File>> ff : results) {
-				List<File> f = ff.get(60, TimeUnit.SECONDS);
-				if (null != f && !f.isEmpty())
-					files.addAll(f);
-			}
-			pool.shutdown();
-		} catch (InterruptedException | ExecutionException | TimeoutException e ) {
+			for (Future<Map<String, File>> result : results)
+				entries.putAll(result.get(downloadTimeout, TimeUnit.SECONDS));
+		} catch (InterruptedException | ExecutionException | TimeoutException e) {
+			for (Future<Map<String, File>> result : results)
+				result.cancel(true);
 			e.printStackTrace();
 			throw new ServerException(ContentErrorCodeConstants.MANIFEST_FILE_WRITE.name(),
 					ContentErrorMessageConstants.MANIFEST_FILE_WRITE_ERROR + "Error while creating contentBundle", e);
 		}
-		return files;
+		return entries;
 	}
 
 	/**
-	 * Creates the ECAR.
+	 * Downloads the file at the url, or unpacks the content package of each of
+	 * the contents from the ECAR at the url, unless they are cached.
 	 *
-	 * @param files
-	 *            the files
-	 * @return the byte[]
-	 * @throws IOException
-	 *             Signals that an I/O exception has occurred.
+	 * @param val
+	 *            the url or the local file
+	 * @param ids
+	 *            the contents using it
+	 * @param bundlePath
+	 *            the bundle path
+	 * @param versions
+	 *            the pkgVersion of the contents
+	 * @return the files by their name in the bundle
+	 * @throws Exception
 	 */
-	private byte[] createECAR(List<File> files) throws IOException {
-		// creating byteArray stream, make it bufforable and passing this buffor
-		// to ZipOutputStream
-		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-				BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(byteArrayOutputStream);
-				ZipOutputStream zipOutputStream = new ZipOutputStream(bufferedOutputStream)) {
-			// packing files
-			for (File file : files) {
-				if (null != file) {
-					String fileName = null;
-					if (file.getName().toLowerCase().endsWith(ContentConfigurationConstants.CONTENT_BUNDLE_MANIFEST_FILE_NAME)
-							|| file.getName().equalsIgnoreCase(ContentConfigurationConstants.CONTENT_BUNDLE_HIERARCHY_FILE_NAME)) {
-						fileName = file.getName();
-					} else if (file.getParentFile().getName().toLowerCase().endsWith("screenshots")) {
-						fileName = file.getParent()
-								.substring(file.getParentFile().getParent().lastIndexOf(File.separator) + 1)
-								+ File.separator + file.getName();
-					} else {
-						fileName = file.getParent().substring(file.getParent().lastIndexOf(File.separator) + 1)
-								+ File.separator + file.getName();
-					}
-					// new zip entry and copying inputstream with file to
-					// zipOutputStream, after all closing streams
-					zipOutputStream.putNextEntry(new ZipEntry(fileName));
-					try (FileInputStream fileInputStream = new FileInputStream(file)) {
-						IOUtils.copy(fileInputStream, zipOutputStream);
-						zipOutputStream.closeEntry();
+	private Map<String, File> download(Object val, List<String> ids, String bundlePath, Map<String, Object> versions)
+			throws Exception {
+		Map<String, File> entries = new LinkedHashMap<String, File>();
+		if (CollectionUtils.isEmpty(ids))
+			return entries;
+		String destPath = bundlePath + File.separator + ids.get(0);
+		if (val instanceof File) {
+			File file = (File) val;
+			for (String id : ids)
+				entries.put(id + File.separator + file.getName(), file);
+		} else {
+			String url = val.toString();
+			if (url.endsWith(".ecar")) {
+				List<String> missingIds = new ArrayList<String>();
+				for (String id : ids) {
+					File zipFile = EcarPartCache.get(id, versions.get(id), url);
+					if (null != zipFile)
+						entries.put(id + File.separator + id + ".zip", zipFile);
+					else
+						missingIds.add(id);
+				}
+				if (missingIds.isEmpty())
+					return entries;
+				String ecarPath = destPath + "_ecar";
+				createDirectoryIfNeeded(ecarPath);
+				File ecarFile = HttpDownloadUtility.downloadFile(url, ecarPath);
+				if (null == ecarFile)
+					return entries;
+				UnzipUtility unzipper = new UnzipUtility();
+				unzipper.unzip(ecarFile.getPath(), ecarPath);
+				for (String id : missingIds) {
+					File[] fileList = new File(ecarPath + File.separator + id).listFiles();
+					File zipFile = null;
+					if (null != fileList && fileList.length > 0) {
+						for (File f : fileList) {
+							if (f.getName().endsWith(".zip")) {
+								zipFile = f;
+							}
+						}
 					}
+					if (null != zipFile)
+						entries.put(id + File.separator + id + ".zip", EcarPartCache.put(id, versions.get(id), url, zipFile));
+				}
+			} else {
+				String id = getContentId(ids.get(0));
+				File newFile = EcarPartCache.get(id, versions.get(id), url);
+				if (null == newFile) {
+					createDirectoryIfNeeded(destPath);
+					newFile = EcarPartCache.put(id, versions.get(id), url, HttpDownloadUtility.downloadFile(url, destPath));
+				}
+				if (null != newFile) {
+					for (String contentId : ids)
+						entries.put(contentId + File.separator + newFile.getName(), newFile);
 				}
 			}
+		}
+		return entries;
+	}
 
-			if (zipOutputStream != null) {
-				zipOutputStream.finish();
-				zipOutputStream.flush();
-				IOUtils.closeQuietly(zipOutputStream);
-			}
-			IOUtils.closeQuietly(bufferedOutputStream);
-			IOUtils.closeQuietly(byteArrayOutputStream);
-			return byteArrayOutputStream.toByteArray();
+	/**
+	 * Writes the ECAR to the stream, one entry at a time, so that the bundle
+	 * is never held in memory. The stream is not closed.
+	 *
+	 * @param entries
+	 *            the files by their name in the bundle
+	 * @param stream
+	 *            the stream, of a file or a channel
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void writeECAR(Map<String, File> entries, OutputStream stream) throws IOException {
+		ZipOutputStream zipOutputStream = new ZipOutputStream(stream);
+		for (Map.Entry<String, File> entry : entries.entrySet()) {
+			zipOutputStream.putNextEntry(new ZipEntry(entry.getKey()));
+			Files.copy(entry.getValue().toPath(), zipOutputStream);
+			zipOutputStream.closeEntry();
 		}
+		zipOutputStream.finish();
+		zipOutputStream.flush();
+	}
+
+	/**
+	 * Gets the name of the file in the bundle, the manifest and the hierarchy
+	 * at the top, the other files in the folder of their content.
+	 */
+	private String getEntryName(File file) {
+		if (file.getName().toLowerCase().endsWith(ContentConfigurationConstants.CONTENT_BUNDLE_MANIFEST_FILE_NAME)
+				|| file.getName().equalsIgnoreCase(ContentConfigurationConstants.CONTENT_BUNDLE_HIERARCHY_FILE_NAME)) {
+			return file.getName();
+		} else if (file.getParentFile().getName().toLowerCase().endsWith("screenshots")) {
+			return file.getParent()
+					.substring(file.getParentFile().getParent().lastIndexOf(File.separator) + 1)
+					+ File.separator + file.getName();
+		} else {
+			return file.getParent().substring(file.getParent().lastIndexOf(File.separator) + 1)
+					+ File.separator + file.getName();
+		}
+	}
+
+	/**
+	 * Gets the identifier of the content from the folder of a file in the
+	 * bundle, the screenshots are in a sub folder.
+	 */
+	private static String getContentId(String folder) {
+		return StringUtils.substringBefore(folder, File.separator);
+	}
+
+	private static Map<String, Object> getVersions(List<Map<String, Object>> contents) {
+		Map<String, Object> versions = new HashMap<String, Object>();
+		for (Map<String, Object> content : contents) {
+			String identifier = (String) content.get(ContentWorkflowPipelineParams.identifier.name());
+			Object pkgVersion = content.get(ContentWorkflowPipelineParams.pkgVersion.name());
+			if (StringUtils.isNotBlank(identifier) && null != pkgVersion)
+				versions.put(identifier.trim(), pkgVersion);
+		}
+		return versions;
+	}
+
+	private static long getSize(Collection<File> files) {
+		return files.stream().distinct().mapToLong(File::length).sum();
+	}
+
+	private static ExecutorService createDownloadPool() {
+		int threads = Platform.config.hasPath(DOWNLOAD_PARALLELISM) ? Platform.config.getInt(DOWNLOAD_PARALLELISM) : 8;
+		AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "ecar-download-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
 	}
 
 	/**
@@ -518,7 +670,7 @@ public class ContentBundle {
 		File theDir = new File(directoryName);
 		// if the directory does not exist, create it
 		if (!theDir.exists()) {
-			theDir.mkdir();
+			theDir.mkdirs();
 		}
 	}
 
@@ -0,0 +1,174 @@
+package org.sunbird.content.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.Platform;
+import org.sunbird.telemetry.logger.TelemetryManager;
+
+/**
+ * Local disk cache of the parts of the ECAR bundles, the artifacts of the
+ * contents and the packages unpacked from their ECARs. A part is keyed by the
+ * identifier and pkgVersion of its content and by its url. A published version
+ * never changes, so each part is downloaded once and then reused by every
+ * package type of the bundle and by the later publishes of the collections
+ * holding the content.
+ * <p>
+ * The parts are kept in content.bundle.cache.path, the least recently used are
+ * evicted once they exceed content.bundle.cache.max_size bytes. The cache is
+ * disabled with content.bundle.cache.enabled = false.
+ */
+public class EcarPartCache {
+
+	private static final String CACHE_ENABLED = "content.bundle.cache.enabled";
+	private static final String CACHE_PATH = "content.bundle.cache.path";
+	private static final String CACHE_MAX_SIZE = "content.bundle.cache.max_size";
+
+	/** Parts used within this time are never evicted, they may be in a bundle being written. */
+	private static final long MIN_EVICTION_AGE = 30 * 60 * 1000L;
+
+	private static final boolean enabled = Platform.config.hasPath(CACHE_ENABLED)
+			? Platform.config.getBoolean(CACHE_ENABLED) : true;
+	private static final File cacheDir = new File(Platform.config.hasPath(CACHE_PATH)
+			? Platform.config.getString(CACHE_PATH) : "/tmp/ecar_cache");
+	private static final long maxSize = Platform.config.hasPath(CACHE_MAX_SIZE)
+			? Platform.config.getLong(CACHE_MAX_SIZE) : 2L * 1024 * 1024 * 1024;
+
+	private static final AtomicLong size = new AtomicLong(enabled ? FileUtils.sizeOf(mkdirs(cacheDir)) : 0);
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+	private static final LongAdder evictions = new LongAdder();
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Tells whether the parts of the content can be cached, only the parts of a
+	 * versioned content can.
+	 */
+	public static boolean isCacheable(String identifier, Object pkgVersion) {
+		return enabled && StringUtils.isNotBlank(identifier) && null != pkgVersion
+				&& StringUtils.isNotBlank(pkgVersion.toString());
+	}
+
+	/**
+	 * Gets the cached part.
+	 *
+	 * @param identifier
+	 *            the identifier of the content
+	 * @param pkgVersion
+	 *            the version of the content
+	 * @param url
+	 *            the url of the part
+	 * @return the file, null if the part is not cached
+	 */
+	public static File get(String identifier, Object pkgVersion, String url) {
+		if (!isCacheable(identifier, pkgVersion))
+			return null;
+		File[] files = getPartDir(identifier, pkgVersion, url).listFiles(File::isFile);
+		if (null == files || files.length != 1) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		files[0].setLastModified(System.currentTimeMillis());
+		return files[0];
+	}
+
+	/**
+	 * Moves the downloaded part to the cache.
+	 *
+	 * @param identifier
+	 *            the identifier of the content
+	 * @param pkgVersion
+	 *            the version of the content
+	 * @param url
+	 *            the url of the part
+	 * @param file
+	 *            the downloaded file
+	 * @return the cached file, the downloaded file if the part cannot be cached
+	 */
+	public static File put(String identifier, Object pkgVersion, String url, File file) {
+		if (!isCacheable(identifier, pkgVersion) || null == file)
+			return file;
+		try {
+			File partDir = mkdirs(getPartDir(identifier, pkgVersion, url));
+			File part = new File(partDir, file.getName());
+			// moved in two steps, so that the part appears complete and at once
+			// even if the download is on another file system
+			File temp = new File(cacheDir, "." + DigestUtils.sha1Hex(part.getPath()) + "." + Thread.currentThread().getId());
+			Files.move(file.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			long length = temp.length();
+			// a part downloaded again replaces the cached one, only the
+			// difference is added to the size
+			synchronized (EcarPartCache.class) {
+				long replaced = part.isFile() ? part.length() : 0;
+				Files.move(temp.toPath(), part.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				size.addAndGet(length - replaced);
+			}
+			if (size.get() > maxSize)
+				evict();
+			return part;
+		} catch (IOException e) {
+			TelemetryManager.error("Error while caching the ECAR part of content: " + identifier + " | " + url, e);
+			return file;
+		}
+	}
+
+	public static Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("enabled", enabled);
+		stats.put("size", size.get());
+		stats.put("maxSize", maxSize);
+		stats.put("hits", hits.sum());
+		stats.put("misses", misses.sum());
+		stats.put("evictions", evictions.sum());
+		return stats;
+	}
+
+	/**
+	 * Deletes the least recently used parts until the cache is under 90% of its
+	 * maximum size.
+	 */
+	private static synchronized void evict() {
+		if (size.get() <= maxSize)
+			return;
+		List<File> parts = new ArrayList<File>(FileUtils.listFiles(cacheDir, null, true));
+		parts.sort(Comparator.comparingLong(File::lastModified));
+		long threshold = maxSize / 10 * 9;
+		long evictBefore = System.currentTimeMillis() - MIN_EVICTION_AGE;
+		for (File part : parts) {
+			if (size.get() <= threshold || part.lastModified() > evictBefore)
+				break;
+			long length = part.length();
+			if (part.delete()) {
+				size.addAndGet(-length);
+				evictions.increment();
+				part.getParentFile().delete();
+			}
+		}
+	}
+
+	private static File getPartDir(String identifier, Object pkgVersion, String url) {
+		return new File(cacheDir, identifier + File.separator + pkgVersion + File.separator + DigestUtils.sha1Hex(url));
+	}
+
+	private static File mkdirs(File dir) {
+		if (!dir.exists())
+			dir.mkdirs();
+		return dir;
+	}
+}
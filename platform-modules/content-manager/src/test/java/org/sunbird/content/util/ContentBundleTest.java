@@ -0,0 +1,147 @@
+package org.sunbird.content.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.content.common.EcarPackageType;
+
+public class ContentBundleTest {
+
+	private static final String ICON_URL = "https://sunbirddev.blob.core.windows.net/content/icon.png";
+	private static final String ARTIFACT_URL = "https://sunbirddev.blob.core.windows.net/content/do_1/artifact/1.pdf";
+
+	private ContentBundle contentBundle = new ContentBundle(true);
+	private File bundlePath;
+
+	@Before
+	public void setUp() throws IOException {
+		bundlePath = new File(FileUtils.getTempDirectory(), "bundle_test_" + System.nanoTime());
+		FileUtils.forceMkdir(bundlePath);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(bundlePath);
+	}
+
+	@Test
+	public void testCreateBundleFromFiles() throws Exception {
+		File manifest = writeFile("manifest.json", "{}");
+		File artifact = writeFile("do_1/artifact.pdf", "artifact");
+		File screenshot = writeFile("do_1/screenshots/1.png", "screenshot");
+		File bundle = contentBundle.createBundle(Arrays.asList(manifest, artifact, screenshot),
+				new File(bundlePath, "test.ecar").getPath());
+
+		Map<String, String> entries = readBundle(bundle);
+		Assert.assertEquals(Arrays.asList("manifest.json", "do_1/artifact.pdf", "do_1/screenshots/1.png"),
+				new ArrayList<>(entries.keySet()));
+		Assert.assertEquals("screenshot", entries.get("do_1/screenshots/1.png"));
+	}
+
+	@Test
+	public void testCreateBundleSharingFiles() throws Exception {
+		File icon = writeFile("download/icon.png", "icon");
+		Map<String, File> files = new LinkedHashMap<>();
+		files.put("do_1/icon.png", icon);
+		files.put("do_2/icon.png", icon);
+		File bundle = contentBundle.createBundle(files, new File(bundlePath, "test.ecar").getPath());
+
+		Map<String, String> entries = readBundle(bundle);
+		Assert.assertEquals(2, entries.size());
+		Assert.assertEquals("icon", entries.get("do_1/icon.png"));
+		Assert.assertEquals("icon", entries.get("do_2/icon.png"));
+	}
+
+	@Test
+	public void testWriteECARToStream() throws Exception {
+		Map<String, File> files = new LinkedHashMap<>();
+		files.put("manifest.json", writeFile("manifest.json", "{\"archive\": {}}"));
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		contentBundle.writeECAR(files, stream);
+
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(stream.toByteArray()))) {
+			ZipEntry entry = zip.getNextEntry();
+			Assert.assertEquals("manifest.json", entry.getName());
+			Assert.assertEquals("{\"archive\": {}}", IOUtils.toString(zip, StandardCharsets.UTF_8));
+			Assert.assertNull(zip.getNextEntry());
+		}
+	}
+
+	@Test
+	public void testCreateManifestDataInOnePass() {
+		List<String> children = Arrays.asList("do_2");
+		Map<EcarPackageType, List<Map<String, Object>>> packageContents = new EnumMap<>(EcarPackageType.class);
+		Map<EcarPackageType, List<Map<String, Object>>> expectedContents = new EnumMap<>(EcarPackageType.class);
+		Map<EcarPackageType, Map<Object, List<String>>> expectedUrls = new EnumMap<>(EcarPackageType.class);
+		for (EcarPackageType packageType : Arrays.asList(EcarPackageType.FULL, EcarPackageType.SPINE, EcarPackageType.ONLINE)) {
+			packageContents.put(packageType, getContents());
+			expectedContents.put(packageType, getContents());
+			expectedUrls.put(packageType,
+					contentBundle.createContentManifestData(expectedContents.get(packageType), children, null, packageType));
+		}
+
+		Map<EcarPackageType, Map<Object, List<String>>> downloadUrls = contentBundle
+				.createContentManifestData(packageContents, children, null);
+		Assert.assertEquals(expectedContents, packageContents);
+		Assert.assertEquals(expectedUrls, downloadUrls);
+		Assert.assertEquals(Arrays.asList("do_1", "do_2"), downloadUrls.get(EcarPackageType.FULL).get(ICON_URL));
+		Assert.assertTrue(downloadUrls.get(EcarPackageType.FULL).containsKey(ARTIFACT_URL));
+		Assert.assertFalse(downloadUrls.get(EcarPackageType.SPINE).containsKey(ARTIFACT_URL));
+		Assert.assertTrue(downloadUrls.get(EcarPackageType.ONLINE).isEmpty());
+	}
+
+	@Test(expected = Exception.class)
+	public void testCreateBundleWithoutFiles() {
+		contentBundle.createBundle(new ArrayList<File>(), new File(bundlePath, "test.ecar").getPath());
+	}
+
+	private static List<Map<String, Object>> getContents() {
+		List<Map<String, Object>> contents = new ArrayList<>();
+		for (String identifier : Arrays.asList("do_1", "do_2")) {
+			Map<String, Object> content = new HashMap<>();
+			content.put("identifier", identifier);
+			content.put("mimeType", "application/pdf");
+			content.put("appIcon", ICON_URL);
+			content.put("artifactUrl", ARTIFACT_URL.replace("do_1", identifier));
+			content.put("pkgVersion", 1.0);
+			contents.add(content);
+		}
+		return contents;
+	}
+
+	private File writeFile(String path, String data) throws IOException {
+		File file = new File(bundlePath, path);
+		FileUtils.writeStringToFile(file, data, StandardCharsets.UTF_8);
+		return file;
+	}
+
+	private static Map<String, String> readBundle(File bundle) throws IOException {
+		Map<String, String> entries = new LinkedHashMap<>();
+		try (InputStream stream = new FileInputStream(bundle); ZipInputStream zip = new ZipInputStream(stream)) {
+			ZipEntry entry;
+			while (null != (entry = zip.getNextEntry()))
+				entries.put(entry.getName(), IOUtils.toString(zip, StandardCharsets.UTF_8));
+		}
+		return entries;
+	}
+}
@@ -0,0 +1,72 @@
+package org.sunbird.content.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EcarPartCacheTest {
+
+	private static final String URL = "https://sunbirddev.blob.core.windows.net/content/do_1/artifact/1.pdf";
+
+	private String identifier;
+	private File downloadPath;
+
+	@Before
+	public void setUp() throws IOException {
+		identifier = "do_cache_test_" + System.nanoTime();
+		downloadPath = new File(FileUtils.getTempDirectory(), identifier);
+		FileUtils.forceMkdir(downloadPath);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(downloadPath);
+		File part = EcarPartCache.get(identifier, 1.0, URL);
+		if (null != part)
+			FileUtils.deleteDirectory(part.getParentFile().getParentFile().getParentFile());
+	}
+
+	@Test
+	public void testPutAndGet() throws Exception {
+		Assert.assertNull(EcarPartCache.get(identifier, 1.0, URL));
+		File file = new File(downloadPath, "1.pdf");
+		FileUtils.writeStringToFile(file, "artifact", StandardCharsets.UTF_8);
+
+		File part = EcarPartCache.put(identifier, 1.0, URL, file);
+		Assert.assertFalse(file.exists());
+		Assert.assertEquals("1.pdf", part.getName());
+		Assert.assertEquals(part, EcarPartCache.get(identifier, 1.0, URL));
+		Assert.assertEquals("artifact", FileUtils.readFileToString(part, StandardCharsets.UTF_8));
+		Assert.assertNull(EcarPartCache.get(identifier, 2.0, URL));
+		Assert.assertNull(EcarPartCache.get(identifier, 1.0, URL + "?v=2"));
+	}
+
+	@Test
+	public void testReplacedPartCountedOnce() throws Exception {
+		File file = new File(downloadPath, "1.pdf");
+		FileUtils.writeStringToFile(file, "artifact", StandardCharsets.UTF_8);
+		EcarPartCache.put(identifier, 1.0, URL, file);
+		long size = (long) EcarPartCache.getStats().get("size");
+
+		FileUtils.writeStringToFile(file, "artifact", StandardCharsets.UTF_8);
+		File part = EcarPartCache.put(identifier, 1.0, URL, file);
+		Assert.assertEquals("artifact", FileUtils.readFileToString(part, StandardCharsets.UTF_8));
+		Assert.assertEquals(size, (long) EcarPartCache.getStats().get("size"));
+	}
+
+	@Test
+	public void testNotCacheable() throws Exception {
+		File file = new File(downloadPath, "1.pdf");
+		FileUtils.writeStringToFile(file, "artifact", StandardCharsets.UTF_8);
+		Assert.assertSame(file, EcarPartCache.put(identifier, null, URL, file));
+		Assert.assertTrue(file.exists());
+		Assert.assertNull(EcarPartCache.get(identifier, null, URL));
+		Assert.assertNull(EcarPartCache.put(identifier, 1.0, URL, null));
+	}
+}
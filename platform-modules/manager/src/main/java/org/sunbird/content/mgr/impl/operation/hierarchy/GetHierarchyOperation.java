@@ -17,6 +17,8 @@ import org.sunbird.graph.model.node.DefinitionDTO;
 import org.sunbird.kafka.KafkaClient;
 import org.sunbird.learning.common.enums.ContentAPIParams;
 import org.sunbird.learning.common.enums.ContentErrorCodes;
+import org.sunbird.learning.hierarchy.store.HierarchyBookmarks;
+import org.sunbird.learning.hierarchy.store.HierarchyStore;
 import org.sunbird.searchindex.dto.SearchDTO;
 import org.sunbird.searchindex.elasticsearch.ElasticSearchUtil;
 import org.sunbird.searchindex.processor.SearchProcessor;
@@ -39,6 +41,8 @@ public class GetHierarchyOperation extends BaseContentManager {
 
     private SearchProcessor processor = new SearchProcessor();
 
+    private HierarchyStore hierarchyStore = new HierarchyStore();
+
     private static final String IMAGE_SUFFIX = ".img";
 
     private static final Boolean CONTENT_CACHE_ENABLED = Platform.config.hasPath("content.cache.hierarchy") ? Platform.config.getBoolean("content.cache.hierarchy") : false;
@@ -95,7 +99,7 @@ public class GetHierarchyOperation extends BaseContentManager {
                 Map<String, Object> latestLeafNodes = getLatestLeafNodes(leafNodeIds);
                 updateLatestLeafNodes(children, latestLeafNodes);
                 if (StringUtils.isNotBlank(bookmarkId)) {
-                    dataMap = filterBookmark(children, bookmarkId);
+                    dataMap = findBookmark(rootId + IMAGE_SUFFIX, children, bookmarkId);
                     if (MapUtils.isEmpty(dataMap)) {
                         throw new ResourceNotFoundException(ContentErrorCodes.ERR_CONTENT_NOT_FOUND.name(), "Content not found with id: " + bookmarkId);
                     }
@@ -122,7 +126,7 @@ public class GetHierarchyOperation extends BaseContentManager {
                     }
                 }
                 if (StringUtils.equalsIgnoreCase("Parent", visibility)) {
-                    String actualRootId = searchRootId(rootId);
+                    String actualRootId = findRootId(rootId);
                     if (StringUtils.isNotBlank(actualRootId)) {
                         generateMigrationInstructionEvent(actualRootId);
                     } else {
@@ -139,15 +143,16 @@ public class GetHierarchyOperation extends BaseContentManager {
                 throw new ClientException(ContentErrorCodes.ERR_INVALID_INPUT.name(), "Given content id is not of root collection : " + rootId);
             } else {
                 bookmarkId = rootId;
-                rootId = searchRootId(bookmarkId);
-                if(StringUtils.isNotBlank(rootId)) {
-                    Response hierarchyResponse = getCollectionHierarchy(rootId + IMAGE_SUFFIX);
+                RootHierarchy root = getRootHierarchy(bookmarkId, IMAGE_SUFFIX);
+                if(null != root) {
+                    rootId = root.rootId;
+                    Response hierarchyResponse = root.response;
                     if(checkError(hierarchyResponse)){
                         return hierarchyResponse;
                     } else {
                         Map<String, Object> rootHierarchy = (Map<String, Object>) hierarchyResponse.getResult().get("hierarchy");
                         List<Map<String, Object>> rootChildren = (List<Map<String, Object>>) rootHierarchy.get("children");
-                        Map<String, Object> hierarchy = filterBookmark(rootChildren, bookmarkId);
+                        Map<String, Object> hierarchy = findBookmark(rootId + IMAGE_SUFFIX, rootChildren, bookmarkId);
                         if (MapUtils.isNotEmpty(hierarchy)) {
                             generateMigrationInstructionEvent(rootId);
                             util.hierarchyCleanUp(hierarchy);
@@ -188,28 +193,29 @@ public class GetHierarchyOperation extends BaseContentManager {
                 throw new ServerException("ERR_CONTENT_HIERARCHY_PARSE", "Something Went Wrong While Processing the Content. ", e);
             }
             response.getResult().put("content", rootHierarchy);
-            return getHierarchyResponse(rootHierarchy, bookmarkId);
+            return getHierarchyResponse(rootId, rootHierarchy, bookmarkId);
         } else {
             response = getCollectionHierarchy(rootId);
             if (!checkError(response)) {
                 rootHierarchy = (Map<String, Object>) response.getResult().get("hierarchy");
                 if (CONTENT_CACHE_ENABLED && MapUtils.isNotEmpty(rootHierarchy))
                     RedisStoreUtil.saveData(cacheKey, rootHierarchy, CONTENT_CACHE_TTL);
-                return getHierarchyResponse(rootHierarchy, bookmarkId);
+                return getHierarchyResponse(rootId, rootHierarchy, bookmarkId);
             } else {
                 if (StringUtils.isBlank(bookmarkId)) {
                     bookmarkId = rootId;
-                    rootId = searchRootId(bookmarkId);
-                    if (StringUtils.isNotBlank(rootId)) {
-                        response = getCollectionHierarchy(rootId);
+                    RootHierarchy root = getRootHierarchy(bookmarkId, "");
+                    if (null != root) {
+                        rootId = root.rootId;
+                        response = root.response;
                         rootHierarchy = (Map<String, Object>) response.getResult().get("hierarchy");
                         if (CONTENT_CACHE_ENABLED && MapUtils.isNotEmpty(rootHierarchy)){
                             List<Map<String, Object>> rootChildren = (List<Map<String, Object>>) rootHierarchy.get("children");
-                            Map<String, Object> bookmarkHierarchy = filterBookmark(rootChildren, bookmarkId);
+                            Map<String, Object> bookmarkHierarchy = findBookmark(rootId, rootChildren, bookmarkId);
                             if(MapUtils.isNotEmpty(bookmarkHierarchy))
                                 RedisStoreUtil.saveData(cacheKey, bookmarkHierarchy, CONTENT_CACHE_TTL);
                         }
-                        return getHierarchyResponse(rootHierarchy, bookmarkId);
+                        return getHierarchyResponse(rootId, rootHierarchy, bookmarkId);
                     } else {
                         throw new ResourceNotFoundException(ContentErrorCodes.ERR_CONTENT_NOT_FOUND.name(), "Content not found with id: " + bookmarkId);
                     }
@@ -220,6 +226,64 @@ public class GetHierarchyOperation extends BaseContentManager {
         }
     }
 
+    /**
+     * Find the Root Id of a bookMarkID from the bookmark index, searching ES
+     * if the index has no published root for it
+     *
+     * @param bookMarkId
+     * @return
+     */
+    private String findRootId(String bookMarkId) {
+        String rootId = getIndexedRootId(bookMarkId);
+        return StringUtils.isNotBlank(rootId) ? rootId : searchRootId(bookMarkId);
+    }
+
+    /**
+     * Get the published root of a bookMarkID from the bookmark index
+     *
+     * @param bookMarkId
+     * @return the root id, null if the index has none or more than one
+     */
+    private String getIndexedRootId(String bookMarkId) {
+        List<String> rootIds = getBookmarks(bookMarkId).keySet().stream()
+                .filter(id -> !StringUtils.endsWith(id, IMAGE_SUFFIX)).collect(Collectors.toList());
+        return (rootIds.size() == 1) ? rootIds.get(0) : null;
+    }
+
+    /**
+     * Get the hierarchy of the root of a bookMarkID. The root from the
+     * bookmark index is used only if its indexed path leads to the unit in
+     * its hierarchy, the root is searched in ES otherwise
+     *
+     * @param bookMarkId
+     * @param suffix
+     *            the suffix of the hierarchy to read, IMAGE_SUFFIX for the edit mode
+     * @return the root and its hierarchy, null if no root is found
+     */
+    private RootHierarchy getRootHierarchy(String bookMarkId, String suffix) {
+        String indexedRootId = getIndexedRootId(bookMarkId);
+        Response indexedResponse = null;
+        if (StringUtils.isNotBlank(indexedRootId)) {
+            indexedResponse = getCollectionHierarchy(indexedRootId + suffix);
+            if (!checkError(indexedResponse) && null != HierarchyBookmarks.find(getChildren(indexedResponse),
+                    getBookmarks(bookMarkId).get(indexedRootId + suffix)))
+                return new RootHierarchy(indexedRootId, indexedResponse);
+            TelemetryManager.info("Bookmark index of content id: " + bookMarkId + " is stale for root id: "
+                    + indexedRootId + ", searching its root.");
+        }
+        String rootId = searchRootId(bookMarkId);
+        if (StringUtils.isBlank(rootId))
+            return null;
+        if (StringUtils.equals(rootId, indexedRootId))
+            return new RootHierarchy(rootId, indexedResponse);
+        return new RootHierarchy(rootId, getCollectionHierarchy(rootId + suffix));
+    }
+
+    private List<Map<String, Object>> getChildren(Response response) {
+        Map<String, Object> hierarchy = (Map<String, Object>) response.getResult().get("hierarchy");
+        return (null == hierarchy) ? null : (List<Map<String, Object>>) hierarchy.get("children");
+    }
+
     /**
      * Search Root Id for a bookMarkID from ES
      *
@@ -265,12 +329,12 @@ public class GetHierarchyOperation extends BaseContentManager {
 
     }
 
-    private Response getHierarchyResponse(Map<String, Object> hierarchy, String bookmarkId) {
+    private Response getHierarchyResponse(String rootId, Map<String, Object> hierarchy, String bookmarkId) {
         if (StringUtils.isBlank(bookmarkId)) {
             return OK("content", hierarchy);
         } else {
             List<Map<String, Object>> rootChildren = (List<Map<String, Object>>) hierarchy.get("children");
-            hierarchy = filterBookmark(rootChildren, bookmarkId);
+            hierarchy = findBookmark(rootId, rootChildren, bookmarkId);
             if (MapUtils.isNotEmpty(hierarchy)) {
                 return OK("content", hierarchy);
             } else {
@@ -279,6 +343,45 @@ public class GetHierarchyOperation extends BaseContentManager {
         }
     }
 
+    /**
+     * Find the bookMark Hierarchy by following its path from the bookmark
+     * index, filtering the whole hierarchy if the path is unknown or stale
+     *
+     * @param rootId
+     * @param children
+     * @param bookMarkId
+     * @return
+     */
+    private Map<String, Object> findBookmark(String rootId, List<Map<String, Object>> children, String bookMarkId) {
+        Map<String, Object> bookmark = HierarchyBookmarks.find(children, getBookmarks(bookMarkId).get(rootId));
+        return (null != bookmark) ? bookmark : filterBookmark(children, bookMarkId);
+    }
+
+    /**
+     * Get the paths of a bookMarkID by root id, from the cache if enabled
+     *
+     * @param bookMarkId
+     * @return
+     */
+    private Map<String, List<String>> getBookmarks(String bookMarkId) {
+        String cacheKey = HierarchyBookmarks.getCacheKey(bookMarkId);
+        if (CONTENT_CACHE_ENABLED) {
+            String bookmarks = RedisStoreUtil.get(cacheKey);
+            if (StringUtils.isNotBlank(bookmarks)) {
+                try {
+                    return objectMapper.readValue(bookmarks, new TypeReference<Map<String, List<String>>>() {
+                    });
+                } catch (Exception e) {
+                    TelemetryManager.error("Error Occurred While Parsing Bookmarks for Content Id : " + bookMarkId + " | Error is: ", e);
+                }
+            }
+        }
+        Map<String, List<String>> bookmarks = hierarchyStore.getBookmarks(bookMarkId);
+        if (CONTENT_CACHE_ENABLED && MapUtils.isNotEmpty(bookmarks))
+            RedisStoreUtil.saveData(cacheKey, new HashMap<String, Object>(bookmarks), CONTENT_CACHE_TTL);
+        return bookmarks;
+    }
+
     /**
      * Filter and return bookMark Hierarchy
      *
@@ -437,4 +540,18 @@ public class GetHierarchyOperation extends BaseContentManager {
         }
 
     }
+
+    /**
+     * The hierarchy of the root of a unit
+     */
+    private static class RootHierarchy {
+
+        private final String rootId;
+        private final Response response;
+
+        private RootHierarchy(String rootId, Response response) {
+            this.rootId = rootId;
+            this.response = response;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package org.sunbird.interceptor;
 import java.io.IOException;
 import java.util.UUID;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -25,6 +26,10 @@ import org.sunbird.common.util.AccessEventGenerator;;
 
 public class ResponseFilter implements Filter {
 
+	private static final String REQUEST_ID = "requestId";
+	private static final String REQUEST_WRAPPER = "requestWrapper";
+	private static final String RESPONSE_WRAPPER = "responseWrapper";
+
 	@Override
 	public void init(FilterConfig filterConfig) throws ServletException {
 		TelemetryGenerator.setComponent("learning-service");
@@ -33,8 +38,11 @@ public class ResponseFilter implements Filter {
 	@Override
 	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
-		String requestId = getUUID();
 		HttpServletRequest httpRequest = (HttpServletRequest) request;
+		boolean asyncDispatch = DispatcherType.ASYNC == request.getDispatcherType();
+		String requestId = asyncDispatch ? (String) request.getAttribute(REQUEST_ID) : null;
+		if (StringUtils.isBlank(requestId))
+			requestId = getUUID();
 		ExecutionContext.setRequestId(requestId);
 		String consumerId = httpRequest.getHeader("X-Consumer-ID");
 		String channelId = httpRequest.getHeader("X-Channel-Id");
@@ -55,7 +63,14 @@ public class ResponseFilter implements Filter {
 		if (StringUtils.isNotBlank(deviceId))
 			ExecutionContext.getCurrent().getGlobalContext().put(HeaderParam.DEVICE_ID.name(), deviceId);
 
-		if (!path.contains("/health")) {
+		if (asyncDispatch && null != request.getAttribute(RESPONSE_WRAPPER)) {
+			// The deferred result of the request is written now, on the dispatch
+			// the servlet made once the result was set.
+			RequestWrapper requestWrapper = (RequestWrapper) request.getAttribute(REQUEST_WRAPPER);
+			ResponseWrapper responseWrapper = (ResponseWrapper) request.getAttribute(RESPONSE_WRAPPER);
+			chain.doFilter(request, response);
+			writeResponse(requestWrapper, responseWrapper);
+		} else if (!path.contains("/health")) {
 			RequestWrapper requestWrapper = new RequestWrapper(httpRequest);
 			TelemetryManager.log("Path: " + requestWrapper.getServletPath()+ " | Remote Address: " + request.getRemoteAddr());
 
@@ -67,14 +82,24 @@ public class ResponseFilter implements Filter {
 
 			chain.doFilter(requestWrapper, responseWrapper);
 
-			AccessEventGenerator.writeTelemetryEventLog(requestWrapper, responseWrapper);
-			response.getOutputStream().write(responseWrapper.getData());
+			if (requestWrapper.isAsyncStarted()) {
+				requestWrapper.setAttribute(REQUEST_ID, requestId);
+				requestWrapper.setAttribute(REQUEST_WRAPPER, requestWrapper);
+				requestWrapper.setAttribute(RESPONSE_WRAPPER, responseWrapper);
+			} else {
+				writeResponse(requestWrapper, responseWrapper);
+			}
 		} else {
 			TelemetryManager.log("Path: " + httpRequest.getServletPath() +" | Remote Address: " + request.getRemoteAddr());
 			chain.doFilter(httpRequest, response);
 		}
 	}
 
+	private void writeResponse(RequestWrapper requestWrapper, ResponseWrapper responseWrapper) throws IOException {
+		AccessEventGenerator.writeTelemetryEventLog(requestWrapper, responseWrapper);
+		responseWrapper.getResponse().getOutputStream().write(responseWrapper.getData());
+	}
+
 	private String getEnv(RequestWrapper requestWrapper) {
 		String path = requestWrapper.getRequestURI();
 		if (path.contains("/v3/definitions") || path.contains("/v3/import") || path.contains("/v3/export")
@@ -86,6 +86,8 @@ public class LearningHealthCheckManager extends HealthCheckManager {
 		try {
 			boolean status = CassandraConnector.testCassandraConnection();
 			check.put("healthy", status);
+			if (status)
+				check.put("pools", CassandraConnector.getPoolStats());
 			if(!status) {
 				check.put("err", "404"); // error code, if any
 				check.put("errmsg", " Cassandra connection is not available"); 
@@ -4,9 +4,15 @@ import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 
+import org.sunbird.common.Platform;
+import org.sunbird.kafka.KafkaAuditHandler;
+import org.sunbird.kafka.KafkaClient;
+import org.sunbird.kafka.KafkaEventWriter;
 import org.sunbird.util.LocalCacheUpdater;
 import org.sunbird.learning.router.LearningRequestRouterPool;
 import org.sunbird.telemetry.logger.TelemetryManager;
+import org.sunbird.telemetry.sink.AsyncEventSink;
+import org.sunbird.telemetry.sink.LoggerEventWriter;
 
 
 public class InitServlet extends HttpServlet {
@@ -23,5 +29,14 @@ public class InitServlet extends HttpServlet {
         LearningRequestRouterPool.init();
         TelemetryManager.log("Initialising Local Cache Updater");
         LocalCacheUpdater.init();
+        if (KafkaClient.isEnabled() && Platform.config.hasPath("kafka.topic.audit")) {
+            TelemetryManager.log("Publishing audit events to Kafka");
+            TelemetryManager.setAuditHandler(new KafkaAuditHandler(Platform.config.getString("kafka.topic.audit")));
+        }
+        if (KafkaClient.isEnabled() && Platform.config.hasPath("kafka.topic.telemetry")) {
+            TelemetryManager.log("Publishing telemetry events to Kafka");
+            AsyncEventSink.get(AsyncEventSink.TELEMETRY, new LoggerEventWriter("TelemetryEventLogger"))
+                    .setWriter(new KafkaEventWriter(Platform.config.getString("kafka.topic.telemetry")));
+        }
     }
 }
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * Controller Class for Framework API in LP
@@ -64,17 +65,17 @@ public class FrameworkV3Controller extends BaseController {
 	 */
 	@RequestMapping(value = "/read/{id:.+}", method = RequestMethod.GET)
 	@ResponseBody
-	public ResponseEntity<Response> readFramework(@PathVariable(value = "id") String frameworkId,
+	public DeferredResult<ResponseEntity<Response>> readFramework(@PathVariable(value = "id") String frameworkId,
 			@RequestParam(value = "categories", required = false) String[] categories) {
 		String apiId = "ekstep.learning.framework.read";
 		try {
 			List<String> returnCategories = (categories == null) ? Arrays.asList() : Arrays.asList(categories);
-			Response response = frameworkManager.readFramework(frameworkId, returnCategories);
-			return getResponseEntity(response, apiId, null);
+			return getDeferredResponseEntity(frameworkManager.readFrameworkAsync(frameworkId, returnCategories),
+					apiId, null);
 		} catch (Exception e) {
 			TelemetryManager.error(
 					"Exception Occured while reading framework details (Read Framework API): " + e.getMessage(), e);
-			return getExceptionResponseEntity(e, apiId, null);
+			return getDeferredExceptionResponseEntity(e, apiId, null);
 		}
 	}
 
@@ -2,6 +2,7 @@ package org.sunbird.framework.mgr;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 import org.sunbird.common.dto.Response;
 import org.sunbird.framework.mgr.impl.FrameworkManagerImpl;
@@ -21,6 +22,8 @@ public interface IFrameworkManager {
 	Response createFramework(Map<String, Object> map, String channelId) throws Exception;
 	
 	Response readFramework(String frameworkId, List<String> categories) throws Exception;
+
+	CompletionStage<Response> readFrameworkAsync(String frameworkId, List<String> categories) throws Exception;
 	
 	Response updateFramework(String frameworkId,String channelId, Map<String, Object> map) throws Exception;
 	
@@ -10,9 +10,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
-import akka.pattern.Patterns;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections.CollectionUtils;
@@ -29,7 +29,6 @@ import org.sunbird.common.exception.ServerException;
 import org.sunbird.common.mgr.BaseManager;
 import org.sunbird.common.mgr.ConvertGraphNode;
 import org.sunbird.common.mgr.ConvertToGraphNode;
-import org.sunbird.common.router.RequestRouterPool;
 import org.sunbird.framework.enums.FrameworkEnum;
 import org.sunbird.graph.dac.enums.GraphDACParams;
 import org.sunbird.graph.dac.model.Filter;
@@ -46,8 +45,6 @@ import org.sunbird.learning.router.LearningRequestRouterPool;
 import org.sunbird.telemetry.logger.TelemetryManager;
 
 import akka.actor.ActorRef;
-import scala.concurrent.Await;
-import scala.concurrent.Future;
 
 /**
  * @author pradyumna
@@ -83,17 +80,27 @@ public class BaseFrameworkManager extends BaseManager {
 	}
 
 	protected Response read(String identifier, String objectType, String responseObject) {
-		Response responseNode = getDataNode(GRAPH_ID, identifier);
-		if (checkError(responseNode))
-			throw new ResourceNotFoundException("ERR_DATA_NOT_FOUND", "Data not found with id : " + identifier);
-		Response response = new Response();
-		Node node = (Node) responseNode.get(GraphDACParams.node.name());
-		DefinitionDTO definition = getDefinition(GRAPH_ID, objectType);
-		Map<String, Object> responseMap = ConvertGraphNode.convertGraphNode(node, GRAPH_ID, definition, null);
-		ConvertGraphNode.filterNodeRelationships(responseMap, definition);
-		response.put(responseObject, responseMap);
-		response.setParams(getSucessStatus());
-		return response;
+		return getResult(readAsync(identifier, objectType, responseObject));
+	}
+
+	/**
+	 * Reads the node and its definition together.
+	 */
+	protected CompletionStage<Response> readAsync(String identifier, String objectType, String responseObject) {
+		return getDataNodeAsync(GRAPH_ID, identifier).thenCombine(getDefinitionAsync(GRAPH_ID, objectType),
+				(responseNode, definition) -> {
+					if (checkError(responseNode))
+						throw new ResourceNotFoundException("ERR_DATA_NOT_FOUND",
+								"Data not found with id : " + identifier);
+					Response response = new Response();
+					Node node = (Node) responseNode.get(GraphDACParams.node.name());
+					Map<String, Object> responseMap = ConvertGraphNode.convertGraphNode(node, GRAPH_ID, definition,
+							null);
+					ConvertGraphNode.filterNodeRelationships(responseMap, definition);
+					response.put(responseObject, responseMap);
+					response.setParams(getSucessStatus());
+					return response;
+				});
 	}
 	
 	protected Response update(String identifier, String objectType, Map<String, Object> map) {
@@ -174,14 +181,19 @@ public class BaseFrameworkManager extends BaseManager {
 	 * 
 	 */
 	protected DefinitionDTO getDefinition(String graphId, String objectType) {
+		return getResult(getDefinitionAsync(graphId, objectType));
+	}
+
+	protected CompletionStage<DefinitionDTO> getDefinitionAsync(String graphId, String objectType) {
 		Request request = getRequest(graphId, GraphEngineManagers.SEARCH_MANAGER, "getNodeDefinition",
 				GraphDACParams.object_type.name(), objectType);
-		Response response = getResponse(request);
-		if (!checkError(response)) {
-			DefinitionDTO definition = (DefinitionDTO) response.get(GraphDACParams.definition_node.name());
-			return definition;
-		}
-		return null;
+		return getResponseAsync(request).thenApply(response -> {
+			if (!checkError(response)) {
+				DefinitionDTO definition = (DefinitionDTO) response.get(GraphDACParams.definition_node.name());
+				return definition;
+			}
+			return null;
+		});
 	}
 
 	/*
@@ -519,23 +531,16 @@ public class BaseFrameworkManager extends BaseManager {
 		return makeActorRequest(request);
 	}
 
+	protected CompletionStage<Response> getFrameworkHierarchyAsync(String identifier) {
+		Request request = new Request();
+		request.setManagerName(LearningActorNames.FRAMEWORK_HIERARCHY_ACTOR.name());
+		request.setOperation(FrameworkHierarchyOperations.getFrameworkHierarchy.name());
+		request.put("identifier", identifier);
+		return getResponseAsync(request, LearningRequestRouterPool.getRequestRouter());
+	}
+
 	private Response makeActorRequest(Request request) {
-		ActorRef router = LearningRequestRouterPool.getRequestRouter();
-		try {
-			Future<Object> future = Patterns.ask(router, request, RequestRouterPool.REQ_TIMEOUT);
-			Object obj = Await.result(future, RequestRouterPool.WAIT_TIMEOUT.duration());
-			if (obj instanceof Response) {
-				Response response = (Response) obj;
-				TelemetryManager.log("Response Params: " + response.getParams() + " | Code: "
-						+ response.getResponseCode() + " | Result: " + response.getResult().keySet());
-				return response;
-			} else {
-				return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
-			}
-		} catch (Exception e) {
-			TelemetryManager.error("Error! Something went wrong while making actor call for get framework hierarchy : " + e.getMessage(), e);
-			throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "Something Went Wrong While Processing Your Request", e);
-		}
+		return getResult(getResponseAsync(request, LearningRequestRouterPool.getRequestRouter()));
 	}
 
 	/**
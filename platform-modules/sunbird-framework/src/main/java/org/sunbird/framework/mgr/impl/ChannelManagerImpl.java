@@ -16,7 +16,6 @@ import org.sunbird.common.dto.Response;
 import org.sunbird.common.exception.ClientException;
 import org.sunbird.common.exception.ResponseCode;
 import org.sunbird.common.exception.ServerException;
-import org.sunbird.common.router.RequestRouterPool;
 import org.sunbird.framework.enums.ChannelEnum;
 import org.sunbird.framework.mgr.IChannelManager;
 import org.sunbird.graph.cache.util.RedisStoreUtil;
@@ -27,7 +26,7 @@ import org.sunbird.searchindex.dto.SearchDTO;
 import org.sunbird.searchindex.processor.SearchProcessor;
 import org.sunbird.searchindex.util.CompositeSearchConstants;
 import org.springframework.stereotype.Component;
-import scala.concurrent.Await;
+import scala.compat.java8.FutureConverters;
 
 
 @Component
@@ -102,9 +101,8 @@ public class ChannelManagerImpl extends BaseFrameworkManager implements IChannel
 		searchDto.setProperties(setSearchProperties());
 		searchDto.setOperation(CompositeSearchConstants.SEARCH_OPERATION_AND);
 		searchDto.setFields(getFields());
-		searchResult = Await.result(
-				processor.processSearchQuery(searchDto, false, CompositeSearchConstants.COMPOSITE_SEARCH_INDEX, false),
-				RequestRouterPool.WAIT_TIMEOUT.duration());
+		searchResult = getResult(FutureConverters.toJava(
+				processor.processSearchQuery(searchDto, false, CompositeSearchConstants.COMPOSITE_SEARCH_INDEX, false)));
 
 		return searchResult;
 	}
@@ -1,13 +1,17 @@
 
 package org.sunbird.framework.mgr.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.Platform;
 import org.sunbird.common.Slug;
 import org.sunbird.common.dto.Response;
 import org.sunbird.common.exception.ClientException;
 import org.sunbird.common.exception.ResourceNotFoundException;
 import org.sunbird.common.exception.ResponseCode;
+import org.sunbird.common.exception.ServerException;
 import org.sunbird.common.util.FrameworkCache;
 import org.sunbird.framework.enums.FrameworkEnum;
 import org.sunbird.framework.mgr.IFrameworkManager;
@@ -17,6 +21,11 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Class <code>FrameworkManagerImpl</code> is the implementation of
@@ -31,6 +40,13 @@ import java.util.Map;
 public class FrameworkManagerImpl extends BaseFrameworkManager implements IFrameworkManager {
 
 	private static final String FRAMEWORK_OBJECT_TYPE = "Framework";
+	private static final String READ_PARALLELISM = "framework.read.parallelism";
+
+	/**
+	 * Runs the framework read stages which write to the cache, so that they
+	 * do not block the actor thread delivering the hierarchy.
+	 */
+	private static final ExecutorService readExecutor = createReadPool();
 
 	/*
 	 * create framework
@@ -67,31 +83,58 @@ public class FrameworkManagerImpl extends BaseFrameworkManager implements IFrame
 	 * @return Response
 	 * @throws Exception
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public Response readFramework(String frameworkId, List<String> returnCategories) throws Exception {
-		Map<String, Object> framework = FrameworkCache.get(frameworkId, returnCategories);
-		if(MapUtils.isNotEmpty(framework)){
+		return getResult(readFrameworkAsync(frameworkId, returnCategories));
+	}
+
+	/*
+	 * Read Framework without blocking the calling thread, the hierarchy and
+	 * the node are read on the actor system.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public CompletionStage<Response> readFrameworkAsync(String frameworkId, List<String> returnCategories)
+			throws Exception {
+		Map<String, Object> cached = FrameworkCache.get(frameworkId, returnCategories);
+		if (MapUtils.isNotEmpty(cached)) {
+			filterFrameworkCategories(cached, returnCategories);
 			Response response = OK();
-			response.put(FrameworkEnum.framework.name(), framework);
-			return response;
+			response.put(FrameworkEnum.framework.name(), cached);
+			return CompletableFuture.completedFuture(response);
 		}
 
-		Response getHierarchyResp = getFrameworkHierarchy(frameworkId);
-		if (!checkError(getHierarchyResp)) {
-			framework = (Map<String, Object>) getHierarchyResp.get("framework");
-		}
+		return getFrameworkHierarchyAsync(frameworkId).thenComposeAsync(getHierarchyResp -> {
+			Map<String, Object> framework = null;
+			if (!checkError(getHierarchyResp)) {
+				framework = (Map<String, Object>) getHierarchyResp.get("framework");
+			}
 
-		if (MapUtils.isNotEmpty(framework)) {
-			filterFrameworkCategories(framework, returnCategories);
-			FrameworkCache.save(framework, returnCategories);
-			Response response = OK();
-			response.put(FrameworkEnum.framework.name(), framework);
-			return response;
-		} else {
-			Response readResponse = read(frameworkId, FRAMEWORK_OBJECT_TYPE, FrameworkEnum.framework.name());
-			return readResponse;
-		}
+			if (MapUtils.isNotEmpty(framework)) {
+				try {
+					if (CollectionUtils.isNotEmpty(returnCategories))
+						FrameworkCache.save(framework);
+					filterFrameworkCategories(framework, returnCategories);
+				} catch (JsonProcessingException e) {
+					throw new ServerException(ResponseCode.SERVER_ERROR.name(), e.getMessage(), e);
+				}
+				Response response = OK();
+				response.put(FrameworkEnum.framework.name(), framework);
+				return CompletableFuture.completedFuture(response);
+			} else {
+				return readAsync(frameworkId, FRAMEWORK_OBJECT_TYPE, FrameworkEnum.framework.name());
+			}
+		}, readExecutor);
+	}
+
+	private static ExecutorService createReadPool() {
+		int threads = Platform.config.hasPath(READ_PARALLELISM) ? Platform.config.getInt(READ_PARALLELISM) : 4;
+		AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "framework-read-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
 	}
 
 	/*
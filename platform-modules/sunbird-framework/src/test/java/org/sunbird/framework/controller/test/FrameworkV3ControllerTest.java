@@ -25,8 +25,10 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -99,6 +101,15 @@ public class FrameworkV3ControllerTest extends CommonTestSetup {
 		this.mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
 	}
 	
+	/**
+	 * Performs the read request and dispatches its deferred result.
+	 */
+	private ResultActions performRead(String path) throws Exception {
+		MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(path).contentType(MediaType.APPLICATION_JSON))
+				.andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+		return mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result));
+	}
+
 	private void delay(long time) {
 		try {
 			Thread.sleep(time);
@@ -228,7 +239,7 @@ public class FrameworkV3ControllerTest extends CommonTestSetup {
 		delay(30000);
 		//Read Framework
 		path = BASE_PATH + "/read/" + "test_fr";
-		actions = mockMvc.perform(MockMvcRequestBuilders.get(path).contentType(MediaType.APPLICATION_JSON));
+		actions = performRead(path);
 		Assert.assertEquals(200, actions.andReturn().getResponse().getStatus());
 		Response resp=getResponse(actions);
 		Map<String,Object> framework=(Map<String, Object>) resp.getResult().get("framework");
@@ -268,7 +279,7 @@ public class FrameworkV3ControllerTest extends CommonTestSetup {
 	public void mockTestFrameworkReadWithInvalidFrameworkId() throws Exception {
 		String id = "ttttt1234"; // Invalid Framework Id
 		String path = BASE_PATH + "/read/" + id;
-		actions = mockMvc.perform(MockMvcRequestBuilders.get(path).contentType(MediaType.APPLICATION_JSON));
+		actions = performRead(path);
 		Assert.assertEquals(404, actions.andReturn().getResponse().getStatus());
 	}
 
@@ -712,7 +723,7 @@ public class FrameworkV3ControllerTest extends CommonTestSetup {
 		delay(10000);
 		//Read Framework
 		path = BASE_PATH + "/read/" + "test.fr";
-		actions = mockMvc.perform(MockMvcRequestBuilders.get(path).contentType(MediaType.APPLICATION_JSON));
+		actions = performRead(path);
 		Response resp=getResponse(actions);
 		Map<String,Object> framework=(Map<String, Object>) resp.getResult().get("framework");
 		String name=(String) framework.get("name");
@@ -743,7 +754,7 @@ public class FrameworkV3ControllerTest extends CommonTestSetup {
 		delay(30000);
 		//Read Framework
 		path = BASE_PATH + "/read/" + "test.fr.1";
-		actions = mockMvc.perform(MockMvcRequestBuilders.get(path).contentType(MediaType.APPLICATION_JSON));
+		actions = performRead(path);
 		Response resp=getResponse(actions);
 		Map<String,Object> framework=(Map<String, Object>) resp.getResult().get("framework");
 		String name=(String) framework.get("name");
@@ -789,13 +800,13 @@ public class FrameworkV3ControllerTest extends CommonTestSetup {
 		//Read Framework
 		String path = BASE_PATH + "/read/tests/?categories=subject,board";
 
-		actions = mockMvc.perform(MockMvcRequestBuilders.get(path).contentType(MediaType.APPLICATION_JSON));
+		actions = performRead(path);
 		Assert.assertEquals(200, actions.andReturn().getResponse().getStatus());
 		Response resp=getResponse(actions);
 		Map<String,Object> framework=(Map<String, Object>) resp.getResult().get("framework");
 		Assert.assertEquals(200, actions.andReturn().getResponse().getStatus());
 		Assert.assertNotNull(framework);
-		Assert.assertNotNull(RedisStoreUtil.get("fw_tests_board_subject"));
+		Assert.assertNotNull(RedisStoreUtil.get("fw_tests"));
 		FrameworkCache.delete("tests");
 	}
 
@@ -805,7 +816,7 @@ public class FrameworkV3ControllerTest extends CommonTestSetup {
 		executeScript(query);
 		//Read Framework
 		String path = BASE_PATH + "/read/" + "tn_k-12_5";
-		actions = mockMvc.perform(MockMvcRequestBuilders.get(path).contentType(MediaType.APPLICATION_JSON));
+		actions = performRead(path);
 		Assert.assertEquals(200, actions.andReturn().getResponse().getStatus());
 		Response resp=getResponse(actions);
 		Map<String,Object> framework=(Map<String, Object>) resp.getResult().get("framework");
@@ -0,0 +1,111 @@
+package org.sunbird.framework.manager.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.common.dto.Response;
+import org.sunbird.framework.mgr.impl.ChannelManagerImpl;
+import org.sunbird.framework.mgr.impl.FrameworkManagerImpl;
+import org.sunbird.framework.test.common.TestParams;
+import org.sunbird.graph.engine.common.GraphEngineTestSetup;
+import org.sunbird.learning.router.LearningRequestRouterPool;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads a framework from a fixed number of caller threads blocking on each
+ * read, then from a single thread keeping a fixed number of reads in flight.
+ * Writes the throughput of both to the performance test log, asserts only the
+ * responses.
+ */
+public class FrameworkReadLoadTest extends GraphEngineTestSetup {
+
+	private static final Logger logger = LogManager.getLogger("PerformanceTestLogger");
+
+	private static final int THREADS = 2;
+	private static final int IN_FLIGHT = 8;
+	private static final int READS = 20;
+
+	private static String frameworkId;
+
+	private static ChannelManagerImpl channelManager = new ChannelManagerImpl();
+	private static FrameworkManagerImpl frameworkManager = new FrameworkManagerImpl();
+
+	private static ObjectMapper mapper = new ObjectMapper();
+
+	private static final String createFrameworkReq = "{\"name\": \"NCERT02\",\"description\": \"NCERT framework of Karnatka\",\"code\": \"ka_ncert02\"}";
+	private static final String createChannelReq = "{\"name\":\"channelKA\",\"description\":\"\",\"code\":\"channelKA02\"}";
+
+	@BeforeClass
+	public static void initTest() throws Exception {
+		loadDefinition("definitions/channel_definition.json", "definitions/framework_definition.json",
+				"definitions/categoryInstance_definition.json");
+		LearningRequestRouterPool.init();
+		Response resp = channelManager.createChannel(
+				mapper.readValue(createChannelReq, new TypeReference<Map<String, Object>>() {
+				}));
+		String channelId = (String) resp.getResult().get(TestParams.node_id.name());
+		resp = frameworkManager.createFramework(
+				mapper.readValue(createFrameworkReq, new TypeReference<Map<String, Object>>() {
+				}), channelId);
+		frameworkId = (String) resp.getResult().get(TestParams.node_id.name());
+	}
+
+	@Test
+	public void testReadThroughput() throws Exception {
+		// warm up the actors and the definition cache
+		assertFramework(frameworkManager.readFramework(frameworkId, Arrays.asList()));
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			long start = System.currentTimeMillis();
+			List<Future<Response>> responses = new ArrayList<Future<Response>>();
+			for (int i = 0; i < READS; i++)
+				responses.add(executor.submit(() -> frameworkManager.readFramework(frameworkId, Arrays.asList())));
+			for (Future<Response> response : responses)
+				assertFramework(response.get());
+			long syncTime = System.currentTimeMillis() - start;
+
+			start = System.currentTimeMillis();
+			Semaphore inFlight = new Semaphore(IN_FLIGHT);
+			List<CompletableFuture<Response>> stages = new ArrayList<CompletableFuture<Response>>();
+			for (int i = 0; i < READS; i++) {
+				inFlight.acquire();
+				CompletableFuture<Response> stage = frameworkManager.readFrameworkAsync(frameworkId, Arrays.asList())
+						.toCompletableFuture();
+				stage.whenComplete((response, e) -> inFlight.release());
+				stages.add(stage);
+			}
+			for (CompletableFuture<Response> stage : stages)
+				assertFramework(stage.join());
+			long asyncTime = System.currentTimeMillis() - start;
+
+			logger.info(String.format(
+					"Framework read | reads: %d | blocking, %d threads: %.2f reads/s | non-blocking, %d in flight: %.2f reads/s",
+					READS, THREADS, READS * 1000.0 / Math.max(syncTime, 1), IN_FLIGHT,
+					READS * 1000.0 / Math.max(asyncTime, 1)));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void assertFramework(Response response) {
+		Assert.assertEquals("OK", response.getResponseCode().name());
+		Map<String, Object> framework = (Map<String, Object>) response.getResult().get("framework");
+		Assert.assertEquals(frameworkId, framework.get("identifier"));
+	}
+}
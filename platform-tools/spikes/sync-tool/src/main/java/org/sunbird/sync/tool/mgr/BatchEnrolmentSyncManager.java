@@ -17,6 +17,7 @@ import org.sunbird.common.dto.Response;
 import org.sunbird.graph.dac.model.Node;
 import org.sunbird.kafka.KafkaClient;
 import org.sunbird.learning.util.ControllerUtil;
+import org.sunbird.searchindex.elasticsearch.ElasticSearchBulkProcessor;
 import org.sunbird.searchindex.elasticsearch.ElasticSearchUtil;
 import org.sunbird.sync.tool.util.CassandraColumns;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -148,8 +149,10 @@ public class BatchEnrolmentSyncManager {
         long startTime = System.currentTimeMillis();
         long total = ((Number) rows.size()).longValue();
         long current = 0;
+        // documents are streamed to ES while the next batch is transformed.
+        ElasticSearchBulkProcessor processor = ElasticSearchUtil.getBulkProcessor(index, "_doc");
         while (CollectionUtils.isNotEmpty(rowClone)){
-            Map<String , Object> esDocs = new HashMap<>();
+            List<String> esDocIds = new ArrayList<>();
             int currentBatchSize = (rowClone.size() >= batchSize) ? batchSize : rowClone.size();
             List<Row> dbRows = rowClone.subList(0, currentBatchSize);
 
@@ -174,17 +177,18 @@ public class BatchEnrolmentSyncManager {
                 esDoc.put("identifier", docId);
                 esDoc.put("id", docId);
                 System.out.println("ES DOC for : " + docId +" : " +esDoc);
-                esDocs.put(docId, esDoc);
-                
-            }
-            if(MapUtils.isNotEmpty(esDocs)) {
-                ElasticSearchUtil.bulkIndexWithIndexId(index, "_doc", esDocs);
+                processor.index(docId, esDoc);
+                esDocIds.add(docId);
             }
             current +=dbRows.size();
             printProgress(startTime, total, current);
-            System.out.println("DocIds synced : " + esDocs.keySet());
+            System.out.println("DocIds synced : " + esDocIds);
             rowClone.subList(0, currentBatchSize).clear();
         }
+        processor.close();
+        if (processor.getFailedCount() > 0)
+            System.out.println("Failed to sync " + processor.getFailedCount() + " docs : " + processor.getFailures());
+        processor.verify();
     }
 
     private static List<Row> read(String table, int limit, String[] batchIds) {
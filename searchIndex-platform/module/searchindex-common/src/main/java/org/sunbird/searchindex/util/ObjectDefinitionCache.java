@@ -3,59 +3,130 @@ package org.sunbird.searchindex.util;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.codehaus.jackson.map.ObjectMapper;
 import org.codehaus.jackson.type.TypeReference;
 import org.sunbird.common.Platform;
 import org.sunbird.telemetry.logger.TelemetryManager;
 
+/**
+ * Caches the definition, metadata and relations of object types fetched from
+ * the taxonomy api, by graph id and object type. An object type is fetched on
+ * first use and again once it is older than search.definition.cache.ttl
+ * (milliseconds, default 600000), or after it is invalidated on a definition
+ * update event in this JVM. Concurrent misses for an object type wait for a
+ * single fetch, and a failed refresh keeps serving the cached definition.
+ */
 @SuppressWarnings("rawtypes")
 public class ObjectDefinitionCache {
 
-	private static Map<String, Map> definitionMap = new HashMap<String, Map>();
-	private static Map<String, Map> metadataMap = new HashMap<String, Map>();
-	private static Map<String, Map<String, String>> relationMap = new HashMap<String, Map<String, String>>();
+	private static final long TTL = Platform.config.hasPath("search.definition.cache.ttl")
+			? Platform.config.getLong("search.definition.cache.ttl") : 600000;
+
+	private static Map<String, Map> definitionMap = new ConcurrentHashMap<String, Map>();
+	private static Map<String, Map> metadataMap = new ConcurrentHashMap<String, Map>();
+	private static Map<String, Map<String, String>> relationMap = new ConcurrentHashMap<String, Map<String, String>>();
+	private static Map<String, Long> loadTimes = new ConcurrentHashMap<String, Long>();
+	private static Map<String, CompletableFuture<Void>> loading = new ConcurrentHashMap<String, CompletableFuture<Void>>();
 	private static ObjectMapper mapper = new ObjectMapper();
 
 	@SuppressWarnings({ "unchecked" })
 	public static Map<String, Object> getDefinitionNode(String objectType, String graphId) throws Exception {
-		Map<String, Object> definition = null;
-		if (definition == null) {
-			getDefinitionFromGraph(objectType, graphId);
-			definition = definitionMap.get(objectType);
-		}
-		TelemetryManager.log("DefinitionMap "+ definitionMap);
-		return definition;
+		String key = getKey(graphId, objectType);
+		loadIfRequired(definitionMap, key, objectType, graphId);
+		return definitionMap.get(key);
 	}
 	
     public static Map<String, String> getRelationDefinition(String objectType, String graphId) throws Exception {
-        Map<String, String> definition = null;
-        if (definition == null) {
-            getDefinitionFromGraph(objectType, graphId);
-            definition = relationMap.get(objectType);
-        }
-        return definition;
+        String key = getKey(graphId, objectType);
+        loadIfRequired(relationMap, key, objectType, graphId);
+        return relationMap.get(key);
     }
 
 	@SuppressWarnings({ "unchecked" })
 	public static Map<String, Object> getMetaData(String objectType, String graphId) throws Exception {
-		Map<String, Object> metadata = null;
-		if (metadata == null) {
-			getDefinitionFromGraph(objectType, graphId);
-			metadata = metadataMap.get(objectType);
-		}
-		return metadata;
+		String key = getKey(graphId, objectType);
+		loadIfRequired(metadataMap, key, objectType, graphId);
+		return metadataMap.get(key);
 	}
 	
-    public static void setDefinitionNode(String objectType, Map<String, Object> definition) {
-		definitionMap.put(objectType, definition);
+    public static void setDefinitionNode(String objectType, String graphId, Map<String, Object> definition) {
+		definitionMap.put(getKey(graphId, objectType), definition);
 	}
 	
-    public static void setRelationDefinition(String objectType, Map<String, String> definition) {
-            relationMap.put(objectType, definition);
+    public static void setRelationDefinition(String objectType, String graphId, Map<String, String> definition) {
+            relationMap.put(getKey(graphId, objectType), definition);
     }
+
+	/**
+	 * Invalidates the object type of the graph, the next read fetches it
+	 * again.
+	 *
+	 * @param graphId
+	 * @param objectType
+	 */
+	public static void invalidate(String graphId, String objectType) {
+		loadTimes.remove(getKey(graphId, objectType));
+		TelemetryManager.log("Invalidated definition cache for graphId: " + graphId + ", objectType: " + objectType);
+	}
+
+	/**
+	 * Invalidates all the object types.
+	 */
+	public static void invalidateAll() {
+		loadTimes.clear();
+	}
+
+	private static String getKey(String graphId, String objectType) {
+		return graphId + ":" + objectType;
+	}
+
+	private static void loadIfRequired(Map<String, ?> cache, String key, String objectType, String graphId)
+			throws Exception {
+		Long loadTime = loadTimes.get(key);
+		if (null != loadTime && (TTL <= 0 || System.currentTimeMillis() - loadTime < TTL))
+			return;
+		try {
+			load(key, objectType, graphId);
+		} catch (Exception e) {
+			if (!cache.containsKey(key))
+				throw e;
+			TelemetryManager.warn("Unable to refresh definition of objectType: " + objectType
+					+ ", serving the cached definition. " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Fetches the object type from the taxonomy api, callers arriving while a
+	 * fetch of the object type is in progress wait for it instead of fetching.
+	 */
+	private static void load(String key, String objectType, String graphId) throws Exception {
+		CompletableFuture<Void> future = new CompletableFuture<Void>();
+		CompletableFuture<Void> inProgress = loading.putIfAbsent(key, future);
+		if (null != inProgress) {
+			try {
+				inProgress.get();
+				return;
+			} catch (ExecutionException e) {
+				throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+			}
+		}
+		try {
+			getDefinitionFromGraph(key, objectType, graphId);
+			loadTimes.put(key, System.currentTimeMillis());
+			future.complete(null);
+		} catch (Exception e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			loading.remove(key, future);
+		}
+	}
     
-	private static void getDefinitionFromGraph(String objectType, String graphId) throws Exception {
+	private static void getDefinitionFromGraph(String key, String objectType, String graphId) throws Exception {
 		String url = Platform.config.getString("platform-api-url") + "/taxonomy/" + graphId + "/definition/"
 				+ objectType;
 		String result = HTTPUtil.makeGetRequest(url);
@@ -74,14 +145,17 @@ public class ObjectDefinitionCache {
             throw new Exception("Definition node in result is empty");
         }
 		Map<String, Object> definition = retrieveProperties(definitionNode);
-		definitionMap.put(objectType, definition);
+		definitionMap.put(key, definition);
 
 		Map<String, Object> metadata = retrieveMetadata(definitionNode);
-		metadataMap.put(objectType, metadata);
+		if (null != metadata)
+			metadataMap.put(key, metadata);
+		else
+			metadataMap.remove(key);
 		
 		Map<String, String> relationDefinition = retrieveRelations(definitionNode, "IN", "inRelations");
 		relationDefinition.putAll(retrieveRelations(definitionNode, "OUT", "outRelations"));
-		relationMap.put(objectType, relationDefinition);
+		relationMap.put(key, relationDefinition);
 	}
 
 	@SuppressWarnings({ "unchecked" })
@@ -126,17 +200,10 @@ public class ObjectDefinitionCache {
 	}
 
     public static void resyncDefinition(String objectType, String graphId) throws Exception {
-		getDefinitionFromGraph(objectType, graphId);
+		load(getKey(graphId, objectType), objectType, graphId);
 	}
     
-    @SuppressWarnings("unchecked")
 	public static Map<String, Object> getMetaData(String objectType) throws Exception {
-    		Map<String, Object> metadata = metadataMap.get(objectType);
-    		String graphId = "domain";
-		if(null == metadata){
-			getDefinitionFromGraph(objectType, graphId);
-			metadata = metadataMap.get(objectType);
-		}
-		return metadata;
+		return getMetaData(objectType, "domain");
 	}
 }
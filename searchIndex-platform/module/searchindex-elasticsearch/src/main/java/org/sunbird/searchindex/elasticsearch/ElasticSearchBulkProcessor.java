@@ -0,0 +1,398 @@
+package org.sunbird.searchindex.elasticsearch;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.sunbird.common.Platform;
+import org.sunbird.common.exception.ServerException;
+import org.sunbird.telemetry.logger.TelemetryManager;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.rest.RestStatus;
+
+/**
+ * The Class ElasticSearchBulkProcessor, streams index and delete requests of an
+ * index to Elasticsearch in bulk. Requests are buffered and flushed when the
+ * number of actions, the size in bytes or the flush interval is reached, with
+ * a configurable number of bulk requests in flight. Items rejected with a
+ * retryable status, and whole requests failing on the transport, are retried
+ * with exponential backoff, only the failed items being sent again. Failures
+ * are reported per document.
+ *
+ * Configuration:
+ * <ul>
+ * <li>search.batch.size - actions per bulk request, default 1000</li>
+ * <li>search.bulk.size_mb - bytes per bulk request in MB, default 5</li>
+ * <li>search.bulk.flush_interval - flush interval in milliseconds, default
+ * 5000</li>
+ * <li>search.bulk.concurrent_requests - bulk requests in flight, default 2</li>
+ * <li>search.bulk.retry.initial_delay - first retry delay in milliseconds,
+ * default 100</li>
+ * <li>search.bulk.retry.max - retries of a failed item, default 3</li>
+ * <li>search.bulk.close_timeout - wait on close in milliseconds, default
+ * 300000</li>
+ * </ul>
+ *
+ * Instances are not reusable, {@link #close()} flushes the buffered requests
+ * and waits for the ones in flight, {@link #verify()} then fails if a document
+ * could not be written.
+ */
+public class ElasticSearchBulkProcessor implements Closeable {
+
+	private static final int BULK_ACTIONS = Platform.config.hasPath("search.batch.size")
+			? Platform.config.getInt("search.batch.size") : 1000;
+	private static final long BULK_SIZE_MB = Platform.config.hasPath("search.bulk.size_mb")
+			? Platform.config.getLong("search.bulk.size_mb") : 5;
+	private static final long FLUSH_INTERVAL = Platform.config.hasPath("search.bulk.flush_interval")
+			? Platform.config.getLong("search.bulk.flush_interval") : 5000;
+	private static final int CONCURRENT_REQUESTS = Platform.config.hasPath("search.bulk.concurrent_requests")
+			? Platform.config.getInt("search.bulk.concurrent_requests") : 2;
+	private static final long RETRY_INITIAL_DELAY = Platform.config.hasPath("search.bulk.retry.initial_delay")
+			? Platform.config.getLong("search.bulk.retry.initial_delay") : 100;
+	private static final int RETRY_MAX = Platform.config.hasPath("search.bulk.retry.max")
+			? Platform.config.getInt("search.bulk.retry.max") : 3;
+	private static final long CLOSE_TIMEOUT = Platform.config.hasPath("search.bulk.close_timeout")
+			? Platform.config.getLong("search.bulk.close_timeout") : 300000;
+	private static final int MAX_REPORTED_FAILURES = 1000;
+
+	private static final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "es-bulk-retry");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final RestHighLevelClient client;
+	private final String indexName;
+	private final String documentType;
+	private final BulkProcessor processor;
+
+	private final LongAdder submittedCount = new LongAdder();
+	private final LongAdder succeededCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+	private final LongAdder retriedCount = new LongAdder();
+	private final Map<String, String> failures = new ConcurrentHashMap<>();
+	private volatile boolean timedOut = false;
+
+	ElasticSearchBulkProcessor(RestHighLevelClient client, String indexName, String documentType) {
+		this.client = client;
+		this.indexName = indexName;
+		this.documentType = documentType;
+		this.processor = BulkProcessor.builder(this::execute, new FailureReporter())
+				.setBulkActions(BULK_ACTIONS)
+				.setBulkSize(new ByteSizeValue(BULK_SIZE_MB, ByteSizeUnit.MB))
+				.setFlushInterval(TimeValue.timeValueMillis(FLUSH_INTERVAL))
+				.setConcurrentRequests(CONCURRENT_REQUESTS)
+				// retries are done per item by execute.
+				.setBackoffPolicy(BackoffPolicy.noBackoff())
+				.build();
+	}
+
+	/**
+	 * Adds the document to be indexed with the given id.
+	 *
+	 * @param documentId
+	 *            the document id
+	 * @param document
+	 *            the document
+	 * @return this processor
+	 */
+	public ElasticSearchBulkProcessor index(String documentId, Map<String, Object> document) {
+		return add(new IndexRequest(indexName, documentType, documentId).source(document));
+	}
+
+	/**
+	 * Adds the document to be indexed with an id generated by Elasticsearch.
+	 *
+	 * @param document
+	 *            the document
+	 * @return this processor
+	 */
+	public ElasticSearchBulkProcessor index(Map<String, Object> document) {
+		return add(new IndexRequest(indexName, documentType).source(document));
+	}
+
+	/**
+	 * Adds the document to be deleted.
+	 *
+	 * @param documentId
+	 *            the document id
+	 * @return this processor
+	 */
+	public ElasticSearchBulkProcessor delete(String documentId) {
+		return add(new DeleteRequest(indexName, documentType, documentId));
+	}
+
+	/**
+	 * Sends the buffered requests without waiting for their response.
+	 */
+	public void flush() {
+		processor.flush();
+	}
+
+	/**
+	 * Flushes the buffered requests and waits for the requests in flight.
+	 *
+	 * @param timeout
+	 *            the timeout
+	 * @param unit
+	 *            the unit of the timeout
+	 * @return true if all the requests completed in time
+	 * @throws InterruptedException
+	 */
+	public boolean awaitClose(long timeout, TimeUnit unit) throws InterruptedException {
+		return processor.awaitClose(timeout, unit);
+	}
+
+	@Override
+	public void close() {
+		try {
+			if (!awaitClose(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				timedOut = true;
+				TelemetryManager.warn("Timed out waiting for Elasticsearch bulk requests of index: " + indexName);
+			}
+		} catch (InterruptedException e) {
+			timedOut = true;
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Checks, once closed, that every document was written.
+	 *
+	 * @throws ServerException
+	 *             if a document failed or the close timed out
+	 */
+	public void verify() {
+		if (timedOut)
+			throw new ServerException("ERR_ES_BULK_TIMEOUT", "Timed out waiting for Elasticsearch bulk requests of index: "
+					+ indexName + ", succeeded: " + getSucceededCount() + " of " + getSubmittedCount());
+		if (getFailedCount() > 0) {
+			StringBuilder message = new StringBuilder();
+			Iterator<Map.Entry<String, String>> itr = failures.entrySet().iterator();
+			for (int i = 0; i < 5 && itr.hasNext(); i++) {
+				Map.Entry<String, String> failure = itr.next();
+				message.append(" ").append(failure.getKey()).append(": ").append(failure.getValue()).append(";");
+			}
+			throw new ServerException("ERR_ES_BULK_FAILED", getFailedCount() + " of " + getSubmittedCount()
+					+ " documents failed in Elasticsearch bulk request to index: " + indexName + "." + message);
+		}
+	}
+
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+
+	public long getSubmittedCount() {
+		return submittedCount.sum();
+	}
+
+	public long getSucceededCount() {
+		return succeededCount.sum();
+	}
+
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+
+	public long getRetriedCount() {
+		return retriedCount.sum();
+	}
+
+	/**
+	 * Gets the failure reason of the failed documents, keyed by the document
+	 * id. At most the first 1000 failures are kept.
+	 *
+	 * @return the failures
+	 */
+	public Map<String, String> getFailures() {
+		return Collections.unmodifiableMap(failures);
+	}
+
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("index", indexName);
+		stats.put("submitted", getSubmittedCount());
+		stats.put("succeeded", getSucceededCount());
+		stats.put("failed", getFailedCount());
+		stats.put("retried", getRetriedCount());
+		return stats;
+	}
+
+	private ElasticSearchBulkProcessor add(DocWriteRequest<?> request) {
+		processor.add(request);
+		submittedCount.increment();
+		return this;
+	}
+
+	private void execute(BulkRequest request, ActionListener<BulkResponse> listener) {
+		new RetryingBulkRequest(request, listener).execute(request, null);
+	}
+
+	private static boolean isRetryable(RestStatus status) {
+		return RestStatus.TOO_MANY_REQUESTS == status || RestStatus.SERVICE_UNAVAILABLE == status
+				|| RestStatus.BAD_GATEWAY == status || RestStatus.GATEWAY_TIMEOUT == status;
+	}
+
+	/**
+	 * The Class RetryingBulkRequest, sends a bulk request and re-sends only its
+	 * items failed with a retryable status until they succeed or the backoff
+	 * is exhausted. The listener gets one response with an item for every
+	 * action of the original request, in order.
+	 */
+	private class RetryingBulkRequest {
+
+		private final BulkRequest original;
+		private final ActionListener<BulkResponse> listener;
+		private final Iterator<TimeValue> backoff = BackoffPolicy
+				.exponentialBackoff(TimeValue.timeValueMillis(RETRY_INITIAL_DELAY), RETRY_MAX).iterator();
+		private final BulkItemResponse[] items;
+		private final long startTime = System.currentTimeMillis();
+
+		private RetryingBulkRequest(BulkRequest original, ActionListener<BulkResponse> listener) {
+			this.original = original;
+			this.listener = listener;
+			this.items = new BulkItemResponse[original.numberOfActions()];
+		}
+
+		/**
+		 * @param request
+		 *            the request to send
+		 * @param positions
+		 *            the position in the original request of every action of
+		 *            the request, null when it is the original request
+		 */
+		private void execute(BulkRequest request, int[] positions) {
+			client.bulkAsync(request, new ActionListener<BulkResponse>() {
+				@Override
+				public void onResponse(BulkResponse response) {
+					onBulkResponse(request, positions, response);
+				}
+
+				@Override
+				public void onFailure(Exception e) {
+					onBulkFailure(request, positions, e);
+				}
+			});
+		}
+
+		private void onBulkResponse(BulkRequest request, int[] positions, BulkResponse response) {
+			List<Integer> retries = new ArrayList<>();
+			boolean canRetry = backoff.hasNext();
+			BulkItemResponse[] responseItems = response.getItems();
+			for (int i = 0; i < responseItems.length; i++) {
+				int position = (null == positions) ? i : positions[i];
+				BulkItemResponse item = responseItems[i];
+				if (canRetry && item.isFailed() && isRetryable(item.status()))
+					retries.add(position);
+				else
+					items[position] = item;
+			}
+			if (retries.isEmpty())
+				complete();
+			else
+				retry(retries);
+		}
+
+		private void onBulkFailure(BulkRequest request, int[] positions, Exception e) {
+			if (backoff.hasNext()) {
+				List<Integer> retries = new ArrayList<>();
+				for (int i = 0; i < request.numberOfActions(); i++)
+					retries.add((null == positions) ? i : positions[i]);
+				TelemetryManager.warn("Elasticsearch bulk request to index: " + indexName + " failed, retrying "
+						+ retries.size() + " documents. " + e.getMessage());
+				retry(retries);
+			} else {
+				@SuppressWarnings("rawtypes")
+				List<DocWriteRequest> requests = request.requests();
+				for (int i = 0; i < requests.size(); i++) {
+					DocWriteRequest<?> action = requests.get(i);
+					items[(null == positions) ? i : positions[i]] = new BulkItemResponse(i, action.opType(),
+							new BulkItemResponse.Failure(action.index(), action.type(), action.id(), e));
+				}
+				complete();
+			}
+		}
+
+		private void retry(List<Integer> retries) {
+			retriedCount.add(retries.size());
+			BulkRequest retryRequest = new BulkRequest();
+			int[] retryPositions = new int[retries.size()];
+			@SuppressWarnings("rawtypes")
+			List<DocWriteRequest> requests = original.requests();
+			for (int i = 0; i < retries.size(); i++) {
+				retryPositions[i] = retries.get(i);
+				retryRequest.add(requests.get(retryPositions[i]));
+			}
+			retryScheduler.schedule(() -> execute(retryRequest, retryPositions), backoff.next().millis(),
+					TimeUnit.MILLISECONDS);
+		}
+
+		private void complete() {
+			listener.onResponse(new BulkResponse(items, System.currentTimeMillis() - startTime));
+		}
+	}
+
+	/**
+	 * The Class FailureReporter, counts and logs the outcome of every document.
+	 */
+	private class FailureReporter implements BulkProcessor.Listener {
+
+		@Override
+		public void beforeBulk(long executionId, BulkRequest request) {
+		}
+
+		@Override
+		public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+			if (!response.hasFailures()) {
+				succeededCount.add(response.getItems().length);
+				return;
+			}
+			StringBuilder message = new StringBuilder();
+			for (BulkItemResponse item : response.getItems()) {
+				if (item.isFailed()) {
+					String id = (null == item.getId()) ? executionId + ":" + item.getItemId() : item.getId();
+					failedCount.increment();
+					if (failures.size() < MAX_REPORTED_FAILURES)
+						failures.put(id, item.getFailureMessage());
+					message.append("\n").append(id).append(" : ").append(item.getFailureMessage());
+				} else {
+					succeededCount.increment();
+				}
+			}
+			TelemetryManager.error("Failures in Elasticsearch bulk request to index: " + indexName + message);
+		}
+
+		@Override
+		public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+			// execute always completes with a response, this is only reached on unexpected errors.
+			failedCount.add(request.numberOfActions());
+			for (DocWriteRequest<?> action : request.requests()) {
+				if (null != action.id() && failures.size() < MAX_REPORTED_FAILURES)
+					failures.put(action.id(), failure.getMessage());
+			}
+			TelemetryManager.error("Elasticsearch bulk request to index: " + indexName + " failed for "
+					+ request.numberOfActions() + " documents.", failure);
+		}
+	}
+}
@@ -5,14 +5,13 @@ package org.sunbird.searchindex.elasticsearch;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHost;
 import org.apache.http.client.config.RequestConfig;
@@ -29,8 +28,6 @@ import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
 import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexResponse;
-import org.elasticsearch.action.bulk.BulkRequest;
-import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.get.GetRequest;
@@ -85,10 +82,9 @@ public class ElasticSearchUtil {
 	public static int defaultResultLimit = 10000;
 	private static final int resultLimit = 100;
 	public int defaultResultOffset = 0;
-	private static int BATCH_SIZE = (Platform.config.hasPath("search.batch.size"))
-			? Platform.config.getInt("search.batch.size")
-			: 1000;
 	private static ObjectMapper mapper = new ObjectMapper();
+	// indexes known to exist, saves the exists check on every bulk call.
+	private static Set<String> existingIndexes = ConcurrentHashMap.newKeySet();
 
 	public static void initialiseESClient(String indexName, String connectionInfo) {
 		if (StringUtils.isBlank(indexName))
@@ -122,7 +118,7 @@ public class ElasticSearchUtil {
 		}
 	}
 
-	private static RestHighLevelClient getClient(String indexName) {
+	static RestHighLevelClient getClient(String indexName) {
 		if (StringUtils.isBlank(indexName))
 			indexName = CompositeSearchConstants.COMPOSITE_SEARCH_INDEX;
 		if (StringUtils.startsWith(indexName,"kp_audit_log"))
@@ -177,6 +173,8 @@ public class ElasticSearchUtil {
 			CreateIndexResponse createIndexResponse = client.indices().create(createRequest);
 
 			response = createIndexResponse.isAcknowledged();
+			if (response)
+				existingIndexes.add(indexName);
 		}
 		return response;
 	}
@@ -237,6 +235,7 @@ public class ElasticSearchUtil {
 	public static void deleteIndex(String indexName) throws InterruptedException, ExecutionException, IOException {
 		DeleteIndexResponse response = getClient(indexName).indices().delete(new DeleteIndexRequest(indexName));
 		esClient.remove(indexName);
+		existingIndexes.remove(indexName);
 		TelemetryManager.log("Deleted Index" + indexName + " : " + response.isAcknowledged());
 	}
 
@@ -261,26 +260,49 @@ public class ElasticSearchUtil {
 		return finalResult;
 	}
 
+	/**
+	 * Checks if the index exists, remembering the indexes found so that
+	 * repeated bulk calls do not make a round-trip each time.
+	 *
+	 * @param indexName
+	 * @return true if the index exists
+	 */
+	private static boolean isIndexExistsCached(String indexName) {
+		if (existingIndexes.contains(indexName))
+			return true;
+		boolean exists = isIndexExists(indexName);
+		if (exists)
+			existingIndexes.add(indexName);
+		return exists;
+	}
+
+	/**
+	 * Gets a new bulk processor for the index. The caller adds the documents
+	 * and closes the processor, which waits for the pending requests.
+	 *
+	 * @param indexName
+	 * @param documentType
+	 * @return the bulk processor
+	 */
+	public static ElasticSearchBulkProcessor getBulkProcessor(String indexName, String documentType) {
+		if (!isIndexExistsCached(indexName))
+			throw new ServerException("ERR_ES_INDEX_NOT_FOUND", "ES Index Not Found With Id : " + indexName);
+		return new ElasticSearchBulkProcessor(getClient(indexName), indexName, documentType);
+	}
+
 	@SuppressWarnings("unchecked")
 	public static void bulkIndexWithIndexId(String indexName, String documentType, Map<String, Object> jsonObjects)
 			throws Exception {
-		if (isIndexExists(indexName)) {
-			RestHighLevelClient client = getClient(indexName);
+		if (isIndexExistsCached(indexName)) {
 			if (!jsonObjects.isEmpty()) {
-				int count = 0;
-				BulkRequest request = new BulkRequest();
-				for (String key : jsonObjects.keySet()) {
-					count++;
-					request.add(new IndexRequest(indexName, documentType, key)
-							.source((Map<String, Object>) jsonObjects.get(key)));
-					if (count % BATCH_SIZE == 0 || (count % BATCH_SIZE < BATCH_SIZE && count == jsonObjects.size())) {
-						BulkResponse bulkResponse = client.bulk(request);
-						if (bulkResponse.hasFailures()) {
-							TelemetryManager
-									.log("Failures in Elasticsearch bulkIndex : " + bulkResponse.buildFailureMessage());
-						}
-					}
+				ElasticSearchBulkProcessor processor = getBulkProcessor(indexName, documentType);
+				try {
+					for (Map.Entry<String, Object> entry : jsonObjects.entrySet())
+						processor.index(entry.getKey(), (Map<String, Object>) entry.getValue());
+				} finally {
+					processor.close();
 				}
+				processor.verify();
 			}
 		} else {
 			throw new Exception("Index does not exist: "+ indexName);
@@ -290,22 +312,16 @@ public class ElasticSearchUtil {
 	public static void bulkIndexWithAutoGenerateIndexId(String indexName, String documentType,
 			List<Map<String, Object>> jsonObjects)
 			throws Exception {
-		if (isIndexExists(indexName)) {
-			RestHighLevelClient client = getClient(indexName);
+		if (isIndexExistsCached(indexName)) {
 			if (!jsonObjects.isEmpty()) {
-				int count = 0;
-				BulkRequest request = new BulkRequest();
-				for (Map<String, Object> json : jsonObjects) {
-					count++;
-					request.add(new IndexRequest(indexName, documentType).source(json));
-					if (count % BATCH_SIZE == 0 || (count % BATCH_SIZE < BATCH_SIZE && count == jsonObjects.size())) {
-						BulkResponse bulkResponse = client.bulk(request);
-						if (bulkResponse.hasFailures()) {
-							TelemetryManager
-									.log("Failures in Elasticsearch bulkIndex : " + bulkResponse.buildFailureMessage());
-						}
-					}
+				ElasticSearchBulkProcessor processor = getBulkProcessor(indexName, documentType);
+				try {
+					for (Map<String, Object> json : jsonObjects)
+						processor.index(json);
+				} finally {
+					processor.close();
 				}
+				processor.verify();
 			}
 		} else {
 			throw new Exception("Index does not exist");
@@ -690,27 +706,16 @@ public class ElasticSearchUtil {
 	 * @throws Exception
 	 */
 	public static void bulkDeleteDocumentById(String indexName, String documentType, List<String> identifiers) throws Exception {
-		if (isIndexExists(indexName)) {
+		if (isIndexExistsCached(indexName)) {
 			if (null != identifiers && !identifiers.isEmpty()) {
-				int count = 0;
-				BulkRequest request = new BulkRequest();
-				for (String documentId : identifiers) {
-					count++;
-					request.add(new DeleteRequest(indexName, documentType, documentId));
-					if (count % BATCH_SIZE == 0 || (count % BATCH_SIZE < BATCH_SIZE && count == identifiers.size())) {
-						BulkResponse bulkResponse = getClient(indexName).bulk(request);
-						List<String> failedIds = Arrays.stream(bulkResponse.getItems()).filter(
-								itemResp -> !StringUtils.equals(itemResp.getResponse().getResult().getLowercase(),"deleted")
-						).map(r -> r.getResponse().getId()).collect(Collectors.toList());
-						if (CollectionUtils.isNotEmpty(failedIds))
-							TelemetryManager.log("Failed Id's While Deleting Elasticsearch Documents (Bulk Delete) : " + failedIds);
-						if (bulkResponse.hasFailures()) {
-							//TODO: Implement Retry Mechanism
-							TelemetryManager
-									.log("Error Occured While Deleting Elasticsearch Documents in Bulk : " + bulkResponse.buildFailureMessage());
-						}
-					}
+				ElasticSearchBulkProcessor processor = getBulkProcessor(indexName, documentType);
+				try {
+					for (String documentId : identifiers)
+						processor.delete(documentId);
+				} finally {
+					processor.close();
 				}
+				processor.verify();
 			}
 		} else {
 			throw new ServerException("ERR_BULK_DELETE_ES_DATA", "ES Index Not Found With Id : " + indexName);
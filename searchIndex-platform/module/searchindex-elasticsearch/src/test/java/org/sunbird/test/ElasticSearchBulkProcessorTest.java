@@ -0,0 +1,247 @@
+package org.sunbird.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sunbird.common.exception.ServerException;
+import org.sunbird.searchindex.elasticsearch.ElasticSearchBulkProcessor;
+import org.sunbird.searchindex.elasticsearch.ElasticSearchUtil;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the bulk processor against a local stand-in of the Elasticsearch bulk
+ * api, which records every action it receives. The bulk indexing throughput
+ * is written to the performance test log.
+ */
+public class ElasticSearchBulkProcessorTest {
+
+	private static final String INDEX = "bulk_processor_test";
+	private static final String TYPE = "doc";
+	private static final Logger perfLogger = LogManager.getLogger("PerformanceTestLogger");
+	private static ObjectMapper mapper = new ObjectMapper();
+	private static HttpServer server;
+	private static ExecutorService executor;
+
+	private static AtomicLong actionCount = new AtomicLong();
+	private static AtomicLong bulkCount = new AtomicLong();
+	private static Set<String> receivedIds = ConcurrentHashMap.newKeySet();
+	private static Set<String> rejectOnce = ConcurrentHashMap.newKeySet();
+	private static Set<String> rejectAlways = ConcurrentHashMap.newKeySet();
+	private static volatile long latency = 0;
+
+	@BeforeClass
+	public static void beforeTest() throws Exception {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", ElasticSearchBulkProcessorTest::handle);
+		executor = Executors.newFixedThreadPool(8);
+		server.setExecutor(executor);
+		server.start();
+		ElasticSearchUtil.initialiseESClient(INDEX, "localhost:" + server.getAddress().getPort());
+	}
+
+	@AfterClass
+	public static void afterTest() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	@Before
+	public void reset() {
+		actionCount.set(0);
+		bulkCount.set(0);
+		receivedIds.clear();
+		rejectOnce.clear();
+		rejectAlways.clear();
+		latency = 0;
+	}
+
+	@Test
+	public void testBulkIndexSendsEveryDocumentOnce() throws Exception {
+		ElasticSearchUtil.bulkIndexWithIndexId(INDEX, TYPE, getDocuments(5500));
+		assertEquals(5500, actionCount.get());
+		assertEquals(5500, receivedIds.size());
+	}
+
+	@Test
+	public void testBulkDeleteSendsEveryDocumentOnce() throws Exception {
+		List<String> ids = new ArrayList<>(getDocuments(2500).keySet());
+		ElasticSearchUtil.bulkDeleteDocumentById(INDEX, TYPE, ids);
+		assertEquals(2500, actionCount.get());
+		assertEquals(2500, receivedIds.size());
+	}
+
+	@Test
+	public void testRetriesOnlyRejectedDocuments() throws Exception {
+		for (int i = 0; i < 10; i++)
+			rejectOnce.add("do_" + (i * 97));
+		ElasticSearchBulkProcessor processor = ElasticSearchUtil.getBulkProcessor(INDEX, TYPE);
+		index(processor, getDocuments(2000));
+		processor.close();
+		assertEquals(2000, processor.getSucceededCount());
+		assertEquals(0, processor.getFailedCount());
+		assertEquals(10, processor.getRetriedCount());
+		assertEquals(2010, actionCount.get());
+	}
+
+	@Test
+	public void testReportsFailuresPerDocument() throws Exception {
+		rejectAlways.add("do_7");
+		ElasticSearchBulkProcessor processor = ElasticSearchUtil.getBulkProcessor(INDEX, TYPE);
+		index(processor, getDocuments(100));
+		processor.close();
+		assertEquals(99, processor.getSucceededCount());
+		assertEquals(1, processor.getFailedCount());
+		assertEquals(0, processor.getRetriedCount());
+		assertTrue(processor.getFailures().get("do_7").contains("mapper_parsing_exception"));
+		assertEquals(100, actionCount.get());
+	}
+
+	@Test(expected = ServerException.class)
+	public void testBulkIndexThrowsOnFailedDocuments() throws Exception {
+		rejectAlways.add("do_7");
+		ElasticSearchUtil.bulkIndexWithIndexId(INDEX, TYPE, getDocuments(100));
+	}
+
+	@Test
+	public void testBulkIndexSplitsLargeBatches() throws Exception {
+		latency = 20;
+		int count = 50000;
+		ElasticSearchUtil.bulkIndexWithIndexId(INDEX, TYPE, getDocuments(count));
+		assertEquals(count, actionCount.get());
+		assertEquals(count, receivedIds.size());
+		assertTrue(bulkCount.get() > 1);
+	}
+
+	@Test
+	public void testBulkIndexThroughput() throws Exception {
+		latency = 20;
+		int count = 20000;
+		Map<String, Object> documents = getDocuments(count);
+		long startTime = System.currentTimeMillis();
+		ElasticSearchUtil.bulkIndexWithIndexId(INDEX, TYPE, documents);
+		long timeTaken = Math.max(1, System.currentTimeMillis() - startTime);
+		perfLogger.info("Bulk indexed " + count + " documents in " + bulkCount.get() + " requests, " + timeTaken
+				+ " ms, " + (count * 1000L / timeTaken) + " docs/sec, with " + latency + " ms bulk latency");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void index(ElasticSearchBulkProcessor processor, Map<String, Object> documents) {
+		for (Map.Entry<String, Object> entry : documents.entrySet())
+			processor.index(entry.getKey(), (Map<String, Object>) entry.getValue());
+	}
+
+	private static Map<String, Object> getDocuments(int count) {
+		Map<String, Object> documents = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			Map<String, Object> document = new HashMap<>();
+			document.put("identifier", "do_" + i);
+			document.put("name", "Test Content " + i);
+			document.put("objectType", "Content");
+			documents.put("do_" + i, document);
+		}
+		return documents;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void handle(HttpExchange exchange) throws IOException {
+		if ("HEAD".equals(exchange.getRequestMethod())) {
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+			return;
+		}
+		bulkCount.incrementAndGet();
+		List<Map<String, Object>> items = new ArrayList<>();
+		boolean errors = false;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+			String line;
+			while (null != (line = reader.readLine())) {
+				if (line.isEmpty())
+					continue;
+				Map<String, Object> action = mapper.readValue(line, Map.class);
+				String opType = action.keySet().iterator().next();
+				Map<String, Object> meta = (Map<String, Object>) action.get(opType);
+				if (!"delete".equals(opType))
+					reader.readLine();
+				String id = (String) meta.get("_id");
+				actionCount.incrementAndGet();
+				receivedIds.add(id);
+				Map<String, Object> result = new HashMap<>();
+				result.put("_index", meta.get("_index"));
+				result.put("_type", meta.get("_type"));
+				result.put("_id", id);
+				if (rejectOnce.remove(id)) {
+					errors = true;
+					result.put("status", 429);
+					result.put("error", getError("es_rejected_execution_exception", "rejected execution"));
+				} else if (rejectAlways.contains(id)) {
+					errors = true;
+					result.put("status", 400);
+					result.put("error", getError("mapper_parsing_exception", "failed to parse"));
+				} else {
+					result.put("_version", 1);
+					result.put("result", "delete".equals(opType) ? "deleted" : "created");
+					result.put("_seq_no", 0);
+					result.put("_primary_term", 1);
+					Map<String, Object> shards = new HashMap<>();
+					shards.put("total", 1);
+					shards.put("successful", 1);
+					shards.put("failed", 0);
+					result.put("_shards", shards);
+					result.put("status", "delete".equals(opType) ? 200 : 201);
+				}
+				Map<String, Object> item = new HashMap<>();
+				item.put(opType, result);
+				items.add(item);
+			}
+		}
+		if (latency > 0) {
+			try {
+				Thread.sleep(latency);
+			} catch (InterruptedException e) {
+			}
+		}
+		Map<String, Object> response = new HashMap<>();
+		response.put("took", 1);
+		response.put("errors", errors);
+		response.put("items", items);
+		byte[] body = mapper.writeValueAsBytes(response);
+		exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static Map<String, Object> getError(String type, String reason) {
+		Map<String, Object> error = new HashMap<>();
+		error.put("type", type);
+		error.put("reason", reason);
+		return error;
+	}
+}